@@ -0,0 +1,239 @@
+package me.nulldoubt.micro.backends.headless;
+
+/**
+ * Identifies a recorded call in a {@link GLCommandLog}. Overloads of the same GL function share a command.
+ */
+public enum GLCommand {
+	
+	glActiveTexture,
+	glBindTexture,
+	glBlendFunc,
+	glClear,
+	glClearColor,
+	glClearDepthf,
+	glClearStencil,
+	glColorMask,
+	glCompressedTexImage2D,
+	glCompressedTexSubImage2D,
+	glCopyTexImage2D,
+	glCopyTexSubImage2D,
+	glCullFace,
+	glDeleteTextures,
+	glDeleteTexture,
+	glDepthFunc,
+	glDepthMask,
+	glDepthRangef,
+	glDisable,
+	glDrawArrays,
+	glDrawElements,
+	glEnable,
+	glFinish,
+	glFlush,
+	glFrontFace,
+	glGenTextures,
+	glGenTexture,
+	glGetError,
+	glGetIntegerv,
+	glGetString,
+	glHint,
+	glLineWidth,
+	glPixelStorei,
+	glPolygonOffset,
+	glReadPixels,
+	glScissor,
+	glStencilFunc,
+	glStencilMask,
+	glStencilOp,
+	glTexImage2D,
+	glTexParameterf,
+	glTexSubImage2D,
+	glViewport,
+	glAttachShader,
+	glBindAttribLocation,
+	glBindBuffer,
+	glBindFramebuffer,
+	glBindRenderbuffer,
+	glBlendColor,
+	glBlendEquation,
+	glBlendEquationSeparate,
+	glBlendFuncSeparate,
+	glBufferData,
+	glBufferSubData,
+	glCheckFramebufferStatus,
+	glCompileShader,
+	glCreateProgram,
+	glCreateShader,
+	glDeleteBuffer,
+	glDeleteBuffers,
+	glDeleteFramebuffer,
+	glDeleteFramebuffers,
+	glDeleteProgram,
+	glDeleteRenderbuffer,
+	glDeleteRenderbuffers,
+	glDeleteShader,
+	glDetachShader,
+	glDisableVertexAttribArray,
+	glEnableVertexAttribArray,
+	glFramebufferRenderbuffer,
+	glFramebufferTexture2D,
+	glGenBuffer,
+	glGenBuffers,
+	glGenerateMipmap,
+	glGenFramebuffer,
+	glGenFramebuffers,
+	glGenRenderbuffer,
+	glGenRenderbuffers,
+	glGetActiveAttrib,
+	glGetActiveUniform,
+	glGetAttachedShaders,
+	glGetAttribLocation,
+	glGetBooleanv,
+	glGetBufferParameteriv,
+	glGetFloatv,
+	glGetFramebufferAttachmentParameteriv,
+	glGetProgramiv,
+	glGetProgramInfoLog,
+	glGetRenderbufferParameteriv,
+	glGetShaderiv,
+	glGetShaderInfoLog,
+	glGetShaderPrecisionFormat,
+	glGetTexParameterfv,
+	glGetTexParameteriv,
+	glGetUniformfv,
+	glGetUniformiv,
+	glGetUniformLocation,
+	glGetVertexAttribfv,
+	glGetVertexAttribiv,
+	glGetVertexAttribPointerv,
+	glIsBuffer,
+	glIsEnabled,
+	glIsFramebuffer,
+	glIsProgram,
+	glIsRenderbuffer,
+	glIsShader,
+	glIsTexture,
+	glLinkProgram,
+	glReleaseShaderCompiler,
+	glRenderbufferStorage,
+	glSampleCoverage,
+	glShaderBinary,
+	glShaderSource,
+	glStencilFuncSeparate,
+	glStencilMaskSeparate,
+	glStencilOpSeparate,
+	glTexParameterfv,
+	glTexParameteri,
+	glTexParameteriv,
+	glUniform1f,
+	glUniform1fv,
+	glUniform1i,
+	glUniform1iv,
+	glUniform2f,
+	glUniform2fv,
+	glUniform2i,
+	glUniform2iv,
+	glUniform3f,
+	glUniform3fv,
+	glUniform3i,
+	glUniform3iv,
+	glUniform4f,
+	glUniform4fv,
+	glUniform4i,
+	glUniform4iv,
+	glUniformMatrix2fv,
+	glUniformMatrix3fv,
+	glUniformMatrix4fv,
+	glUseProgram,
+	glValidateProgram,
+	glVertexAttrib1f,
+	glVertexAttrib1fv,
+	glVertexAttrib2f,
+	glVertexAttrib2fv,
+	glVertexAttrib3f,
+	glVertexAttrib3fv,
+	glVertexAttrib4f,
+	glVertexAttrib4fv,
+	glVertexAttribPointer,
+	glReadBuffer,
+	glDrawRangeElements,
+	glTexImage3D,
+	glTexSubImage3D,
+	glCopyTexSubImage3D,
+	glGenQueries,
+	glDeleteQueries,
+	glIsQuery,
+	glBeginQuery,
+	glEndQuery,
+	glGetQueryiv,
+	glGetQueryObjectuiv,
+	glUnmapBuffer,
+	glGetBufferPointerv,
+	glDrawBuffers,
+	glUniformMatrix2x3fv,
+	glUniformMatrix3x2fv,
+	glUniformMatrix2x4fv,
+	glUniformMatrix4x2fv,
+	glUniformMatrix3x4fv,
+	glUniformMatrix4x3fv,
+	glBlitFramebuffer,
+	glRenderbufferStorageMultisample,
+	glFramebufferTextureLayer,
+	glMapBufferRange,
+	glFlushMappedBufferRange,
+	glBindVertexArray,
+	glDeleteVertexArrays,
+	glGenVertexArrays,
+	glIsVertexArray,
+	glBeginTransformFeedback,
+	glEndTransformFeedback,
+	glBindBufferRange,
+	glBindBufferBase,
+	glTransformFeedbackVaryings,
+	glVertexAttribIPointer,
+	glGetVertexAttribIiv,
+	glGetVertexAttribIuiv,
+	glVertexAttribI4i,
+	glVertexAttribI4ui,
+	glGetUniformuiv,
+	glGetFragDataLocation,
+	glUniform1uiv,
+	glUniform3uiv,
+	glUniform4uiv,
+	glClearBufferiv,
+	glClearBufferuiv,
+	glClearBufferfv,
+	glClearBufferfi,
+	glGetStringi,
+	glCopyBufferSubData,
+	glGetUniformIndices,
+	glGetActiveUniformsiv,
+	glGetUniformBlockIndex,
+	glGetActiveUniformBlockiv,
+	glGetActiveUniformBlockName,
+	glUniformBlockBinding,
+	glDrawArraysInstanced,
+	glDrawElementsInstanced,
+	glGetInteger64v,
+	glGetBufferParameteri64v,
+	glGenSamplers,
+	glDeleteSamplers,
+	glIsSampler,
+	glBindSampler,
+	glSamplerParameteri,
+	glSamplerParameteriv,
+	glSamplerParameterf,
+	glSamplerParameterfv,
+	glGetSamplerParameteriv,
+	glGetSamplerParameterfv,
+	glVertexAttribDivisor,
+	glBindTransformFeedback,
+	glDeleteTransformFeedbacks,
+	glGenTransformFeedbacks,
+	glIsTransformFeedback,
+	glPauseTransformFeedback,
+	glResumeTransformFeedback,
+	glProgramParameteri,
+	glInvalidateFramebuffer,
+	glInvalidateSubFramebuffer;
+	
+}
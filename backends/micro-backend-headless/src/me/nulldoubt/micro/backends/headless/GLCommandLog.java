@@ -0,0 +1,122 @@
+package me.nulldoubt.micro.backends.headless;
+
+import me.nulldoubt.micro.utils.collections.IntArray;
+
+/**
+ * A compact, append-only log of GL calls. Every entry is stored inline in a single {@code int[]} as the command ordinal, the
+ * argument count and the scalar arguments of the call. Floats are stored as their raw bits and booleans as 0 or 1; buffer,
+ * array and string arguments are not recorded.
+ */
+public class GLCommandLog {
+	
+	private static final GLCommand[] commands = GLCommand.values();
+	
+	private final IntArray data = new IntArray(true, 1024);
+	private final IntArray offsets = new IntArray(true, 256);
+	
+	public boolean enabled = true;
+	
+	void add(GLCommand command) {
+		offsets.add(data.size);
+		data.add(command.ordinal(), 0);
+	}
+	
+	void add(GLCommand command, int arg1) {
+		offsets.add(data.size);
+		data.add(command.ordinal(), 1, arg1);
+	}
+	
+	void add(GLCommand command, int arg1, int arg2) {
+		offsets.add(data.size);
+		data.add(command.ordinal(), 2, arg1, arg2);
+	}
+	
+	void add(GLCommand command, int arg1, int arg2, int arg3) {
+		offsets.add(data.size);
+		data.add(command.ordinal(), 3);
+		data.add(arg1, arg2, arg3);
+	}
+	
+	void add(GLCommand command, int arg1, int arg2, int arg3, int arg4) {
+		offsets.add(data.size);
+		data.add(command.ordinal(), 4);
+		data.add(arg1, arg2, arg3, arg4);
+	}
+	
+	void add(GLCommand command, int[] args) {
+		offsets.add(data.size);
+		data.add(command.ordinal(), args.length);
+		data.addAll(args);
+	}
+	
+	/**
+	 * @return the number of recorded calls.
+	 */
+	public int size() {
+		return offsets.size;
+	}
+	
+	public GLCommand getCommand(int index) {
+		return commands[data.items[offsets.get(index)]];
+	}
+	
+	public int getArgumentCount(int index) {
+		return data.items[offsets.get(index) + 1];
+	}
+	
+	public int getArgument(int index, int argument) {
+		if (argument < 0 || argument >= getArgumentCount(index))
+			throw new IndexOutOfBoundsException("argument can't be >= " + getArgumentCount(index) + ": " + argument);
+		return data.items[offsets.get(index) + 2 + argument];
+	}
+	
+	public float getFloatArgument(int index, int argument) {
+		return Float.intBitsToFloat(getArgument(index, argument));
+	}
+	
+	/**
+	 * @return the number of recorded calls of the given command.
+	 */
+	public int count(GLCommand command) {
+		final int ordinal = command.ordinal();
+		final int[] data = this.data.items;
+		final int[] offsets = this.offsets.items;
+		int count = 0;
+		for (int i = 0, n = this.offsets.size; i < n; i++)
+			if (data[offsets[i]] == ordinal)
+				count++;
+		return count;
+	}
+	
+	/**
+	 * @return the index of the first call of the given command at or after {@code start}, or -1.
+	 */
+	public int indexOf(GLCommand command, int start) {
+		final int ordinal = command.ordinal();
+		for (int i = start, n = offsets.size; i < n; i++)
+			if (data.items[offsets.items[i]] == ordinal)
+				return i;
+		return -1;
+	}
+	
+	public void clear() {
+		data.clear();
+		offsets.clear();
+	}
+	
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder(size() * 32);
+		for (int i = 0, n = size(); i < n; i++) {
+			builder.append(getCommand(i).name()).append('(');
+			for (int a = 0, count = getArgumentCount(i); a < count; a++) {
+				if (a > 0)
+					builder.append(", ");
+				builder.append(getArgument(i, a));
+			}
+			builder.append(")\n");
+		}
+		return builder.toString();
+	}
+	
+}
@@ -0,0 +1,296 @@
+package me.nulldoubt.micro.backends.headless;
+
+import me.nulldoubt.micro.*;
+import me.nulldoubt.micro.backends.headless.mock.MockAudio;
+import me.nulldoubt.micro.utils.collections.Array;
+import me.nulldoubt.micro.utils.collections.ObjectMap;
+import me.nulldoubt.micro.utils.natives.MicroNativesLoader;
+
+import java.io.File;
+
+/**
+ * An {@link Application} without a window, audio or input devices. The constructor installs the backend into {@link Micro} and
+ * creates the listener; frames are then driven either one at a time with {@link #frame()}, which suits tests and benchmarks,
+ * or by {@link #run()} until {@link #exit()} is called.
+ * <p>
+ * GL calls go to a {@link HeadlessGL20} (or {@link HeadlessGL30}), whose per-frame counters are reset at the start of every
+ * frame, so after {@link #frame()} returns {@link #getGL()} holds the draw calls and uploads of exactly that frame.
+ */
+public class HeadlessApplication implements Application {
+	
+	private final HeadlessApplicationConfiguration config;
+	private final ApplicationListener listener;
+	private final HeadlessGraphics graphics;
+	private final HeadlessInput input;
+	private final HeadlessFiles files;
+	private final Audio audio;
+	private final HeadlessClipboard clipboard;
+	private final ObjectMap<String, Preferences> preferences = new ObjectMap<>();
+	private final Array<Runnable> runnables = new Array<>();
+	private final Array<Runnable> executedRunnables = new Array<>();
+	private final Array<LifecycleListener> lifecycleListeners = new Array<>();
+	private int logLevel = LOG_INFO;
+	private ApplicationLogger applicationLogger;
+	private volatile boolean running = true;
+	private boolean disposed;
+	private int width;
+	private int height;
+	
+	public HeadlessApplication(ApplicationListener listener) {
+		this(listener, new HeadlessApplicationConfiguration());
+	}
+	
+	public HeadlessApplication(ApplicationListener listener, HeadlessApplicationConfiguration config) {
+		this.config = config = HeadlessApplicationConfiguration.copy(config);
+		if (config.loadNatives)
+			MicroNativesLoader.load();
+		setApplicationLogger(new HeadlessApplicationLogger());
+		
+		this.listener = listener;
+		this.graphics = new HeadlessGraphics(config);
+		this.input = new HeadlessInput();
+		this.files = new HeadlessFiles();
+		this.audio = new MockAudio();
+		this.clipboard = new HeadlessClipboard();
+		
+		Micro.app = this;
+		Micro.graphics = graphics;
+		Micro.input = input;
+		Micro.files = files;
+		Micro.audio = audio;
+		Micro.gl = Micro.gl20 = graphics.getGL20();
+		Micro.gl30 = graphics.getGL30();
+		Micro.gl31 = null;
+		Micro.gl32 = null;
+		
+		width = graphics.getWidth();
+		height = graphics.getHeight();
+		listener.create();
+		listener.resize(width, height);
+	}
+	
+	/**
+	 * Runs a single frame: resets the GL counters, executes posted runnables, resizes the listener if the back buffer changed
+	 * and renders.
+	 *
+	 * @return false once {@link #exit()} has been called.
+	 */
+	public boolean frame() {
+		return frame(config.fixedDeltaTime);
+	}
+	
+	/**
+	 * Runs a single frame reporting the given delta time, or a measured one if it is negative.
+	 *
+	 * @return false once {@link #exit()} has been called.
+	 */
+	public boolean frame(float deltaTime) {
+		if (!running)
+			return false;
+		graphics.getHeadlessGL().reset();
+		graphics.update(deltaTime);
+		
+		synchronized (runnables) {
+			executedRunnables.clear();
+			executedRunnables.addAll(runnables);
+			runnables.clear();
+		}
+		for (Runnable runnable : executedRunnables)
+			runnable.run();
+		
+		if (width != graphics.getWidth() || height != graphics.getHeight()) {
+			width = graphics.getWidth();
+			height = graphics.getHeight();
+			graphics.getHeadlessGL().glViewport(0, 0, width, height);
+			listener.resize(width, height);
+		}
+		listener.render();
+		return running;
+	}
+	
+	/** Runs frames at {@link HeadlessApplicationConfiguration#updatesPerSecond} until {@link #exit()}, then disposes. */
+	public void run() {
+		final long frameTime = config.updatesPerSecond > 0 ? 1000000000L / config.updatesPerSecond : 0;
+		try {
+			while (true) {
+				final long start = System.nanoTime();
+				if (!frame())
+					break;
+				final long sleep = frameTime - (System.nanoTime() - start);
+				if (sleep > 0)
+					Thread.sleep(sleep / 1000000L, (int) (sleep % 1000000L));
+			}
+		} catch (InterruptedException _) {
+			Thread.currentThread().interrupt();
+		} finally {
+			dispose();
+		}
+	}
+	
+	/** Pauses and disposes the lifecycle listeners and the application listener. Safe to call more than once. */
+	public void dispose() {
+		if (disposed)
+			return;
+		disposed = true;
+		running = false;
+		synchronized (lifecycleListeners) {
+			for (int i = lifecycleListeners.size - 1; i >= 0; i--) {
+				final LifecycleListener lifecycleListener = lifecycleListeners.get(i);
+				lifecycleListener.pause();
+				lifecycleListener.dispose();
+			}
+			lifecycleListeners.clear();
+		}
+		listener.pause();
+		listener.dispose();
+	}
+	
+	/**
+	 * @return the recording GL of this application.
+	 */
+	public HeadlessGL20 getGL() {
+		return graphics.getHeadlessGL();
+	}
+	
+	@Override
+	public ApplicationListener getApplicationListener() {
+		return listener;
+	}
+	
+	@Override
+	public Graphics getGraphics() {
+		return graphics;
+	}
+	
+	@Override
+	public Audio getAudio() {
+		return audio;
+	}
+	
+	@Override
+	public Input getInput() {
+		return input;
+	}
+	
+	@Override
+	public Files getFiles() {
+		return files;
+	}
+	
+	@Override
+	public void log(String tag, String message) {
+		if (logLevel >= LOG_INFO)
+			getApplicationLogger().log(tag, message);
+	}
+	
+	@Override
+	public void log(String tag, String message, Throwable exception) {
+		if (logLevel >= LOG_INFO)
+			getApplicationLogger().log(tag, message, exception);
+	}
+	
+	@Override
+	public void error(String tag, String message) {
+		if (logLevel >= LOG_ERROR)
+			getApplicationLogger().error(tag, message);
+	}
+	
+	@Override
+	public void error(String tag, String message, Throwable exception) {
+		if (logLevel >= LOG_ERROR)
+			getApplicationLogger().error(tag, message, exception);
+	}
+	
+	@Override
+	public void debug(String tag, String message) {
+		if (logLevel >= LOG_DEBUG)
+			getApplicationLogger().debug(tag, message);
+	}
+	
+	@Override
+	public void debug(String tag, String message, Throwable exception) {
+		if (logLevel >= LOG_DEBUG)
+			getApplicationLogger().debug(tag, message, exception);
+	}
+	
+	@Override
+	public void setLogLevel(int logLevel) {
+		this.logLevel = logLevel;
+	}
+	
+	@Override
+	public int getLogLevel() {
+		return logLevel;
+	}
+	
+	@Override
+	public void setApplicationLogger(ApplicationLogger applicationLogger) {
+		this.applicationLogger = applicationLogger;
+	}
+	
+	@Override
+	public ApplicationLogger getApplicationLogger() {
+		return applicationLogger;
+	}
+	
+	@Override
+	public ApplicationType getType() {
+		return ApplicationType.HeadlessDesktop;
+	}
+	
+	@Override
+	public int getVersion() {
+		return 0;
+	}
+	
+	@Override
+	public long getJavaHeap() {
+		return Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
+	}
+	
+	@Override
+	public long getNativeHeap() {
+		return getJavaHeap();
+	}
+	
+	@Override
+	public Preferences getPreferences(String name) {
+		if (preferences.containsKey(name))
+			return preferences.get(name);
+		final Preferences prefs = new HeadlessPreferences(new HeadlessFileHandle(new File(config.preferencesDirectory, name), config.preferencesFileType));
+		preferences.put(name, prefs);
+		return prefs;
+	}
+	
+	@Override
+	public Clipboard getClipboard() {
+		return clipboard;
+	}
+	
+	@Override
+	public void post(Runnable runnable) {
+		synchronized (runnables) {
+			runnables.add(runnable);
+		}
+	}
+	
+	@Override
+	public void exit() {
+		running = false;
+	}
+	
+	@Override
+	public void register(LifecycleListener listener) {
+		synchronized (lifecycleListeners) {
+			lifecycleListeners.add(listener);
+		}
+	}
+	
+	@Override
+	public void unregister(LifecycleListener listener) {
+		synchronized (lifecycleListeners) {
+			lifecycleListeners.removeValue(listener, true);
+		}
+	}
+	
+}
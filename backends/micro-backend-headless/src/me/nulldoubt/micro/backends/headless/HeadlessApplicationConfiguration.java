@@ -0,0 +1,38 @@
+package me.nulldoubt.micro.backends.headless;
+
+import me.nulldoubt.micro.Files;
+import me.nulldoubt.micro.Files.FileType;
+
+public class HeadlessApplicationConfiguration {
+	
+	/** The size of the simulated back buffer. */
+	public int width = 1920, height = 1080;
+	/** The rate of {@link HeadlessApplication#run()}; 0 or less runs frames back to back. */
+	public int updatesPerSecond = 60;
+	/** The delta time reported to every frame, or -1 to measure it. A fixed value makes frames reproducible. */
+	public float fixedDeltaTime = -1;
+	/** Whether {@link HeadlessGL30} is installed instead of {@link HeadlessGL20}. */
+	public boolean useGL30 = true;
+	public int maxTextureUnits = 16;
+	/** Whether GL calls are appended to the {@link GLCommandLog}; the counters are kept either way. */
+	public boolean recordCommands = true;
+	public boolean loadNatives = true;
+	public String preferencesDirectory = ".prefs/";
+	public Files.FileType preferencesFileType = FileType.External;
+	
+	protected static HeadlessApplicationConfiguration copy(HeadlessApplicationConfiguration config) {
+		final HeadlessApplicationConfiguration copy = new HeadlessApplicationConfiguration();
+		copy.width = config.width;
+		copy.height = config.height;
+		copy.updatesPerSecond = config.updatesPerSecond;
+		copy.fixedDeltaTime = config.fixedDeltaTime;
+		copy.useGL30 = config.useGL30;
+		copy.maxTextureUnits = config.maxTextureUnits;
+		copy.recordCommands = config.recordCommands;
+		copy.loadNatives = config.loadNatives;
+		copy.preferencesDirectory = config.preferencesDirectory;
+		copy.preferencesFileType = config.preferencesFileType;
+		return copy;
+	}
+	
+}
@@ -0,0 +1,24 @@
+package me.nulldoubt.micro.backends.headless;
+
+import me.nulldoubt.micro.Clipboard;
+
+public class HeadlessClipboard implements Clipboard {
+	
+	private String contents;
+	
+	@Override
+	public boolean hasContents() {
+		return contents != null && !contents.isEmpty();
+	}
+	
+	@Override
+	public String getContents() {
+		return contents;
+	}
+	
+	@Override
+	public void setContents(String content) {
+		this.contents = content;
+	}
+	
+}
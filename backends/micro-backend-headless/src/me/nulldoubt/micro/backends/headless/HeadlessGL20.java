@@ -0,0 +1,1326 @@
+package me.nulldoubt.micro.backends.headless;
+
+import me.nulldoubt.micro.graphics.GL20;
+import me.nulldoubt.micro.graphics.GL30;
+import me.nulldoubt.micro.utils.collections.Array;
+import me.nulldoubt.micro.utils.collections.IntArray;
+import me.nulldoubt.micro.utils.collections.IntMap;
+import me.nulldoubt.micro.utils.collections.IntSet;
+import me.nulldoubt.micro.utils.collections.ObjectIntMap;
+
+import java.nio.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A {@link GL20} that needs no context. Every call is counted and, if {@link GLCommandLog#enabled}, appended to {@link #log}.
+ * Buffer objects and textures are simulated in heap memory, and shaders are "linked" by scanning their sources for attribute
+ * and uniform declarations so that {@code Shader} initializes as it would against a driver. Nothing is rasterized.
+ * <p>
+ * The per-frame counters are cleared by {@link #reset()}, which {@link HeadlessApplication} calls at the start of every frame.
+ */
+public class HeadlessGL20 implements GL20 {
+	
+	protected static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+	
+	public final GLCommandLog log = new GLCommandLog();
+	
+	/** Calls, draw calls, vertices, texture bindings, program switches and uploaded bytes since the last {@link #reset()}. */
+	public int calls, drawCalls, vertexCount, textureBindings, shaderSwitches;
+	public long bufferBytesUploaded, textureBytesUploaded;
+	
+	/** The same counters since creation. */
+	public long totalCalls, totalDrawCalls, totalVertexCount;
+	public long totalBufferBytesUploaded, totalTextureBytesUploaded;
+	
+	protected final IntMap<ByteBuffer> buffers = new IntMap<>();
+	/** The storage backing each buffer object, reused by later glBufferData calls which fit in it. */
+	protected final IntMap<ByteBuffer> bufferStorage = new IntMap<>();
+	protected final IntMap<TextureObject> textures = new IntMap<>();
+	protected final IntMap<ShaderObject> shaders = new IntMap<>();
+	protected final IntMap<ProgramObject> programs = new IntMap<>();
+	protected final IntSet framebuffers = new IntSet();
+	protected final IntSet renderbuffers = new IntSet();
+	protected final IntSet enabled = new IntSet();
+	
+	protected final int[] boundBuffers = new int[8];
+	protected final int[] boundTextures;
+	protected final int[] viewport = new int[4];
+	protected int activeTexture;
+	protected int currentProgram;
+	protected int framebuffer;
+	protected int renderbuffer;
+	protected int nextHandle = 1;
+	
+	public HeadlessGL20(final int maxTextureUnits) {
+		this.boundTextures = new int[maxTextureUnits];
+	}
+	
+	/** Clears the per-frame counters and the command log. */
+	public void reset() {
+		calls = 0;
+		drawCalls = 0;
+		vertexCount = 0;
+		textureBindings = 0;
+		shaderSwitches = 0;
+		bufferBytesUploaded = 0;
+		textureBytesUploaded = 0;
+		log.clear();
+	}
+	
+	/**
+	 * @return the simulated storage of the given buffer object, or null.
+	 */
+	public ByteBuffer getBufferData(final int buffer) {
+		return buffers.get(buffer);
+	}
+	
+	/**
+	 * @return the simulated texture object with the given handle, or null.
+	 */
+	public TextureObject getTexture(final int texture) {
+		return textures.get(texture);
+	}
+	
+	public int getBoundBuffer(final int target) {
+		final int slot = bufferSlot(target);
+		return slot != -1 ? boundBuffers[slot] : 0;
+	}
+	
+	public int getBoundTexture(final int unit) {
+		return boundTextures[unit];
+	}
+	
+	public int getCurrentProgram() {
+		return currentProgram;
+	}
+	
+	protected String getVersionString() {
+		return "2.0 Headless";
+	}
+	
+	/**
+	 * @return the answer to a {@code glGetIntegerv} query that {@link #glGetIntegerv(int, IntBuffer)} doesn't handle itself.
+	 */
+	protected int getInteger(final int pname) {
+		return 0;
+	}
+	
+	protected int bufferSlot(final int target) {
+		return switch (target) {
+			case GL_ARRAY_BUFFER -> 0;
+			case GL_ELEMENT_ARRAY_BUFFER -> 1;
+			default -> -1;
+		};
+	}
+	
+	protected void record(final GLCommand command) {
+		calls++;
+		totalCalls++;
+		if (log.enabled)
+			log.add(command);
+	}
+	
+	protected void record(final GLCommand command, final int arg1) {
+		calls++;
+		totalCalls++;
+		if (log.enabled)
+			log.add(command, arg1);
+	}
+	
+	protected void record(final GLCommand command, final int arg1, final int arg2) {
+		calls++;
+		totalCalls++;
+		if (log.enabled)
+			log.add(command, arg1, arg2);
+	}
+	
+	protected void record(final GLCommand command, final int arg1, final int arg2, final int arg3) {
+		calls++;
+		totalCalls++;
+		if (log.enabled)
+			log.add(command, arg1, arg2, arg3);
+	}
+	
+	protected void record(final GLCommand command, final int arg1, final int arg2, final int arg3, final int arg4) {
+		calls++;
+		totalCalls++;
+		if (log.enabled)
+			log.add(command, arg1, arg2, arg3, arg4);
+	}
+	
+	protected void record(final GLCommand command, final int... args) {
+		calls++;
+		totalCalls++;
+		if (log.enabled)
+			log.add(command, args);
+	}
+	
+	protected void draw(final int count, final int instances) {
+		drawCalls++;
+		totalDrawCalls++;
+		vertexCount += count * instances;
+		totalVertexCount += (long) count * instances;
+	}
+	
+	/** Copies {@code size} bytes from the client buffer, starting at its position, into {@code storage} at {@code offset}. */
+	protected void upload(final Buffer data, final ByteBuffer storage, final int offset, final int size) {
+		final ByteBuffer destination = storage.duplicate().order(storage.order());
+		destination.position(offset).limit(offset + size);
+		switch (data) {
+			case ByteBuffer source -> destination.put(source.duplicate().limit(source.position() + size));
+			case ShortBuffer source -> destination.asShortBuffer().put(source.duplicate().limit(source.position() + (size >> 1)));
+			case IntBuffer source -> destination.asIntBuffer().put(source.duplicate().limit(source.position() + (size >> 2)));
+			case FloatBuffer source -> destination.asFloatBuffer().put(source.duplicate().limit(source.position() + (size >> 2)));
+			default -> throw new IllegalArgumentException("Unsupported buffer type: " + data.getClass().getName());
+		}
+		bufferBytesUploaded += size;
+		totalBufferBytesUploaded += size;
+	}
+	
+	protected void texImage(final int target, final int level, final int internalFormat, final int width, final int height, final int depth, final int format, final int type, final Buffer data, int bytes) {
+		final TextureObject texture = textures.get(boundTextures[activeTexture]);
+		if (bytes < 0)
+			bytes = width * height * depth * bytesPerPixel(format, type);
+		if (texture != null && level == 0) {
+			texture.target = target;
+			texture.width = width;
+			texture.height = height;
+			texture.depth = depth;
+			texture.internalFormat = internalFormat;
+			texture.format = format;
+			texture.type = type;
+			texture.data = null;
+			if (data instanceof ByteBuffer source) {
+				texture.data = ByteBuffer.allocate(bytes).order(ByteOrder.nativeOrder());
+				texture.data.put(source.duplicate().limit(Math.min(source.limit(), source.position() + bytes))).clear();
+			}
+		}
+		if (data != null) {
+			textureBytesUploaded += bytes;
+			totalTextureBytesUploaded += bytes;
+		}
+	}
+	
+	protected static int bytesPerPixel(final int format, final int type) {
+		switch (type) {
+			case GL_UNSIGNED_SHORT_5_6_5, GL_UNSIGNED_SHORT_4_4_4_4, GL_UNSIGNED_SHORT_5_5_5_1:
+				return 2;
+		}
+		final int components = switch (format) {
+			case GL_LUMINANCE_ALPHA, GL30.GL_RG -> 2;
+			case GL_RGB -> 3;
+			case GL_RGBA -> 4;
+			default -> 1;
+		};
+		return components * switch (type) {
+			case GL_UNSIGNED_SHORT, GL_SHORT, GL30.GL_HALF_FLOAT -> 2;
+			case GL_UNSIGNED_INT, GL_INT, GL_FLOAT -> 4;
+			default -> 1;
+		};
+	}
+	
+	@Override
+	public void glActiveTexture(int texture) {
+		record(GLCommand.glActiveTexture, texture);
+		activeTexture = texture - GL_TEXTURE0;
+	}
+	
+	@Override
+	public void glBindTexture(int target, int texture) {
+		record(GLCommand.glBindTexture, target, texture);
+		textureBindings++;
+		if (texture != 0 && !textures.containsKey(texture))
+			textures.put(texture, new TextureObject(target));
+		if (activeTexture >= 0 && activeTexture < boundTextures.length)
+			boundTextures[activeTexture] = texture;
+	}
+	
+	@Override
+	public void glBlendFunc(int sfactor, int dfactor) {
+		record(GLCommand.glBlendFunc, sfactor, dfactor);
+	}
+	
+	@Override
+	public void glClear(int mask) {
+		record(GLCommand.glClear, mask);
+	}
+	
+	@Override
+	public void glClearColor(float red, float green, float blue, float alpha) {
+		record(GLCommand.glClearColor, Float.floatToRawIntBits(red), Float.floatToRawIntBits(green), Float.floatToRawIntBits(blue), Float.floatToRawIntBits(alpha));
+	}
+	
+	@Override
+	public void glClearDepthf(float depth) {
+		record(GLCommand.glClearDepthf, Float.floatToRawIntBits(depth));
+	}
+	
+	@Override
+	public void glClearStencil(int s) {
+		record(GLCommand.glClearStencil, s);
+	}
+	
+	@Override
+	public void glColorMask(boolean red, boolean green, boolean blue, boolean alpha) {
+		record(GLCommand.glColorMask, red ? 1 : 0, green ? 1 : 0, blue ? 1 : 0, alpha ? 1 : 0);
+	}
+	
+	@Override
+	public void glCompressedTexImage2D(int target, int level, int internalformat, int width, int height, int border, int imageSize, Buffer data) {
+		record(GLCommand.glCompressedTexImage2D, target, level, internalformat, width, height, border, imageSize);
+		texImage(target, level, internalformat, width, height, 1, internalformat, GL_UNSIGNED_BYTE, data, imageSize);
+	}
+	
+	@Override
+	public void glCompressedTexSubImage2D(int target, int level, int xoffset, int yoffset, int width, int height, int format, int imageSize, Buffer data) {
+		record(GLCommand.glCompressedTexSubImage2D, target, level, xoffset, yoffset, width, height, format, imageSize);
+		textureBytesUploaded += imageSize;
+		totalTextureBytesUploaded += imageSize;
+	}
+	
+	@Override
+	public void glCopyTexImage2D(int target, int level, int internalformat, int x, int y, int width, int height, int border) {
+		record(GLCommand.glCopyTexImage2D, target, level, internalformat, x, y, width, height, border);
+		texImage(target, level, internalformat, width, height, 1, internalformat, GL_UNSIGNED_BYTE, null, 0);
+	}
+	
+	@Override
+	public void glCopyTexSubImage2D(int target, int level, int xoffset, int yoffset, int x, int y, int width, int height) {
+		record(GLCommand.glCopyTexSubImage2D, target, level, xoffset, yoffset, x, y, width, height);
+	}
+	
+	@Override
+	public void glCullFace(int mode) {
+		record(GLCommand.glCullFace, mode);
+	}
+	
+	@Override
+	public void glDeleteTextures(int n, IntBuffer textures) {
+		record(GLCommand.glDeleteTextures, n);
+		for (int i = textures.position(), end = i + n; i < end; i++)
+			this.textures.remove(textures.get(i));
+	}
+	
+	@Override
+	public void glDeleteTexture(int texture) {
+		record(GLCommand.glDeleteTexture, texture);
+		textures.remove(texture);
+	}
+	
+	@Override
+	public void glDepthFunc(int func) {
+		record(GLCommand.glDepthFunc, func);
+	}
+	
+	@Override
+	public void glDepthMask(boolean flag) {
+		record(GLCommand.glDepthMask, flag ? 1 : 0);
+	}
+	
+	@Override
+	public void glDepthRangef(float zNear, float zFar) {
+		record(GLCommand.glDepthRangef, Float.floatToRawIntBits(zNear), Float.floatToRawIntBits(zFar));
+	}
+	
+	@Override
+	public void glDisable(int cap) {
+		record(GLCommand.glDisable, cap);
+		enabled.remove(cap);
+	}
+	
+	@Override
+	public void glDrawArrays(int mode, int first, int count) {
+		record(GLCommand.glDrawArrays, mode, first, count);
+		draw(count, 1);
+	}
+	
+	@Override
+	public void glDrawElements(int mode, int count, int type, Buffer indices) {
+		record(GLCommand.glDrawElements, mode, count, type);
+		draw(count, 1);
+	}
+	
+	@Override
+	public void glEnable(int cap) {
+		record(GLCommand.glEnable, cap);
+		enabled.add(cap);
+	}
+	
+	@Override
+	public void glFinish() {
+		record(GLCommand.glFinish);
+	}
+	
+	@Override
+	public void glFlush() {
+		record(GLCommand.glFlush);
+	}
+	
+	@Override
+	public void glFrontFace(int mode) {
+		record(GLCommand.glFrontFace, mode);
+	}
+	
+	@Override
+	public void glGenTextures(int n, IntBuffer textures) {
+		record(GLCommand.glGenTextures, n);
+		for (int i = textures.position(), end = i + n; i < end; i++)
+			textures.put(i, glGenTexture());
+	}
+	
+	@Override
+	public int glGenTexture() {
+		record(GLCommand.glGenTexture);
+		final int handle = nextHandle++;
+		textures.put(handle, new TextureObject(GL_TEXTURE_2D));
+		return handle;
+	}
+	
+	@Override
+	public int glGetError() {
+		record(GLCommand.glGetError);
+		return GL_NO_ERROR;
+	}
+	
+	@Override
+	public void glGetIntegerv(int pname, IntBuffer params) {
+		record(GLCommand.glGetIntegerv, pname);
+		final int position = params.position();
+		switch (pname) {
+			case GL_VIEWPORT -> params.put(position, viewport[0]).put(position + 1, viewport[1]).put(position + 2, viewport[2]).put(position + 3, viewport[3]);
+			case GL_MAX_TEXTURE_IMAGE_UNITS, GL_MAX_COMBINED_TEXTURE_IMAGE_UNITS -> params.put(position, boundTextures.length);
+			case GL_MAX_TEXTURE_SIZE, GL_MAX_RENDERBUFFER_SIZE -> params.put(position, 16384);
+			case GL_MAX_VERTEX_ATTRIBS -> params.put(position, 16);
+			case GL_MAX_VERTEX_UNIFORM_VECTORS, GL_MAX_FRAGMENT_UNIFORM_VECTORS -> params.put(position, 1024);
+			case GL_MAX_VARYING_VECTORS -> params.put(position, 16);
+			case GL_ACTIVE_TEXTURE -> params.put(position, GL_TEXTURE0 + activeTexture);
+			case GL_TEXTURE_BINDING_2D -> params.put(position, boundTextures[activeTexture]);
+			case GL_CURRENT_PROGRAM -> params.put(position, currentProgram);
+			case GL_ARRAY_BUFFER_BINDING -> params.put(position, getBoundBuffer(GL_ARRAY_BUFFER));
+			case GL_ELEMENT_ARRAY_BUFFER_BINDING -> params.put(position, getBoundBuffer(GL_ELEMENT_ARRAY_BUFFER));
+			case GL_FRAMEBUFFER_BINDING -> params.put(position, framebuffer);
+			case GL_RENDERBUFFER_BINDING -> params.put(position, renderbuffer);
+			default -> params.put(position, getInteger(pname));
+		}
+	}
+	
+	@Override
+	public String glGetString(int name) {
+		record(GLCommand.glGetString, name);
+		return switch (name) {
+			case GL_VERSION -> getVersionString();
+			case GL_VENDOR -> "Micro";
+			case GL_RENDERER -> "Headless";
+			case GL_SHADING_LANGUAGE_VERSION -> "1.30";
+			default -> "";
+		};
+	}
+	
+	@Override
+	public void glHint(int target, int mode) {
+		record(GLCommand.glHint, target, mode);
+	}
+	
+	@Override
+	public void glLineWidth(float width) {
+		record(GLCommand.glLineWidth, Float.floatToRawIntBits(width));
+	}
+	
+	@Override
+	public void glPixelStorei(int pname, int param) {
+		record(GLCommand.glPixelStorei, pname, param);
+	}
+	
+	@Override
+	public void glPolygonOffset(float factor, float units) {
+		record(GLCommand.glPolygonOffset, Float.floatToRawIntBits(factor), Float.floatToRawIntBits(units));
+	}
+	
+	@Override
+	public void glReadPixels(int x, int y, int width, int height, int format, int type, Buffer pixels) {
+		record(GLCommand.glReadPixels, x, y, width, height, format, type);
+	}
+	
+	@Override
+	public void glScissor(int x, int y, int width, int height) {
+		record(GLCommand.glScissor, x, y, width, height);
+	}
+	
+	@Override
+	public void glStencilFunc(int func, int ref, int mask) {
+		record(GLCommand.glStencilFunc, func, ref, mask);
+	}
+	
+	@Override
+	public void glStencilMask(int mask) {
+		record(GLCommand.glStencilMask, mask);
+	}
+	
+	@Override
+	public void glStencilOp(int fail, int zfail, int zpass) {
+		record(GLCommand.glStencilOp, fail, zfail, zpass);
+	}
+	
+	@Override
+	public void glTexImage2D(int target, int level, int internalformat, int width, int height, int border, int format, int type, Buffer pixels) {
+		record(GLCommand.glTexImage2D, target, level, internalformat, width, height, border, format, type);
+		texImage(target, level, internalformat, width, height, 1, format, type, pixels, -1);
+	}
+	
+	@Override
+	public void glTexParameterf(int target, int pname, float param) {
+		record(GLCommand.glTexParameterf, target, pname, Float.floatToRawIntBits(param));
+	}
+	
+	@Override
+	public void glTexSubImage2D(int target, int level, int xoffset, int yoffset, int width, int height, int format, int type, Buffer pixels) {
+		record(GLCommand.glTexSubImage2D, target, level, xoffset, yoffset, width, height, format, type);
+		if (pixels != null) {
+			final int bytes = width * height * bytesPerPixel(format, type);
+			textureBytesUploaded += bytes;
+			totalTextureBytesUploaded += bytes;
+		}
+	}
+	
+	@Override
+	public void glViewport(int x, int y, int width, int height) {
+		record(GLCommand.glViewport, x, y, width, height);
+		viewport[0] = x;
+		viewport[1] = y;
+		viewport[2] = width;
+		viewport[3] = height;
+	}
+	
+	@Override
+	public void glAttachShader(int program, int shader) {
+		record(GLCommand.glAttachShader, program, shader);
+		final ProgramObject object = programs.get(program);
+		if (object != null)
+			object.shaders.add(shader);
+	}
+	
+	@Override
+	public void glBindAttribLocation(int program, int index, String name) {
+		record(GLCommand.glBindAttribLocation, program, index);
+		final ProgramObject object = programs.get(program);
+		if (object != null)
+			object.boundAttributes.put(name, index);
+	}
+	
+	@Override
+	public void glBindBuffer(int target, int buffer) {
+		record(GLCommand.glBindBuffer, target, buffer);
+		final int slot = bufferSlot(target);
+		if (slot != -1)
+			boundBuffers[slot] = buffer;
+	}
+	
+	@Override
+	public void glBindFramebuffer(int target, int framebuffer) {
+		record(GLCommand.glBindFramebuffer, target, framebuffer);
+		this.framebuffer = framebuffer;
+	}
+	
+	@Override
+	public void glBindRenderbuffer(int target, int renderbuffer) {
+		record(GLCommand.glBindRenderbuffer, target, renderbuffer);
+		this.renderbuffer = renderbuffer;
+	}
+	
+	@Override
+	public void glBlendColor(float red, float green, float blue, float alpha) {
+		record(GLCommand.glBlendColor, Float.floatToRawIntBits(red), Float.floatToRawIntBits(green), Float.floatToRawIntBits(blue), Float.floatToRawIntBits(alpha));
+	}
+	
+	@Override
+	public void glBlendEquation(int mode) {
+		record(GLCommand.glBlendEquation, mode);
+	}
+	
+	@Override
+	public void glBlendEquationSeparate(int modeRGB, int modeAlpha) {
+		record(GLCommand.glBlendEquationSeparate, modeRGB, modeAlpha);
+	}
+	
+	@Override
+	public void glBlendFuncSeparate(int srcRGB, int dstRGB, int srcAlpha, int dstAlpha) {
+		record(GLCommand.glBlendFuncSeparate, srcRGB, dstRGB, srcAlpha, dstAlpha);
+	}
+	
+	@Override
+	public void glBufferData(int target, int size, Buffer data, int usage) {
+		record(GLCommand.glBufferData, target, size, usage);
+		final int buffer = getBoundBuffer(target);
+		if (buffer == 0)
+			return;
+		// Streaming buffers are orphaned every flush, so the storage is only allocated when it has to grow.
+		ByteBuffer storage = bufferStorage.get(buffer);
+		if (storage == null || storage.capacity() < size) {
+			storage = ByteBuffer.allocateDirect(size).order(ByteOrder.nativeOrder());
+			bufferStorage.put(buffer, storage);
+		}
+		final ByteBuffer contents = storage.slice(0, size).order(ByteOrder.nativeOrder());
+		buffers.put(buffer, contents);
+		if (data != null)
+			upload(data, contents, 0, size);
+	}
+	
+	@Override
+	public void glBufferSubData(int target, int offset, int size, Buffer data) {
+		record(GLCommand.glBufferSubData, target, offset, size);
+		final ByteBuffer storage = buffers.get(getBoundBuffer(target));
+		if (storage != null && data != null)
+			upload(data, storage, offset, size);
+	}
+	
+	@Override
+	public int glCheckFramebufferStatus(int target) {
+		record(GLCommand.glCheckFramebufferStatus, target);
+		return GL_FRAMEBUFFER_COMPLETE;
+	}
+	
+	@Override
+	public void glCompileShader(int shader) {
+		record(GLCommand.glCompileShader, shader);
+	}
+	
+	@Override
+	public int glCreateProgram() {
+		record(GLCommand.glCreateProgram);
+		final int handle = nextHandle++;
+		programs.put(handle, new ProgramObject());
+		return handle;
+	}
+	
+	@Override
+	public int glCreateShader(int type) {
+		record(GLCommand.glCreateShader, type);
+		final int handle = nextHandle++;
+		shaders.put(handle, new ShaderObject(type));
+		return handle;
+	}
+	
+	@Override
+	public void glDeleteBuffer(int buffer) {
+		record(GLCommand.glDeleteBuffer, buffer);
+		buffers.remove(buffer);
+		bufferStorage.remove(buffer);
+	}
+	
+	@Override
+	public void glDeleteBuffers(int n, IntBuffer buffers) {
+		record(GLCommand.glDeleteBuffers, n);
+		for (int i = buffers.position(), end = i + n; i < end; i++) {
+			this.buffers.remove(buffers.get(i));
+			bufferStorage.remove(buffers.get(i));
+		}
+	}
+	
+	@Override
+	public void glDeleteFramebuffer(int framebuffer) {
+		record(GLCommand.glDeleteFramebuffer, framebuffer);
+		framebuffers.remove(framebuffer);
+	}
+	
+	@Override
+	public void glDeleteFramebuffers(int n, IntBuffer framebuffers) {
+		record(GLCommand.glDeleteFramebuffers, n);
+		for (int i = framebuffers.position(), end = i + n; i < end; i++)
+			this.framebuffers.remove(framebuffers.get(i));
+	}
+	
+	@Override
+	public void glDeleteProgram(int program) {
+		record(GLCommand.glDeleteProgram, program);
+		programs.remove(program);
+	}
+	
+	@Override
+	public void glDeleteRenderbuffer(int renderbuffer) {
+		record(GLCommand.glDeleteRenderbuffer, renderbuffer);
+		renderbuffers.remove(renderbuffer);
+	}
+	
+	@Override
+	public void glDeleteRenderbuffers(int n, IntBuffer renderbuffers) {
+		record(GLCommand.glDeleteRenderbuffers, n);
+		for (int i = renderbuffers.position(), end = i + n; i < end; i++)
+			this.renderbuffers.remove(renderbuffers.get(i));
+	}
+	
+	@Override
+	public void glDeleteShader(int shader) {
+		record(GLCommand.glDeleteShader, shader);
+		shaders.remove(shader);
+	}
+	
+	@Override
+	public void glDetachShader(int program, int shader) {
+		record(GLCommand.glDetachShader, program, shader);
+	}
+	
+	@Override
+	public void glDisableVertexAttribArray(int index) {
+		record(GLCommand.glDisableVertexAttribArray, index);
+	}
+	
+	@Override
+	public void glDrawElements(int mode, int count, int type, int indices) {
+		record(GLCommand.glDrawElements, mode, count, type, indices);
+		draw(count, 1);
+	}
+	
+	@Override
+	public void glEnableVertexAttribArray(int index) {
+		record(GLCommand.glEnableVertexAttribArray, index);
+	}
+	
+	@Override
+	public void glFramebufferRenderbuffer(int target, int attachment, int renderbuffertarget, int renderbuffer) {
+		record(GLCommand.glFramebufferRenderbuffer, target, attachment, renderbuffertarget, renderbuffer);
+	}
+	
+	@Override
+	public void glFramebufferTexture2D(int target, int attachment, int textarget, int texture, int level) {
+		record(GLCommand.glFramebufferTexture2D, target, attachment, textarget, texture, level);
+	}
+	
+	@Override
+	public int glGenBuffer() {
+		record(GLCommand.glGenBuffer);
+		final int handle = nextHandle++;
+		buffers.put(handle, EMPTY);
+		return handle;
+	}
+	
+	@Override
+	public void glGenBuffers(int n, IntBuffer buffers) {
+		record(GLCommand.glGenBuffers, n);
+		for (int i = buffers.position(), end = i + n; i < end; i++)
+			buffers.put(i, glGenBuffer());
+	}
+	
+	@Override
+	public void glGenerateMipmap(int target) {
+		record(GLCommand.glGenerateMipmap, target);
+	}
+	
+	@Override
+	public int glGenFramebuffer() {
+		record(GLCommand.glGenFramebuffer);
+		final int handle = nextHandle++;
+		framebuffers.add(handle);
+		return handle;
+	}
+	
+	@Override
+	public void glGenFramebuffers(int n, IntBuffer framebuffers) {
+		record(GLCommand.glGenFramebuffers, n);
+		for (int i = framebuffers.position(), end = i + n; i < end; i++)
+			framebuffers.put(i, glGenFramebuffer());
+	}
+	
+	@Override
+	public int glGenRenderbuffer() {
+		record(GLCommand.glGenRenderbuffer);
+		final int handle = nextHandle++;
+		renderbuffers.add(handle);
+		return handle;
+	}
+	
+	@Override
+	public void glGenRenderbuffers(int n, IntBuffer renderbuffers) {
+		record(GLCommand.glGenRenderbuffers, n);
+		for (int i = renderbuffers.position(), end = i + n; i < end; i++)
+			renderbuffers.put(i, glGenRenderbuffer());
+	}
+	
+	@Override
+	public String glGetActiveAttrib(int program, int index, IntBuffer size, IntBuffer type) {
+		record(GLCommand.glGetActiveAttrib, program, index);
+		final ProgramObject object = programs.get(program);
+		if (object == null || index >= object.attributes.size)
+			return "";
+		return object.attributes.get(index).describe(size, type);
+	}
+	
+	@Override
+	public String glGetActiveUniform(int program, int index, IntBuffer size, IntBuffer type) {
+		record(GLCommand.glGetActiveUniform, program, index);
+		final ProgramObject object = programs.get(program);
+		if (object == null || index >= object.uniforms.size)
+			return "";
+		return object.uniforms.get(index).describe(size, type);
+	}
+	
+	@Override
+	public void glGetAttachedShaders(int program, int maxcount, Buffer count, IntBuffer shaders) {
+		record(GLCommand.glGetAttachedShaders, program, maxcount);
+	}
+	
+	@Override
+	public int glGetAttribLocation(int program, String name) {
+		record(GLCommand.glGetAttribLocation, program);
+		final ProgramObject object = programs.get(program);
+		return object != null ? object.location(object.attributes, name) : -1;
+	}
+	
+	@Override
+	public void glGetBooleanv(int pname, Buffer params) {
+		record(GLCommand.glGetBooleanv, pname);
+	}
+	
+	@Override
+	public void glGetBufferParameteriv(int target, int pname, IntBuffer params) {
+		record(GLCommand.glGetBufferParameteriv, target, pname);
+		final ByteBuffer storage = buffers.get(getBoundBuffer(target));
+		params.put(params.position(), pname == GL_BUFFER_SIZE && storage != null ? storage.capacity() : 0);
+	}
+	
+	@Override
+	public void glGetFloatv(int pname, FloatBuffer params) {
+		record(GLCommand.glGetFloatv, pname);
+	}
+	
+	@Override
+	public void glGetFramebufferAttachmentParameteriv(int target, int attachment, int pname, IntBuffer params) {
+		record(GLCommand.glGetFramebufferAttachmentParameteriv, target, attachment, pname);
+	}
+	
+	@Override
+	public void glGetProgramiv(int program, int pname, IntBuffer params) {
+		record(GLCommand.glGetProgramiv, program, pname);
+		final ProgramObject object = programs.get(program);
+		params.put(params.position(), switch (pname) {
+			case GL_LINK_STATUS, GL_VALIDATE_STATUS -> object != null ? GL_TRUE : GL_FALSE;
+			case GL_ACTIVE_ATTRIBUTES -> object != null ? object.attributes.size : 0;
+			case GL_ACTIVE_UNIFORMS -> object != null ? object.uniforms.size : 0;
+			case GL_ATTACHED_SHADERS -> object != null ? object.shaders.size : 0;
+			default -> 0;
+		});
+	}
+	
+	@Override
+	public String glGetProgramInfoLog(int program) {
+		record(GLCommand.glGetProgramInfoLog, program);
+		return "";
+	}
+	
+	@Override
+	public void glGetRenderbufferParameteriv(int target, int pname, IntBuffer params) {
+		record(GLCommand.glGetRenderbufferParameteriv, target, pname);
+	}
+	
+	@Override
+	public void glGetShaderiv(int shader, int pname, IntBuffer params) {
+		record(GLCommand.glGetShaderiv, shader, pname);
+		final ShaderObject object = shaders.get(shader);
+		params.put(params.position(), switch (pname) {
+			case GL_COMPILE_STATUS -> object != null ? GL_TRUE : GL_FALSE;
+			case GL_SHADER_TYPE -> object != null ? object.type : 0;
+			case GL_SHADER_SOURCE_LENGTH -> object != null && object.source != null ? object.source.length() + 1 : 0;
+			default -> 0;
+		});
+	}
+	
+	@Override
+	public String glGetShaderInfoLog(int shader) {
+		record(GLCommand.glGetShaderInfoLog, shader);
+		return "";
+	}
+	
+	@Override
+	public void glGetShaderPrecisionFormat(int shadertype, int precisiontype, IntBuffer range, IntBuffer precision) {
+		record(GLCommand.glGetShaderPrecisionFormat, shadertype, precisiontype);
+	}
+	
+	@Override
+	public void glGetTexParameterfv(int target, int pname, FloatBuffer params) {
+		record(GLCommand.glGetTexParameterfv, target, pname);
+	}
+	
+	@Override
+	public void glGetTexParameteriv(int target, int pname, IntBuffer params) {
+		record(GLCommand.glGetTexParameteriv, target, pname);
+	}
+	
+	@Override
+	public void glGetUniformfv(int program, int location, FloatBuffer params) {
+		record(GLCommand.glGetUniformfv, program, location);
+	}
+	
+	@Override
+	public void glGetUniformiv(int program, int location, IntBuffer params) {
+		record(GLCommand.glGetUniformiv, program, location);
+	}
+	
+	@Override
+	public int glGetUniformLocation(int program, String name) {
+		record(GLCommand.glGetUniformLocation, program);
+		final ProgramObject object = programs.get(program);
+		return object != null ? object.location(object.uniforms, name) : -1;
+	}
+	
+	@Override
+	public void glGetVertexAttribfv(int index, int pname, FloatBuffer params) {
+		record(GLCommand.glGetVertexAttribfv, index, pname);
+	}
+	
+	@Override
+	public void glGetVertexAttribiv(int index, int pname, IntBuffer params) {
+		record(GLCommand.glGetVertexAttribiv, index, pname);
+	}
+	
+	@Override
+	public void glGetVertexAttribPointerv(int index, int pname, Buffer pointer) {
+		record(GLCommand.glGetVertexAttribPointerv, index, pname);
+	}
+	
+	@Override
+	public boolean glIsBuffer(int buffer) {
+		record(GLCommand.glIsBuffer, buffer);
+		return buffers.containsKey(buffer);
+	}
+	
+	@Override
+	public boolean glIsEnabled(int cap) {
+		record(GLCommand.glIsEnabled, cap);
+		return enabled.contains(cap);
+	}
+	
+	@Override
+	public boolean glIsFramebuffer(int framebuffer) {
+		record(GLCommand.glIsFramebuffer, framebuffer);
+		return framebuffers.contains(framebuffer);
+	}
+	
+	@Override
+	public boolean glIsProgram(int program) {
+		record(GLCommand.glIsProgram, program);
+		return programs.containsKey(program);
+	}
+	
+	@Override
+	public boolean glIsRenderbuffer(int renderbuffer) {
+		record(GLCommand.glIsRenderbuffer, renderbuffer);
+		return renderbuffers.contains(renderbuffer);
+	}
+	
+	@Override
+	public boolean glIsShader(int shader) {
+		record(GLCommand.glIsShader, shader);
+		return shaders.containsKey(shader);
+	}
+	
+	@Override
+	public boolean glIsTexture(int texture) {
+		record(GLCommand.glIsTexture, texture);
+		return textures.containsKey(texture);
+	}
+	
+	@Override
+	public void glLinkProgram(int program) {
+		record(GLCommand.glLinkProgram, program);
+		final ProgramObject object = programs.get(program);
+		if (object != null)
+			object.link(shaders);
+	}
+	
+	@Override
+	public void glReleaseShaderCompiler() {
+		record(GLCommand.glReleaseShaderCompiler);
+	}
+	
+	@Override
+	public void glRenderbufferStorage(int target, int internalformat, int width, int height) {
+		record(GLCommand.glRenderbufferStorage, target, internalformat, width, height);
+	}
+	
+	@Override
+	public void glSampleCoverage(float value, boolean invert) {
+		record(GLCommand.glSampleCoverage, Float.floatToRawIntBits(value), invert ? 1 : 0);
+	}
+	
+	@Override
+	public void glShaderBinary(int n, IntBuffer shaders, int binaryformat, Buffer binary, int length) {
+		record(GLCommand.glShaderBinary, n, binaryformat, length);
+	}
+	
+	@Override
+	public void glShaderSource(int shader, String string) {
+		record(GLCommand.glShaderSource, shader);
+		final ShaderObject object = shaders.get(shader);
+		if (object != null)
+			object.source = string;
+	}
+	
+	@Override
+	public void glStencilFuncSeparate(int face, int func, int ref, int mask) {
+		record(GLCommand.glStencilFuncSeparate, face, func, ref, mask);
+	}
+	
+	@Override
+	public void glStencilMaskSeparate(int face, int mask) {
+		record(GLCommand.glStencilMaskSeparate, face, mask);
+	}
+	
+	@Override
+	public void glStencilOpSeparate(int face, int fail, int zfail, int zpass) {
+		record(GLCommand.glStencilOpSeparate, face, fail, zfail, zpass);
+	}
+	
+	@Override
+	public void glTexParameterfv(int target, int pname, FloatBuffer params) {
+		record(GLCommand.glTexParameterfv, target, pname);
+	}
+	
+	@Override
+	public void glTexParameteri(int target, int pname, int param) {
+		record(GLCommand.glTexParameteri, target, pname, param);
+	}
+	
+	@Override
+	public void glTexParameteriv(int target, int pname, IntBuffer params) {
+		record(GLCommand.glTexParameteriv, target, pname);
+	}
+	
+	@Override
+	public void glUniform1f(int location, float x) {
+		record(GLCommand.glUniform1f, location, Float.floatToRawIntBits(x));
+	}
+	
+	@Override
+	public void glUniform1fv(int location, int count, FloatBuffer v) {
+		record(GLCommand.glUniform1fv, location, count);
+	}
+	
+	@Override
+	public void glUniform1fv(int location, int count, float[] v, int offset) {
+		record(GLCommand.glUniform1fv, location, count, offset);
+	}
+	
+	@Override
+	public void glUniform1i(int location, int x) {
+		record(GLCommand.glUniform1i, location, x);
+	}
+	
+	@Override
+	public void glUniform1iv(int location, int count, IntBuffer v) {
+		record(GLCommand.glUniform1iv, location, count);
+	}
+	
+	@Override
+	public void glUniform1iv(int location, int count, int[] v, int offset) {
+		record(GLCommand.glUniform1iv, location, count, offset);
+	}
+	
+	@Override
+	public void glUniform2f(int location, float x, float y) {
+		record(GLCommand.glUniform2f, location, Float.floatToRawIntBits(x), Float.floatToRawIntBits(y));
+	}
+	
+	@Override
+	public void glUniform2fv(int location, int count, FloatBuffer v) {
+		record(GLCommand.glUniform2fv, location, count);
+	}
+	
+	@Override
+	public void glUniform2fv(int location, int count, float[] v, int offset) {
+		record(GLCommand.glUniform2fv, location, count, offset);
+	}
+	
+	@Override
+	public void glUniform2i(int location, int x, int y) {
+		record(GLCommand.glUniform2i, location, x, y);
+	}
+	
+	@Override
+	public void glUniform2iv(int location, int count, IntBuffer v) {
+		record(GLCommand.glUniform2iv, location, count);
+	}
+	
+	@Override
+	public void glUniform2iv(int location, int count, int[] v, int offset) {
+		record(GLCommand.glUniform2iv, location, count, offset);
+	}
+	
+	@Override
+	public void glUniform3f(int location, float x, float y, float z) {
+		record(GLCommand.glUniform3f, location, Float.floatToRawIntBits(x), Float.floatToRawIntBits(y), Float.floatToRawIntBits(z));
+	}
+	
+	@Override
+	public void glUniform3fv(int location, int count, FloatBuffer v) {
+		record(GLCommand.glUniform3fv, location, count);
+	}
+	
+	@Override
+	public void glUniform3fv(int location, int count, float[] v, int offset) {
+		record(GLCommand.glUniform3fv, location, count, offset);
+	}
+	
+	@Override
+	public void glUniform3i(int location, int x, int y, int z) {
+		record(GLCommand.glUniform3i, location, x, y, z);
+	}
+	
+	@Override
+	public void glUniform3iv(int location, int count, IntBuffer v) {
+		record(GLCommand.glUniform3iv, location, count);
+	}
+	
+	@Override
+	public void glUniform3iv(int location, int count, int[] v, int offset) {
+		record(GLCommand.glUniform3iv, location, count, offset);
+	}
+	
+	@Override
+	public void glUniform4f(int location, float x, float y, float z, float w) {
+		record(GLCommand.glUniform4f, location, Float.floatToRawIntBits(x), Float.floatToRawIntBits(y), Float.floatToRawIntBits(z), Float.floatToRawIntBits(w));
+	}
+	
+	@Override
+	public void glUniform4fv(int location, int count, FloatBuffer v) {
+		record(GLCommand.glUniform4fv, location, count);
+	}
+	
+	@Override
+	public void glUniform4fv(int location, int count, float[] v, int offset) {
+		record(GLCommand.glUniform4fv, location, count, offset);
+	}
+	
+	@Override
+	public void glUniform4i(int location, int x, int y, int z, int w) {
+		record(GLCommand.glUniform4i, location, x, y, z, w);
+	}
+	
+	@Override
+	public void glUniform4iv(int location, int count, IntBuffer v) {
+		record(GLCommand.glUniform4iv, location, count);
+	}
+	
+	@Override
+	public void glUniform4iv(int location, int count, int[] v, int offset) {
+		record(GLCommand.glUniform4iv, location, count, offset);
+	}
+	
+	@Override
+	public void glUniformMatrix2fv(int location, int count, boolean transpose, FloatBuffer value) {
+		record(GLCommand.glUniformMatrix2fv, location, count, transpose ? 1 : 0);
+	}
+	
+	@Override
+	public void glUniformMatrix2fv(int location, int count, boolean transpose, float[] value, int offset) {
+		record(GLCommand.glUniformMatrix2fv, location, count, transpose ? 1 : 0, offset);
+	}
+	
+	@Override
+	public void glUniformMatrix3fv(int location, int count, boolean transpose, FloatBuffer value) {
+		record(GLCommand.glUniformMatrix3fv, location, count, transpose ? 1 : 0);
+	}
+	
+	@Override
+	public void glUniformMatrix3fv(int location, int count, boolean transpose, float[] value, int offset) {
+		record(GLCommand.glUniformMatrix3fv, location, count, transpose ? 1 : 0, offset);
+	}
+	
+	@Override
+	public void glUniformMatrix4fv(int location, int count, boolean transpose, FloatBuffer value) {
+		record(GLCommand.glUniformMatrix4fv, location, count, transpose ? 1 : 0);
+	}
+	
+	@Override
+	public void glUniformMatrix4fv(int location, int count, boolean transpose, float[] value, int offset) {
+		record(GLCommand.glUniformMatrix4fv, location, count, transpose ? 1 : 0, offset);
+	}
+	
+	@Override
+	public void glUseProgram(int program) {
+		record(GLCommand.glUseProgram, program);
+		if (program != currentProgram)
+			shaderSwitches++;
+		currentProgram = program;
+	}
+	
+	@Override
+	public void glValidateProgram(int program) {
+		record(GLCommand.glValidateProgram, program);
+	}
+	
+	@Override
+	public void glVertexAttrib1f(int indx, float x) {
+		record(GLCommand.glVertexAttrib1f, indx, Float.floatToRawIntBits(x));
+	}
+	
+	@Override
+	public void glVertexAttrib1fv(int indx, FloatBuffer values) {
+		record(GLCommand.glVertexAttrib1fv, indx);
+	}
+	
+	@Override
+	public void glVertexAttrib2f(int indx, float x, float y) {
+		record(GLCommand.glVertexAttrib2f, indx, Float.floatToRawIntBits(x), Float.floatToRawIntBits(y));
+	}
+	
+	@Override
+	public void glVertexAttrib2fv(int indx, FloatBuffer values) {
+		record(GLCommand.glVertexAttrib2fv, indx);
+	}
+	
+	@Override
+	public void glVertexAttrib3f(int indx, float x, float y, float z) {
+		record(GLCommand.glVertexAttrib3f, indx, Float.floatToRawIntBits(x), Float.floatToRawIntBits(y), Float.floatToRawIntBits(z));
+	}
+	
+	@Override
+	public void glVertexAttrib3fv(int indx, FloatBuffer values) {
+		record(GLCommand.glVertexAttrib3fv, indx);
+	}
+	
+	@Override
+	public void glVertexAttrib4f(int indx, float x, float y, float z, float w) {
+		record(GLCommand.glVertexAttrib4f, indx, Float.floatToRawIntBits(x), Float.floatToRawIntBits(y), Float.floatToRawIntBits(z), Float.floatToRawIntBits(w));
+	}
+	
+	@Override
+	public void glVertexAttrib4fv(int indx, FloatBuffer values) {
+		record(GLCommand.glVertexAttrib4fv, indx);
+	}
+	
+	@Override
+	public void glVertexAttribPointer(int indx, int size, int type, boolean normalized, int stride, Buffer ptr) {
+		record(GLCommand.glVertexAttribPointer, indx, size, type, normalized ? 1 : 0, stride);
+	}
+	
+	@Override
+	public void glVertexAttribPointer(int indx, int size, int type, boolean normalized, int stride, int ptr) {
+		record(GLCommand.glVertexAttribPointer, indx, size, type, normalized ? 1 : 0, stride, ptr);
+	}
+	
+	public static class TextureObject {
+		
+		public int target;
+		public int width, height, depth;
+		public int internalFormat, format, type;
+		/** The level 0 pixels of the last upload from a {@link ByteBuffer}, or null. */
+		public ByteBuffer data;
+		
+		public TextureObject(final int target) {
+			this.target = target;
+		}
+		
+	}
+	
+	protected static class ShaderObject {
+		
+		final int type;
+		String source;
+		
+		ShaderObject(final int type) {
+			this.type = type;
+		}
+		
+	}
+	
+	protected static class ProgramObject {
+		
+		private static final Pattern attributePattern = Pattern.compile("(?:layout\\s*\\([^)]*\\)\\s*)?\\b(?:attribute|in)\\s+(?:\\w+p\\s+)?(\\w+)\\s+(\\w+)\\s*;");
+		private static final Pattern uniformPattern = Pattern.compile("\\buniform\\s+(?:\\w+p\\s+)?(\\w+)\\s+(\\w+)\\s*(?:\\[\\s*(\\w+)\\s*])?\\s*;");
+		private static final Pattern definePattern = Pattern.compile("#define\\s+(\\w+)\\s+(\\d+)");
+		
+		final IntArray shaders = new IntArray();
+		final ObjectIntMap<String> boundAttributes = new ObjectIntMap<>();
+		final Array<Variable> attributes = new Array<>(Variable.class);
+		final Array<Variable> uniforms = new Array<>(Variable.class);
+		
+		void link(final IntMap<ShaderObject> objects) {
+			attributes.clear();
+			uniforms.clear();
+			int uniformLocation = 0;
+			for (int i = 0; i < shaders.size; i++) {
+				final ShaderObject shader = objects.get(shaders.get(i));
+				if (shader == null || shader.source == null)
+					continue;
+				final String source = shader.source.replaceAll("//[^\\n]*", "");
+				if (shader.type == GL_VERTEX_SHADER) {
+					final Matcher matcher = attributePattern.matcher(source);
+					while (matcher.find())
+						attributes.add(new Variable(matcher.group(2), typeOf(matcher.group(1)), 1, boundAttributes.get(matcher.group(2), attributes.size)));
+				}
+				final ObjectIntMap<String> defines = new ObjectIntMap<>();
+				final Matcher define = definePattern.matcher(source);
+				while (define.find())
+					defines.put(define.group(1), Integer.parseInt(define.group(2)));
+				final Matcher matcher = uniformPattern.matcher(source);
+				while (matcher.find()) {
+					final String name = matcher.group(2);
+					if (find(uniforms, name) != null)
+						continue;
+					final String length = matcher.group(3);
+					final int size = length == null ? 1 : Character.isDigit(length.charAt(0)) ? Integer.parseInt(length) : defines.get(length, 1);
+					uniforms.add(new Variable(name, typeOf(matcher.group(1)), size, uniformLocation));
+					uniformLocation += size;
+				}
+			}
+		}
+		
+		int location(final Array<Variable> variables, String name) {
+			int element = 0;
+			final int bracket = name.indexOf('[');
+			if (bracket != -1) {
+				element = Integer.parseInt(name.substring(bracket + 1, name.indexOf(']', bracket)).trim());
+				name = name.substring(0, bracket);
+			}
+			final Variable variable = find(variables, name);
+			return variable != null && element < variable.size ? variable.location + element : -1;
+		}
+		
+		private static Variable find(final Array<Variable> variables, final String name) {
+			for (int i = 0; i < variables.size; i++)
+				if (variables.get(i).name.equals(name))
+					return variables.get(i);
+			return null;
+		}
+		
+		private static int typeOf(final String type) {
+			return switch (type) {
+				case "float" -> GL_FLOAT;
+				case "vec2" -> GL_FLOAT_VEC2;
+				case "vec3" -> GL_FLOAT_VEC3;
+				case "vec4" -> GL_FLOAT_VEC4;
+				case "int" -> GL_INT;
+				case "ivec2" -> GL_INT_VEC2;
+				case "ivec3" -> GL_INT_VEC3;
+				case "ivec4" -> GL_INT_VEC4;
+				case "uint" -> GL_UNSIGNED_INT;
+				case "uvec2" -> GL30.GL_UNSIGNED_INT_VEC2;
+				case "uvec3" -> GL30.GL_UNSIGNED_INT_VEC3;
+				case "uvec4" -> GL30.GL_UNSIGNED_INT_VEC4;
+				case "bool" -> GL_BOOL;
+				case "bvec2" -> GL_BOOL_VEC2;
+				case "bvec3" -> GL_BOOL_VEC3;
+				case "bvec4" -> GL_BOOL_VEC4;
+				case "mat2" -> GL_FLOAT_MAT2;
+				case "mat3" -> GL_FLOAT_MAT3;
+				case "mat4" -> GL_FLOAT_MAT4;
+				case "samplerCube" -> GL_SAMPLER_CUBE;
+				case "sampler3D" -> GL30.GL_SAMPLER_3D;
+				case "sampler2DArray" -> GL30.GL_SAMPLER_2D_ARRAY;
+				default -> GL_SAMPLER_2D;
+			};
+		}
+		
+	}
+	
+	protected record Variable(String name, int type, int size, int location) {
+		
+		String describe(final IntBuffer size, final IntBuffer type) {
+			size.put(size.position(), this.size);
+			type.put(type.position(), this.type);
+			return this.size > 1 ? name + "[0]" : name;
+		}
+		
+	}
+	
+}
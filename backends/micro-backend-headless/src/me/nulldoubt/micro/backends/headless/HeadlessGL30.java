@@ -0,0 +1,578 @@
+package me.nulldoubt.micro.backends.headless;
+
+import me.nulldoubt.micro.graphics.GL30;
+import me.nulldoubt.micro.utils.collections.IntSet;
+
+import java.nio.*;
+
+/**
+ * A {@link HeadlessGL20} that also implements {@link GL30}. Mapped buffer ranges are views of the simulated buffer storage, so
+ * writes through them are visible to {@link #getBufferData(int)}.
+ */
+public class HeadlessGL30 extends HeadlessGL20 implements GL30 {
+	
+	protected final IntSet vertexArrays = new IntSet();
+	protected int vertexArray;
+	
+	public HeadlessGL30(final int maxTextureUnits) {
+		super(maxTextureUnits);
+	}
+	
+	@Override
+	protected String getVersionString() {
+		return "3.0 Headless";
+	}
+	
+	@Override
+	protected int getInteger(final int pname) {
+		return switch (pname) {
+			case GL_MAJOR_VERSION -> 3;
+			case GL_MINOR_VERSION -> 0;
+			case GL_VERTEX_ARRAY_BINDING -> vertexArray;
+			case GL_MAX_UNIFORM_BUFFER_BINDINGS, GL_MAX_DRAW_BUFFERS, GL_MAX_COLOR_ATTACHMENTS -> 8;
+			case GL_MAX_3D_TEXTURE_SIZE, GL_MAX_ARRAY_TEXTURE_LAYERS -> 2048;
+			default -> super.getInteger(pname);
+		};
+	}
+	
+	@Override
+	protected int bufferSlot(final int target) {
+		return switch (target) {
+			case GL_PIXEL_PACK_BUFFER -> 2;
+			case GL_PIXEL_UNPACK_BUFFER -> 3;
+			case GL_COPY_READ_BUFFER -> 4;
+			case GL_COPY_WRITE_BUFFER -> 5;
+			case GL_UNIFORM_BUFFER -> 6;
+			case GL_TRANSFORM_FEEDBACK_BUFFER -> 7;
+			default -> super.bufferSlot(target);
+		};
+	}
+	
+	@Override
+	public void glReadBuffer(int mode) {
+		record(GLCommand.glReadBuffer, mode);
+	}
+	
+	@Override
+	public void glDrawRangeElements(int mode, int start, int end, int count, int type, Buffer indices) {
+		record(GLCommand.glDrawRangeElements, mode, start, end, count, type);
+		draw(count, 1);
+	}
+	
+	@Override
+	public void glDrawRangeElements(int mode, int start, int end, int count, int type, int offset) {
+		record(GLCommand.glDrawRangeElements, mode, start, end, count, type, offset);
+		draw(count, 1);
+	}
+	
+	@Override
+	public void glTexImage2D(int target, int level, int internalformat, int width, int height, int border, int format, int type, int offset) {
+		record(GLCommand.glTexImage2D, target, level, internalformat, width, height, border, format, type, offset);
+		texImage(target, level, internalformat, width, height, 1, format, type, null, -1);
+	}
+	
+	@Override
+	public void glTexImage3D(int target, int level, int internalformat, int width, int height, int depth, int border, int format, int type, Buffer pixels) {
+		record(GLCommand.glTexImage3D, target, level, internalformat, width, height, depth, border, format, type);
+		texImage(target, level, internalformat, width, height, depth, format, type, pixels, -1);
+	}
+	
+	@Override
+	public void glTexImage3D(int target, int level, int internalformat, int width, int height, int depth, int border, int format, int type, int offset) {
+		record(GLCommand.glTexImage3D, target, level, internalformat, width, height, depth, border, format, type, offset);
+		texImage(target, level, internalformat, width, height, depth, format, type, null, -1);
+	}
+	
+	@Override
+	public void glTexSubImage2D(int target, int level, int xoffset, int yoffset, int width, int height, int format, int type, int offset) {
+		record(GLCommand.glTexSubImage2D, target, level, xoffset, yoffset, width, height, format, type, offset);
+	}
+	
+	@Override
+	public void glTexSubImage3D(int target, int level, int xoffset, int yoffset, int zoffset, int width, int height, int depth, int format, int type, Buffer pixels) {
+		record(GLCommand.glTexSubImage3D, target, level, xoffset, yoffset, zoffset, width, height, depth, format, type);
+		if (pixels != null) {
+			final int bytes = width * height * depth * bytesPerPixel(format, type);
+			textureBytesUploaded += bytes;
+			totalTextureBytesUploaded += bytes;
+		}
+	}
+	
+	@Override
+	public void glTexSubImage3D(int target, int level, int xoffset, int yoffset, int zoffset, int width, int height, int depth, int format, int type, int offset) {
+		record(GLCommand.glTexSubImage3D, target, level, xoffset, yoffset, zoffset, width, height, depth, format, type, offset);
+	}
+	
+	@Override
+	public void glCopyTexSubImage3D(int target, int level, int xoffset, int yoffset, int zoffset, int x, int y, int width, int height) {
+		record(GLCommand.glCopyTexSubImage3D, target, level, xoffset, yoffset, zoffset, x, y, width, height);
+	}
+	
+	@Override
+	public void glGenQueries(int n, int[] ids, int offset) {
+		record(GLCommand.glGenQueries, n, offset);
+	}
+	
+	@Override
+	public void glGenQueries(int n, IntBuffer ids) {
+		record(GLCommand.glGenQueries, n);
+	}
+	
+	@Override
+	public void glDeleteQueries(int n, int[] ids, int offset) {
+		record(GLCommand.glDeleteQueries, n, offset);
+	}
+	
+	@Override
+	public void glDeleteQueries(int n, IntBuffer ids) {
+		record(GLCommand.glDeleteQueries, n);
+	}
+	
+	@Override
+	public boolean glIsQuery(int id) {
+		record(GLCommand.glIsQuery, id);
+		return false;
+	}
+	
+	@Override
+	public void glBeginQuery(int target, int id) {
+		record(GLCommand.glBeginQuery, target, id);
+	}
+	
+	@Override
+	public void glEndQuery(int target) {
+		record(GLCommand.glEndQuery, target);
+	}
+	
+	@Override
+	public void glGetQueryiv(int target, int pname, IntBuffer params) {
+		record(GLCommand.glGetQueryiv, target, pname);
+	}
+	
+	@Override
+	public void glGetQueryObjectuiv(int id, int pname, IntBuffer params) {
+		record(GLCommand.glGetQueryObjectuiv, id, pname);
+	}
+	
+	@Override
+	public boolean glUnmapBuffer(int target) {
+		record(GLCommand.glUnmapBuffer, target);
+		return true;
+	}
+	
+	@Override
+	public Buffer glGetBufferPointerv(int target, int pname) {
+		record(GLCommand.glGetBufferPointerv, target, pname);
+		return null;
+	}
+	
+	@Override
+	public void glDrawBuffers(int n, IntBuffer bufs) {
+		record(GLCommand.glDrawBuffers, n);
+	}
+	
+	@Override
+	public void glUniformMatrix2x3fv(int location, int count, boolean transpose, FloatBuffer value) {
+		record(GLCommand.glUniformMatrix2x3fv, location, count, transpose ? 1 : 0);
+	}
+	
+	@Override
+	public void glUniformMatrix3x2fv(int location, int count, boolean transpose, FloatBuffer value) {
+		record(GLCommand.glUniformMatrix3x2fv, location, count, transpose ? 1 : 0);
+	}
+	
+	@Override
+	public void glUniformMatrix2x4fv(int location, int count, boolean transpose, FloatBuffer value) {
+		record(GLCommand.glUniformMatrix2x4fv, location, count, transpose ? 1 : 0);
+	}
+	
+	@Override
+	public void glUniformMatrix4x2fv(int location, int count, boolean transpose, FloatBuffer value) {
+		record(GLCommand.glUniformMatrix4x2fv, location, count, transpose ? 1 : 0);
+	}
+	
+	@Override
+	public void glUniformMatrix3x4fv(int location, int count, boolean transpose, FloatBuffer value) {
+		record(GLCommand.glUniformMatrix3x4fv, location, count, transpose ? 1 : 0);
+	}
+	
+	@Override
+	public void glUniformMatrix4x3fv(int location, int count, boolean transpose, FloatBuffer value) {
+		record(GLCommand.glUniformMatrix4x3fv, location, count, transpose ? 1 : 0);
+	}
+	
+	@Override
+	public void glBlitFramebuffer(int srcX0, int srcY0, int srcX1, int srcY1, int dstX0, int dstY0, int dstX1, int dstY1, int mask, int filter) {
+		record(GLCommand.glBlitFramebuffer, srcX0, srcY0, srcX1, srcY1, dstX0, dstY0, dstX1, dstY1, mask, filter);
+	}
+	
+	@Override
+	public void glRenderbufferStorageMultisample(int target, int samples, int internalformat, int width, int height) {
+		record(GLCommand.glRenderbufferStorageMultisample, target, samples, internalformat, width, height);
+	}
+	
+	@Override
+	public void glFramebufferTextureLayer(int target, int attachment, int texture, int level, int layer) {
+		record(GLCommand.glFramebufferTextureLayer, target, attachment, texture, level, layer);
+	}
+	
+	@Override
+	public Buffer glMapBufferRange(int target, int offset, int length, int access) {
+		record(GLCommand.glMapBufferRange, target, offset, length, access);
+		final ByteBuffer storage = buffers.get(getBoundBuffer(target));
+		if (storage == null || offset + length > storage.capacity())
+			return null;
+		if ((access & GL_MAP_WRITE_BIT) != 0) {
+			bufferBytesUploaded += length;
+			totalBufferBytesUploaded += length;
+		}
+		return storage.duplicate().position(offset).limit(offset + length).slice().order(ByteOrder.nativeOrder());
+	}
+	
+	@Override
+	public void glFlushMappedBufferRange(int target, int offset, int length) {
+		record(GLCommand.glFlushMappedBufferRange, target, offset, length);
+	}
+	
+	@Override
+	public void glBindVertexArray(int array) {
+		record(GLCommand.glBindVertexArray, array);
+		vertexArray = array;
+	}
+	
+	@Override
+	public void glDeleteVertexArrays(int n, int[] arrays, int offset) {
+		record(GLCommand.glDeleteVertexArrays, n);
+		for (int i = offset, end = offset + n; i < end; i++)
+			vertexArrays.remove(arrays[i]);
+	}
+	
+	@Override
+	public void glDeleteVertexArrays(int n, IntBuffer arrays) {
+		record(GLCommand.glDeleteVertexArrays, n);
+		for (int i = arrays.position(), end = i + n; i < end; i++)
+			vertexArrays.remove(arrays.get(i));
+	}
+	
+	@Override
+	public void glGenVertexArrays(int n, int[] arrays, int offset) {
+		record(GLCommand.glGenVertexArrays, n);
+		for (int i = offset, end = offset + n; i < end; i++) {
+			arrays[i] = nextHandle++;
+			vertexArrays.add(arrays[i]);
+		}
+	}
+	
+	@Override
+	public void glGenVertexArrays(int n, IntBuffer arrays) {
+		record(GLCommand.glGenVertexArrays, n);
+		for (int i = arrays.position(), end = i + n; i < end; i++) {
+			arrays.put(i, nextHandle++);
+			vertexArrays.add(arrays.get(i));
+		}
+	}
+	
+	@Override
+	public boolean glIsVertexArray(int array) {
+		record(GLCommand.glIsVertexArray, array);
+		return vertexArrays.contains(array);
+	}
+	
+	@Override
+	public void glBeginTransformFeedback(int primitiveMode) {
+		record(GLCommand.glBeginTransformFeedback, primitiveMode);
+	}
+	
+	@Override
+	public void glEndTransformFeedback() {
+		record(GLCommand.glEndTransformFeedback);
+	}
+	
+	@Override
+	public void glBindBufferRange(int target, int index, int buffer, int offset, int size) {
+		record(GLCommand.glBindBufferRange, target, index, buffer, offset, size);
+		glBindBuffer(target, buffer);
+	}
+	
+	@Override
+	public void glBindBufferBase(int target, int index, int buffer) {
+		record(GLCommand.glBindBufferBase, target, index, buffer);
+		glBindBuffer(target, buffer);
+	}
+	
+	@Override
+	public void glTransformFeedbackVaryings(int program, String[] varyings, int bufferMode) {
+		record(GLCommand.glTransformFeedbackVaryings, program, bufferMode);
+	}
+	
+	@Override
+	public void glVertexAttribIPointer(int index, int size, int type, int stride, int offset) {
+		record(GLCommand.glVertexAttribIPointer, index, size, type, stride, offset);
+	}
+	
+	@Override
+	public void glGetVertexAttribIiv(int index, int pname, IntBuffer params) {
+		record(GLCommand.glGetVertexAttribIiv, index, pname);
+	}
+	
+	@Override
+	public void glGetVertexAttribIuiv(int index, int pname, IntBuffer params) {
+		record(GLCommand.glGetVertexAttribIuiv, index, pname);
+	}
+	
+	@Override
+	public void glVertexAttribI4i(int index, int x, int y, int z, int w) {
+		record(GLCommand.glVertexAttribI4i, index, x, y, z, w);
+	}
+	
+	@Override
+	public void glVertexAttribI4ui(int index, int x, int y, int z, int w) {
+		record(GLCommand.glVertexAttribI4ui, index, x, y, z, w);
+	}
+	
+	@Override
+	public void glGetUniformuiv(int program, int location, IntBuffer params) {
+		record(GLCommand.glGetUniformuiv, program, location);
+	}
+	
+	@Override
+	public int glGetFragDataLocation(int program, String name) {
+		record(GLCommand.glGetFragDataLocation, program);
+		return 0;
+	}
+	
+	@Override
+	public void glUniform1uiv(int location, int count, IntBuffer value) {
+		record(GLCommand.glUniform1uiv, location, count);
+	}
+	
+	@Override
+	public void glUniform3uiv(int location, int count, IntBuffer value) {
+		record(GLCommand.glUniform3uiv, location, count);
+	}
+	
+	@Override
+	public void glUniform4uiv(int location, int count, IntBuffer value) {
+		record(GLCommand.glUniform4uiv, location, count);
+	}
+	
+	@Override
+	public void glClearBufferiv(int buffer, int drawbuffer, IntBuffer value) {
+		record(GLCommand.glClearBufferiv, buffer, drawbuffer);
+	}
+	
+	@Override
+	public void glClearBufferuiv(int buffer, int drawbuffer, IntBuffer value) {
+		record(GLCommand.glClearBufferuiv, buffer, drawbuffer);
+	}
+	
+	@Override
+	public void glClearBufferfv(int buffer, int drawbuffer, FloatBuffer value) {
+		record(GLCommand.glClearBufferfv, buffer, drawbuffer);
+	}
+	
+	@Override
+	public void glClearBufferfi(int buffer, int drawbuffer, float depth, int stencil) {
+		record(GLCommand.glClearBufferfi, buffer, drawbuffer, Float.floatToRawIntBits(depth), stencil);
+	}
+	
+	@Override
+	public String glGetStringi(int name, int index) {
+		record(GLCommand.glGetStringi, name, index);
+		return "";
+	}
+	
+	@Override
+	public void glCopyBufferSubData(int readTarget, int writeTarget, int readOffset, int writeOffset, int size) {
+		record(GLCommand.glCopyBufferSubData, readTarget, writeTarget, readOffset, writeOffset, size);
+		final ByteBuffer source = buffers.get(getBoundBuffer(readTarget));
+		final ByteBuffer destination = buffers.get(getBoundBuffer(writeTarget));
+		if (source != null && destination != null)
+			destination.duplicate().position(writeOffset).put(source.duplicate().position(readOffset).limit(readOffset + size));
+	}
+	
+	@Override
+	public void glGetUniformIndices(int program, String[] uniformNames, IntBuffer uniformIndices) {
+		record(GLCommand.glGetUniformIndices, program);
+	}
+	
+	@Override
+	public void glGetActiveUniformsiv(int program, int uniformCount, IntBuffer uniformIndices, int pname, IntBuffer params) {
+		record(GLCommand.glGetActiveUniformsiv, program, uniformCount, pname);
+	}
+	
+	@Override
+	public int glGetUniformBlockIndex(int program, String uniformBlockName) {
+		record(GLCommand.glGetUniformBlockIndex, program);
+		return GL_INVALID_INDEX;
+	}
+	
+	@Override
+	public void glGetActiveUniformBlockiv(int program, int uniformBlockIndex, int pname, IntBuffer params) {
+		record(GLCommand.glGetActiveUniformBlockiv, program, uniformBlockIndex, pname);
+	}
+	
+	@Override
+	public void glGetActiveUniformBlockName(int program, int uniformBlockIndex, Buffer length, Buffer uniformBlockName) {
+		record(GLCommand.glGetActiveUniformBlockName, program, uniformBlockIndex);
+	}
+	
+	@Override
+	public String glGetActiveUniformBlockName(int program, int uniformBlockIndex) {
+		record(GLCommand.glGetActiveUniformBlockName, program, uniformBlockIndex);
+		return "";
+	}
+	
+	@Override
+	public void glUniformBlockBinding(int program, int uniformBlockIndex, int uniformBlockBinding) {
+		record(GLCommand.glUniformBlockBinding, program, uniformBlockIndex, uniformBlockBinding);
+	}
+	
+	@Override
+	public void glDrawArraysInstanced(int mode, int first, int count, int instanceCount) {
+		record(GLCommand.glDrawArraysInstanced, mode, first, count, instanceCount);
+		draw(count, instanceCount);
+	}
+	
+	@Override
+	public void glDrawElementsInstanced(int mode, int count, int type, int indicesOffset, int instanceCount) {
+		record(GLCommand.glDrawElementsInstanced, mode, count, type, indicesOffset, instanceCount);
+		draw(count, instanceCount);
+	}
+	
+	@Override
+	public void glGetInteger64v(int pname, LongBuffer params) {
+		record(GLCommand.glGetInteger64v, pname);
+		params.put(params.position(), 0L);
+	}
+	
+	@Override
+	public void glGetBufferParameteri64v(int target, int pname, LongBuffer params) {
+		record(GLCommand.glGetBufferParameteri64v, target, pname);
+		final ByteBuffer storage = buffers.get(getBoundBuffer(target));
+		params.put(params.position(), pname == GL_BUFFER_SIZE && storage != null ? storage.capacity() : 0L);
+	}
+	
+	@Override
+	public void glGenSamplers(int count, int[] samplers, int offset) {
+		record(GLCommand.glGenSamplers, count, offset);
+	}
+	
+	@Override
+	public void glGenSamplers(int count, IntBuffer samplers) {
+		record(GLCommand.glGenSamplers, count);
+	}
+	
+	@Override
+	public void glDeleteSamplers(int count, int[] samplers, int offset) {
+		record(GLCommand.glDeleteSamplers, count, offset);
+	}
+	
+	@Override
+	public void glDeleteSamplers(int count, IntBuffer samplers) {
+		record(GLCommand.glDeleteSamplers, count);
+	}
+	
+	@Override
+	public boolean glIsSampler(int sampler) {
+		record(GLCommand.glIsSampler, sampler);
+		return false;
+	}
+	
+	@Override
+	public void glBindSampler(int unit, int sampler) {
+		record(GLCommand.glBindSampler, unit, sampler);
+	}
+	
+	@Override
+	public void glSamplerParameteri(int sampler, int pname, int param) {
+		record(GLCommand.glSamplerParameteri, sampler, pname, param);
+	}
+	
+	@Override
+	public void glSamplerParameteriv(int sampler, int pname, IntBuffer param) {
+		record(GLCommand.glSamplerParameteriv, sampler, pname);
+	}
+	
+	@Override
+	public void glSamplerParameterf(int sampler, int pname, float param) {
+		record(GLCommand.glSamplerParameterf, sampler, pname, Float.floatToRawIntBits(param));
+	}
+	
+	@Override
+	public void glSamplerParameterfv(int sampler, int pname, FloatBuffer param) {
+		record(GLCommand.glSamplerParameterfv, sampler, pname);
+	}
+	
+	@Override
+	public void glGetSamplerParameteriv(int sampler, int pname, IntBuffer params) {
+		record(GLCommand.glGetSamplerParameteriv, sampler, pname);
+	}
+	
+	@Override
+	public void glGetSamplerParameterfv(int sampler, int pname, FloatBuffer params) {
+		record(GLCommand.glGetSamplerParameterfv, sampler, pname);
+	}
+	
+	@Override
+	public void glVertexAttribDivisor(int index, int divisor) {
+		record(GLCommand.glVertexAttribDivisor, index, divisor);
+	}
+	
+	@Override
+	public void glBindTransformFeedback(int target, int id) {
+		record(GLCommand.glBindTransformFeedback, target, id);
+	}
+	
+	@Override
+	public void glDeleteTransformFeedbacks(int n, int[] ids, int offset) {
+		record(GLCommand.glDeleteTransformFeedbacks, n, offset);
+	}
+	
+	@Override
+	public void glDeleteTransformFeedbacks(int n, IntBuffer ids) {
+		record(GLCommand.glDeleteTransformFeedbacks, n);
+	}
+	
+	@Override
+	public void glGenTransformFeedbacks(int n, int[] ids, int offset) {
+		record(GLCommand.glGenTransformFeedbacks, n, offset);
+	}
+	
+	@Override
+	public void glGenTransformFeedbacks(int n, IntBuffer ids) {
+		record(GLCommand.glGenTransformFeedbacks, n);
+	}
+	
+	@Override
+	public boolean glIsTransformFeedback(int id) {
+		record(GLCommand.glIsTransformFeedback, id);
+		return false;
+	}
+	
+	@Override
+	public void glPauseTransformFeedback() {
+		record(GLCommand.glPauseTransformFeedback);
+	}
+	
+	@Override
+	public void glResumeTransformFeedback() {
+		record(GLCommand.glResumeTransformFeedback);
+	}
+	
+	@Override
+	public void glProgramParameteri(int program, int pname, int value) {
+		record(GLCommand.glProgramParameteri, program, pname, value);
+	}
+	
+	@Override
+	public void glInvalidateFramebuffer(int target, int numAttachments, IntBuffer attachments) {
+		record(GLCommand.glInvalidateFramebuffer, target, numAttachments);
+	}
+	
+	@Override
+	public void glInvalidateSubFramebuffer(int target, int numAttachments, IntBuffer attachments, int x, int y, int width, int height) {
+		record(GLCommand.glInvalidateSubFramebuffer, target, numAttachments, x, y, width, height);
+	}
+	
+}
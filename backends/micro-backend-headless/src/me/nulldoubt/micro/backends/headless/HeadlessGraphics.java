@@ -0,0 +1,311 @@
+package me.nulldoubt.micro.backends.headless;
+
+import me.nulldoubt.micro.AbstractGraphics;
+import me.nulldoubt.micro.Application;
+import me.nulldoubt.micro.graphics.*;
+import me.nulldoubt.micro.graphics.Cursor.SystemCursor;
+import me.nulldoubt.micro.graphics.glutils.GLVersion;
+
+public class HeadlessGraphics extends AbstractGraphics {
+	
+	private final HeadlessGL20 headlessGL;
+	private GL20 gl20;
+	private GL30 gl30;
+	private GL31 gl31;
+	private GL32 gl32;
+	private final GLVersion glVersion;
+	private final BufferFormat bufferFormat = new BufferFormat(8, 8, 8, 8, 16, 0, 0, false);
+	private final DisplayMode displayMode;
+	private final Monitor monitor = new Monitor(0, 0, "Headless") {};
+	private int width;
+	private int height;
+	private long lastFrameTime = -1;
+	private float deltaTime;
+	private long frameId;
+	private long frameCounterStart = 0;
+	private int frames;
+	private int fps;
+	
+	public HeadlessGraphics(HeadlessApplicationConfiguration config) {
+		this.width = config.width;
+		this.height = config.height;
+		this.displayMode = new DisplayMode(config.width, config.height, config.updatesPerSecond, 32) {};
+		if (config.useGL30)
+			this.gl20 = this.gl30 = new HeadlessGL30(config.maxTextureUnits);
+		else
+			this.gl20 = new HeadlessGL20(config.maxTextureUnits);
+		this.headlessGL = (HeadlessGL20) gl20;
+		headlessGL.log.enabled = config.recordCommands;
+		headlessGL.glViewport(0, 0, width, height);
+		glVersion = new GLVersion(Application.ApplicationType.HeadlessDesktop, gl20.glGetString(GL20.GL_VERSION), gl20.glGetString(GL20.GL_VENDOR), gl20.glGetString(GL20.GL_RENDERER));
+		headlessGL.reset();
+	}
+	
+	/**
+	 * @return the recording GL, which exposes the command log and the per-frame counters.
+	 */
+	public HeadlessGL20 getHeadlessGL() {
+		return headlessGL;
+	}
+	
+	void update(float deltaTime) {
+		long time = System.nanoTime();
+		if (lastFrameTime == -1)
+			lastFrameTime = time;
+		this.deltaTime = deltaTime >= 0 ? deltaTime : (time - lastFrameTime) / 1000000000.0f;
+		lastFrameTime = time;
+		if (time - frameCounterStart >= 1000000000) {
+			fps = frames;
+			frames = 0;
+			frameCounterStart = time;
+		}
+		frames++;
+		frameId++;
+	}
+	
+	@Override
+	public boolean isGL30Available() {
+		return gl30 != null;
+	}
+	
+	@Override
+	public boolean isGL31Available() {
+		return gl31 != null;
+	}
+	
+	@Override
+	public boolean isGL32Available() {
+		return gl32 != null;
+	}
+	
+	@Override
+	public GL20 getGL20() {
+		return gl20;
+	}
+	
+	@Override
+	public GL30 getGL30() {
+		return gl30;
+	}
+	
+	@Override
+	public GL31 getGL31() {
+		return gl31;
+	}
+	
+	@Override
+	public GL32 getGL32() {
+		return gl32;
+	}
+	
+	@Override
+	public void setGL20(GL20 gl20) {
+		this.gl20 = gl20;
+	}
+	
+	@Override
+	public void setGL30(GL30 gl30) {
+		this.gl30 = gl30;
+	}
+	
+	@Override
+	public void setGL31(GL31 gl31) {
+		this.gl31 = gl31;
+	}
+	
+	@Override
+	public void setGL32(GL32 gl32) {
+		this.gl32 = gl32;
+	}
+	
+	@Override
+	public int getWidth() {
+		return width;
+	}
+	
+	@Override
+	public int getHeight() {
+		return height;
+	}
+	
+	@Override
+	public int getBackBufferWidth() {
+		return width;
+	}
+	
+	@Override
+	public int getBackBufferHeight() {
+		return height;
+	}
+	
+	@Override
+	public int getSafeInsetLeft() {
+		return 0;
+	}
+	
+	@Override
+	public int getSafeInsetTop() {
+		return 0;
+	}
+	
+	@Override
+	public int getSafeInsetBottom() {
+		return 0;
+	}
+	
+	@Override
+	public int getSafeInsetRight() {
+		return 0;
+	}
+	
+	@Override
+	public long getFrameId() {
+		return frameId;
+	}
+	
+	@Override
+	public float getDeltaTime() {
+		return deltaTime;
+	}
+	
+	@Override
+	public int getFPS() {
+		return fps;
+	}
+	
+	@Override
+	public GraphicsType getType() {
+		return GraphicsType.Headless;
+	}
+	
+	@Override
+	public GLVersion getGLVersion() {
+		return glVersion;
+	}
+	
+	@Override
+	public float getPpiX() {
+		return 96;
+	}
+	
+	@Override
+	public float getPpiY() {
+		return 96;
+	}
+	
+	@Override
+	public float getPpcX() {
+		return 96 / 2.54f;
+	}
+	
+	@Override
+	public float getPpcY() {
+		return 96 / 2.54f;
+	}
+	
+	@Override
+	public boolean supportsDisplayModeChange() {
+		return false;
+	}
+	
+	@Override
+	public Monitor getPrimaryMonitor() {
+		return monitor;
+	}
+	
+	@Override
+	public Monitor getMonitor() {
+		return monitor;
+	}
+	
+	@Override
+	public Monitor[] getMonitors() {
+		return new Monitor[] {monitor};
+	}
+	
+	@Override
+	public DisplayMode[] getDisplayModes() {
+		return new DisplayMode[] {displayMode};
+	}
+	
+	@Override
+	public DisplayMode[] getDisplayModes(Monitor monitor) {
+		return getDisplayModes();
+	}
+	
+	@Override
+	public DisplayMode getDisplayMode() {
+		return displayMode;
+	}
+	
+	@Override
+	public DisplayMode getDisplayMode(Monitor monitor) {
+		return displayMode;
+	}
+	
+	@Override
+	public boolean setFullscreenMode(DisplayMode displayMode) {
+		return false;
+	}
+	
+	/** Resizes the simulated back buffer. The listener is resized at the start of the next frame. */
+	@Override
+	public boolean setWindowedMode(int width, int height) {
+		this.width = width;
+		this.height = height;
+		return true;
+	}
+	
+	@Override
+	public void setTitle(String title) {}
+	
+	@Override
+	public void setUndecorated(boolean undecorated) {}
+	
+	@Override
+	public void setResizable(boolean resizable) {}
+	
+	@Override
+	public void setVSync(boolean vsync) {}
+	
+	@Override
+	public void setFPS(int fps) {}
+	
+	@Override
+	public BufferFormat getBufferFormat() {
+		return bufferFormat;
+	}
+	
+	@Override
+	public boolean supportsExtension(String extension) {
+		return false;
+	}
+	
+	@Override
+	public void setContinuousRendering(boolean continuous) {}
+	
+	@Override
+	public boolean isContinuousRendering() {
+		return true;
+	}
+	
+	@Override
+	public void requestRendering() {}
+	
+	@Override
+	public boolean isFullscreen() {
+		return false;
+	}
+	
+	@Override
+	public Cursor newCursor(Pixmap pixmap, int xHotspot, int yHotspot) {
+		return null;
+	}
+	
+	@Override
+	public void setCursor(Cursor cursor) {}
+	
+	@Override
+	public void setSystemCursor(SystemCursor systemCursor) {}
+	
+}
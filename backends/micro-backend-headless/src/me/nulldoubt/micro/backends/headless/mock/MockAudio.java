@@ -0,0 +1,42 @@
+package me.nulldoubt.micro.backends.headless.mock;
+
+import me.nulldoubt.micro.Audio;
+import me.nulldoubt.micro.audio.AudioDevice;
+import me.nulldoubt.micro.audio.AudioRecorder;
+import me.nulldoubt.micro.audio.Music;
+import me.nulldoubt.micro.audio.Sound;
+import me.nulldoubt.micro.files.FileHandle;
+
+public class MockAudio implements Audio {
+	
+	@Override
+	public AudioDevice newAudioDevice(int samplingRate, boolean mono) {
+		return new MockAudioDevice();
+	}
+	
+	@Override
+	public AudioRecorder newAudioRecorder(int samplingRate, boolean mono) {
+		return new MockAudioRecorder();
+	}
+	
+	@Override
+	public Sound newSound(FileHandle file) {
+		return new MockSound();
+	}
+	
+	@Override
+	public Music newMusic(FileHandle file) {
+		return new MockMusic();
+	}
+	
+	@Override
+	public boolean switchOutputDevice(String device) {
+		return true;
+	}
+	
+	@Override
+	public String[] getAvailableOutputDevices() {
+		return new String[0];
+	}
+	
+}
@@ -0,0 +1,13 @@
+package me.nulldoubt.micro.backends.headless.mock;
+
+import me.nulldoubt.micro.audio.AudioRecorder;
+
+public class MockAudioRecorder implements AudioRecorder {
+	
+	@Override
+	public void read(short[] samples, int offset, int numSamples) {}
+	
+	@Override
+	public void dispose() {}
+	
+}
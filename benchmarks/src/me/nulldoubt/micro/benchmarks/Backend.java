@@ -0,0 +1,69 @@
+package me.nulldoubt.micro.benchmarks;
+
+import me.nulldoubt.micro.ApplicationListener;
+import me.nulldoubt.micro.Micro;
+import me.nulldoubt.micro.backends.headless.HeadlessApplication;
+import me.nulldoubt.micro.backends.headless.HeadlessApplicationConfiguration;
+import me.nulldoubt.micro.graphics.Texture;
+import me.nulldoubt.micro.graphics.TextureData;
+
+/**
+ * Installs a {@link HeadlessApplication} into {@link Micro} so that CPU-side rendering code can be benchmarked without a
+ * context. The command log is disabled, so GL calls only bump the counters of {@link HeadlessApplication#getGL()}.
+ */
+public final class Backend {
+	
+	public static final int WIDTH = 1920;
+	public static final int HEIGHT = 1080;
+	
+	private static HeadlessApplication application;
+	
+	private Backend() {}
+	
+	public static synchronized HeadlessApplication install() {
+		if (application != null)
+			return application;
+		final HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+		config.width = WIDTH;
+		config.height = HEIGHT;
+		config.recordCommands = false;
+		application = new HeadlessApplication(new ApplicationListener() {}, config);
+		return application;
+	}
+	
+	/**
+	 * @return a texture of the given size whose data is never uploaded.
+	 */
+	public static Texture texture(final int width, final int height) {
+		return new Texture(new TextureData() {
+			
+			@Override
+			public boolean isPrepared() {
+				return true;
+			}
+			
+			@Override
+			public void prepare() {}
+			
+			@Override
+			public void consume(int target, int mipMapLevel) {}
+			
+			@Override
+			public int getWidth() {
+				return width;
+			}
+			
+			@Override
+			public int getHeight() {
+				return height;
+			}
+			
+			@Override
+			public boolean isManaged() {
+				return false;
+			}
+			
+		});
+	}
+	
+}
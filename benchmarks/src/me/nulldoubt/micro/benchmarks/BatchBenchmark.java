@@ -0,0 +1,71 @@
+package me.nulldoubt.micro.benchmarks;
+
+import me.nulldoubt.micro.graphics.Texture;
+import me.nulldoubt.micro.graphics.g2d.Batch;
+import me.nulldoubt.micro.graphics.g2d.TextureRegion;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BatchBenchmark {
+	
+	@Param({"1000", "8000"})
+	public int sprites;
+	
+	/** The number of textures the regions are spread over. */
+	@Param({"1", "4"})
+	public int atlases;
+	
+	/** The number of textures the batch binds at once. */
+	@Param({"1", "8"})
+	public int maxTextures;
+	
+	private Batch batch;
+	private Texture[] textures;
+	private TextureRegion[] regions;
+	
+	@Setup
+	public void setup() {
+		Backend.install();
+		batch = new Batch(8191, maxTextures, null);
+		textures = new Texture[atlases];
+		for (int i = 0; i < atlases; i++)
+			textures[i] = Backend.texture(1024, 1024);
+		regions = new TextureRegion[64];
+		for (int i = 0; i < regions.length; i++)
+			regions[i] = new TextureRegion(textures[i % atlases], (i % 8) * 128, (i / 8) * 128, 128, 128);
+	}
+	
+	@TearDown
+	public void tearDown() {
+		batch.dispose();
+		for (Texture texture : textures)
+			texture.dispose();
+	}
+	
+	@Benchmark
+	public int drawRegion() {
+		final Batch batch = this.batch;
+		final TextureRegion[] regions = this.regions;
+		batch.begin();
+		for (int i = 0; i < sprites; i++)
+			batch.draw(regions[i & 63], i % Backend.WIDTH, i % Backend.HEIGHT, 32, 32);
+		batch.end();
+		return batch.renderCalls;
+	}
+	
+	@Benchmark
+	public int drawRegionTransformed() {
+		final Batch batch = this.batch;
+		final TextureRegion[] regions = this.regions;
+		batch.begin();
+		for (int i = 0; i < sprites; i++)
+			batch.draw(regions[i & 63], i % Backend.WIDTH, i % Backend.HEIGHT, 16, 16, 32, 32, 1.5f, 1.5f, i);
+		batch.end();
+		return batch.renderCalls;
+	}
+	
+}
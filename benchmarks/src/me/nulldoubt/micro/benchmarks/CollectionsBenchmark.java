@@ -0,0 +1,79 @@
+package me.nulldoubt.micro.benchmarks;
+
+import me.nulldoubt.micro.utils.collections.IntMap;
+import me.nulldoubt.micro.utils.collections.ObjectMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CollectionsBenchmark {
+	
+	@Param({"1024", "65536"})
+	public int size;
+	
+	private int[] intKeys;
+	private String[] objectKeys;
+	
+	private IntMap<String> intMap;
+	private ObjectMap<String, String> objectMap;
+	
+	@Setup
+	public void setup() {
+		final Random random = new Random(42);
+		intKeys = new int[size];
+		objectKeys = new String[size];
+		intMap = new IntMap<>();
+		objectMap = new ObjectMap<>();
+		for (int i = 0; i < size; i++) {
+			intKeys[i] = random.nextInt();
+			objectKeys[i] = "key" + random.nextInt();
+			intMap.put(intKeys[i], objectKeys[i]);
+			objectMap.put(objectKeys[i], objectKeys[i]);
+		}
+	}
+	
+	@Benchmark
+	public IntMap<String> intMapPut() {
+		final IntMap<String> map = new IntMap<>();
+		final int[] keys = intKeys;
+		for (int i = 0, n = keys.length; i < n; i++)
+			map.put(keys[i], null);
+		return map;
+	}
+	
+	@Benchmark
+	public int intMapGet() {
+		final IntMap<String> map = intMap;
+		final int[] keys = intKeys;
+		int hits = 0;
+		for (int i = 0, n = keys.length; i < n; i++)
+			if (map.get(keys[i]) != null)
+				hits++;
+		return hits;
+	}
+	
+	@Benchmark
+	public ObjectMap<String, String> objectMapPut() {
+		final ObjectMap<String, String> map = new ObjectMap<>();
+		final String[] keys = objectKeys;
+		for (int i = 0, n = keys.length; i < n; i++)
+			map.put(keys[i], keys[i]);
+		return map;
+	}
+	
+	@Benchmark
+	public int objectMapGet() {
+		final ObjectMap<String, String> map = objectMap;
+		final String[] keys = objectKeys;
+		int hits = 0;
+		for (int i = 0, n = keys.length; i < n; i++)
+			if (map.get(keys[i]) != null)
+				hits++;
+		return hits;
+	}
+	
+}
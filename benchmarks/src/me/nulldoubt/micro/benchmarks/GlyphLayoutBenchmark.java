@@ -0,0 +1,80 @@
+package me.nulldoubt.micro.benchmarks;
+
+import me.nulldoubt.micro.graphics.Color;
+import me.nulldoubt.micro.graphics.Texture;
+import me.nulldoubt.micro.graphics.g2d.BitmapFont;
+import me.nulldoubt.micro.graphics.g2d.BitmapFont.BitmapFontData;
+import me.nulldoubt.micro.graphics.g2d.BitmapFont.Glyph;
+import me.nulldoubt.micro.graphics.g2d.GlyphLayout;
+import me.nulldoubt.micro.graphics.g2d.TextureRegion;
+import me.nulldoubt.micro.utils.Align;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GlyphLayoutBenchmark {
+	
+	private static final String TEXT = "The quick brown fox jumps over the lazy dog. 0123456789 [#FF0000]markup[] ";
+	
+	@Param({"1", "16"})
+	public int repeat;
+	
+	private BitmapFont font;
+	private Texture texture;
+	private String text;
+	private final GlyphLayout layout = new GlyphLayout();
+	
+	@Setup
+	public void setup() {
+		Backend.install();
+		texture = Backend.texture(512, 512);
+		
+		final BitmapFontData data = new BitmapFontData();
+		data.markupEnabled = true;
+		data.setLineHeight(18);
+		data.capHeight = 12;
+		data.ascent = 2;
+		data.descent = -4;
+		for (int ch = 32; ch < 127; ch++) {
+			final Glyph glyph = new Glyph();
+			glyph.id = ch;
+			glyph.srcX = ((ch - 32) % 16) * 16;
+			glyph.srcY = ((ch - 32) / 16) * 18;
+			glyph.width = ch == ' ' ? 0 : 10;
+			glyph.height = ch == ' ' ? 0 : 14;
+			glyph.xadvance = 11;
+			glyph.setKerning('a', -1);
+			data.setGlyph(ch, glyph);
+		}
+		data.spaceXadvance = 11;
+		font = new BitmapFont(data, new TextureRegion(texture), true);
+		text = TEXT.repeat(repeat);
+	}
+	
+	@TearDown
+	public void tearDown() {
+		texture.dispose();
+	}
+	
+	@Benchmark
+	public float singleLine() {
+		layout.setText(font, text);
+		return layout.width;
+	}
+	
+	@Benchmark
+	public float wrapped() {
+		layout.setText(font, text, Color.WHITE, 200, Align.left, true);
+		return layout.height;
+	}
+	
+	@Benchmark
+	public float truncated() {
+		layout.setText(font, text, 0, text.length(), Color.WHITE, 200, Align.center, false, "...");
+		return layout.width;
+	}
+	
+}
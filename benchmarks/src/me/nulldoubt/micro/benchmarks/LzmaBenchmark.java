@@ -0,0 +1,58 @@
+package me.nulldoubt.micro.benchmarks;
+
+import me.nulldoubt.micro.utils.compression.Lzma;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class LzmaBenchmark {
+	
+	@Param({"65536", "1048576"})
+	public int size;
+	
+	private byte[] raw;
+	private byte[] compressed;
+	
+	@Setup
+	public void setup() throws IOException {
+		final Random random = new Random(42);
+		raw = new byte[size];
+		// Tile-like data: long runs of a few repeated values with some noise.
+		for (int i = 0; i < size; i++)
+			raw[i] = (byte) (random.nextInt(16) == 0 ? random.nextInt(256) : (i / 64) % 8);
+		compressed = compress(raw);
+	}
+	
+	@Benchmark
+	public byte[] compress() throws IOException {
+		return compress(raw);
+	}
+	
+	@Benchmark
+	public byte[] decompress() throws IOException {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream(size);
+		Lzma.decompress(new ByteArrayInputStream(compressed), out);
+		return out.toByteArray();
+	}
+	
+	@Benchmark
+	public byte[] roundTrip() throws IOException {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream(size);
+		Lzma.decompress(new ByteArrayInputStream(compress(raw)), out);
+		return out.toByteArray();
+	}
+	
+	private static byte[] compress(final byte[] data) throws IOException {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2);
+		Lzma.compress(new ByteArrayInputStream(data), out);
+		return out.toByteArray();
+	}
+	
+}
@@ -0,0 +1,53 @@
+package me.nulldoubt.micro.benchmarks;
+
+import me.nulldoubt.micro.math.Matrix4;
+import me.nulldoubt.micro.math.Quaternion;
+import me.nulldoubt.micro.math.Vector3;
+import me.nulldoubt.micro.utils.Buffers;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class Matrix4Benchmark {
+	
+	private final Matrix4 a = new Matrix4();
+	private final Matrix4 b = new Matrix4();
+	private final Matrix4 result = new Matrix4();
+	
+	// 1000 vertices of position, packed color and texture coordinates. b is a rigid transform, so repeated runs stay bounded.
+	private final float[] vertices = new float[1000 * 6];
+	
+	@Setup
+	public void setup() {
+		a.set(new Vector3(1, 2, 3), new Quaternion().setEulerAngles(30, 45, 60), new Vector3(2, 2, 2));
+		b.set(new Vector3(-4, 5, 0), new Quaternion().setEulerAngles(10, 0, 90), new Vector3(1, 1, 1));
+		for (int i = 0; i < vertices.length; i++)
+			vertices[i] = (i % 13) * 0.25f;
+	}
+	
+	@Benchmark
+	public Matrix4 mul() {
+		return result.set(a).mul(b);
+	}
+	
+	@Benchmark
+	public Matrix4 mulLeft() {
+		return result.set(a).mulLeft(b);
+	}
+	
+	@Benchmark
+	public float[] transformV3M4() {
+		Buffers.transform(vertices, 3, 6 * 4, 1000, b);
+		return vertices;
+	}
+	
+	@Benchmark
+	public float[] mulVec() {
+		Matrix4.mulVec(b.val, vertices, 0, 1000, 6);
+		return vertices;
+	}
+	
+}
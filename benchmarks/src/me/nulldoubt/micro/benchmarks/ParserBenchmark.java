@@ -0,0 +1,64 @@
+package me.nulldoubt.micro.benchmarks;
+
+import me.nulldoubt.micro.utils.json.JsonReader;
+import me.nulldoubt.micro.utils.json.JsonValue;
+import me.nulldoubt.micro.utils.xml.XmlReader;
+import me.nulldoubt.micro.utils.xml.XmlReader.Element;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ParserBenchmark {
+	
+	@Param({"100", "5000"})
+	public int objects;
+	
+	private char[] json;
+	private char[] xml;
+	
+	private final JsonReader jsonReader = new JsonReader();
+	private final XmlReader xmlReader = new XmlReader();
+	
+	@Setup
+	public void setup() {
+		final Random random = new Random(42);
+		final StringBuilder json = new StringBuilder("{\"objects\":[");
+		final StringBuilder xml = new StringBuilder("<map version=\"1.10\"><objectgroup name=\"objects\">");
+		for (int i = 0; i < objects; i++) {
+			final float x = random.nextFloat() * 4096, y = random.nextFloat() * 4096;
+			if (i > 0)
+				json.append(',');
+			json.append("{\"id\":").append(i)
+					.append(",\"name\":\"object").append(i)
+					.append("\",\"x\":").append(x)
+					.append(",\"y\":").append(y)
+					.append(",\"visible\":true,\"properties\":[{\"name\":\"health\",\"type\":\"int\",\"value\":")
+					.append(random.nextInt(100)).append("}]}");
+			xml.append("<object id=\"").append(i)
+					.append("\" name=\"object").append(i)
+					.append("\" x=\"").append(x)
+					.append("\" y=\"").append(y)
+					.append("\"><properties><property name=\"health\" type=\"int\" value=\"")
+					.append(random.nextInt(100)).append("\"/></properties></object>");
+		}
+		json.append("]}");
+		xml.append("</objectgroup></map>");
+		this.json = json.toString().toCharArray();
+		this.xml = xml.toString().toCharArray();
+	}
+	
+	@Benchmark
+	public JsonValue json() {
+		return jsonReader.parse(json, 0, json.length);
+	}
+	
+	@Benchmark
+	public Element xml() {
+		return xmlReader.parse(xml, 0, xml.length);
+	}
+	
+}
@@ -0,0 +1,43 @@
+package me.nulldoubt.micro.benchmarks;
+
+import me.nulldoubt.micro.utils.collections.Array;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SortBenchmark {
+	
+	@Param({"1000", "100000"})
+	public int size;
+	
+	@Param({"random", "partial"})
+	public String order;
+	
+	private Integer[] source;
+	private Array<Integer> array;
+	private final Comparator<Integer> comparator = Integer::compare;
+	
+	@Setup
+	public void setup() {
+		final Random random = new Random(42);
+		source = new Integer[size];
+		for (int i = 0; i < size; i++)
+			source[i] = order.equals("random") || random.nextInt(10) == 0 ? random.nextInt() : i;
+		array = new Array<>(true, size, Integer.class);
+	}
+	
+	@Benchmark
+	public Array<Integer> sort() {
+		final Array<Integer> array = this.array;
+		array.clear();
+		array.addAll(source, 0, source.length);
+		array.sort(comparator);
+		return array;
+	}
+	
+}
@@ -0,0 +1,172 @@
+package me.nulldoubt.micro.benchmarks;
+
+import me.nulldoubt.micro.graphics.g2d.TextureRegion;
+import me.nulldoubt.micro.maps.tiled.TiledMap;
+import me.nulldoubt.micro.maps.tiled.TiledMapTile;
+import me.nulldoubt.micro.maps.tiled.TiledMapTileLayer;
+import me.nulldoubt.micro.maps.tiled.TiledMapTileSet;
+import me.nulldoubt.micro.maps.tiled.TiledMapTileSets;
+import me.nulldoubt.micro.maps.tiled.loaders.TmxMapLoader;
+import me.nulldoubt.micro.maps.tiled.tiles.StaticTiledMapTile;
+import me.nulldoubt.micro.utils.base64.Base64;
+import me.nulldoubt.micro.utils.xml.XmlReader;
+import me.nulldoubt.micro.utils.xml.XmlReader.Element;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Decodes a 1024x1024 tile layer, comparing the bulk decoding of the map loaders with decoding a byte at a time, looking up
+ * the tile sets and allocating a cell per tile, with and without shared cells.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TileLayerDecodeBenchmark {
+	
+	private static final int SIZE = 1024;
+	
+	@Param({"zlib", "gzip", "csv"})
+	public String compression;
+	
+	@Param({"true", "false"})
+	public boolean shareCells;
+	
+	private TiledMap map;
+	private Element layer;
+	private final Loader loader = new Loader();
+	
+	@Setup
+	public void setup() throws IOException {
+		map = new TiledMap();
+		for (int set = 0, firstGid = 1; set < 4; set++, firstGid += 256) {
+			final TiledMapTileSet tileSet = new TiledMapTileSet();
+			for (int id = firstGid; id < firstGid + 256; id++) {
+				final StaticTiledMapTile tile = new StaticTiledMapTile(new TextureRegion());
+				tile.setId(id);
+				tileSet.putTile(id, tile);
+			}
+			map.getTileSets().addTileSet(tileSet);
+		}
+		
+		final Random random = new Random(42);
+		final int[] ids = new int[SIZE * SIZE];
+		// Terrain-like data: runs of a few tiles, some flipped, and empty cells.
+		for (int i = 0; i < ids.length; i++) {
+			if (random.nextInt(8) == 0)
+				continue;
+			ids[i] = 1 + ((i / 16) % 48) + random.nextInt(4) * 256;
+			if (random.nextInt(16) == 0)
+				ids[i] |= random.nextInt(8) << 29;
+		}
+		
+		final String data, attributes;
+		if (compression.equals("csv")) {
+			final StringBuilder csv = new StringBuilder(ids.length * 4);
+			for (int i = 0; i < ids.length; i++) {
+				if (i > 0)
+					csv.append(i % SIZE == 0 ? ",\n" : ",");
+				csv.append(ids[i] & 0xFFFFFFFFL);
+			}
+			data = csv.toString();
+			attributes = "encoding=\"csv\"";
+		} else {
+			final ByteBuffer bytes = ByteBuffer.allocate(ids.length * 4).order(ByteOrder.LITTLE_ENDIAN);
+			bytes.asIntBuffer().put(ids);
+			final ByteArrayOutputStream out = new ByteArrayOutputStream();
+			try (var deflater = compression.equals("gzip") ? new GZIPOutputStream(out) : new DeflaterOutputStream(out)) {
+				deflater.write(bytes.array());
+			}
+			data = new String(Base64.encode(out.toByteArray()));
+			attributes = "encoding=\"base64\" compression=\"" + compression + "\"";
+		}
+		layer = new XmlReader().parse("<layer width=\"" + SIZE + "\" height=\"" + SIZE + "\"><data " + attributes + ">" + data + "</data></layer>");
+	}
+	
+	@Benchmark
+	public TiledMapTileLayer bulk() {
+		return loader.load(map, layer, shareCells);
+	}
+	
+	@Benchmark
+	public TiledMapTileLayer perTile() throws IOException {
+		final int[] ids = decodePerByte(layer);
+		final TiledMapTileSets tileSets = map.getTileSets();
+		final TiledMapTileLayer tileLayer = new TiledMapTileLayer(SIZE, SIZE, 16, 16);
+		for (int y = 0; y < SIZE; y++) {
+			for (int x = 0; x < SIZE; x++) {
+				final int id = ids[y * SIZE + x];
+				final TiledMapTile tile = tileSets.getTile(id & ~TiledMapTileLayer.FLIP_MASK);
+				if (tile != null)
+					tileLayer.setCell(x, SIZE - 1 - y, new TiledMapTileLayer.Cell().set(tile, id));
+			}
+		}
+		return tileLayer;
+	}
+	
+	@Benchmark
+	public int[] bulkDecode() {
+		return TmxMapLoader.getTileIds(layer, SIZE, SIZE);
+	}
+	
+	@Benchmark
+	public int[] perByteDecode() throws IOException {
+		return decodePerByte(layer);
+	}
+	
+	/** The decoding of the map loaders before bulk decoding. */
+	private static int[] decodePerByte(final Element layer) throws IOException {
+		final Element data = layer.getChildByName("data");
+		final int[] ids = new int[SIZE * SIZE];
+		if (data.getAttribute("encoding").equals("csv")) {
+			final String[] array = data.getText().split(",");
+			for (int i = 0; i < array.length; i++)
+				ids[i] = (int) Long.parseLong(array[i].trim());
+			return ids;
+		}
+		final byte[] bytes = Base64.decode(data.getText());
+		try (InputStream is = data.getAttribute("compression").equals("gzip")
+				? new BufferedInputStream(new GZIPInputStream(new ByteArrayInputStream(bytes), bytes.length))
+				: new BufferedInputStream(new InflaterInputStream(new ByteArrayInputStream(bytes)))) {
+			final byte[] temp = new byte[4];
+			for (int i = 0; i < ids.length; i++) {
+				int read = is.read(temp);
+				while (read < temp.length) {
+					final int curr = is.read(temp, read, temp.length - read);
+					if (curr == -1)
+						break;
+					read += curr;
+				}
+				ids[i] = (temp[0] & 0xFF) | (temp[1] & 0xFF) << 8 | (temp[2] & 0xFF) << 16 | (temp[3] & 0xFF) << 24;
+			}
+		}
+		return ids;
+	}
+	
+	/** Exposes the tile layer decoding of the loader. */
+	private static class Loader extends TmxMapLoader {
+		
+		TiledMapTileLayer load(final TiledMap map, final Element element, final boolean shareCells) {
+			this.map = map;
+			this.shareCells = shareCells;
+			clearTileLookup();
+			final TiledMapTileLayer layer = new TiledMapTileLayer(SIZE, SIZE, 16, 16);
+			setCells(layer, getTileIds(element, SIZE, SIZE));
+			return layer;
+		}
+		
+	}
+	
+}
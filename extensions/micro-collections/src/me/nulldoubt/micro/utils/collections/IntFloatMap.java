@@ -0,0 +1,648 @@
+package me.nulldoubt.micro.utils.collections;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static me.nulldoubt.micro.utils.collections.ObjectSet.tableSize;
+
+/**
+ * An unordered map of int keys to float values that doesn't box either. Like {@link IntMap}, it uses Fibonacci hashing and linear
+ * probing with backward shift deletion, and stores the zero key separately.
+ */
+public class IntFloatMap implements Iterable<IntFloatMap.Entry> {
+	
+	public int size;
+	
+	int[] keyTable;
+	float[] valueTable;
+	
+	float zeroValue;
+	boolean hasZeroValue;
+	
+	private final float loadFactor;
+	private int threshold;
+	
+	protected int shift;
+	
+	protected int mask;
+	
+	public IntFloatMap() {
+		this(51, 0.8f);
+	}
+	
+	/**
+	 * Creates a new map with a load factor of 0.8.
+	 *
+	 * @param initialCapacity The backing array size is initialCapacity / loadFactor, increased to the next power of two.
+	 */
+	public IntFloatMap(int initialCapacity) {
+		this(initialCapacity, 0.8f);
+	}
+	
+	/**
+	 * Creates a new map with the specified initial capacity and load factor. This map will hold initialCapacity items before
+	 * growing the backing table.
+	 *
+	 * @param initialCapacity The backing array size is initialCapacity / loadFactor, increased to the next power of two.
+	 */
+	public IntFloatMap(int initialCapacity, float loadFactor) {
+		if (loadFactor <= 0f || loadFactor >= 1f)
+			throw new IllegalArgumentException("loadFactor must be > 0 and < 1: " + loadFactor);
+		this.loadFactor = loadFactor;
+		
+		int tableSize = tableSize(initialCapacity, loadFactor);
+		threshold = (int) (tableSize * loadFactor);
+		mask = tableSize - 1;
+		shift = Long.numberOfLeadingZeros(mask);
+		
+		keyTable = new int[tableSize];
+		valueTable = new float[tableSize];
+	}
+	
+	/**
+	 * Creates a new map identical to the specified map.
+	 */
+	public IntFloatMap(IntFloatMap map) {
+		this((int) (map.keyTable.length * map.loadFactor), map.loadFactor);
+		System.arraycopy(map.keyTable, 0, keyTable, 0, map.keyTable.length);
+		System.arraycopy(map.valueTable, 0, valueTable, 0, map.valueTable.length);
+		size = map.size;
+		zeroValue = map.zeroValue;
+		hasZeroValue = map.hasZeroValue;
+	}
+	
+	protected int place(int item) {
+		return (int) (item * 0x9E3779B97F4A7C15L >>> shift);
+	}
+	
+	/**
+	 * Returns the index of the key if already present, else -(index + 1) for the next empty index.
+	 */
+	private int locateKey(int key) {
+		int[] keyTable = this.keyTable;
+		for (int i = place(key); ; i = i + 1 & mask) {
+			int other = keyTable[i];
+			if (other == 0)
+				return -(i + 1); // Empty space is available.
+			if (other == key)
+				return i; // Same key was found.
+		}
+	}
+	
+	public void put(int key, float value) {
+		if (key == 0) {
+			zeroValue = value;
+			if (!hasZeroValue) {
+				hasZeroValue = true;
+				size++;
+			}
+			return;
+		}
+		int i = locateKey(key);
+		if (i >= 0) { // Existing key was found.
+			valueTable[i] = value;
+			return;
+		}
+		i = -(i + 1); // Empty space was found.
+		keyTable[i] = key;
+		valueTable[i] = value;
+		if (++size >= threshold)
+			resize(keyTable.length << 1);
+	}
+	
+	/**
+	 * Returns the old value associated with the specified key, or the specified default value.
+	 */
+	public float put(int key, float value, float defaultValue) {
+		if (key == 0) {
+			float oldValue = zeroValue;
+			zeroValue = value;
+			if (!hasZeroValue) {
+				hasZeroValue = true;
+				size++;
+				return defaultValue;
+			}
+			return oldValue;
+		}
+		int i = locateKey(key);
+		if (i >= 0) { // Existing key was found.
+			float oldValue = valueTable[i];
+			valueTable[i] = value;
+			return oldValue;
+		}
+		i = -(i + 1); // Empty space was found.
+		keyTable[i] = key;
+		valueTable[i] = value;
+		if (++size >= threshold)
+			resize(keyTable.length << 1);
+		return defaultValue;
+	}
+	
+	public void putAll(IntFloatMap map) {
+		ensureCapacity(map.size);
+		if (map.hasZeroValue)
+			put(0, map.zeroValue);
+		int[] keyTable = map.keyTable;
+		float[] valueTable = map.valueTable;
+		for (int i = 0, n = keyTable.length; i < n; i++) {
+			int key = keyTable[i];
+			if (key != 0)
+				put(key, valueTable[i]);
+		}
+	}
+	
+	/**
+	 * Skips checks for existing keys, doesn't increment size, doesn't need to handle key 0.
+	 */
+	private void putResize(int key, float value) {
+		int[] keyTable = this.keyTable;
+		for (int i = place(key); ; i = (i + 1) & mask) {
+			if (keyTable[i] == 0) {
+				keyTable[i] = key;
+				valueTable[i] = value;
+				return;
+			}
+		}
+	}
+	
+	/**
+	 * Returns the value for the specified key, or the default value if the key is not in the map.
+	 */
+	public float get(int key, float defaultValue) {
+		if (key == 0)
+			return hasZeroValue ? zeroValue : defaultValue;
+		int i = locateKey(key);
+		return i >= 0 ? valueTable[i] : defaultValue;
+	}
+	
+	/**
+	 * Returns the key's current value and increments the stored value. If the key is not in the map, defaultValue + increment is
+	 * put into the map and defaultValue is returned.
+	 */
+	public float getAndIncrement(int key, float defaultValue, float increment) {
+		if (key == 0) {
+			if (!hasZeroValue) {
+				hasZeroValue = true;
+				zeroValue = defaultValue + increment;
+				size++;
+				return defaultValue;
+			}
+			float oldValue = zeroValue;
+			zeroValue += increment;
+			return oldValue;
+		}
+		int i = locateKey(key);
+		if (i >= 0) { // Existing key was found.
+			float oldValue = valueTable[i];
+			valueTable[i] += increment;
+			return oldValue;
+		}
+		i = -(i + 1); // Empty space was found.
+		keyTable[i] = key;
+		valueTable[i] = defaultValue + increment;
+		if (++size >= threshold)
+			resize(keyTable.length << 1);
+		return defaultValue;
+	}
+	
+	/**
+	 * Returns the value for the removed key, or the default value if the key is not in the map.
+	 */
+	public float remove(int key, float defaultValue) {
+		if (key == 0) {
+			if (!hasZeroValue)
+				return defaultValue;
+			hasZeroValue = false;
+			size--;
+			return zeroValue;
+		}
+		
+		int i = locateKey(key);
+		if (i < 0)
+			return defaultValue;
+		int[] keyTable = this.keyTable;
+		float[] valueTable = this.valueTable;
+		float oldValue = valueTable[i];
+		int mask = this.mask, next = i + 1 & mask;
+		while ((key = keyTable[next]) != 0) {
+			int placement = place(key);
+			if ((next - placement & mask) > (i - placement & mask)) {
+				keyTable[i] = key;
+				valueTable[i] = valueTable[next];
+				i = next;
+			}
+			next = next + 1 & mask;
+		}
+		keyTable[i] = 0;
+		size--;
+		return oldValue;
+	}
+	
+	/**
+	 * Returns true if the map has one or more items.
+	 */
+	public boolean notEmpty() {
+		return size > 0;
+	}
+	
+	/**
+	 * Returns true if the map is empty.
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+	
+	/**
+	 * Reduces the size of the backing arrays to be the specified capacity / loadFactor, or less. If the capacity is already less,
+	 * nothing is done. If the map contains more items than the specified capacity, the next highest power of two capacity is used
+	 * instead.
+	 */
+	public void shrink(int maximumCapacity) {
+		if (maximumCapacity < 0)
+			throw new IllegalArgumentException("maximumCapacity must be >= 0: " + maximumCapacity);
+		int tableSize = tableSize(maximumCapacity, loadFactor);
+		if (keyTable.length > tableSize)
+			resize(tableSize);
+	}
+	
+	/**
+	 * Clears the map and reduces the size of the backing arrays to be the specified capacity / loadFactor, if they are larger.
+	 */
+	public void clear(int maximumCapacity) {
+		int tableSize = tableSize(maximumCapacity, loadFactor);
+		if (keyTable.length <= tableSize) {
+			clear();
+			return;
+		}
+		size = 0;
+		hasZeroValue = false;
+		resize(tableSize);
+	}
+	
+	public void clear() {
+		if (size == 0)
+			return;
+		size = 0;
+		Arrays.fill(keyTable, 0);
+		hasZeroValue = false;
+	}
+	
+	/**
+	 * Returns true if the specified value is in the map. Note this traverses the entire map and compares every value, which may
+	 * be an expensive operation.
+	 */
+	public boolean containsValue(float value) {
+		if (hasZeroValue && zeroValue == value)
+			return true;
+		int[] keyTable = this.keyTable;
+		float[] valueTable = this.valueTable;
+		for (int i = valueTable.length - 1; i >= 0; i--)
+			if (keyTable[i] != 0 && valueTable[i] == value)
+				return true;
+		return false;
+	}
+	
+	public boolean containsKey(int key) {
+		if (key == 0)
+			return hasZeroValue;
+		return locateKey(key) >= 0;
+	}
+	
+	/**
+	 * Returns the key for the specified value, or notFound if it is not in the map. Note this traverses the entire map and
+	 * compares every value, which may be an expensive operation.
+	 */
+	public int findKey(float value, int notFound) {
+		if (hasZeroValue && zeroValue == value)
+			return 0;
+		int[] keyTable = this.keyTable;
+		float[] valueTable = this.valueTable;
+		for (int i = valueTable.length - 1; i >= 0; i--)
+			if (keyTable[i] != 0 && valueTable[i] == value)
+				return keyTable[i];
+		return notFound;
+	}
+	
+	/**
+	 * Increases the size of the backing array to accommodate the specified number of additional items / loadFactor. Useful before
+	 * adding many items to avoid multiple backing array resizes.
+	 */
+	public void ensureCapacity(int additionalCapacity) {
+		int tableSize = tableSize(size + additionalCapacity, loadFactor);
+		if (keyTable.length < tableSize)
+			resize(tableSize);
+	}
+	
+	private void resize(int newSize) {
+		int oldCapacity = keyTable.length;
+		threshold = (int) (newSize * loadFactor);
+		mask = newSize - 1;
+		shift = Long.numberOfLeadingZeros(mask);
+		
+		int[] oldKeyTable = keyTable;
+		float[] oldValueTable = valueTable;
+		
+		keyTable = new int[newSize];
+		valueTable = new float[newSize];
+		
+		if (size > 0) {
+			for (int i = 0; i < oldCapacity; i++) {
+				int key = oldKeyTable[i];
+				if (key != 0)
+					putResize(key, oldValueTable[i]);
+			}
+		}
+	}
+	
+	public int hashCode() {
+		int h = size;
+		if (hasZeroValue)
+			h += Float.floatToRawIntBits(zeroValue);
+		int[] keyTable = this.keyTable;
+		float[] valueTable = this.valueTable;
+		for (int i = 0, n = keyTable.length; i < n; i++) {
+			int key = keyTable[i];
+			if (key != 0)
+				h += key * 31 + Float.floatToRawIntBits(valueTable[i]);
+		}
+		return h;
+	}
+	
+	public boolean equals(Object obj) {
+		if (obj == this)
+			return true;
+		if (!(obj instanceof IntFloatMap other))
+			return false;
+		if (other.size != size)
+			return false;
+		if (other.hasZeroValue != hasZeroValue)
+			return false;
+		if (hasZeroValue && other.zeroValue != zeroValue)
+			return false;
+		int[] keyTable = this.keyTable;
+		float[] valueTable = this.valueTable;
+		for (int i = 0, n = keyTable.length; i < n; i++) {
+			int key = keyTable[i];
+			if (key != 0) {
+				float otherValue = other.get(key, 0);
+				if (otherValue == 0 && !other.containsKey(key))
+					return false;
+				if (otherValue != valueTable[i])
+					return false;
+			}
+		}
+		return true;
+	}
+	
+	public String toString() {
+		if (size == 0)
+			return "[]";
+		java.lang.StringBuilder buffer = new java.lang.StringBuilder(32);
+		buffer.append('[');
+		int[] keyTable = this.keyTable;
+		float[] valueTable = this.valueTable;
+		int i = keyTable.length;
+		if (hasZeroValue) {
+			buffer.append("0=");
+			buffer.append(zeroValue);
+		} else {
+			while (i-- > 0) {
+				int key = keyTable[i];
+				if (key == 0)
+					continue;
+				buffer.append(key);
+				buffer.append('=');
+				buffer.append(valueTable[i]);
+				break;
+			}
+		}
+		while (i-- > 0) {
+			int key = keyTable[i];
+			if (key == 0)
+				continue;
+			buffer.append(", ");
+			buffer.append(key);
+			buffer.append('=');
+			buffer.append(valueTable[i]);
+		}
+		buffer.append(']');
+		return buffer.toString();
+	}
+	
+	public Entries iterator() {
+		return entries();
+	}
+	
+	public Entries entries() {
+		return new Entries(this);
+	}
+	
+	public Values values() {
+		return new Values(this);
+	}
+	
+	public Keys keys() {
+		return new Keys(this);
+	}
+	
+	public static class Entry {
+		
+		public int key;
+		public float value;
+		
+		public String toString() {
+			return key + "=" + value;
+		}
+		
+	}
+	
+	private static class MapIterator {
+		
+		private static final int INDEX_ILLEGAL = -2;
+		static final int INDEX_ZERO = -1;
+		
+		public boolean hasNext;
+		
+		final IntFloatMap map;
+		int nextIndex, currentIndex;
+		boolean valid = true;
+		
+		public MapIterator(IntFloatMap map) {
+			this.map = map;
+			reset();
+		}
+		
+		public void reset() {
+			currentIndex = INDEX_ILLEGAL;
+			nextIndex = INDEX_ZERO;
+			if (map.hasZeroValue)
+				hasNext = true;
+			else
+				findNextIndex();
+		}
+		
+		void findNextIndex() {
+			int[] keyTable = map.keyTable;
+			for (int n = keyTable.length; ++nextIndex < n; ) {
+				if (keyTable[nextIndex] != 0) {
+					hasNext = true;
+					return;
+				}
+			}
+			hasNext = false;
+		}
+		
+		public void remove() {
+			int i = currentIndex;
+			if (i == INDEX_ZERO && map.hasZeroValue) {
+				map.hasZeroValue = false;
+			} else if (i < 0) {
+				throw new IllegalStateException("next must be called before remove.");
+			} else {
+				int[] keyTable = map.keyTable;
+				float[] valueTable = map.valueTable;
+				int mask = map.mask, next = i + 1 & mask;
+				int key;
+				while ((key = keyTable[next]) != 0) {
+					int placement = map.place(key);
+					if ((next - placement & mask) > (i - placement & mask)) {
+						keyTable[i] = key;
+						valueTable[i] = valueTable[next];
+						i = next;
+					}
+					next = next + 1 & mask;
+				}
+				keyTable[i] = 0;
+				if (i != currentIndex)
+					--nextIndex;
+			}
+			currentIndex = INDEX_ILLEGAL;
+			map.size--;
+		}
+		
+	}
+	
+	public static class Entries extends MapIterator implements Iterable<Entry>, Iterator<Entry> {
+		
+		private final Entry entry = new Entry();
+		
+		public Entries(IntFloatMap map) {
+			super(map);
+		}
+		
+		/**
+		 * Note the same entry instance is returned each time this method is called.
+		 */
+		public Entry next() {
+			if (!hasNext)
+				throw new NoSuchElementException();
+			if (!valid)
+				throw new RuntimeException("#iterator() cannot be used nested.");
+			if (nextIndex == INDEX_ZERO) {
+				entry.key = 0;
+				entry.value = map.zeroValue;
+			} else {
+				entry.key = map.keyTable[nextIndex];
+				entry.value = map.valueTable[nextIndex];
+			}
+			currentIndex = nextIndex;
+			findNextIndex();
+			return entry;
+		}
+		
+		public boolean hasNext() {
+			if (!valid)
+				throw new RuntimeException("#iterator() cannot be used nested.");
+			return hasNext;
+		}
+		
+		public Entries iterator() {
+			return this;
+		}
+		
+	}
+	
+	public static class Values extends MapIterator {
+		
+		public Values(IntFloatMap map) {
+			super(map);
+		}
+		
+		public boolean hasNext() {
+			if (!valid)
+				throw new RuntimeException("#iterator() cannot be used nested.");
+			return hasNext;
+		}
+		
+		public float next() {
+			if (!hasNext)
+				throw new NoSuchElementException();
+			if (!valid)
+				throw new RuntimeException("#iterator() cannot be used nested.");
+			float value = nextIndex == INDEX_ZERO ? map.zeroValue : map.valueTable[nextIndex];
+			currentIndex = nextIndex;
+			findNextIndex();
+			return value;
+		}
+		
+		/**
+		 * Returns a new array containing the remaining values.
+		 */
+		public FloatArray toArray() {
+			return toArray(new FloatArray(true, map.size));
+		}
+		
+		/**
+		 * Adds the remaining values to the specified array.
+		 */
+		public FloatArray toArray(FloatArray array) {
+			while (hasNext)
+				array.add(next());
+			return array;
+		}
+		
+	}
+	
+	public static class Keys extends MapIterator {
+		
+		public Keys(IntFloatMap map) {
+			super(map);
+		}
+		
+		public boolean hasNext() {
+			if (!valid)
+				throw new RuntimeException("#iterator() cannot be used nested.");
+			return hasNext;
+		}
+		
+		public int next() {
+			if (!hasNext)
+				throw new NoSuchElementException();
+			if (!valid)
+				throw new RuntimeException("#iterator() cannot be used nested.");
+			int key = nextIndex == INDEX_ZERO ? 0 : map.keyTable[nextIndex];
+			currentIndex = nextIndex;
+			findNextIndex();
+			return key;
+		}
+		
+		/**
+		 * Returns a new array containing the remaining keys.
+		 */
+		public IntArray toArray() {
+			return toArray(new IntArray(true, map.size));
+		}
+		
+		/**
+		 * Adds the remaining keys to the specified array.
+		 */
+		public IntArray toArray(IntArray array) {
+			while (hasNext)
+				array.add(next());
+			return array;
+		}
+		
+	}
+	
+}
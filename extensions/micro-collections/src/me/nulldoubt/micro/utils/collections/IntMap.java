@@ -518,7 +518,7 @@ public class IntMap<V> implements Iterable<IntMap.Entry<V>> {
 	
 	public static class Entries<V> extends MapIterator<V> implements Iterable<Entry<V>>, Iterator<Entry<V>> {
 		
-		private final Entry<V> entry = new Entry();
+		final Entry<V> entry = new Entry();
 		
 		public Entries(IntMap map) {
 			super(map);
@@ -0,0 +1,234 @@
+package me.nulldoubt.micro.utils.collections;
+
+import java.util.NoSuchElementException;
+
+/**
+ * An {@link IntMap} that also keeps its keys in an {@link IntArray} in insertion order, like {@link OrderedMap}. Iteration
+ * follows that order and is as fast as iterating an array; removal is linear in the number of keys.
+ */
+public class OrderedIntMap<V> extends IntMap<V> {
+	
+	public final IntArray keys;
+	
+	public OrderedIntMap() {
+		keys = new IntArray();
+	}
+	
+	public OrderedIntMap(int initialCapacity) {
+		super(initialCapacity);
+		keys = new IntArray(initialCapacity);
+	}
+	
+	public OrderedIntMap(int initialCapacity, float loadFactor) {
+		super(initialCapacity, loadFactor);
+		keys = new IntArray(initialCapacity);
+	}
+	
+	public OrderedIntMap(OrderedIntMap<? extends V> map) {
+		super(map);
+		keys = new IntArray(map.keys);
+	}
+	
+	public V put(int key, V value) {
+		int oldSize = size;
+		V oldValue = super.put(key, value);
+		if (size != oldSize)
+			keys.add(key);
+		return oldValue;
+	}
+	
+	public void putAll(OrderedIntMap<? extends V> map) {
+		ensureCapacity(map.size);
+		int[] keys = map.keys.items;
+		for (int i = 0, n = map.keys.size; i < n; i++) {
+			int key = keys[i];
+			put(key, map.get(key));
+		}
+	}
+	
+	public V remove(int key) {
+		if (!containsKey(key))
+			return null;
+		keys.removeValue(key);
+		return super.remove(key);
+	}
+	
+	public V removeIndex(int index) {
+		return super.remove(keys.removeIndex(index));
+	}
+	
+	public void clear(int maximumCapacity) {
+		keys.clear();
+		super.clear(maximumCapacity);
+	}
+	
+	public void clear() {
+		keys.clear();
+		super.clear();
+	}
+	
+	public IntArray orderedKeys() {
+		return keys;
+	}
+	
+	public Entries<V> entries() {
+		return new OrderedIntMapEntries<>(this);
+	}
+	
+	public Values<V> values() {
+		return new OrderedIntMapValues<>(this);
+	}
+	
+	public Keys keys() {
+		return new OrderedIntMapKeys(this);
+	}
+	
+	public String toString() {
+		if (size == 0)
+			return "[]";
+		StringBuilder buffer = new StringBuilder(32);
+		buffer.append('[');
+		IntArray keys = this.keys;
+		for (int i = 0, n = keys.size; i < n; i++) {
+			int key = keys.get(i);
+			if (i > 0)
+				buffer.append(", ");
+			buffer.append(key);
+			buffer.append('=');
+			buffer.append(get(key));
+		}
+		buffer.append(']');
+		return buffer.toString();
+	}
+	
+	public static class OrderedIntMapEntries<V> extends Entries<V> {
+		
+		private final IntArray keys;
+		
+		public OrderedIntMapEntries(OrderedIntMap<V> map) {
+			super(map);
+			keys = map.keys;
+		}
+		
+		public void reset() {
+			currentIndex = -1;
+			nextIndex = 0;
+			hasNext = map.size > 0;
+		}
+		
+		public Entry<V> next() {
+			if (!hasNext)
+				throw new NoSuchElementException();
+			if (!valid)
+				throw new RuntimeException("#iterator() cannot be used nested.");
+			currentIndex = nextIndex;
+			entry.key = keys.get(nextIndex);
+			entry.value = map.get(entry.key);
+			nextIndex++;
+			hasNext = nextIndex < map.size;
+			return entry;
+		}
+		
+		public void remove() {
+			if (currentIndex < 0)
+				throw new IllegalStateException("next must be called before remove.");
+			((OrderedIntMap<V>) map).removeIndex(currentIndex);
+			nextIndex = currentIndex;
+			currentIndex = -1;
+		}
+		
+	}
+	
+	public static class OrderedIntMapKeys extends Keys {
+		
+		private final IntArray keys;
+		
+		public OrderedIntMapKeys(OrderedIntMap<?> map) {
+			super(map);
+			keys = map.keys;
+		}
+		
+		public void reset() {
+			currentIndex = -1;
+			nextIndex = 0;
+			hasNext = map.size > 0;
+		}
+		
+		public int next() {
+			if (!hasNext)
+				throw new NoSuchElementException();
+			if (!valid)
+				throw new RuntimeException("#iterator() cannot be used nested.");
+			int key = keys.get(nextIndex);
+			currentIndex = nextIndex;
+			nextIndex++;
+			hasNext = nextIndex < map.size;
+			return key;
+		}
+		
+		public void remove() {
+			if (currentIndex < 0)
+				throw new IllegalStateException("next must be called before remove.");
+			((OrderedIntMap<?>) map).removeIndex(currentIndex);
+			nextIndex = currentIndex;
+			currentIndex = -1;
+		}
+		
+		public IntArray toArray(IntArray array) {
+			array.addAll(keys, nextIndex, keys.size - nextIndex);
+			nextIndex = keys.size;
+			hasNext = false;
+			return array;
+		}
+		
+		public IntArray toArray() {
+			return toArray(new IntArray(true, keys.size - nextIndex));
+		}
+		
+	}
+	
+	public static class OrderedIntMapValues<V> extends Values<V> {
+		
+		private final IntArray keys;
+		
+		public OrderedIntMapValues(OrderedIntMap<V> map) {
+			super(map);
+			keys = map.keys;
+		}
+		
+		public void reset() {
+			currentIndex = -1;
+			nextIndex = 0;
+			hasNext = map.size > 0;
+		}
+		
+		public V next() {
+			if (!hasNext)
+				throw new NoSuchElementException();
+			if (!valid)
+				throw new RuntimeException("#iterator() cannot be used nested.");
+			V value = map.get(keys.get(nextIndex));
+			currentIndex = nextIndex;
+			nextIndex++;
+			hasNext = nextIndex < map.size;
+			return value;
+		}
+		
+		public void remove() {
+			if (currentIndex < 0)
+				throw new IllegalStateException("next must be called before remove.");
+			((OrderedIntMap<V>) map).removeIndex(currentIndex);
+			nextIndex = currentIndex;
+			currentIndex = -1;
+		}
+		
+		public Array<V> toArray() {
+			Array<V> array = new Array<>(true, keys.size - nextIndex);
+			while (hasNext)
+				array.add(next());
+			return array;
+		}
+		
+	}
+	
+}
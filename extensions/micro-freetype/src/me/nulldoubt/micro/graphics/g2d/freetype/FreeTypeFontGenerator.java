@@ -230,6 +230,8 @@ public class FreeTypeFontGenerator implements Disposable {
 		// set general font data
 		SizeMetrics fontMetrics = face.getSize().getMetrics();
 		data.flipped = parameter.flip;
+		data.distanceField = parameter.distanceField;
+		data.distanceFieldSpread = parameter.distanceField ? parameter.distanceFieldSpread : 0;
 		data.ascent = FreeType.toInt(fontMetrics.getAscender());
 		data.descent = FreeType.toInt(fontMetrics.getDescender());
 		data.lineHeight = FreeType.toInt(fontMetrics.getHeight());
@@ -548,6 +550,17 @@ public class FreeTypeFontGenerator implements Disposable {
 			}
 		}
 		
+		if (parameter.distanceField && mainBitmap.getWidth() != 0 && mainBitmap.getRows() != 0) {
+			final int spread = parameter.distanceFieldSpread;
+			Pixmap fieldPixmap = toDistanceField(mainPixmap, spread, parameter.color);
+			mainPixmap.dispose();
+			mainPixmap = fieldPixmap;
+			glyph.width = mainPixmap.getWidth();
+			glyph.height = mainPixmap.getHeight();
+			glyph.xoffset -= spread;
+			glyph.yoffset -= spread;
+		}
+		
 		PixmapPackerRectangle rect = packer.pack(mainPixmap);
 		glyph.page = packer.getPages().indexOf(rect.page, true);
 		glyph.srcX = (int) rect.x;
@@ -562,6 +575,56 @@ public class FreeTypeFontGenerator implements Disposable {
 		return glyph;
 	}
 	
+	/**
+	 * Converts the coverage of a glyph to a signed distance field, padded by the spread on each side. The alpha is 0.5 on the
+	 * edges of the glyph and goes to 1 inside and 0 outside over the spread.
+	 */
+	static Pixmap toDistanceField(Pixmap pixmap, int spread, Color color) {
+		if (spread < 1)
+			throw new IllegalArgumentException("distanceFieldSpread must be >= 1: " + spread);
+		final int width = pixmap.getWidth(), height = pixmap.getHeight();
+		final boolean[] inside = new boolean[width * height];
+		final ByteBuffer pixels = pixmap.getPixels();
+		for (int i = 0, n = inside.length; i < n; i++)
+			inside[i] = (pixels.get(i * 4 + 3) & 0xff) >= 128;
+		
+		final int fieldWidth = width + spread * 2, fieldHeight = height + spread * 2;
+		final Pixmap field = new Pixmap(new Micro2DPixmap(fieldWidth, fieldHeight, Micro2DPixmap.MICRO2D_FORMAT_RGBA8888));
+		final ByteBuffer fieldPixels = field.getPixels();
+		final byte r = (byte) (color.r * 255), g = (byte) (color.g * 255), b = (byte) (color.b * 255);
+		final int maxSquared = spread * spread;
+		for (int y = 0; y < fieldHeight; y++) {
+			final int sy = y - spread;
+			for (int x = 0; x < fieldWidth; x++) {
+				final int sx = x - spread;
+				final boolean in = sx >= 0 && sy >= 0 && sx < width && sy < height && inside[sy * width + sx];
+				// The squared distance to the closest pixel on the other side of the edge, within the spread.
+				int closest = maxSquared + 1;
+				for (int oy = Math.max(-spread, -sy - 1), oyEnd = Math.min(spread, height - sy); oy <= oyEnd; oy++) {
+					final int py = sy + oy;
+					for (int ox = -spread; ox <= spread; ox++) {
+						final int squared = ox * ox + oy * oy;
+						if (squared >= closest)
+							continue;
+						final int px = sx + ox;
+						final boolean otherIn = px >= 0 && py >= 0 && px < width && py < height && inside[py * width + px];
+						if (otherIn != in)
+							closest = squared;
+					}
+				}
+				// The edge lies half a pixel before the closest pixel on the other side.
+				final float distance = closest > maxSquared ? spread : (float) Math.sqrt(closest) - 0.5f;
+				final float alpha = MathUtils.clamp(0.5f + (in ? distance : -distance) / (spread * 2), 0, 1);
+				final int pixel = (y * fieldWidth + x) * 4;
+				fieldPixels.put(pixel, r);
+				fieldPixels.put(pixel + 1, g);
+				fieldPixels.put(pixel + 2, b);
+				fieldPixels.put(pixel + 3, (byte) Math.round(alpha * 255));
+			}
+		}
+		return field;
+	}
+	
 	public boolean hasGlyph(int charCode) {
 		return face.getCharIndex(charCode) != 0;
 	}
@@ -687,6 +750,13 @@ public class FreeTypeFontGenerator implements Disposable {
 		public TextureFilter magFilter = TextureFilter.Nearest;
 		
 		public boolean incremental;
+		/**
+		 * Whether to render the glyphs as signed distance fields, so one font can be drawn sharp at any scale, see
+		 * {@link BitmapFontData#distanceField}. The size should be large, eg 32 or more, and the filters linear.
+		 */
+		public boolean distanceField;
+		/** The pixels the distance field extends around the glyphs, at least 1. */
+		public int distanceFieldSpread = 4;
 		
 	}
 	
@@ -3,6 +3,7 @@ package me.nulldoubt.micro.graphics.glutils;
 import me.nulldoubt.micro.exceptions.MicroRuntimeException;
 import me.nulldoubt.micro.graphics.Color;
 import me.nulldoubt.micro.graphics.Mesh;
+import me.nulldoubt.micro.graphics.Mesh.VertexDataType;
 import me.nulldoubt.micro.graphics.VertexAttribute;
 import me.nulldoubt.micro.graphics.VertexAttributes.Usage;
 import me.nulldoubt.micro.math.Matrix4;
@@ -10,6 +11,12 @@ import me.nulldoubt.micro.utils.collections.Array;
 
 public class ImmediateModeRenderer20 implements ImmediateModeRenderer {
 	
+	/**
+	 * Forces the {@link VertexDataType} of renderers created afterwards, e.g. {@link VertexDataType#VertexBufferObjectStreaming}
+	 * on GL30 contexts. If null, the {@link Mesh} default is used.
+	 */
+	public static VertexDataType overrideVertexType = null;
+	
 	private int primitiveType;
 	private int vertexIdx;
 	private int numSetTexCoords;
@@ -44,7 +51,7 @@ public class ImmediateModeRenderer20 implements ImmediateModeRenderer {
 		this.shader = shader;
 		
 		VertexAttribute[] attribs = buildVertexAttributes(hasNormals, hasColors, numTexCoords);
-		mesh = new Mesh(false, maxVertices, 0, attribs);
+		mesh = (overrideVertexType != null) ? new Mesh(overrideVertexType, false, maxVertices, 0, attribs) : new Mesh(false, maxVertices, 0, attribs);
 		
 		vertices = new float[maxVertices * (mesh.getVertexAttributes().vertexSize / 4)];
 		vertexSize = mesh.getVertexAttributes().vertexSize / 4;
@@ -18,6 +18,9 @@ import static me.nulldoubt.micro.utils.Align.*;
 
 public class Actor {
 	
+	/** The ascendant stack of {@link #fire(Event)} for actors that are not in a stage. */
+	private static final Array<Group> detachedAscendants = new Array<>(true, 16, Group.class);
+	
 	private Stage stage;
 	Group parent;
 	private final DelayedRemovalArray<EventListener> listeners = new DelayedRemovalArray<>(0);
@@ -41,6 +44,7 @@ public class Actor {
 		Array<Action> actions = this.actions;
 		if (actions.size == 0)
 			return;
+		Group.invalidateCaches(parent);
 		if (stage != null && stage.getActionsRequestRendering())
 			Micro.graphics.requestRendering();
 		try {
@@ -62,24 +66,45 @@ public class Actor {
 		}
 	}
 	
+	/**
+	 * @return false for pointer movement and scrolling, which are frequent and don't change the look of actors by themselves.
+	 *         Listeners which do change it on enter and exit, like {@link me.nulldoubt.micro.scenes.scene2d.utils.ClickListener},
+	 *         invalidate the cache themselves.
+	 */
+	private static boolean changesAppearance(Event event) {
+		if (!(event instanceof InputEvent inputEvent))
+			return true;
+		return switch (inputEvent.getType()) {
+			case mouseMoved, enter, exit, scrolled -> false;
+			default -> true;
+		};
+	}
+	
 	public boolean fire(Event event) {
 		if (event.getStage() == null)
 			event.setStage(getStage());
 		event.setTarget(this);
+		if (changesAppearance(event))
+			invalidateCache();
 		
-		Array<Group> ascendants = Pools.obtain(Array.class, Array::new);
-		Group parent = this.parent;
-		while (parent != null) {
+		// The ascendants are pushed on a shared stack and popped when done, so nested events reuse it.
+		final Stage stage = this.stage;
+		final Array<Group> ascendants = stage != null ? stage.ascendants : detachedAscendants;
+		final Group[] items = ascendants.items;
+		final int start = ascendants.size;
+		for (Group parent = this.parent; parent != null; parent = parent.parent)
 			ascendants.add(parent);
-			parent = parent.parent;
+		final int end = ascendants.size;
+		if (stage != null) {
+			stage.eventsFired++;
+			if (ascendants.items != items)
+				stage.eventAllocations++;
 		}
 		
 		try {
 			// Notify ascendants' capture listeners, starting at the root. Ascendants may stop an event before children receive it.
-			Object[] ascendantsArray = ascendants.items;
-			for (int i = ascendants.size - 1; i >= 0; i--) {
-				Group currentTarget = (Group) ascendantsArray[i];
-				currentTarget.notify(event, true);
+			for (int i = end - 1; i >= start; i--) {
+				ascendants.items[i].notify(event, true);
 				if (event.isStopped())
 					return event.isCancelled();
 			}
@@ -97,16 +122,15 @@ public class Actor {
 				return event.isCancelled();
 			
 			// Notify ascendants' actor listeners, starting at the target. Children may stop an event before ascendants receive it.
-			for (int i = 0, n = ascendants.size; i < n; i++) {
-				((Group) ascendantsArray[i]).notify(event, false);
+			for (int i = start; i < end; i++) {
+				ascendants.items[i].notify(event, false);
 				if (event.isStopped())
 					return event.isCancelled();
 			}
 			
 			return event.isCancelled();
 		} finally {
-			ascendants.clear();
-			Pools.free(ascendants);
+			ascendants.truncate(start);
 		}
 	}
 	
@@ -298,7 +322,10 @@ public class Actor {
 	}
 	
 	public void setVisible(boolean visible) {
-		this.visible = visible;
+		if (this.visible != visible) {
+			this.visible = visible;
+			Group.invalidateCaches(parent);
+		}
 	}
 	
 	public boolean ascendantsVisible() {
@@ -375,6 +402,7 @@ public class Actor {
 		if (this.x != x) {
 			this.x = x;
 			positionChanged();
+			boundsChanged();
 		}
 	}
 	
@@ -392,6 +420,7 @@ public class Actor {
 		if (this.x != x) {
 			this.x = x;
 			positionChanged();
+			boundsChanged();
 		}
 	}
 	
@@ -406,6 +435,7 @@ public class Actor {
 		if (this.y != y) {
 			this.y = y;
 			positionChanged();
+			boundsChanged();
 		}
 	}
 	
@@ -423,6 +453,7 @@ public class Actor {
 		if (this.y != y) {
 			this.y = y;
 			positionChanged();
+			boundsChanged();
 		}
 	}
 	
@@ -446,6 +477,7 @@ public class Actor {
 			this.x = x;
 			this.y = y;
 			positionChanged();
+			boundsChanged();
 		}
 	}
 	
@@ -468,6 +500,7 @@ public class Actor {
 			this.x = x;
 			this.y = y;
 			positionChanged();
+			boundsChanged();
 		}
 	}
 	
@@ -479,6 +512,7 @@ public class Actor {
 			this.x += x;
 			this.y += y;
 			positionChanged();
+			boundsChanged();
 		}
 	}
 	
@@ -490,6 +524,7 @@ public class Actor {
 		if (this.width != width) {
 			this.width = width;
 			sizeChanged();
+			boundsChanged();
 		}
 	}
 	
@@ -501,6 +536,7 @@ public class Actor {
 		if (this.height != height) {
 			this.height = height;
 			sizeChanged();
+			boundsChanged();
 		}
 	}
 	
@@ -542,6 +578,24 @@ public class Actor {
 	protected void rotationChanged() {
 	}
 	
+	/**
+	 * Reindexes this actor in the {@link Group#setHitGrid(float, boolean) hit grid} of its parent, if any.
+	 */
+	void boundsChanged() {
+		final Group parent = this.parent;
+		if (parent != null && parent.hitGrid != null)
+			parent.hitGrid.boundsChanged(this);
+		Group.invalidateCaches(parent);
+	}
+	
+	/**
+	 * Discards the drawing cached by the {@link Group#setCached(boolean) cached} groups this actor is in, including itself. Must be
+	 * called when the appearance of the actor changes other than through its methods.
+	 */
+	public void invalidateCache() {
+		Group.invalidateCaches(this instanceof Group group ? group : parent);
+	}
+	
 	/**
 	 * Sets the width and height.
 	 */
@@ -550,6 +604,7 @@ public class Actor {
 			this.width = width;
 			this.height = height;
 			sizeChanged();
+			boundsChanged();
 		}
 	}
 	
@@ -561,6 +616,7 @@ public class Actor {
 			width += size;
 			height += size;
 			sizeChanged();
+			boundsChanged();
 		}
 	}
 	
@@ -572,6 +628,7 @@ public class Actor {
 			this.width += width;
 			this.height += height;
 			sizeChanged();
+			boundsChanged();
 		}
 	}
 	
@@ -583,11 +640,13 @@ public class Actor {
 			this.x = x;
 			this.y = y;
 			positionChanged();
+			boundsChanged();
 		}
 		if (this.width != width || this.height != height) {
 			this.width = width;
 			this.height = height;
 			sizeChanged();
+			boundsChanged();
 		}
 	}
 	
@@ -597,6 +656,7 @@ public class Actor {
 	
 	public void setOriginX(float originX) {
 		this.originX = originX;
+		boundsChanged();
 	}
 	
 	public float getOriginY() {
@@ -605,6 +665,7 @@ public class Actor {
 	
 	public void setOriginY(float originY) {
 		this.originY = originY;
+		boundsChanged();
 	}
 	
 	/**
@@ -613,6 +674,7 @@ public class Actor {
 	public void setOrigin(float originX, float originY) {
 		this.originX = originX;
 		this.originY = originY;
+		boundsChanged();
 	}
 	
 	/**
@@ -632,6 +694,7 @@ public class Actor {
 			originY = height;
 		else
 			originY = height / 2;
+		boundsChanged();
 	}
 	
 	public float getScaleX() {
@@ -642,6 +705,7 @@ public class Actor {
 		if (this.scaleX != scaleX) {
 			this.scaleX = scaleX;
 			scaleChanged();
+			boundsChanged();
 		}
 	}
 	
@@ -653,6 +717,7 @@ public class Actor {
 		if (this.scaleY != scaleY) {
 			this.scaleY = scaleY;
 			scaleChanged();
+			boundsChanged();
 		}
 	}
 	
@@ -664,6 +729,7 @@ public class Actor {
 			this.scaleX = scaleXY;
 			this.scaleY = scaleXY;
 			scaleChanged();
+			boundsChanged();
 		}
 	}
 	
@@ -675,6 +741,7 @@ public class Actor {
 			this.scaleX = scaleX;
 			this.scaleY = scaleY;
 			scaleChanged();
+			boundsChanged();
 		}
 	}
 	
@@ -686,6 +753,7 @@ public class Actor {
 			scaleX += scale;
 			scaleY += scale;
 			scaleChanged();
+			boundsChanged();
 		}
 	}
 	
@@ -697,6 +765,7 @@ public class Actor {
 			this.scaleX += scaleX;
 			this.scaleY += scaleY;
 			scaleChanged();
+			boundsChanged();
 		}
 	}
 	
@@ -708,6 +777,7 @@ public class Actor {
 		if (this.rotation != degrees) {
 			this.rotation = degrees;
 			rotationChanged();
+			boundsChanged();
 		}
 	}
 	
@@ -718,19 +788,23 @@ public class Actor {
 		if (amountInDegrees != 0) {
 			rotation = (rotation + amountInDegrees) % 360;
 			rotationChanged();
+			boundsChanged();
 		}
 	}
 	
 	public void setColor(Color color) {
 		this.color.set(color);
+		Group.invalidateCaches(parent);
 	}
 	
 	public void setColor(float r, float g, float b, float a) {
 		color.set(r, g, b, a);
+		Group.invalidateCaches(parent);
 	}
 	
 	/**
-	 * Returns the color the actor will be tinted when drawn. The returned instance can be modified to change the color.
+	 * Returns the color the actor will be tinted when drawn. The returned instance can be modified to change the color, followed
+	 * by {@link #invalidateCache()} if the actor is in a {@link Group#setCached(boolean) cached} group.
 	 */
 	public Color getColor() {
 		return color;
@@ -790,6 +864,9 @@ public class Actor {
 		if (!children.removeValue(this, true))
 			return false;
 		children.insert(index, this);
+		if (parent.hitGrid != null)
+			parent.hitGrid.orderChanged();
+		Group.invalidateCaches(parent);
 		return true;
 	}
 	
@@ -833,6 +910,7 @@ public class Actor {
 		tableBounds.height = height;
 		Rectangle scissorBounds = Pools.obtain(Rectangle.class, Rectangle::new);
 		stage.calculateScissors(tableBounds, scissorBounds);
+		stage.getBatch().invalidateCache();
 		if (Scissors.pushScissors(scissorBounds))
 			return true;
 		Pools.free(scissorBounds);
@@ -1,6 +1,7 @@
 package me.nulldoubt.micro.scenes.scene2d;
 
 import me.nulldoubt.micro.graphics.g2d.Batch;
+import me.nulldoubt.micro.graphics.g2d.VertexCache;
 import me.nulldoubt.micro.graphics.glutils.ShapeRenderer;
 import me.nulldoubt.micro.math.Affine2;
 import me.nulldoubt.micro.math.Matrix4;
@@ -21,6 +22,14 @@ public class Group extends Actor implements Cullable {
 	private final Matrix4 oldTransform = new Matrix4();
 	boolean transform = true;
 	private Rectangle cullingArea;
+	private boolean childrenInBounds;
+	/** The area visible through the camera in the coordinates of this group, set while the stage draws with auto culling. */
+	Rectangle viewArea;
+	boolean viewCulled;
+	HitGrid hitGrid;
+	private VertexCache cache;
+	private boolean cacheValid;
+	private float cacheAlpha, cacheX, cacheY;
 	
 	public void act(float delta) {
 		super.act(delta);
@@ -46,14 +55,28 @@ public class Group extends Actor implements Cullable {
 	 * Draws all children. {@link #applyTransform(Batch, Matrix4)} should be called before and {@link #resetTransform(Batch)}
 	 * after this method if {@link #setTransform(boolean) transform} is true. If {@link #setTransform(boolean) transform} is false
 	 * these methods don't need to be called, children positions are temporarily offset by the group position when drawn. This
-	 * method avoids drawing children completely outside the {@link #setCullingArea(Rectangle) culling area}, if set.
+	 * method avoids drawing children completely outside the {@link #setCullingArea(Rectangle) culling area}, if set, or outside
+	 * the camera view if the stage {@link Stage#setAutoCulling(boolean) culls automatically}.
 	 */
 	protected void drawChildren(Batch batch, float parentAlpha) {
+		if (cache != null && cullingArea == null && !batch.isCaching())
+			drawChildrenCached(batch, parentAlpha);
+		else
+			drawChildrenDirect(batch, parentAlpha);
+	}
+	
+	private void drawChildrenDirect(Batch batch, float parentAlpha) {
 		parentAlpha *= this.color.a;
 		SnapshotArray<Actor> children = this.children;
 		Actor[] actors = children.begin();
 		Rectangle cullingArea = this.cullingArea;
-		if (cullingArea != null) {
+		final Stage stage = getStage();
+		final StageProfiler profiler = stage != null ? stage.profiler : null;
+		if (profiler != null)
+			profiler.visitedCount += children.size;
+		if (viewCulled)
+			drawChildrenCulled(batch, parentAlpha, actors, children.size, profiler);
+		else if (cullingArea != null) {
 			// Draw children only if inside culling area.
 			float cullLeft = cullingArea.x;
 			float cullRight = cullLeft + cullingArea.width;
@@ -66,7 +89,7 @@ public class Group extends Actor implements Cullable {
 						continue;
 					float cx = child.x, cy = child.y;
 					if (cx <= cullRight && cy <= cullTop && cx + child.width >= cullLeft && cy + child.height >= cullBottom)
-						child.draw(batch, parentAlpha);
+						drawChild(child, batch, parentAlpha, profiler);
 				}
 			} else {
 				// No transform for this group, offset each child.
@@ -81,7 +104,7 @@ public class Group extends Actor implements Cullable {
 					if (cx <= cullRight && cy <= cullTop && cx + child.width >= cullLeft && cy + child.height >= cullBottom) {
 						child.x = cx + offsetX;
 						child.y = cy + offsetY;
-						child.draw(batch, parentAlpha);
+						drawChild(child, batch, parentAlpha, profiler);
 						child.x = cx;
 						child.y = cy;
 					}
@@ -96,7 +119,7 @@ public class Group extends Actor implements Cullable {
 					Actor child = actors[i];
 					if (!child.isVisible())
 						continue;
-					child.draw(batch, parentAlpha);
+					drawChild(child, batch, parentAlpha, profiler);
 				}
 			} else {
 				// No transform for this group, offset each child.
@@ -110,7 +133,7 @@ public class Group extends Actor implements Cullable {
 					float cx = child.x, cy = child.y;
 					child.x = cx + offsetX;
 					child.y = cy + offsetY;
-					child.draw(batch, parentAlpha);
+					drawChild(child, batch, parentAlpha, profiler);
 					child.x = cx;
 					child.y = cy;
 				}
@@ -121,6 +144,131 @@ public class Group extends Actor implements Cullable {
 		children.end();
 	}
 	
+	private void drawChild(Actor child, Batch batch, float parentAlpha, StageProfiler profiler) {
+		if (profiler == null)
+			child.draw(batch, parentAlpha);
+		else
+			profiler.drawChild(this, child, batch, parentAlpha);
+	}
+	
+	/**
+	 * Replays the cached children if nothing changed since they were recorded, otherwise draws and records them. The whole subtree
+	 * is recorded without auto culling, so the cache doesn't depend on the camera.
+	 */
+	private void drawChildrenCached(Batch batch, float parentAlpha) {
+		final float alpha = parentAlpha * color.a;
+		if (cacheValid && alpha == cacheAlpha && (transform || (x == cacheX && y == cacheY))) {
+			cache.draw(batch);
+			return;
+		}
+		final boolean viewCulled = this.viewCulled;
+		this.viewCulled = false;
+		batch.beginCache(cache);
+		try {
+			drawChildrenDirect(batch, parentAlpha);
+		} finally {
+			cacheValid = batch.endCache();
+			this.viewCulled = viewCulled;
+		}
+		cacheAlpha = alpha;
+		cacheX = x;
+		cacheY = y;
+	}
+	
+	/**
+	 * Draws the children overlapping the culling area, or the camera view if there is none, using their rotated and scaled
+	 * bounds. Child groups are given the area in their own coordinates, so their children are culled in turn. A child group is
+	 * skipped as a whole only if its {@link #setChildrenInBounds(boolean) children are in its bounds} or a culling area is set.
+	 */
+	private void drawChildrenCulled(Batch batch, float parentAlpha, Actor[] actors, int n, StageProfiler profiler) {
+		final Rectangle area = cullingArea != null ? cullingArea : viewArea;
+		final boolean cullGroups = cullingArea != null;
+		final float cullLeft = area.x, cullRight = cullLeft + area.width;
+		final float cullBottom = area.y, cullTop = cullBottom + area.height;
+		final boolean transform = this.transform;
+		final float offsetX = x, offsetY = y;
+		if (!transform) {
+			// No transform for this group, offset each child.
+			x = 0;
+			y = 0;
+		}
+		final Vector2 point = tmp;
+		for (int i = 0; i < n; i++) {
+			final Actor child = actors[i];
+			if (!child.isVisible())
+				continue;
+			final Group group = child instanceof Group g ? g : null;
+			final float cx = child.x, cy = child.y;
+			if (group == null || cullGroups || group.childrenInBounds) {
+				float minX = cx, minY = cy, maxX = cx + child.width, maxY = cy + child.height;
+				if (isRotatedOrScaled(child)) {
+					child.localToParentCoordinates(point.set(0, 0));
+					minX = maxX = point.x;
+					minY = maxY = point.y;
+					for (int corner = 1; corner < 4; corner++) {
+						child.localToParentCoordinates(point.set((corner & 1) * child.width, (corner >> 1) * child.height));
+						minX = Math.min(minX, point.x);
+						maxX = Math.max(maxX, point.x);
+						minY = Math.min(minY, point.y);
+						maxY = Math.max(maxY, point.y);
+					}
+				}
+				if (minX > cullRight || minY > cullTop || maxX < cullLeft || maxY < cullBottom)
+					continue;
+			}
+			if (group != null)
+				group.setViewArea(area);
+			if (!transform) {
+				child.x = cx + offsetX;
+				child.y = cy + offsetY;
+			}
+			drawChild(child, batch, parentAlpha, profiler);
+			if (!transform) {
+				child.x = cx;
+				child.y = cy;
+			}
+			if (group != null)
+				group.viewCulled = false;
+		}
+		if (!transform) {
+			x = offsetX;
+			y = offsetY;
+		}
+	}
+	
+	/**
+	 * Sets the {@link #viewArea} from an area in the coordinates of the parent, enabling culling for the next draw.
+	 */
+	void setViewArea(Rectangle parentArea) {
+		Rectangle viewArea = this.viewArea;
+		if (viewArea == null)
+			this.viewArea = viewArea = new Rectangle();
+		if (!isRotatedOrScaled(this))
+			viewArea.set(parentArea.x - x, parentArea.y - y, parentArea.width, parentArea.height);
+		else {
+			final Vector2 point = tmp;
+			float minX = Float.MAX_VALUE, minY = Float.MAX_VALUE, maxX = -Float.MAX_VALUE, maxY = -Float.MAX_VALUE;
+			for (int corner = 0; corner < 4; corner++) {
+				parentToLocalCoordinates(point.set(parentArea.x + (corner & 1) * parentArea.width, parentArea.y + (corner >> 1) * parentArea.height));
+				minX = Math.min(minX, point.x);
+				maxX = Math.max(maxX, point.x);
+				minY = Math.min(minY, point.y);
+				maxY = Math.max(maxY, point.y);
+			}
+			viewArea.set(minX, minY, maxX - minX, maxY - minY);
+		}
+		viewCulled = true;
+	}
+	
+	/**
+	 * @return whether the actor is drawn rotated or scaled relative to its parent.
+	 */
+	private static boolean isRotatedOrScaled(Actor actor) {
+		if (actor instanceof Group group && !group.transform)
+			return false;
+		return actor.rotation != 0 || actor.scaleX != 1 || actor.scaleY != 1;
+	}
+	
 	public void drawDebug(ShapeRenderer shapes) {
 		drawDebugBounds(shapes);
 		if (transform)
@@ -251,6 +399,10 @@ public class Group extends Actor implements Cullable {
 			return null;
 		if (!isVisible())
 			return null;
+		if (hitGrid != null) {
+			Actor hit = hitGrid.hit(x, y, touchable);
+			return hit != null ? hit : super.hit(x, y, touchable);
+		}
 		Vector2 point = tmp;
 		Actor[] childrenArray = children.items;
 		for (int i = children.size - 1; i >= 0; i--) {
@@ -263,6 +415,92 @@ public class Group extends Actor implements Cullable {
 		return super.hit(x, y, touchable);
 	}
 	
+	/**
+	 * If true, the sprites drawn by the children are recorded and drawn again in later frames without drawing the children, until
+	 * the cache is invalidated. This saves computing the vertices of mostly static groups, such as a HUD. The cache is invalidated
+	 * when a descendant is added, removed, reordered, moved, resized, scaled, rotated, recolored, hidden or shown through its
+	 * methods, runs an action, receives an event other than mouse movement or scrolling, or has its layout invalidated. Descendants whose appearance changes otherwise,
+	 * for example over time, must call {@link Actor#invalidateCache()}. Children that clip or change the shader or blending can't
+	 * be cached and are drawn every frame.
+	 */
+	public void setCached(boolean cached) {
+		if (cached == (cache != null))
+			return;
+		cache = cached ? new VertexCache() : null;
+		cacheValid = false;
+		final Stage stage = getStage();
+		if (stage != null)
+			stage.cachedGroups += cached ? 1 : -1;
+	}
+	
+	public boolean isCached() {
+		return cache != null;
+	}
+	
+	/**
+	 * Discards the caches of the group and its ascendants, if any.
+	 */
+	static void invalidateCaches(Group group) {
+		if (group == null)
+			return;
+		final Stage stage = group.getStage();
+		if (stage != null && stage.cachedGroups == 0)
+			return;
+		for (; group != null; group = group.parent)
+			group.cacheValid = false;
+	}
+	
+	/**
+	 * If true, the children of this group are assumed to lie within its bounds, so the group and all its descendants are skipped
+	 * when its bounds are outside the camera view of a stage that {@link Stage#setAutoCulling(boolean) culls automatically}.
+	 * Default is false, as groups are often smaller than their children.
+	 */
+	public void setChildrenInBounds(boolean childrenInBounds) {
+		this.childrenInBounds = childrenInBounds;
+	}
+	
+	public boolean isChildrenInBounds() {
+		return childrenInBounds;
+	}
+	
+	/**
+	 * Indexes the children in a uniform grid, so {@link #hit(float, float, boolean)} only tests the children whose bounds contain
+	 * the point instead of every child. Useful for groups with many children, as the stage hits the root for every touch and for
+	 * enter and exit events on every mouse move. The grid follows children as they are added, removed, moved, resized, scaled,
+	 * rotated or reordered through the group and actor methods; call {@link #invalidateHitGrid()} after modifying
+	 * {@link #getChildren()} directly.
+	 * <p>
+	 * Children are assumed not to be hit outside of their bounds. Child groups are tested for every hit unless
+	 * <code>boundedGroups</code> is true, as their own children may lie outside of them.
+	 *
+	 * @param cellSize The size of a cell in the coordinates of this group, about the size of a typical child. 0 removes the grid.
+	 */
+	public void setHitGrid(float cellSize, boolean boundedGroups) {
+		hitGrid = cellSize == 0 ? null : new HitGrid(this, cellSize, boundedGroups);
+	}
+	
+	/**
+	 * Calls {@link #setHitGrid(float, boolean)} with boundedGroups false.
+	 */
+	public void setHitGrid(float cellSize) {
+		setHitGrid(cellSize, false);
+	}
+	
+	/**
+	 * @return The size of a hit grid cell, or 0 if the children are not indexed.
+	 */
+	public float getHitGridCellSize() {
+		return hitGrid != null ? hitGrid.cellSize : 0;
+	}
+	
+	/**
+	 * Rebuilds the hit grid, if any, on the next hit.
+	 */
+	public void invalidateHitGrid() {
+		if (hitGrid != null)
+			hitGrid.invalidate();
+	}
+	
 	/**
 	 * Called when actors are added to or removed from the group.
 	 */
@@ -282,6 +520,9 @@ public class Group extends Actor implements Cullable {
 		children.add(actor);
 		actor.setParent(this);
 		actor.setStage(getStage());
+		if (hitGrid != null)
+			hitGrid.added(actor);
+		invalidateCaches(this);
 		childrenChanged();
 	}
 	
@@ -303,6 +544,9 @@ public class Group extends Actor implements Cullable {
 			children.insert(index, actor);
 		actor.setParent(this);
 		actor.setStage(getStage());
+		if (hitGrid != null)
+			hitGrid.added(actor);
+		invalidateCaches(this);
 		childrenChanged();
 	}
 	
@@ -320,6 +564,9 @@ public class Group extends Actor implements Cullable {
 		children.insert(index, actor);
 		actor.setParent(this);
 		actor.setStage(getStage());
+		if (hitGrid != null)
+			hitGrid.added(actor);
+		invalidateCaches(this);
 		childrenChanged();
 	}
 	
@@ -341,6 +588,9 @@ public class Group extends Actor implements Cullable {
 			children.insert(index + 1, actor);
 		actor.setParent(this);
 		actor.setStage(getStage());
+		if (hitGrid != null)
+			hitGrid.added(actor);
+		invalidateCaches(this);
 		childrenChanged();
 	}
 	
@@ -380,6 +630,9 @@ public class Group extends Actor implements Cullable {
 		}
 		actor.setParent(null);
 		actor.setStage(null);
+		if (hitGrid != null)
+			hitGrid.removed(actor);
+		invalidateCaches(this);
 		childrenChanged();
 		return actor;
 	}
@@ -408,6 +661,9 @@ public class Group extends Actor implements Cullable {
 		}
 		children.end();
 		children.clear();
+		if (hitGrid != null)
+			hitGrid.invalidate();
+		invalidateCaches(this);
 		childrenChanged();
 	}
 	
@@ -448,6 +704,14 @@ public class Group extends Actor implements Cullable {
 	}
 	
 	protected void setStage(Stage stage) {
+		final Stage oldStage = getStage();
+		if (cache != null && stage != oldStage) {
+			if (oldStage != null)
+				oldStage.cachedGroups--;
+			if (stage != null)
+				stage.cachedGroups++;
+			cacheValid = false;
+		}
 		super.setStage(stage);
 		Actor[] childrenArray = children.items;
 		for (int i = 0, n = children.size; i < n; i++)
@@ -464,6 +728,9 @@ public class Group extends Actor implements Cullable {
 		if (second < 0 || second >= maxIndex)
 			return false;
 		children.swap(first, second);
+		if (hitGrid != null)
+			hitGrid.orderChanged();
+		invalidateCaches(this);
 		return true;
 	}
 	
@@ -476,6 +743,9 @@ public class Group extends Actor implements Cullable {
 		if (firstIndex == -1 || secondIndex == -1)
 			return false;
 		children.swap(firstIndex, secondIndex);
+		if (hitGrid != null)
+			hitGrid.orderChanged();
+		invalidateCaches(this);
 		return true;
 	}
 	
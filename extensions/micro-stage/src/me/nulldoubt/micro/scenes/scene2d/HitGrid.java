@@ -0,0 +1,200 @@
+package me.nulldoubt.micro.scenes.scene2d;
+
+import me.nulldoubt.micro.math.Vector2;
+import me.nulldoubt.micro.utils.collections.Array;
+import me.nulldoubt.micro.utils.collections.LongMap;
+import me.nulldoubt.micro.utils.collections.ObjectIntMap;
+import me.nulldoubt.micro.utils.collections.ObjectMap;
+import me.nulldoubt.micro.utils.collections.ObjectSet;
+
+/**
+ * A uniform grid over the bounds of the children of a {@link Group}, so {@link Group#hit(float, float, boolean)} only tests the
+ * children whose bounds may contain the point. Children are reindexed lazily on the next hit after they moved, see
+ * {@link Group#setHitGrid(float, boolean)}.
+ */
+class HitGrid {
+	
+	/** Children covering more cells than this are tested for every hit instead of being indexed. */
+	static final int maxCells = 64;
+	
+	final Group group;
+	final float cellSize;
+	final boolean boundedGroups;
+	
+	private final LongMap<Array<Actor>> cells = new LongMap<>();
+	/** The cell range of every indexed child: minX, minY, maxX, maxY. */
+	private final ObjectMap<Actor, int[]> ranges = new ObjectMap<>();
+	private final Array<Actor> unbounded = new Array<>(false, 8);
+	private final ObjectSet<Actor> dirty = new ObjectSet<>();
+	private final ObjectIntMap<Actor> order = new ObjectIntMap<>();
+	private final Array<Actor> candidates = new Array<>(false, 16, Actor.class);
+	private final Vector2 point = new Vector2();
+	private boolean rebuild = true, orderDirty = true;
+	
+	HitGrid(Group group, float cellSize, boolean boundedGroups) {
+		if (cellSize <= 0)
+			throw new IllegalArgumentException("cellSize must be > 0: " + cellSize);
+		this.group = group;
+		this.cellSize = cellSize;
+		this.boundedGroups = boundedGroups;
+	}
+	
+	void added(Actor actor) {
+		orderDirty = true;
+		if (!rebuild)
+			dirty.add(actor);
+	}
+	
+	void removed(Actor actor) {
+		orderDirty = true;
+		if (!rebuild) {
+			dirty.remove(actor);
+			remove(actor);
+		}
+	}
+	
+	void boundsChanged(Actor actor) {
+		if (!rebuild)
+			dirty.add(actor);
+	}
+	
+	void orderChanged() {
+		orderDirty = true;
+	}
+	
+	void invalidate() {
+		rebuild = true;
+		orderDirty = true;
+	}
+	
+	Actor hit(float x, float y, boolean touchable) {
+		update();
+		
+		final Array<Actor> candidates = this.candidates;
+		final Array<Actor> cell = cells.get(key(cell(x), cell(y)));
+		if (cell != null)
+			candidates.addAll(cell);
+		candidates.addAll(unbounded);
+		
+		// Tests the candidates front to back, as the unindexed hit does.
+		final Actor[] items = candidates.items;
+		final int n = candidates.size;
+		final ObjectIntMap<Actor> order = this.order;
+		for (int i = 1; i < n; i++) {
+			final Actor actor = items[i];
+			final int index = order.get(actor, 0);
+			int j = i - 1;
+			for (; j >= 0 && order.get(items[j], 0) < index; j--)
+				items[j + 1] = items[j];
+			items[j + 1] = actor;
+		}
+		
+		Actor hit = null;
+		final Vector2 point = this.point;
+		for (int i = 0; i < n; i++) {
+			final Actor child = items[i];
+			child.parentToLocalCoordinates(point.set(x, y));
+			hit = child.hit(point.x, point.y, touchable);
+			if (hit != null)
+				break;
+		}
+		candidates.clear();
+		return hit;
+	}
+	
+	private void update() {
+		if (rebuild) {
+			rebuild = false;
+			cells.clear();
+			ranges.clear();
+			unbounded.clear();
+			dirty.clear();
+			final Array<Actor> children = group.children;
+			for (int i = 0, n = children.size; i < n; i++)
+				insert(children.get(i));
+		} else if (dirty.size > 0) {
+			for (Actor actor : dirty) {
+				remove(actor);
+				if (actor.parent == group)
+					insert(actor);
+			}
+			dirty.clear();
+		}
+		if (orderDirty) {
+			orderDirty = false;
+			order.clear();
+			final Array<Actor> children = group.children;
+			for (int i = 0, n = children.size; i < n; i++)
+				order.put(children.get(i), i);
+		}
+	}
+	
+	private void insert(Actor actor) {
+		if (actor instanceof Group && !boundedGroups) {
+			unbounded.add(actor);
+			return;
+		}
+		float minX, minY, maxX, maxY;
+		if (actor.rotation == 0 && actor.scaleX == 1 && actor.scaleY == 1) {
+			minX = Math.min(actor.x, actor.x + actor.width);
+			maxX = Math.max(actor.x, actor.x + actor.width);
+			minY = Math.min(actor.y, actor.y + actor.height);
+			maxY = Math.max(actor.y, actor.y + actor.height);
+		} else {
+			final Vector2 point = this.point;
+			actor.localToParentCoordinates(point.set(0, 0));
+			minX = maxX = point.x;
+			minY = maxY = point.y;
+			for (int corner = 1; corner < 4; corner++) {
+				actor.localToParentCoordinates(point.set((corner & 1) * actor.width, (corner >> 1) * actor.height));
+				minX = Math.min(minX, point.x);
+				maxX = Math.max(maxX, point.x);
+				minY = Math.min(minY, point.y);
+				maxY = Math.max(maxY, point.y);
+			}
+		}
+		// Widens the bounds so rounding in the inverse transform of the hit can't miss an edge.
+		final float epsilon = cellSize * 0.0001f;
+		final int x0 = cell(minX - epsilon), y0 = cell(minY - epsilon), x1 = cell(maxX + epsilon), y1 = cell(maxY + epsilon);
+		if ((long) (x1 - x0 + 1) * (y1 - y0 + 1) > maxCells) {
+			unbounded.add(actor);
+			return;
+		}
+		for (int cx = x0; cx <= x1; cx++) {
+			for (int cy = y0; cy <= y1; cy++) {
+				final long key = key(cx, cy);
+				Array<Actor> cell = cells.get(key);
+				if (cell == null)
+					cells.put(key, cell = new Array<>(false, 4, Actor.class));
+				cell.add(actor);
+			}
+		}
+		ranges.put(actor, new int[] {x0, y0, x1, y1});
+	}
+	
+	private void remove(Actor actor) {
+		final int[] range = ranges.remove(actor);
+		if (range == null) {
+			unbounded.removeValue(actor, true);
+			return;
+		}
+		for (int cx = range[0]; cx <= range[2]; cx++) {
+			for (int cy = range[1]; cy <= range[3]; cy++) {
+				final long key = key(cx, cy);
+				final Array<Actor> cell = cells.get(key);
+				cell.removeValue(actor, true);
+				if (cell.size == 0)
+					cells.remove(key);
+			}
+		}
+	}
+	
+	private int cell(float coordinate) {
+		return (int) Math.floor(coordinate / cellSize);
+	}
+	
+	private static long key(int x, int y) {
+		return (long) x << 32 | y & 0xFFFFFFFFL;
+	}
+	
+}
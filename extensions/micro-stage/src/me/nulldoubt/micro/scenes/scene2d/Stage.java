@@ -11,18 +11,21 @@ import me.nulldoubt.micro.graphics.g2d.Batch;
 import me.nulldoubt.micro.graphics.glutils.ShapeRenderer;
 import me.nulldoubt.micro.math.Matrix4;
 import me.nulldoubt.micro.math.Vector2;
+import me.nulldoubt.micro.math.Vector3;
 import me.nulldoubt.micro.math.shapes.Rectangle;
 import me.nulldoubt.micro.scenes.scene2d.InputEvent.Type;
 import me.nulldoubt.micro.scenes.scene2d.ui.Table;
 import me.nulldoubt.micro.scenes.scene2d.ui.Table.Debug;
 import me.nulldoubt.micro.scenes.scene2d.utils.FocusListener.FocusEvent;
+import me.nulldoubt.micro.scenes.scene2d.utils.Layout;
+import me.nulldoubt.micro.scenes.scene2d.utils.LayoutStats;
 import me.nulldoubt.micro.utils.Disposable;
 import me.nulldoubt.micro.utils.Scaling;
 import me.nulldoubt.micro.utils.Scissors;
 import me.nulldoubt.micro.utils.collections.Array;
 import me.nulldoubt.micro.utils.collections.SnapshotArray;
+import me.nulldoubt.micro.utils.pools.Pool;
 import me.nulldoubt.micro.utils.pools.Pool.Poolable;
-import me.nulldoubt.micro.utils.pools.Pools;
 import me.nulldoubt.micro.utils.viewport.ScalingViewport;
 import me.nulldoubt.micro.utils.viewport.Viewport;
 
@@ -46,6 +49,42 @@ public class Stage implements InputProcessor, Disposable {
 	private Actor keyboardFocus, scrollFocus;
 	final SnapshotArray<TouchFocus> touchFocuses = new SnapshotArray<>(true, 4, TouchFocus.class);
 	private boolean actionsRequestRendering = true;
+	private boolean autoCulling;
+	
+	/** The ascendants of the actors firing events, see {@link Actor#fire(Event)}. */
+	final Array<Group> ascendants = new Array<>(true, 16, Group.class);
+	private final Pool<InputEvent> inputEvents = new Pool<>() {
+		protected InputEvent newObject() {
+			eventAllocations++;
+			return new InputEvent();
+		}
+	};
+	private final Pool<FocusEvent> focusEvents = new Pool<>() {
+		protected FocusEvent newObject() {
+			eventAllocations++;
+			return new FocusEvent();
+		}
+	};
+	private final Pool<TouchFocus> touchFocusPool = new Pool<>() {
+		protected TouchFocus newObject() {
+			eventAllocations++;
+			return new TouchFocus();
+		}
+	};
+	int eventsFired, eventAllocations;
+	/**
+	 * The number of groups on this stage with a {@link Group#setCached(boolean) cache}, so actors only look for caches to
+	 * invalidate if any exist.
+	 */
+	int cachedGroups;
+	
+	private final Array<Actor> layoutQueue = new Array<>(true, 8, Actor.class);
+	private final Array<Actor> layoutPass = new Array<>(true, 8, Actor.class);
+	private final LayoutStats layoutStats = new LayoutStats();
+	private final Tweens tweens = new Tweens();
+	StageProfiler profiler;
+	private final Rectangle viewArea = new Rectangle();
+	private final Vector3 tmpCorner = new Vector3();
 	
 	private ShapeRenderer debugShapes;
 	private boolean debugAll, debugUnderMouse, debugParentUnderMouse;
@@ -83,16 +122,104 @@ public class Stage implements InputProcessor, Disposable {
 		if (!root.isVisible())
 			return;
 		
+		final StageProfiler profiler = this.profiler;
+		long time = profiler != null ? System.nanoTime() : 0;
+		validateLayouts();
+		if (profiler != null) {
+			final long now = System.nanoTime();
+			profiler.layoutNanos += now - time;
+			time = now;
+		}
+		
 		Batch batch = this.batch;
 		batch.setProjectionMatrix(camera.combined);
 		batch.begin();
+		if (autoCulling) {
+			computeViewArea(camera, viewArea);
+			root.setViewArea(viewArea);
+		}
 		root.draw(batch, 1);
+		root.viewCulled = false;
 		batch.end();
+		if (profiler != null) {
+			profiler.drawNanos += System.nanoTime() - time;
+			profiler.endFrame(batch.renderCalls);
+		}
 		
 		if (debug)
 			drawDebug();
 	}
 	
+	/**
+	 * Queues a {@link Layout} whose parent is not a layout to be validated by the next {@link #validateLayouts() layout pass}.
+	 * Called by widgets when their hierarchy is invalidated.
+	 */
+	public void queueLayout(Actor layout) {
+		if (!layoutQueue.contains(layout, true))
+			layoutQueue.add(layout);
+	}
+	
+	/**
+	 * Validates the queued layouts, parents before children, so every invalidated widget is laid out once before the stage is
+	 * drawn rather than when first drawn or hit. Called by {@link #draw()}.
+	 */
+	public void validateLayouts() {
+		layoutStats.reset();
+		final Array<Actor> pass = layoutPass;
+		// Layouts queued while validating are validated in another round, a few at most like WidgetGroup#validate.
+		for (int round = 0; round < 5 && layoutQueue.size > 0; round++) {
+			pass.addAll(layoutQueue);
+			layoutQueue.clear();
+			final Actor[] actors = pass.items;
+			for (int i = 1, n = pass.size; i < n; i++) {
+				final Actor actor = actors[i];
+				final int depth = depth(actor);
+				int j = i - 1;
+				for (; j >= 0 && depth(actors[j]) > depth; j--)
+					actors[j + 1] = actors[j];
+				actors[j + 1] = actor;
+			}
+			for (int i = 0, n = pass.size; i < n; i++) {
+				final Actor actor = actors[i];
+				if (actor.getStage() == this) {
+					layoutStats.roots++;
+					((Layout) actor).validate();
+				}
+			}
+			pass.clear();
+		}
+	}
+	
+	private static int depth(Actor actor) {
+		int depth = 0;
+		for (Group parent = actor.parent; parent != null; parent = parent.parent)
+			depth++;
+		return depth;
+	}
+	
+	/**
+	 * @return the layout work done since the last {@link #validateLayouts() layout pass} began, including the pass.
+	 */
+	public LayoutStats getLayoutStats() {
+		return layoutStats;
+	}
+	
+	/**
+	 * Computes the axis aligned area of the stage visible through the camera.
+	 */
+	private void computeViewArea(Camera camera, Rectangle area) {
+		final Vector3 corner = tmpCorner;
+		float minX = Float.MAX_VALUE, minY = Float.MAX_VALUE, maxX = -Float.MAX_VALUE, maxY = -Float.MAX_VALUE;
+		for (int i = 0; i < 4; i++) {
+			corner.set((i & 1) * 2 - 1, (i >> 1) * 2 - 1, -1).prj(camera.invProjectionView);
+			minX = Math.min(minX, corner.x);
+			maxX = Math.max(maxX, corner.x);
+			minY = Math.min(minY, corner.y);
+			maxY = Math.max(maxY, corner.y);
+		}
+		area.set(minX, minY, maxX - minX, maxY - minY);
+	}
+	
 	private void drawDebug() {
 		if (debugShapes == null) {
 			debugShapes = new ShapeRenderer();
@@ -166,6 +293,9 @@ public class Stage implements InputProcessor, Disposable {
 	 * @param delta Time in seconds since the last frame.
 	 */
 	public void act(float delta) {
+		final StageProfiler profiler = this.profiler;
+		long time = profiler != null ? System.nanoTime() : 0;
+		
 		// Update over actors. Done in act() because actors may change position, which can fire enter/exit without an input event.
 		for (int pointer = 0, n = pointerOverActors.length; pointer < n; pointer++) {
 			Actor overLast = pointerOverActors[pointer];
@@ -184,7 +314,41 @@ public class Stage implements InputProcessor, Disposable {
 		if (type == ApplicationType.Desktop || type == ApplicationType.Applet)
 			mouseOverActor = fireEnterAndExit(mouseOverActor, mouseScreenX, mouseScreenY, -1);
 		
+		if (profiler != null) {
+			final long now = System.nanoTime();
+			profiler.hitTestingNanos += now - time;
+			time = now;
+		}
+		tweens.delta = delta;
 		root.act(delta);
+		if (tweens.getCount() > 0 && actionsRequestRendering)
+			Micro.graphics.requestRendering();
+		tweens.update(delta);
+		if (profiler != null)
+			profiler.actionsNanos += System.nanoTime() - time;
+	}
+	
+	/**
+	 * Sets the profiler recording the time spent by each phase of the frames of this stage.
+	 *
+	 * @param profiler May be null to stop profiling.
+	 */
+	public void setProfiler(StageProfiler profiler) {
+		this.profiler = profiler;
+	}
+	
+	/**
+	 * @return May be null.
+	 */
+	public StageProfiler getProfiler() {
+		return profiler;
+	}
+	
+	/**
+	 * @return the tweens of the actors of this stage, updated by {@link #act(float)}.
+	 */
+	public Tweens getTweens() {
+		return tweens;
 	}
 	
 	private Actor fireEnterAndExit(Actor overLast, int screenX, int screenY, int pointer) {
@@ -196,7 +360,7 @@ public class Stage implements InputProcessor, Disposable {
 		
 		// Exit overLast.
 		if (overLast != null) {
-			InputEvent event = Pools.obtain(InputEvent.class, InputEvent::new);
+			InputEvent event = inputEvents.obtain();
 			event.setType(InputEvent.Type.exit);
 			event.setStage(this);
 			event.setStageX(tempCoords.x);
@@ -204,12 +368,12 @@ public class Stage implements InputProcessor, Disposable {
 			event.setPointer(pointer);
 			event.setRelatedActor(over);
 			overLast.fire(event);
-			Pools.free(event);
+			inputEvents.free(event);
 		}
 		
 		// Enter over.
 		if (over != null) {
-			InputEvent event = Pools.obtain(InputEvent.class, InputEvent::new);
+			InputEvent event = inputEvents.obtain();
 			event.setType(InputEvent.Type.enter);
 			event.setStage(this);
 			event.setStageX(tempCoords.x);
@@ -217,14 +381,14 @@ public class Stage implements InputProcessor, Disposable {
 			event.setPointer(pointer);
 			event.setRelatedActor(overLast);
 			over.fire(event);
-			Pools.free(event);
+			inputEvents.free(event);
 		}
 		return over;
 	}
 	
 	private void fireExit(Actor actor, int screenX, int screenY, int pointer) {
 		screenToStageCoordinates(tempCoords.set(screenX, screenY));
-		InputEvent event = Pools.obtain(InputEvent.class, InputEvent::new);
+		InputEvent event = inputEvents.obtain();
 		event.setType(InputEvent.Type.exit);
 		event.setStage(this);
 		event.setStageX(tempCoords.x);
@@ -232,7 +396,7 @@ public class Stage implements InputProcessor, Disposable {
 		event.setPointer(pointer);
 		event.setRelatedActor(actor);
 		actor.fire(event);
-		Pools.free(event);
+		inputEvents.free(event);
 	}
 	
 	/**
@@ -249,7 +413,7 @@ public class Stage implements InputProcessor, Disposable {
 		
 		screenToStageCoordinates(tempCoords.set(screenX, screenY));
 		
-		InputEvent event = Pools.obtain(InputEvent.class, InputEvent::new);
+		InputEvent event = inputEvents.obtain();
 		event.setType(Type.touchDown);
 		event.setStage(this);
 		event.setStageX(tempCoords.x);
@@ -265,7 +429,7 @@ public class Stage implements InputProcessor, Disposable {
 			target.fire(event);
 		
 		boolean handled = event.isHandled();
-		Pools.free(event);
+		inputEvents.free(event);
 		return handled;
 	}
 	
@@ -284,7 +448,7 @@ public class Stage implements InputProcessor, Disposable {
 		
 		screenToStageCoordinates(tempCoords.set(screenX, screenY));
 		
-		InputEvent event = Pools.obtain(InputEvent.class, InputEvent::new);
+		InputEvent event = inputEvents.obtain();
 		event.setType(Type.touchDragged);
 		event.setStage(this);
 		event.setStageX(tempCoords.x);
@@ -307,7 +471,7 @@ public class Stage implements InputProcessor, Disposable {
 		touchFocuses.end();
 		
 		boolean handled = event.isHandled();
-		Pools.free(event);
+		inputEvents.free(event);
 		return handled;
 	}
 	
@@ -325,7 +489,7 @@ public class Stage implements InputProcessor, Disposable {
 		
 		screenToStageCoordinates(tempCoords.set(screenX, screenY));
 		
-		InputEvent event = Pools.obtain(InputEvent.class, InputEvent::new);
+		InputEvent event = inputEvents.obtain();
 		event.setType(Type.touchUp);
 		event.setStage(this);
 		event.setStageX(tempCoords.x);
@@ -345,12 +509,12 @@ public class Stage implements InputProcessor, Disposable {
 			event.setListenerActor(focus.listenerActor);
 			if (focus.listener.handle(event))
 				event.handle();
-			Pools.free(focus);
+			touchFocusPool.free(focus);
 		}
 		touchFocuses.end();
 		
 		boolean handled = event.isHandled();
-		Pools.free(event);
+		inputEvents.free(event);
 		return handled;
 	}
 	
@@ -372,7 +536,7 @@ public class Stage implements InputProcessor, Disposable {
 		
 		screenToStageCoordinates(tempCoords.set(screenX, screenY));
 		
-		InputEvent event = Pools.obtain(InputEvent.class, InputEvent::new);
+		InputEvent event = inputEvents.obtain();
 		event.setType(Type.mouseMoved);
 		event.setStage(this);
 		event.setStageX(tempCoords.x);
@@ -384,7 +548,7 @@ public class Stage implements InputProcessor, Disposable {
 		
 		target.fire(event);
 		boolean handled = event.isHandled();
-		Pools.free(event);
+		inputEvents.free(event);
 		return handled;
 	}
 	
@@ -397,7 +561,7 @@ public class Stage implements InputProcessor, Disposable {
 		
 		screenToStageCoordinates(tempCoords.set(mouseScreenX, mouseScreenY));
 		
-		InputEvent event = Pools.obtain(InputEvent.class, InputEvent::new);
+		InputEvent event = inputEvents.obtain();
 		event.setType(InputEvent.Type.scrolled);
 		event.setStage(this);
 		event.setStageX(tempCoords.x);
@@ -406,7 +570,7 @@ public class Stage implements InputProcessor, Disposable {
 		event.setScrollAmountY(amountY);
 		target.fire(event);
 		boolean handled = event.isHandled();
-		Pools.free(event);
+		inputEvents.free(event);
 		return handled;
 	}
 	
@@ -416,13 +580,13 @@ public class Stage implements InputProcessor, Disposable {
 	 */
 	public boolean keyDown(int keyCode) {
 		Actor target = keyboardFocus == null ? root : keyboardFocus;
-		InputEvent event = Pools.obtain(InputEvent.class, InputEvent::new);
+		InputEvent event = inputEvents.obtain();
 		event.setType(InputEvent.Type.keyDown);
 		event.setStage(this);
 		event.setKeyCode(keyCode);
 		target.fire(event);
 		boolean handled = event.isHandled();
-		Pools.free(event);
+		inputEvents.free(event);
 		return handled;
 	}
 	
@@ -432,13 +596,13 @@ public class Stage implements InputProcessor, Disposable {
 	 */
 	public boolean keyUp(int keyCode) {
 		Actor target = keyboardFocus == null ? root : keyboardFocus;
-		InputEvent event = Pools.obtain(InputEvent.class, InputEvent::new);
+		InputEvent event = inputEvents.obtain();
 		event.setType(InputEvent.Type.keyUp);
 		event.setStage(this);
 		event.setKeyCode(keyCode);
 		target.fire(event);
 		boolean handled = event.isHandled();
-		Pools.free(event);
+		inputEvents.free(event);
 		return handled;
 	}
 	
@@ -448,18 +612,18 @@ public class Stage implements InputProcessor, Disposable {
 	 */
 	public boolean keyTyped(char character) {
 		Actor target = keyboardFocus == null ? root : keyboardFocus;
-		InputEvent event = Pools.obtain(InputEvent.class, InputEvent::new);
+		InputEvent event = inputEvents.obtain();
 		event.setType(InputEvent.Type.keyTyped);
 		event.setStage(this);
 		event.setCharacter(character);
 		target.fire(event);
 		boolean handled = event.isHandled();
-		Pools.free(event);
+		inputEvents.free(event);
 		return handled;
 	}
 	
 	public void addTouchFocus(EventListener listener, Actor listenerActor, Actor target, int pointer, int button) {
-		TouchFocus focus = Pools.obtain(TouchFocus.class, TouchFocus::new);
+		TouchFocus focus = touchFocusPool.obtain();
 		focus.listenerActor = listenerActor;
 		focus.target = target;
 		focus.listener = listener;
@@ -475,7 +639,7 @@ public class Stage implements InputProcessor, Disposable {
 			if (focus.listener == listener && focus.listenerActor == listenerActor && focus.target == target
 					&& focus.pointer == pointer && focus.button == button) {
 				touchFocuses.removeIndex(i);
-				Pools.free(focus);
+				touchFocusPool.free(focus);
 			}
 		}
 	}
@@ -492,7 +656,7 @@ public class Stage implements InputProcessor, Disposable {
 				continue; // Touch focus already gone.
 			
 			if (event == null) {
-				event = Pools.obtain(InputEvent.class, InputEvent::new);
+				event = inputEvents.obtain();
 				event.setType(InputEvent.Type.touchUp);
 				event.setStage(this);
 				event.setStageX(Integer.MIN_VALUE);
@@ -509,7 +673,7 @@ public class Stage implements InputProcessor, Disposable {
 		touchFocuses.end();
 		
 		if (event != null)
-			Pools.free(event);
+			inputEvents.free(event);
 	}
 	
 	/**
@@ -522,7 +686,7 @@ public class Stage implements InputProcessor, Disposable {
 	}
 	
 	public void cancelTouchFocusExcept(EventListener exceptListener, Actor exceptActor) {
-		InputEvent event = Pools.obtain(InputEvent.class, InputEvent::new);
+		InputEvent event = inputEvents.obtain();
 		event.setType(InputEvent.Type.touchUp);
 		event.setStage(this);
 		event.setStageX(Integer.MIN_VALUE);
@@ -547,7 +711,7 @@ public class Stage implements InputProcessor, Disposable {
 		}
 		touchFocuses.end();
 		
-		Pools.free(event);
+		inputEvents.free(event);
 	}
 	
 	/**
@@ -567,6 +731,29 @@ public class Stage implements InputProcessor, Disposable {
 		return root.children;
 	}
 	
+	/**
+	 * If true, actors outside of the camera view are not drawn. The view is passed down the hierarchy in the coordinates of each
+	 * group, taking rotated and scaled groups into account, so large worlds only draw what is visible. Default is false.
+	 *
+	 * @see Group#setChildrenInBounds(boolean)
+	 */
+	public void setAutoCulling(boolean autoCulling) {
+		this.autoCulling = autoCulling;
+	}
+	
+	public boolean isAutoCulling() {
+		return autoCulling;
+	}
+	
+	/**
+	 * Indexes the actors of the root in a grid, so hits and enter and exit tracking only test the actors under the pointer.
+	 *
+	 * @see Group#setHitGrid(float, boolean)
+	 */
+	public void setHitGrid(float cellSize, boolean boundedGroups) {
+		root.setHitGrid(cellSize, boundedGroups);
+	}
+	
 	public boolean addListener(EventListener listener) {
 		return root.addListener(listener);
 	}
@@ -625,10 +812,30 @@ public class Stage implements InputProcessor, Disposable {
 			setKeyboardFocus(null);
 	}
 	
+	/**
+	 * @return the number of events fired to actors in this stage since {@link #resetEventCounters()}.
+	 */
+	public int getEventsFired() {
+		return eventsFired;
+	}
+	
+	/**
+	 * @return the number of events, touch focuses and ascendant stack resizes the stage had to allocate for dispatching events
+	 * since {@link #resetEventCounters()}. Stays at zero once the pools are warm.
+	 */
+	public int getEventAllocations() {
+		return eventAllocations;
+	}
+	
+	public void resetEventCounters() {
+		eventsFired = 0;
+		eventAllocations = 0;
+	}
+	
 	public boolean setKeyboardFocus(Actor actor) {
 		if (keyboardFocus == actor)
 			return true;
-		FocusEvent event = Pools.obtain(FocusEvent.class, FocusEvent::new);
+		FocusEvent event = focusEvents.obtain();
 		event.setStage(this);
 		event.setType(FocusEvent.Type.keyboard);
 		Actor oldKeyboardFocus = keyboardFocus;
@@ -649,7 +856,7 @@ public class Stage implements InputProcessor, Disposable {
 					keyboardFocus = oldKeyboardFocus;
 			}
 		}
-		Pools.free(event);
+		focusEvents.free(event);
 		return success;
 	}
 	
@@ -665,7 +872,7 @@ public class Stage implements InputProcessor, Disposable {
 	public boolean setScrollFocus(Actor actor) {
 		if (scrollFocus == actor)
 			return true;
-		FocusEvent event = Pools.obtain(FocusEvent.class, FocusEvent::new);
+		FocusEvent event = focusEvents.obtain();
 		event.setStage(this);
 		event.setType(FocusEvent.Type.scroll);
 		Actor oldScrollFocus = scrollFocus;
@@ -686,7 +893,7 @@ public class Stage implements InputProcessor, Disposable {
 					scrollFocus = oldScrollFocus;
 			}
 		}
-		Pools.free(event);
+		focusEvents.free(event);
 		return success;
 	}
 	
@@ -0,0 +1,166 @@
+package me.nulldoubt.micro.scenes.scene2d;
+
+import me.nulldoubt.micro.graphics.g2d.Batch;
+import me.nulldoubt.micro.math.WindowedMean;
+import me.nulldoubt.micro.utils.collections.ObjectIntMap;
+
+/**
+ * Records where the frames of a {@link Stage} spend their time, see {@link Stage#setProfiler(StageProfiler)}. A frame ends when
+ * the stage is drawn, the values of the last frames are averaged in {@link WindowedMean}s.
+ */
+public class StageProfiler {
+	
+	/** The nanoseconds spent acting on actors, including their actions and the {@link Stage#getTweens() tweens}. */
+	public final WindowedMean actions;
+	/** The nanoseconds spent hit testing to fire enter and exit events. */
+	public final WindowedMean hitTesting;
+	/** The nanoseconds spent validating layouts before drawing. */
+	public final WindowedMean layout;
+	/** The nanoseconds spent drawing, including flushing the batch. */
+	public final WindowedMean draw;
+	/** The batch flushes while drawing. */
+	public final WindowedMean flushes;
+	/** The children tested for drawing by their groups, and the children actually drawn. */
+	public final WindowedMean visited, drawn;
+	
+	long actionsNanos, hitTestingNanos, layoutNanos, drawNanos;
+	int visitedCount, drawnCount;
+	private ObjectIntMap<Actor> groupFlushes = new ObjectIntMap<>();
+	private ObjectIntMap<Actor> lastGroupFlushes = new ObjectIntMap<>();
+	
+	public StageProfiler() {
+		this(60);
+	}
+	
+	/**
+	 * @param windowSize The number of frames averaged.
+	 */
+	public StageProfiler(int windowSize) {
+		actions = new WindowedMean(windowSize);
+		hitTesting = new WindowedMean(windowSize);
+		layout = new WindowedMean(windowSize);
+		draw = new WindowedMean(windowSize);
+		flushes = new WindowedMean(windowSize);
+		visited = new WindowedMean(windowSize);
+		drawn = new WindowedMean(windowSize);
+	}
+	
+	/**
+	 * Draws a child of a group, counting it and, for the children of the root, the batch flushes while drawing it.
+	 */
+	void drawChild(Group parent, Actor child, Batch batch, float parentAlpha) {
+		drawnCount++;
+		if (parent.parent != null) {
+			child.draw(batch, parentAlpha);
+			return;
+		}
+		final int renderCalls = batch.renderCalls;
+		child.draw(batch, parentAlpha);
+		final int flushes = batch.renderCalls - renderCalls;
+		if (flushes > 0)
+			groupFlushes.getAndIncrement(child, 0, flushes);
+	}
+	
+	/**
+	 * Adds the values of the frame to the windows and starts the next frame. Called by {@link Stage#draw()}.
+	 */
+	void endFrame(int flushes) {
+		actions.addValue(actionsNanos);
+		hitTesting.addValue(hitTestingNanos);
+		layout.addValue(layoutNanos);
+		draw.addValue(drawNanos);
+		this.flushes.addValue(flushes);
+		visited.addValue(visitedCount);
+		drawn.addValue(drawnCount);
+		actionsNanos = hitTestingNanos = layoutNanos = drawNanos = 0;
+		visitedCount = drawnCount = 0;
+		
+		final ObjectIntMap<Actor> last = lastGroupFlushes;
+		lastGroupFlushes = groupFlushes;
+		groupFlushes = last;
+		last.clear();
+	}
+	
+	/**
+	 * @return the batch flushes while drawing each child of the root in the last frame, children without flushes are omitted.
+	 *         The flush when the batch ends is not attributed to a child.
+	 */
+	public ObjectIntMap<Actor> getGroupFlushes() {
+		return lastGroupFlushes;
+	}
+	
+	/**
+	 * Fills the snapshot with the means of the windows and the flushes per group of the last frame.
+	 *
+	 * @return the snapshot.
+	 */
+	public Snapshot getSnapshot(Snapshot snapshot) {
+		snapshot.frames = actions.getValueCount();
+		snapshot.actionsNanos = mean(actions);
+		snapshot.hitTestingNanos = mean(hitTesting);
+		snapshot.layoutNanos = mean(layout);
+		snapshot.drawNanos = mean(draw);
+		snapshot.flushes = mean(flushes);
+		snapshot.visited = mean(visited);
+		snapshot.drawn = mean(drawn);
+		snapshot.groupFlushes.clear();
+		snapshot.groupFlushes.putAll(lastGroupFlushes);
+		return snapshot;
+	}
+	
+	/**
+	 * @return the mean of the window, or of the values so far if the window is not full.
+	 */
+	private static float mean(WindowedMean mean) {
+		if (mean.hasEnoughData())
+			return mean.getMean();
+		final int count = mean.getValueCount();
+		if (count == 0)
+			return 0;
+		final float[] values = mean.getWindowValues();
+		float sum = 0;
+		for (int i = 0; i < count; i++)
+			sum += values[i];
+		return sum / count;
+	}
+	
+	public void clear() {
+		actions.clear();
+		hitTesting.clear();
+		layout.clear();
+		draw.clear();
+		flushes.clear();
+		visited.clear();
+		drawn.clear();
+		actionsNanos = hitTestingNanos = layoutNanos = drawNanos = 0;
+		visitedCount = drawnCount = 0;
+		groupFlushes.clear();
+		lastGroupFlushes.clear();
+	}
+	
+	/**
+	 * The averaged values of a {@link StageProfiler}, per frame.
+	 */
+	public static class Snapshot {
+		
+		/** The number of frames averaged. */
+		public int frames;
+		public float actionsNanos, hitTestingNanos, layoutNanos, drawNanos;
+		public float flushes, visited, drawn;
+		/** The batch flushes while drawing each child of the root in the last frame. */
+		public final ObjectIntMap<Actor> groupFlushes = new ObjectIntMap<>();
+		
+		/** @return the total milliseconds of the frame spent by the stage. */
+		public float getTotalMillis() {
+			return (actionsNanos + hitTestingNanos + layoutNanos + drawNanos) / 1000000f;
+		}
+		
+		public String toString() {
+			return "actions: " + actionsNanos / 1000000f + "ms, hit testing: " + hitTestingNanos / 1000000f + "ms, layout: "
+					+ layoutNanos / 1000000f + "ms, draw: " + drawNanos / 1000000f + "ms, flushes: " + flushes + ", visited: " + visited
+					+ ", drawn: " + drawn;
+		}
+		
+	}
+	
+}
@@ -0,0 +1,331 @@
+package me.nulldoubt.micro.scenes.scene2d;
+
+import me.nulldoubt.micro.graphics.Color;
+import me.nulldoubt.micro.math.Interpolation;
+import me.nulldoubt.micro.scenes.scene2d.actions.TemporalAction;
+import me.nulldoubt.micro.utils.collections.Array;
+
+import java.util.Arrays;
+
+/**
+ * Transitions a property of actors over time, like a {@link TemporalAction} but without an object per transition. The tweens of
+ * a stage are stored in parallel arrays and updated in one loop by {@link Stage#act(float)}, which is much cheaper than actions
+ * when thousands of actors are animated at once.
+ * <p>
+ * Tweens are updated in the order they were added, so when several tweens of the same property are running the last one added
+ * wins. A tween is dropped when its actor is removed from the stage.
+ * <p>
+ * The transitions of {@link me.nulldoubt.micro.scenes.scene2d.actions.Actions} are
+ * {@link me.nulldoubt.micro.scenes.scene2d.actions.TweenAction TweenActions} which run here.
+ *
+ * @see Stage#getTweens()
+ */
+public class Tweens {
+	
+	public static final int X = 0, Y = 1, WIDTH = 2, HEIGHT = 3, SCALE_X = 4, SCALE_Y = 5, ROTATION = 6;
+	public static final int RED = 7, GREEN = 8, BLUE = 9, ALPHA = 10;
+	
+	float delta;
+	private int size;
+	private Actor[] targets = new Actor[16];
+	private int[] properties = new int[16];
+	/** Whether the end values are amounts added to the property, see {@link #by(Actor, int, float, float, Interpolation)}. */
+	private boolean[] relatives = new boolean[16];
+	/** The start values, NaN until the delay of the tween elapsed. For relative tweens, the percent applied so far. */
+	private float[] starts = new float[16];
+	private float[] ends = new float[16];
+	private float[] durations = new float[16];
+	/** The time since the tween began, negative while delayed. */
+	private float[] times = new float[16];
+	private Interpolation[] interpolations = new Interpolation[16];
+	private Runnable[] completions = new Runnable[16];
+	
+	private final Array<Runnable> completed = new Array<>(false, 8, Runnable.class);
+	private final Array<Completion> dropped = new Array<>(false, 8, Completion.class);
+	
+	/**
+	 * Transitions the property of the actor from its value when the tween begins to the end value.
+	 *
+	 * @param property      One of {@link #X}, {@link #Y}, {@link #WIDTH}, {@link #HEIGHT}, {@link #SCALE_X}, {@link #SCALE_Y},
+	 *                      {@link #ROTATION}, {@link #RED}, {@link #GREEN}, {@link #BLUE} or {@link #ALPHA}.
+	 * @param interpolation May be null for linear.
+	 */
+	public void to(Actor target, int property, float end, float duration, Interpolation interpolation) {
+		to(target, property, end, duration, interpolation, 0, null);
+	}
+	
+	/**
+	 * @param delay      The seconds to wait before the tween begins.
+	 * @param completion Run after the tween completed, may be null.
+	 * @see #to(Actor, int, float, float, Interpolation)
+	 */
+	public void to(Actor target, int property, float end, float duration, Interpolation interpolation, float delay, Runnable completion) {
+		add(target, property, false, end, duration, interpolation, delay, completion);
+	}
+	
+	/**
+	 * Adds the amount to the property of the actor over time. Unlike {@link #to(Actor, int, float, float, Interpolation)}, several
+	 * relative tweens of the same property add up, like {@link me.nulldoubt.micro.scenes.scene2d.actions.RelativeTemporalAction}.
+	 *
+	 * @param interpolation May be null for linear.
+	 */
+	public void by(Actor target, int property, float amount, float duration, Interpolation interpolation) {
+		by(target, property, amount, duration, interpolation, 0, null);
+	}
+	
+	/**
+	 * @param delay      The seconds to wait before the tween begins.
+	 * @param completion Run after the tween completed, may be null.
+	 * @see #by(Actor, int, float, float, Interpolation)
+	 */
+	public void by(Actor target, int property, float amount, float duration, Interpolation interpolation, float delay, Runnable completion) {
+		add(target, property, true, amount, duration, interpolation, delay, completion);
+	}
+	
+	private void add(Actor target, int property, boolean relative, float end, float duration, Interpolation interpolation, float delay,
+					 Runnable completion) {
+		if (target == null)
+			throw new IllegalArgumentException("target cannot be null.");
+		if (property < X || property > ALPHA)
+			throw new IllegalArgumentException("Unknown property: " + property);
+		if (size == targets.length)
+			resize(size << 1);
+		final int i = size++;
+		targets[i] = target;
+		properties[i] = property;
+		relatives[i] = relative;
+		starts[i] = relative ? 0 : Float.NaN;
+		ends[i] = end;
+		durations[i] = duration;
+		times[i] = -delay;
+		interpolations[i] = interpolation;
+		completions[i] = completion;
+	}
+	
+	/**
+	 * Advances every tween. Called by {@link Stage#act(float)}.
+	 */
+	public void update(float delta) {
+		final Actor[] targets = this.targets;
+		final int[] properties = this.properties;
+		final boolean[] relatives = this.relatives;
+		final float[] starts = this.starts, ends = this.ends, durations = this.durations, times = this.times;
+		final Interpolation[] interpolations = this.interpolations;
+		final Runnable[] completions = this.completions;
+		
+		// Compacts the running tweens to the front while updating, so removal keeps the order.
+		int kept = 0;
+		for (int i = 0, n = size; i < n; i++) {
+			final Actor target = targets[i];
+			boolean done = target.getStage() == null;
+			if (done) {
+				if (completions[i] instanceof Completion completion)
+					dropped.add(completion);
+			} else {
+				final float time = times[i] += delta;
+				if (time >= 0) {
+					final int property = properties[i];
+					final boolean relative = relatives[i];
+					if (!relative && starts[i] != starts[i])
+						starts[i] = getProperty(target, property);
+					final float duration = durations[i];
+					float percent = time >= duration ? 1 : time / duration;
+					done = percent == 1;
+					final Interpolation interpolation = interpolations[i];
+					if (interpolation != null)
+						percent = interpolation.apply(percent);
+					if (relative) {
+						setProperty(target, property, getProperty(target, property) + ends[i] * (percent - starts[i]));
+						starts[i] = percent;
+					} else
+						setProperty(target, property, percent == 1 ? ends[i] : starts[i] + (ends[i] - starts[i]) * percent);
+					if (done && completions[i] != null)
+						completed.add(completions[i]);
+				}
+			}
+			if (!done) {
+				if (kept != i)
+					move(i, kept);
+				kept++;
+			}
+		}
+		removeRange(kept, size);
+		
+		if (completed.size > 0) {
+			final Runnable[] items = completed.items;
+			for (int i = 0, n = completed.size; i < n; i++)
+				items[i].run();
+			completed.clear();
+		}
+		if (dropped.size > 0) {
+			final Completion[] items = dropped.items;
+			for (int i = 0, n = dropped.size; i < n; i++)
+				items[i].dropped();
+			dropped.clear();
+		}
+	}
+	
+	private void move(int from, int to) {
+		targets[to] = targets[from];
+		properties[to] = properties[from];
+		relatives[to] = relatives[from];
+		starts[to] = starts[from];
+		ends[to] = ends[from];
+		durations[to] = durations[from];
+		times[to] = times[from];
+		interpolations[to] = interpolations[from];
+		completions[to] = completions[from];
+	}
+	
+	/**
+	 * Removes the tweens in [start, end), moving the tweens after them down.
+	 */
+	private void removeRange(int start, int end) {
+		final int count = end - start;
+		if (count == 0)
+			return;
+		final int tail = size - end;
+		System.arraycopy(targets, end, targets, start, tail);
+		System.arraycopy(properties, end, properties, start, tail);
+		System.arraycopy(relatives, end, relatives, start, tail);
+		System.arraycopy(starts, end, starts, start, tail);
+		System.arraycopy(ends, end, ends, start, tail);
+		System.arraycopy(durations, end, durations, start, tail);
+		System.arraycopy(times, end, times, start, tail);
+		System.arraycopy(interpolations, end, interpolations, start, tail);
+		System.arraycopy(completions, end, completions, start, tail);
+		size -= count;
+		Arrays.fill(targets, size, size + count, null);
+		Arrays.fill(interpolations, size, size + count, null);
+		Arrays.fill(completions, size, size + count, null);
+	}
+	
+	/**
+	 * Removes the tweens of the actor without completing them.
+	 */
+	public void cancel(Actor target) {
+		cancel(target, -1);
+	}
+	
+	/**
+	 * Removes the tweens of the property of the actor without completing them.
+	 *
+	 * @param property -1 for every property.
+	 */
+	public void cancel(Actor target, int property) {
+		int kept = 0;
+		for (int i = 0, n = size; i < n; i++) {
+			if (targets[i] == target && (property == -1 || properties[i] == property))
+				continue;
+			if (kept != i)
+				move(i, kept);
+			kept++;
+		}
+		removeRange(kept, size);
+	}
+	
+	/**
+	 * Removes the tweens of the actor with the completion without completing them.
+	 */
+	public void cancel(Actor target, Runnable completion) {
+		int kept = 0;
+		for (int i = 0, n = size; i < n; i++) {
+			if (targets[i] == target && completions[i] == completion)
+				continue;
+			if (kept != i)
+				move(i, kept);
+			kept++;
+		}
+		removeRange(kept, size);
+	}
+	
+	/**
+	 * @return whether the actor has a tween, including delayed tweens.
+	 */
+	public boolean isTweening(Actor target) {
+		for (int i = 0; i < size; i++)
+			if (targets[i] == target)
+				return true;
+		return false;
+	}
+	
+	/** Removes every tween without completing it. */
+	public void clear() {
+		removeRange(0, size);
+	}
+	
+	/** @return the number of tweens, including delayed tweens. */
+	public int getCount() {
+		return size;
+	}
+	
+	/**
+	 * @return the delta the tweens are advanced by at the end of the {@link Stage#act(float) act} in progress, or of the last act.
+	 */
+	public float getDelta() {
+		return delta;
+	}
+	
+	private void resize(int capacity) {
+		targets = Arrays.copyOf(targets, capacity);
+		properties = Arrays.copyOf(properties, capacity);
+		relatives = Arrays.copyOf(relatives, capacity);
+		starts = Arrays.copyOf(starts, capacity);
+		ends = Arrays.copyOf(ends, capacity);
+		durations = Arrays.copyOf(durations, capacity);
+		times = Arrays.copyOf(times, capacity);
+		interpolations = Arrays.copyOf(interpolations, capacity);
+		completions = Arrays.copyOf(completions, capacity);
+	}
+	
+	/** @return the value of the property of the actor, see {@link #to(Actor, int, float, float, Interpolation)}. */
+	public static float getProperty(Actor actor, int property) {
+		return switch (property) {
+			case X -> actor.getX();
+			case Y -> actor.getY();
+			case WIDTH -> actor.getWidth();
+			case HEIGHT -> actor.getHeight();
+			case SCALE_X -> actor.getScaleX();
+			case SCALE_Y -> actor.getScaleY();
+			case ROTATION -> actor.getRotation();
+			case RED -> actor.getColor().r;
+			case GREEN -> actor.getColor().g;
+			case BLUE -> actor.getColor().b;
+			default -> actor.getColor().a;
+		};
+	}
+	
+	/** Sets the property of the actor, see {@link #to(Actor, int, float, float, Interpolation)}. */
+	public static void setProperty(Actor actor, int property, float value) {
+		switch (property) {
+			case X -> actor.setX(value);
+			case Y -> actor.setY(value);
+			case WIDTH -> actor.setWidth(value);
+			case HEIGHT -> actor.setHeight(value);
+			case SCALE_X -> actor.setScaleX(value);
+			case SCALE_Y -> actor.setScaleY(value);
+			case ROTATION -> actor.setRotation(value);
+			default -> {
+				final Color color = actor.getColor();
+				switch (property) {
+					case RED -> color.r = value;
+					case GREEN -> color.g = value;
+					case BLUE -> color.b = value;
+					default -> color.a = value;
+				}
+				actor.setColor(color);
+			}
+		}
+	}
+	
+	/**
+	 * A completion which is also told when its tween is dropped because its actor left the stage.
+	 */
+	public interface Completion extends Runnable {
+		
+		/** Called instead of {@link #run()} when the tween is dropped. */
+		void dropped();
+		
+	}
+	
+}
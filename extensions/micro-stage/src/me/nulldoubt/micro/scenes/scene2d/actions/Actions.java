@@ -6,6 +6,7 @@ import me.nulldoubt.micro.scenes.scene2d.Action;
 import me.nulldoubt.micro.scenes.scene2d.Actor;
 import me.nulldoubt.micro.scenes.scene2d.EventListener;
 import me.nulldoubt.micro.scenes.scene2d.Touchable;
+import me.nulldoubt.micro.scenes.scene2d.Tweens;
 import me.nulldoubt.micro.utils.pools.Pool;
 import me.nulldoubt.micro.utils.pools.Pools;
 
@@ -46,206 +47,181 @@ public class Actions {
 		return removeAction;
 	}
 	
-	public static MoveToAction moveTo(float x, float y) {
+	public static TweenAction moveTo(float x, float y) {
 		return moveTo(x, y, 0, null);
 	}
 	
-	public static MoveToAction moveTo(float x, float y, float duration) {
+	public static TweenAction moveTo(float x, float y, float duration) {
 		return moveTo(x, y, duration, null);
 	}
 	
-	public static MoveToAction moveTo(float x, float y, float duration, Interpolation interpolation) {
-		MoveToAction action = action(MoveToAction.class, MoveToAction::new);
-		action.setPosition(x, y);
-		action.setDuration(duration);
-		action.setInterpolation(interpolation);
-		return action;
+	public static TweenAction moveTo(float x, float y, float duration, Interpolation interpolation) {
+		return tween(false, Tweens.X, x, Tweens.Y, y, duration, interpolation);
 	}
 	
-	public static MoveToAction moveToAligned(float x, float y, int alignment) {
+	public static TweenAction moveToAligned(float x, float y, int alignment) {
 		return moveToAligned(x, y, alignment, 0, null);
 	}
 	
-	public static MoveToAction moveToAligned(float x, float y, int alignment, float duration) {
+	public static TweenAction moveToAligned(float x, float y, int alignment, float duration) {
 		return moveToAligned(x, y, alignment, duration, null);
 	}
 	
-	public static MoveToAction moveToAligned(float x, float y, int alignment, float duration, Interpolation interpolation) {
-		MoveToAction action = action(MoveToAction.class, MoveToAction::new);
-		action.setPosition(x, y, alignment);
-		action.setDuration(duration);
-		action.setInterpolation(interpolation);
+	public static TweenAction moveToAligned(float x, float y, int alignment, float duration, Interpolation interpolation) {
+		TweenAction action = tween(false, Tweens.X, x, Tweens.Y, y, duration, interpolation);
+		action.setAlignment(alignment);
 		return action;
 	}
 	
-	public static MoveByAction moveBy(float amountX, float amountY) {
+	public static TweenAction moveBy(float amountX, float amountY) {
 		return moveBy(amountX, amountY, 0, null);
 	}
 	
-	public static MoveByAction moveBy(float amountX, float amountY, float duration) {
+	public static TweenAction moveBy(float amountX, float amountY, float duration) {
 		return moveBy(amountX, amountY, duration, null);
 	}
 	
-	public static MoveByAction moveBy(float amountX, float amountY, float duration, Interpolation interpolation) {
-		MoveByAction action = action(MoveByAction.class, MoveByAction::new);
-		action.setAmount(amountX, amountY);
-		action.setDuration(duration);
-		action.setInterpolation(interpolation);
-		return action;
+	public static TweenAction moveBy(float amountX, float amountY, float duration, Interpolation interpolation) {
+		return tween(true, Tweens.X, amountX, Tweens.Y, amountY, duration, interpolation);
 	}
 	
-	public static SizeToAction sizeTo(float x, float y) {
+	public static TweenAction sizeTo(float x, float y) {
 		return sizeTo(x, y, 0, null);
 	}
 	
-	public static SizeToAction sizeTo(float x, float y, float duration) {
+	public static TweenAction sizeTo(float x, float y, float duration) {
 		return sizeTo(x, y, duration, null);
 	}
 	
-	public static SizeToAction sizeTo(float x, float y, float duration, Interpolation interpolation) {
-		SizeToAction action = action(SizeToAction.class, SizeToAction::new);
-		action.setSize(x, y);
-		action.setDuration(duration);
-		action.setInterpolation(interpolation);
-		return action;
+	public static TweenAction sizeTo(float x, float y, float duration, Interpolation interpolation) {
+		return tween(false, Tweens.WIDTH, x, Tweens.HEIGHT, y, duration, interpolation);
 	}
 	
-	public static SizeByAction sizeBy(float amountX, float amountY) {
+	public static TweenAction sizeBy(float amountX, float amountY) {
 		return sizeBy(amountX, amountY, 0, null);
 	}
 	
-	public static SizeByAction sizeBy(float amountX, float amountY, float duration) {
+	public static TweenAction sizeBy(float amountX, float amountY, float duration) {
 		return sizeBy(amountX, amountY, duration, null);
 	}
 	
-	public static SizeByAction sizeBy(float amountX, float amountY, float duration, Interpolation interpolation) {
-		SizeByAction action = action(SizeByAction.class, SizeByAction::new);
-		action.setAmount(amountX, amountY);
-		action.setDuration(duration);
-		action.setInterpolation(interpolation);
-		return action;
+	public static TweenAction sizeBy(float amountX, float amountY, float duration, Interpolation interpolation) {
+		return tween(true, Tweens.WIDTH, amountX, Tweens.HEIGHT, amountY, duration, interpolation);
 	}
 	
-	public static ScaleToAction scaleTo(float x, float y) {
+	public static TweenAction scaleTo(float x, float y) {
 		return scaleTo(x, y, 0, null);
 	}
 	
-	public static ScaleToAction scaleTo(float x, float y, float duration) {
+	public static TweenAction scaleTo(float x, float y, float duration) {
 		return scaleTo(x, y, duration, null);
 	}
 	
-	public static ScaleToAction scaleTo(float x, float y, float duration, Interpolation interpolation) {
-		ScaleToAction action = action(ScaleToAction.class, ScaleToAction::new);
-		action.setScale(x, y);
-		action.setDuration(duration);
-		action.setInterpolation(interpolation);
-		return action;
+	public static TweenAction scaleTo(float x, float y, float duration, Interpolation interpolation) {
+		return tween(false, Tweens.SCALE_X, x, Tweens.SCALE_Y, y, duration, interpolation);
 	}
 	
-	public static ScaleByAction scaleBy(float amountX, float amountY) {
+	public static TweenAction scaleBy(float amountX, float amountY) {
 		return scaleBy(amountX, amountY, 0, null);
 	}
 	
-	public static ScaleByAction scaleBy(float amountX, float amountY, float duration) {
+	public static TweenAction scaleBy(float amountX, float amountY, float duration) {
 		return scaleBy(amountX, amountY, duration, null);
 	}
 	
-	public static ScaleByAction scaleBy(float amountX, float amountY, float duration, Interpolation interpolation) {
-		ScaleByAction action = action(ScaleByAction.class, ScaleByAction::new);
-		action.setAmount(amountX, amountY);
-		action.setDuration(duration);
-		action.setInterpolation(interpolation);
-		return action;
+	public static TweenAction scaleBy(float amountX, float amountY, float duration, Interpolation interpolation) {
+		return tween(true, Tweens.SCALE_X, amountX, Tweens.SCALE_Y, amountY, duration, interpolation);
 	}
 	
-	public static RotateToAction rotateTo(float rotation) {
+	public static TweenAction rotateTo(float rotation) {
 		return rotateTo(rotation, 0, null);
 	}
 	
-	public static RotateToAction rotateTo(float rotation, float duration) {
+	public static TweenAction rotateTo(float rotation, float duration) {
 		return rotateTo(rotation, duration, null);
 	}
 	
-	public static RotateToAction rotateTo(float rotation, float duration, Interpolation interpolation) {
-		RotateToAction action = action(RotateToAction.class, RotateToAction::new);
-		action.setRotation(rotation);
-		action.setDuration(duration);
-		action.setInterpolation(interpolation);
+	public static TweenAction rotateTo(float rotation, float duration, Interpolation interpolation) {
+		TweenAction action = tween(false, duration, interpolation);
+		action.addProperty(Tweens.ROTATION, rotation);
 		return action;
 	}
 	
-	public static RotateByAction rotateBy(float rotationAmount) {
+	public static TweenAction rotateBy(float rotationAmount) {
 		return rotateBy(rotationAmount, 0, null);
 	}
 	
-	public static RotateByAction rotateBy(float rotationAmount, float duration) {
+	public static TweenAction rotateBy(float rotationAmount, float duration) {
 		return rotateBy(rotationAmount, duration, null);
 	}
 	
-	public static RotateByAction rotateBy(float rotationAmount, float duration, Interpolation interpolation) {
-		RotateByAction action = action(RotateByAction.class, RotateByAction::new);
-		action.amount = rotationAmount;
-		action.setDuration(duration);
-		action.setInterpolation(interpolation);
+	public static TweenAction rotateBy(float rotationAmount, float duration, Interpolation interpolation) {
+		TweenAction action = tween(true, duration, interpolation);
+		action.addProperty(Tweens.ROTATION, rotationAmount);
 		return action;
 	}
 	
-	public static ColorAction color(Color color) {
+	public static TweenAction color(Color color) {
 		return color(color, 0, null);
 	}
 	
-	public static ColorAction color(Color color, float duration) {
+	public static TweenAction color(Color color, float duration) {
 		return color(color, duration, null);
 	}
 	
-	public static ColorAction color(Color color, float duration, Interpolation interpolation) {
-		ColorAction action = action(ColorAction.class, ColorAction::new);
-		action.setEndColor(color);
-		action.setDuration(duration);
-		action.setInterpolation(interpolation);
+	public static TweenAction color(Color color, float duration, Interpolation interpolation) {
+		TweenAction action = tween(false, Tweens.RED, color.r, Tweens.GREEN, color.g, duration, interpolation);
+		action.addProperty(Tweens.BLUE, color.b);
+		action.addProperty(Tweens.ALPHA, color.a);
 		return action;
 	}
 	
-	public static AlphaAction alpha(float a) {
+	public static TweenAction alpha(float a) {
 		return alpha(a, 0, null);
 	}
 	
-	public static AlphaAction alpha(float a, float duration) {
+	public static TweenAction alpha(float a, float duration) {
 		return alpha(a, duration, null);
 	}
 	
-	public static AlphaAction alpha(float a, float duration, Interpolation interpolation) {
-		AlphaAction action = action(AlphaAction.class, AlphaAction::new);
-		action.setAlpha(a);
-		action.setDuration(duration);
-		action.setInterpolation(interpolation);
+	public static TweenAction alpha(float a, float duration, Interpolation interpolation) {
+		TweenAction action = tween(false, duration, interpolation);
+		action.addProperty(Tweens.ALPHA, a);
 		return action;
 	}
 	
-	public static AlphaAction fadeOut(float duration) {
+	public static TweenAction fadeOut(float duration) {
 		return alpha(0, duration, null);
 	}
 	
-	public static AlphaAction fadeOut(float duration, Interpolation interpolation) {
-		AlphaAction action = action(AlphaAction.class, AlphaAction::new);
-		action.setAlpha(0);
-		action.setDuration(duration);
-		action.setInterpolation(interpolation);
-		return action;
+	public static TweenAction fadeOut(float duration, Interpolation interpolation) {
+		return alpha(0, duration, interpolation);
 	}
 	
-	public static AlphaAction fadeIn(float duration) {
+	public static TweenAction fadeIn(float duration) {
 		return alpha(1, duration, null);
 	}
 	
-	public static AlphaAction fadeIn(float duration, Interpolation interpolation) {
-		AlphaAction action = action(AlphaAction.class, AlphaAction::new);
-		action.setAlpha(1);
+	public static TweenAction fadeIn(float duration, Interpolation interpolation) {
+		return alpha(1, duration, interpolation);
+	}
+	
+	private static TweenAction tween(boolean relative, float duration, Interpolation interpolation) {
+		TweenAction action = action(TweenAction.class, TweenAction::new);
+		action.setRelative(relative);
 		action.setDuration(duration);
 		action.setInterpolation(interpolation);
 		return action;
 	}
 	
+	private static TweenAction tween(boolean relative, int property1, float value1, int property2, float value2, float duration,
+									 Interpolation interpolation) {
+		TweenAction action = tween(relative, duration, interpolation);
+		action.addProperty(property1, value1);
+		action.addProperty(property2, value2);
+		return action;
+	}
+	
 	public static VisibleAction show() {
 		return visible(true);
 	}
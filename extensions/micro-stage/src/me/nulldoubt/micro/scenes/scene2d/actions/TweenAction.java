@@ -0,0 +1,189 @@
+package me.nulldoubt.micro.scenes.scene2d.actions;
+
+import me.nulldoubt.micro.scenes.scene2d.Actor;
+import me.nulldoubt.micro.scenes.scene2d.Stage;
+import me.nulldoubt.micro.scenes.scene2d.Tweens;
+import me.nulldoubt.micro.utils.Align;
+
+/**
+ * Transitions up to four {@link Tweens} properties of the actor, returned by the {@link Actions} factories for moving, sizing,
+ * scaling, rotating and coloring. While its actor is on a stage the interpolation runs in the {@link Stage#getTweens() tweens}
+ * of the stage, and the action only keeps the time. The action updates the properties itself when reversed, when its time is
+ * changed, when acted with another delta than the stage, eg by a {@link TimeScaleAction}, or without a stage.
+ */
+public class TweenAction extends TemporalAction implements Tweens.Completion {
+	
+	private final int[] properties = new int[4];
+	private final float[] values = new float[4];
+	private final float[] starts = new float[4];
+	private final float[] ends = new float[4];
+	private int count;
+	private boolean relative;
+	private int alignment = Align.bottomLeft;
+	
+	private float lastPercent;
+	private Actor tweenTarget;
+	/** The tweens running the properties, null while the action updates them itself. */
+	private Tweens tweens;
+	private float tweenTime;
+	private boolean dropped;
+	private float delta;
+	
+	/**
+	 * Adds a property to transition, see {@link Tweens#to(Actor, int, float, float, me.nulldoubt.micro.math.Interpolation)}.
+	 *
+	 * @param value The end value, or the amount to add if {@link #setRelative(boolean) relative}.
+	 */
+	public void addProperty(int property, float value) {
+		if (property < Tweens.X || property > Tweens.ALPHA)
+			throw new IllegalArgumentException("Unknown property: " + property);
+		if (count == properties.length)
+			throw new IllegalStateException("A tween action has at most " + properties.length + " properties.");
+		properties[count] = property;
+		values[count] = value;
+		count++;
+	}
+	
+	public int getPropertyCount() {
+		return count;
+	}
+	
+	public int getProperty(int index) {
+		return properties[index];
+	}
+	
+	public float getValue(int index) {
+		return values[index];
+	}
+	
+	/**
+	 * @param relative Whether the values are amounts added to the properties rather than end values, false by default.
+	 */
+	public void setRelative(boolean relative) {
+		this.relative = relative;
+	}
+	
+	public boolean isRelative() {
+		return relative;
+	}
+	
+	/**
+	 * Sets the point of the actor the {@link Tweens#X} and {@link Tweens#Y} end values are for, see
+	 * {@link Actor#setPosition(float, float, int)}. Applied when the action begins.
+	 */
+	public void setAlignment(int alignment) {
+		this.alignment = alignment;
+	}
+	
+	public int getAlignment() {
+		return alignment;
+	}
+	
+	public boolean act(float delta) {
+		this.delta = delta;
+		if (tweens != null && !canTween(delta))
+			stopTweening();
+		final boolean complete = super.act(delta);
+		if (tweens != null) {
+			tweenTime = getTime();
+			// The tweens complete in this act of the stage.
+			if (complete)
+				tweens = null;
+		}
+		return complete;
+	}
+	
+	private boolean canTween(float delta) {
+		final Stage stage = target.getStage();
+		return !dropped && stage != null && stage.getTweens() == tweens && delta == tweens.getDelta() && getTime() == tweenTime
+				&& !isReverse();
+	}
+	
+	/** Takes over the properties from the tweens, which applied them up to the current time. */
+	private void stopTweening() {
+		tweens.cancel(tweenTarget, this);
+		tweens = null;
+		if (relative) {
+			final float duration = getDuration();
+			float percent = tweenTime >= duration ? 1 : tweenTime / duration;
+			if (getInterpolation() != null)
+				percent = getInterpolation().apply(percent);
+			lastPercent = percent;
+		}
+	}
+	
+	protected void begin() {
+		if (!relative) {
+			for (int i = 0; i < count; i++) {
+				float value = values[i];
+				if (properties[i] == Tweens.X) {
+					if ((alignment & Align.right) != 0)
+						value -= target.getWidth();
+					else if ((alignment & Align.left) == 0)
+						value -= target.getWidth() / 2;
+				} else if (properties[i] == Tweens.Y) {
+					if ((alignment & Align.top) != 0)
+						value -= target.getHeight();
+					else if ((alignment & Align.bottom) == 0)
+						value -= target.getHeight() / 2;
+				}
+				ends[i] = value;
+				starts[i] = Tweens.getProperty(target, properties[i]);
+			}
+		}
+		lastPercent = 0;
+		
+		final Stage stage = target.getStage();
+		if (stage == null || isReverse() || getDuration() <= 0 || delta != stage.getTweens().getDelta())
+			return;
+		tweens = stage.getTweens();
+		tweenTarget = target;
+		tweenTime = 0;
+		dropped = false;
+		for (int i = 0; i < count; i++) {
+			if (relative)
+				tweens.by(target, properties[i], values[i], getDuration(), getInterpolation(), 0, this);
+			else
+				tweens.to(target, properties[i], ends[i], getDuration(), getInterpolation(), 0, this);
+		}
+	}
+	
+	protected void update(float percent) {
+		if (tweens != null)
+			return;
+		if (relative) {
+			final float amount = percent - lastPercent;
+			for (int i = 0; i < count; i++)
+				Tweens.setProperty(target, properties[i], Tweens.getProperty(target, properties[i]) + values[i] * amount);
+			lastPercent = percent;
+		} else {
+			for (int i = 0; i < count; i++)
+				Tweens.setProperty(target, properties[i], percent == 1 ? ends[i] : starts[i] + (ends[i] - starts[i]) * percent);
+		}
+	}
+	
+	public void run() {
+	}
+	
+	public void dropped() {
+		dropped = true;
+	}
+	
+	public void restart() {
+		super.restart();
+		if (tweens != null) {
+			tweens.cancel(tweenTarget, this);
+			tweens = null;
+		}
+		tweenTarget = null;
+		dropped = false;
+	}
+	
+	public void reset() {
+		super.reset();
+		count = 0;
+		relative = false;
+		alignment = Align.bottomLeft;
+	}
+	
+}
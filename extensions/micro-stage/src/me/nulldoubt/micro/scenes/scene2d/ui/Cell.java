@@ -3,6 +3,7 @@ package me.nulldoubt.micro.scenes.scene2d.ui;
 import me.nulldoubt.micro.Files;
 import me.nulldoubt.micro.Micro;
 import me.nulldoubt.micro.scenes.scene2d.Actor;
+import me.nulldoubt.micro.scenes.scene2d.utils.Layout;
 import me.nulldoubt.micro.scenes.scene2d.ui.Value.Fixed;
 import me.nulldoubt.micro.utils.Align;
 import me.nulldoubt.micro.utils.pools.Pool.Poolable;
@@ -33,6 +34,10 @@ public class Cell<T extends Actor> implements Poolable {
 	int cellAboveIndex;
 	float computedPadTop, computedPadLeft, computedPadBottom, computedPadRight;
 	
+	/** The min, pref and max sizes of the actor when {@link #measuredStamp} matches the measure stamp of the table. */
+	float measuredMinWidth, measuredMinHeight, measuredPrefWidth, measuredPrefHeight, measuredMaxWidth, measuredMaxHeight;
+	int measuredStamp = -1;
+	
 	public Cell() {
 		cellAboveIndex = -1;
 		Cell defaults = defaults();
@@ -1004,6 +1009,20 @@ public class Cell<T extends Actor> implements Poolable {
 		uniformY = null;
 	}
 	
+	/**
+	 * @return whether the measured sizes stay valid until the actor invalidates its hierarchy or the table is invalidated.
+	 */
+	boolean isMeasureCacheable() {
+		return (actor == null || actor instanceof Layout)
+				&& isActorValue(minWidth, Value.minWidth) && isActorValue(minHeight, Value.minHeight)
+				&& isActorValue(prefWidth, Value.prefWidth) && isActorValue(prefHeight, Value.prefHeight)
+				&& isActorValue(maxWidth, Value.maxWidth) && isActorValue(maxHeight, Value.maxHeight);
+	}
+	
+	private static boolean isActorValue(Value value, Value actorValue) {
+		return value == actorValue || value instanceof Fixed;
+	}
+	
 	/**
 	 * Reset state so the cell can be reused, setting all constraints to their {@link #defaults() default} values.
 	 */
@@ -1012,6 +1031,7 @@ public class Cell<T extends Actor> implements Poolable {
 		table = null;
 		endRow = false;
 		cellAboveIndex = -1;
+		measuredStamp = -1;
 		set(defaults());
 	}
 	
@@ -5,6 +5,7 @@ import me.nulldoubt.micro.graphics.g2d.Batch;
 import me.nulldoubt.micro.graphics.g2d.BitmapFont;
 import me.nulldoubt.micro.graphics.g2d.BitmapFontCache;
 import me.nulldoubt.micro.graphics.g2d.GlyphLayout;
+import me.nulldoubt.micro.graphics.g2d.GlyphLayoutCache;
 import me.nulldoubt.micro.scenes.scene2d.utils.Drawable;
 import me.nulldoubt.micro.utils.Align;
 import me.nulldoubt.micro.utils.strings.StringBuilder;
@@ -14,8 +15,14 @@ public class Label extends Widget {
 	private static final Color tempColor = new Color();
 	private static final GlyphLayout prefSizeLayout = new GlyphLayout();
 	
+	/** The layout cache of new labels, null by default. */
+	public static GlyphLayoutCache defaultLayoutCache;
+	
 	private LabelStyle style;
 	private final GlyphLayout layout = new GlyphLayout();
+	/** The layout given to the font cache, either {@link #layout} or a layout shared by the {@link #layoutCache}. */
+	private GlyphLayout shownLayout = layout;
+	private GlyphLayoutCache layoutCache = defaultLayoutCache;
 	private float prefWidth, prefHeight;
 	private final StringBuilder text = new StringBuilder();
 	private int intValue = Integer.MIN_VALUE;
@@ -139,8 +146,13 @@ public class Label extends Widget {
 				width = Math.max(width, style.background.getMinWidth()) - style.background.getLeftWidth()
 						- style.background.getRightWidth();
 			}
-			layout.setText(cache.getFont(), text, Color.WHITE, width, Align.left, true);
-		} else
+			if (layoutCache != null)
+				layout = layoutCache.get(cache.getFont(), text, 0, text.length, Color.WHITE, width, Align.left, true, null);
+			else
+				layout.setText(cache.getFont(), text, Color.WHITE, width, Align.left, true);
+		} else if (layoutCache != null)
+			layout = layoutCache.get(cache.getFont(), text, 0, text.length, cache.getFont().getColor(), 0, Align.left, false, null);
+		else
 			layout.setText(cache.getFont(), text);
 		prefWidth = layout.width;
 		prefHeight = layout.height;
@@ -172,10 +184,9 @@ public class Label extends Widget {
 			height -= background.getBottomHeight() + background.getTopHeight();
 		}
 		
-		GlyphLayout layout = this.layout;
 		float textWidth, textHeight;
 		if (wrap || text.indexOf("\n") != -1) {
-			layout.setText(font, text, 0, text.length, Color.WHITE, width, lineAlign, wrap, ellipsis);
+			final GlyphLayout layout = layOut(font, width, wrap);
 			textWidth = layout.width;
 			textHeight = layout.height;
 			if ((labelAlign & Align.left) == 0) {
@@ -201,13 +212,20 @@ public class Label extends Widget {
 		if (!cache.getFont().isFlipped())
 			y += textHeight;
 		
-		layout.setText(font, text, 0, text.length, Color.WHITE, textWidth, lineAlign, wrap, ellipsis);
-		cache.setText(layout, x, y);
+		shownLayout = layOut(font, textWidth, wrap);
+		cache.setText(shownLayout, x, y);
 		
 		if (fontScaleChanged)
 			font.getData().setScale(oldScaleX, oldScaleY);
 	}
 	
+	private GlyphLayout layOut(BitmapFont font, float targetWidth, boolean wrap) {
+		if (layoutCache != null)
+			return layoutCache.get(font, text, 0, text.length, Color.WHITE, targetWidth, lineAlign, wrap, ellipsis);
+		layout.setText(font, text, 0, text.length, Color.WHITE, targetWidth, lineAlign, wrap, ellipsis);
+		return layout;
+	}
+	
 	public void draw(Batch batch, float parentAlpha) {
 		validate();
 		Color color = tempColor.set(getColor());
@@ -248,8 +266,27 @@ public class Label extends Widget {
 		return height;
 	}
 	
+	/**
+	 * @return the layout of the text, which must not be modified if it is shared by a {@link #setLayoutCache(GlyphLayoutCache)
+	 *         layout cache}.
+	 */
 	public GlyphLayout getGlyphLayout() {
-		return layout;
+		return shownLayout;
+	}
+	
+	/**
+	 * Sets the cache sharing the layouts of labels showing the same text with the same font and size.
+	 *
+	 * @param layoutCache May be null to lay out the text of this label itself.
+	 */
+	public void setLayoutCache(GlyphLayoutCache layoutCache) {
+		this.layoutCache = layoutCache;
+		shownLayout = layout;
+		invalidateHierarchy();
+	}
+	
+	public GlyphLayoutCache getLayoutCache() {
+		return layoutCache;
 	}
 	
 	public void setWrap(boolean wrap) {
@@ -213,7 +213,13 @@ public class List<T> extends Widget implements Cullable {
 		float textOffsetY = selectedDrawable.getTopHeight() - font.getDescent();
 		
 		font.setColor(fontColorUnselected.r, fontColorUnselected.g, fontColorUnselected.b, fontColorUnselected.a * parentAlpha);
-		for (int i = 0; i < items.size; i++) {
+		int start = 0;
+		if (cullingArea != null && itemHeight > 0) {
+			// Skips the items above the culling area without testing each of them.
+			start = Math.max(0, Math.min(items.size, (int) ((itemY - cullingArea.y - cullingArea.height) / itemHeight) - 1));
+			itemY -= start * itemHeight;
+		}
+		for (int i = start; i < items.size; i++) {
 			if (cullingArea == null || (itemY - itemHeight <= cullingArea.y + cullingArea.height && itemY >= cullingArea.y)) {
 				T item = items.get(i);
 				boolean selected = selection.contains(item);
@@ -79,6 +79,7 @@ public class ProgressBar extends Widget implements Disableable {
 		super.act(delta);
 		if (animateTime > 0) {
 			animateTime -= delta;
+			invalidateCache();
 			Stage stage = getStage();
 			if (stage != null && stage.getActionsRequestRendering())
 				Micro.graphics.requestRendering();
@@ -6,11 +6,13 @@ import me.nulldoubt.micro.graphics.glutils.ShapeRenderer;
 import me.nulldoubt.micro.graphics.glutils.ShapeRenderer.ShapeType;
 import me.nulldoubt.micro.math.shapes.Rectangle;
 import me.nulldoubt.micro.scenes.scene2d.Actor;
+import me.nulldoubt.micro.scenes.scene2d.Stage;
 import me.nulldoubt.micro.scenes.scene2d.Touchable;
 import me.nulldoubt.micro.scenes.scene2d.ui.Label.LabelStyle;
 import me.nulldoubt.micro.scenes.scene2d.ui.Value.Fixed;
 import me.nulldoubt.micro.scenes.scene2d.utils.Drawable;
 import me.nulldoubt.micro.scenes.scene2d.utils.Layout;
+import me.nulldoubt.micro.scenes.scene2d.utils.LayoutStats;
 import me.nulldoubt.micro.utils.Align;
 import me.nulldoubt.micro.utils.collections.Array;
 import me.nulldoubt.micro.utils.pools.Pool;
@@ -36,6 +38,9 @@ public class Table extends WidgetGroup {
 	private Cell rowDefaults;
 	
 	private boolean sizeInvalid = true;
+	/** Cells measured with a different stamp are measured again, it changes whenever the table is invalidated by other than a child. */
+	private int measureStamp;
+	private boolean childInvalidating;
 	private float[] columnMinWidth, rowMinHeight;
 	private float[] columnPrefWidth, rowPrefHeight;
 	private float tableMinWidth, tableMinHeight;
@@ -168,9 +173,54 @@ public class Table extends WidgetGroup {
 	
 	public void invalidate() {
 		sizeInvalid = true;
+		if (!childInvalidating)
+			measureStamp = measureStamp + 1 & Integer.MAX_VALUE;
 		super.invalidate();
 	}
 	
+	/**
+	 * Only the cell of the child is measured again, the sizes of the other cells are kept.
+	 */
+	protected void childInvalidated(Actor child) {
+		final Object[] cells = this.cells.items;
+		for (int i = 0, n = this.cells.size; i < n; i++) {
+			final Cell c = (Cell) cells[i];
+			if (c.actor == child) {
+				c.measuredStamp = -1;
+				break;
+			}
+		}
+		childInvalidating = true;
+		try {
+			invalidateHierarchy();
+		} finally {
+			childInvalidating = false;
+		}
+	}
+	
+	/**
+	 * Computes the min, pref and max sizes of the actor of the cell, unless they were computed for the current measure stamp.
+	 */
+	private void measure(Cell c, LayoutStats stats) {
+		if (c.measuredStamp == measureStamp && c.isMeasureCacheable())
+			return;
+		final Actor a = c.actor;
+		c.measuredMinWidth = c.minWidth.get(a);
+		c.measuredMinHeight = c.minHeight.get(a);
+		c.measuredPrefWidth = c.prefWidth.get(a);
+		c.measuredPrefHeight = c.prefHeight.get(a);
+		c.measuredMaxWidth = c.maxWidth.get(a);
+		c.measuredMaxHeight = c.maxHeight.get(a);
+		c.measuredStamp = measureStamp;
+		if (stats != null)
+			stats.measured++;
+	}
+	
+	private LayoutStats getLayoutStats() {
+		final Stage stage = getStage();
+		return stage != null ? stage.getLayoutStats() : null;
+	}
+	
 	public <T extends Actor> Cell<T> add(T actor) {
 		Cell<T> cell = obtainCell();
 		cell.actor = actor;
@@ -746,6 +796,7 @@ public class Table extends WidgetGroup {
 		float[] expandWidth = this.expandWidth = ensureSize(this.expandWidth, columns);
 		float[] expandHeight = this.expandHeight = ensureSize(this.expandHeight, rows);
 		
+		final LayoutStats stats = getLayoutStats();
 		float spaceRightLast = 0;
 		for (int i = 0; i < cellCount; i++) {
 			Cell c = (Cell) cells[i];
@@ -768,9 +819,10 @@ public class Table extends WidgetGroup {
 			c.computedPadBottom = c.padBottom.get(a) + (row == rows - 1 ? 0 : c.spaceBottom.get(a));
 			spaceRightLast = spaceRight;
 			
-			float prefWidth = c.prefWidth.get(a), prefHeight = c.prefHeight.get(a);
-			float minWidth = c.minWidth.get(a), minHeight = c.minHeight.get(a);
-			float maxWidth = c.maxWidth.get(a), maxHeight = c.maxHeight.get(a);
+			measure(c, stats);
+			float prefWidth = c.measuredPrefWidth, prefHeight = c.measuredPrefHeight;
+			float minWidth = c.measuredMinWidth, minHeight = c.measuredMinHeight;
+			float maxWidth = c.measuredMaxWidth, maxHeight = c.measuredMaxHeight;
 			if (prefWidth < minWidth)
 				prefWidth = minWidth;
 			if (prefHeight < minHeight)
@@ -848,8 +900,7 @@ public class Table extends WidgetGroup {
 				continue;
 			int column = c.column;
 			
-			Actor a = c.actor;
-			float minWidth = c.minWidth.get(a), prefWidth = c.prefWidth.get(a), maxWidth = c.maxWidth.get(a);
+			float minWidth = c.measuredMinWidth, prefWidth = c.measuredPrefWidth, maxWidth = c.measuredMaxWidth;
 			if (prefWidth < minWidth)
 				prefWidth = minWidth;
 			if (maxWidth > 0 && prefWidth > maxWidth)
@@ -898,6 +949,7 @@ public class Table extends WidgetGroup {
 		if (sizeInvalid)
 			computeSize();
 		
+		final LayoutStats stats = getLayoutStats();
 		float layoutWidth = getWidth(), layoutHeight = getHeight();
 		int columns = this.columns, rows = this.rows;
 		float[] columnWidth = this.columnWidth, rowHeight = this.rowHeight;
@@ -939,7 +991,6 @@ public class Table extends WidgetGroup {
 		for (int i = 0; i < cellCount; i++) {
 			Cell c = (Cell) cells[i];
 			int column = c.column, row = c.row;
-			Actor a = c.actor;
 			
 			float spannedWeightedWidth = 0;
 			int colspan = c.colspan;
@@ -947,9 +998,10 @@ public class Table extends WidgetGroup {
 				spannedWeightedWidth += columnWeightedWidth[ii];
 			float weightedHeight = rowWeightedHeight[row];
 			
-			float prefWidth = c.prefWidth.get(a), prefHeight = c.prefHeight.get(a);
-			float minWidth = c.minWidth.get(a), minHeight = c.minHeight.get(a);
-			float maxWidth = c.maxWidth.get(a), maxHeight = c.maxHeight.get(a);
+			measure(c, stats);
+			float prefWidth = c.measuredPrefWidth, prefHeight = c.measuredPrefHeight;
+			float minWidth = c.measuredMinWidth, minHeight = c.measuredMinHeight;
+			float maxWidth = c.measuredMaxWidth, maxHeight = c.measuredMaxHeight;
 			if (prefWidth < minWidth)
 				prefWidth = minWidth;
 			if (prefHeight < minHeight)
@@ -1062,14 +1114,14 @@ public class Table extends WidgetGroup {
 			
 			float fillX = c.fillX, fillY = c.fillY;
 			if (fillX > 0) {
-				c.actorWidth = Math.max(spannedCellWidth * fillX, c.minWidth.get(c.actor));
-				float maxWidth = c.maxWidth.get(c.actor);
+				c.actorWidth = Math.max(spannedCellWidth * fillX, c.measuredMinWidth);
+				float maxWidth = c.measuredMaxWidth;
 				if (maxWidth > 0)
 					c.actorWidth = Math.min(c.actorWidth, maxWidth);
 			}
 			if (fillY > 0) {
-				c.actorHeight = Math.max(rowHeight[c.row] * fillY - c.computedPadTop - c.computedPadBottom, c.minHeight.get(c.actor));
-				float maxHeight = c.maxHeight.get(c.actor);
+				c.actorHeight = Math.max(rowHeight[c.row] * fillY - c.computedPadTop - c.computedPadBottom, c.measuredMinHeight);
+				float maxHeight = c.measuredMaxHeight;
 				if (maxHeight > 0)
 					c.actorHeight = Math.min(c.actorHeight, maxHeight);
 			}
@@ -82,6 +82,7 @@ public class TextField extends Widget implements Disableable {
 				return;
 			}
 			cursorOn = !cursorOn;
+			invalidateCache();
 			Micro.graphics.requestRendering();
 		}
 	};
@@ -0,0 +1,405 @@
+package me.nulldoubt.micro.scenes.scene2d.ui;
+
+import me.nulldoubt.micro.Input.Keys;
+import me.nulldoubt.micro.math.shapes.Rectangle;
+import me.nulldoubt.micro.scenes.scene2d.Actor;
+import me.nulldoubt.micro.scenes.scene2d.InputEvent;
+import me.nulldoubt.micro.scenes.scene2d.InputListener;
+import me.nulldoubt.micro.scenes.scene2d.utils.ArraySelection;
+import me.nulldoubt.micro.scenes.scene2d.utils.Cullable;
+import me.nulldoubt.micro.scenes.scene2d.utils.Layout;
+import me.nulldoubt.micro.scenes.scene2d.utils.UIUtils;
+import me.nulldoubt.micro.utils.collections.Array;
+import me.nulldoubt.micro.utils.pools.Pool;
+
+/**
+ * A list of items of the same height which only has actors for the rows inside its {@link #setCullingArea(Rectangle) culling
+ * area}, plus a few rows of {@link #setOverscan(int) overscan}. Inside a {@link ScrollPane} the row actors are recycled as the
+ * list scrolls, so the number of actors depends on the visible height rather than the number of items.
+ * <p>
+ * Subclasses create the row actors and bind them to items. The {@link #getSelection() selection} and keyboard navigation work
+ * with all the items, whether or not they have a row actor.
+ *
+ * @param <T> the type of the items.
+ * @param <A> the type of the row actors.
+ */
+public abstract class VirtualList<T, A extends Actor> extends WidgetGroup implements Cullable {
+	
+	final Array<T> items = new Array<>();
+	final ArraySelection<T> selection;
+	private final Pool<A> rowPool;
+	private Array<A> rows = new Array<>();
+	private Array<A> newRows = new Array<>();
+	/** The index of the item of the first row actor. */
+	private int firstIndex;
+	private boolean rowsInvalid = true;
+	private float rowHeight, prefWidth;
+	private int overscan = 2;
+	private Rectangle cullingArea;
+	private InputListener keyListener;
+	
+	public VirtualList(float rowHeight) {
+		if (rowHeight <= 0)
+			throw new IllegalArgumentException("rowHeight must be > 0: " + rowHeight);
+		this.rowHeight = rowHeight;
+		
+		selection = new ArraySelection<>(items) {
+			protected void changed() {
+				super.changed();
+				invalidateRows();
+			}
+		};
+		selection.setActor(this);
+		selection.setRequired(true);
+		
+		rowPool = new Pool<>() {
+			protected A newObject() {
+				return newRow();
+			}
+		};
+		
+		addListener(keyListener = new InputListener() {
+			public boolean keyDown(InputEvent event, int keycode) {
+				if (items.isEmpty())
+					return false;
+				final int page = Math.max(1, (int) (getVisibleHeight() / VirtualList.this.rowHeight));
+				switch (keycode) {
+					case Keys.A:
+						if (UIUtils.ctrl() && selection.getMultiple()) {
+							selection.clear();
+							selection.addAll(items);
+							return true;
+						}
+						break;
+					case Keys.HOME:
+						selectAndShow(0);
+						return true;
+					case Keys.END:
+						selectAndShow(items.size - 1);
+						return true;
+					case Keys.DOWN:
+						selectAndShow(Math.min(getSelectedIndex() + 1, items.size - 1));
+						return true;
+					case Keys.UP:
+						selectAndShow(Math.max(getSelectedIndex() - 1, 0));
+						return true;
+					case Keys.PAGE_DOWN:
+						selectAndShow(Math.min(getSelectedIndex() + page, items.size - 1));
+						return true;
+					case Keys.PAGE_UP:
+						selectAndShow(Math.max(getSelectedIndex() - page, 0));
+						return true;
+					case Keys.ESCAPE:
+						if (getStage() != null)
+							getStage().setKeyboardFocus(null);
+						return true;
+				}
+				return false;
+			}
+		});
+		
+		addListener(new InputListener() {
+			public boolean touchDown(InputEvent event, float x, float y, int pointer, int button) {
+				if (pointer != 0 || button != 0)
+					return false;
+				if (getStage() != null)
+					getStage().setKeyboardFocus(VirtualList.this);
+				final int index = getItemIndexAt(y);
+				if (index == -1 || selection.isDisabled())
+					return false;
+				selection.choose(items.get(index));
+				return false;
+			}
+		});
+	}
+	
+	/**
+	 * @return a new row actor, called when the pool of unused row actors is empty.
+	 */
+	protected abstract A newRow();
+	
+	/**
+	 * Binds a row actor to an item. Called when the row actor is shown for the item and whenever the items, the selection or the
+	 * size of the list change.
+	 */
+	protected abstract void updateRow(A row, T item, int index);
+	
+	/**
+	 * @return the distance of the row actor of the item from the left of the list, 0 by default.
+	 */
+	protected float getIndent(int index) {
+		return 0;
+	}
+	
+	public void layout() {
+		updateRows();
+	}
+	
+	/**
+	 * Shows row actors for the items overlapping the culling area and the overscan, recycling the row actors of the items no
+	 * longer shown.
+	 */
+	private void updateRows() {
+		final int first = firstShown(), last = lastShown(first);
+		
+		final Array<A> rows = this.rows, newRows = this.newRows;
+		for (int i = 0, n = rows.size; i < n; i++) {
+			final int index = firstIndex + i;
+			if (index < first || index >= last) {
+				final A row = rows.get(i);
+				removeActor(row);
+				rowPool.free(row);
+			}
+		}
+		
+		final float width = getWidth(), top = getHeight();
+		for (int index = first; index < last; index++) {
+			final int old = index - firstIndex;
+			final boolean reused = old >= 0 && old < rows.size;
+			final A row = reused ? rows.get(old) : rowPool.obtain();
+			if (!reused)
+				addActor(row);
+			final float indent = getIndent(index);
+			row.setBounds(indent, top - (index + 1) * rowHeight, width - indent, rowHeight);
+			if (!reused || rowsInvalid)
+				updateRow(row, items.get(index), index);
+			if (row instanceof Layout layout)
+				layout.validate();
+			newRows.add(row);
+		}
+		
+		rows.clear();
+		this.rows = newRows;
+		this.newRows = rows;
+		firstIndex = first;
+		rowsInvalid = false;
+	}
+	
+	/**
+	 * Binds every row actor again, eg after the items were modified in place.
+	 */
+	public void invalidateRows() {
+		rowsInvalid = true;
+		invalidate();
+	}
+	
+	protected void childrenChanged() {
+		// The row actors don't affect the size of the list.
+	}
+	
+	public void setCullingArea(Rectangle cullingArea) {
+		this.cullingArea = cullingArea;
+		if (cullingArea == null || rowsInvalid) {
+			invalidate();
+			return;
+		}
+		final int first = firstShown();
+		if (first != firstIndex || lastShown(first) != firstIndex + rows.size)
+			updateRows();
+	}
+	
+	private int firstShown() {
+		if (cullingArea == null)
+			return 0;
+		return Math.max(0, (int) ((getHeight() - cullingArea.y - cullingArea.height) / rowHeight) - overscan);
+	}
+	
+	private int lastShown(int first) {
+		if (cullingArea == null)
+			return items.size;
+		return Math.max(first, Math.min(items.size, (int) Math.ceil((getHeight() - cullingArea.y) / rowHeight) + overscan));
+	}
+	
+	/**
+	 * @return May be null.
+	 * @see #setCullingArea(Rectangle)
+	 */
+	public Rectangle getCullingArea() {
+		return cullingArea;
+	}
+	
+	private float getVisibleHeight() {
+		return cullingArea != null ? cullingArea.height : getHeight();
+	}
+	
+	void selectAndShow(int index) {
+		setSelectedIndex(index);
+		scrollToItem(index);
+	}
+	
+	/**
+	 * Scrolls the closest {@link ScrollPane} ascendant so the item is visible.
+	 */
+	public void scrollToItem(int index) {
+		final ScrollPane scrollPane = firstAscendant(ScrollPane.class);
+		if (scrollPane == null || scrollPane.getActor() != this)
+			return;
+		scrollPane.scrollTo(0, getHeight() - (index + 1) * rowHeight, getWidth(), rowHeight);
+	}
+	
+	public ArraySelection<T> getSelection() {
+		return selection;
+	}
+	
+	/**
+	 * Returns the first selected item, or null.
+	 */
+	public T getSelected() {
+		return selection.first();
+	}
+	
+	/**
+	 * Sets the selection to only the passed item, if it is a possible choice.
+	 *
+	 * @param item May be null.
+	 */
+	public void setSelected(T item) {
+		if (items.contains(item, false))
+			selection.set(item);
+		else if (selection.getRequired() && items.size > 0)
+			selection.set(items.first());
+		else
+			selection.clear();
+	}
+	
+	/**
+	 * @return The index of the first selected item. The top item has an index of 0. Nothing selected has an index of -1.
+	 */
+	public int getSelectedIndex() {
+		return selection.isEmpty() ? -1 : items.indexOf(selection.first(), false);
+	}
+	
+	/**
+	 * Sets the selection to only the selected index.
+	 *
+	 * @param index -1 to clear the selection.
+	 */
+	public void setSelectedIndex(int index) {
+		if (index < -1 || index >= items.size)
+			throw new IllegalArgumentException("index must be >= -1 and < " + items.size + ": " + index);
+		if (index == -1)
+			selection.clear();
+		else
+			selection.set(items.get(index));
+	}
+	
+	/**
+	 * @return -1 if not over an item.
+	 */
+	public int getItemIndexAt(float y) {
+		final int index = (int) ((getHeight() - y) / rowHeight);
+		if (y > getHeight() || index < 0 || index >= items.size)
+			return -1;
+		return index;
+	}
+	
+	/**
+	 * @return null if not over an item.
+	 */
+	public T getItemAt(float y) {
+		final int index = getItemIndexAt(y);
+		return index == -1 ? null : items.get(index);
+	}
+	
+	/**
+	 * @return the row actor showing the item, or null if the item is not shown.
+	 */
+	public A getRow(int index) {
+		final int row = index - firstIndex;
+		return row >= 0 && row < rows.size ? rows.get(row) : null;
+	}
+	
+	/**
+	 * Sets the items of the list, clearing the selection if it is no longer valid. If a selection is
+	 * {@link ArraySelection#getRequired()}, the first item is selected. This can safely be called with a (modified) array returned
+	 * from {@link #getItems()}.
+	 */
+	public void setItems(Array<? extends T> newItems) {
+		if (newItems == null)
+			throw new IllegalArgumentException("newItems cannot be null.");
+		// the internal array may have been modified in place, so its old size is unknown.
+		boolean resized = newItems == items;
+		if (!resized) {
+			resized = items.size != newItems.size;
+			items.clear();
+			items.addAll(newItems);
+		}
+		selection.validate();
+		invalidateRows();
+		if (resized)
+			invalidateHierarchy();
+	}
+	
+	public void clearItems() {
+		if (items.size == 0)
+			return;
+		items.clear();
+		selection.clear();
+		invalidateRows();
+		invalidateHierarchy();
+	}
+	
+	/**
+	 * Returns the internal items array. If modified, {@link #setItems(Array)} must be called to reflect the changes.
+	 */
+	public Array<T> getItems() {
+		return items;
+	}
+	
+	public void setRowHeight(float rowHeight) {
+		if (rowHeight <= 0)
+			throw new IllegalArgumentException("rowHeight must be > 0: " + rowHeight);
+		this.rowHeight = rowHeight;
+		invalidateHierarchy();
+	}
+	
+	public float getRowHeight() {
+		return rowHeight;
+	}
+	
+	/**
+	 * Sets the number of rows shown above and below the culling area, so scrolling a little doesn't need new row actors.
+	 */
+	public void setOverscan(int overscan) {
+		if (overscan < 0)
+			throw new IllegalArgumentException("overscan must be >= 0: " + overscan);
+		this.overscan = overscan;
+		invalidate();
+	}
+	
+	public int getOverscan() {
+		return overscan;
+	}
+	
+	/**
+	 * @return the number of row actors currently shown.
+	 */
+	public int getRowCount() {
+		return rows.size;
+	}
+	
+	/**
+	 * @return the pool of unused row actors, row actors implementing {@link Pool.Poolable} are reset when freed.
+	 */
+	public Pool<A> getRowPool() {
+		return rowPool;
+	}
+	
+	public void setPrefWidth(float prefWidth) {
+		this.prefWidth = prefWidth;
+		invalidateHierarchy();
+	}
+	
+	public float getPrefWidth() {
+		return prefWidth;
+	}
+	
+	public float getPrefHeight() {
+		return items.size * rowHeight;
+	}
+	
+	public InputListener getKeyListener() {
+		return keyListener;
+	}
+	
+}
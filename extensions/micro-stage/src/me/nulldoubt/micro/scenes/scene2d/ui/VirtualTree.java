@@ -0,0 +1,193 @@
+package me.nulldoubt.micro.scenes.scene2d.ui;
+
+import me.nulldoubt.micro.Input.Keys;
+import me.nulldoubt.micro.scenes.scene2d.Actor;
+import me.nulldoubt.micro.scenes.scene2d.InputEvent;
+import me.nulldoubt.micro.scenes.scene2d.InputListener;
+import me.nulldoubt.micro.utils.collections.Array;
+import me.nulldoubt.micro.utils.collections.IntArray;
+import me.nulldoubt.micro.utils.collections.ObjectSet;
+
+/**
+ * A {@link VirtualList} of the expanded items of a tree model, each row indented by its depth. Only the rows of the items
+ * inside the culling area have actors, unlike {@link Tree} which has an actor for every node.
+ * <p>
+ * Subclasses provide the children of items, create the row actors and bind them to items. Clicking left of a row actor or the
+ * left and right keys collapse and expand the selected item.
+ *
+ * @param <T> the type of the items.
+ * @param <A> the type of the row actors.
+ */
+public abstract class VirtualTree<T, A extends Actor> extends VirtualList<T, A> {
+	
+	private final Array<T> rootItems = new Array<>();
+	private final ObjectSet<T> expanded = new ObjectSet<>();
+	/** The depth of each item of the list. */
+	private final IntArray depths = new IntArray();
+	private float indentSpacing;
+	
+	public VirtualTree(float rowHeight, float indentSpacing) {
+		super(rowHeight);
+		this.indentSpacing = indentSpacing;
+		
+		addListener(new InputListener() {
+			public boolean keyDown(InputEvent event, int keycode) {
+				final int index = getSelectedIndex();
+				if (index == -1)
+					return false;
+				final T item = items.get(index);
+				switch (keycode) {
+					case Keys.RIGHT:
+						if (!hasChildren(item))
+							return false;
+						if (!isExpanded(item))
+							setExpanded(item, true);
+						else
+							selectAndShow(index + 1);
+						return true;
+					case Keys.LEFT:
+						if (isExpanded(item)) {
+							setExpanded(item, false);
+							return true;
+						}
+						final int parent = getParentIndex(index);
+						if (parent == -1)
+							return false;
+						selectAndShow(parent);
+						return true;
+				}
+				return false;
+			}
+			
+			public boolean touchDown(InputEvent event, float x, float y, int pointer, int button) {
+				if (pointer != 0 || button != 0)
+					return false;
+				final int index = getItemIndexAt(y);
+				if (index == -1 || x >= getIndent(index))
+					return false;
+				final T item = items.get(index);
+				if (hasChildren(item))
+					setExpanded(item, !isExpanded(item));
+				return false;
+			}
+		});
+	}
+	
+	/**
+	 * @return the children of the item, may be null or empty.
+	 */
+	protected abstract Array<? extends T> getChildren(T item);
+	
+	public boolean hasChildren(T item) {
+		final Array<? extends T> children = getChildren(item);
+		return children != null && children.size > 0;
+	}
+	
+	/**
+	 * Flattens the expanded items of the model into the items of the list. Must be called after the children of expanded items
+	 * changed.
+	 */
+	public void rebuild() {
+		items.clear();
+		depths.clear();
+		flatten(rootItems, 0);
+		super.setItems(items);
+	}
+	
+	/**
+	 * The items of a tree are the flattened {@link #setRootItems(Array) root items}, so this only accepts the array returned by
+	 * {@link #getItems()} and {@link #rebuild() rebuilds} it from the model.
+	 */
+	@Override
+	public void setItems(Array<? extends T> newItems) {
+		if (newItems != items)
+			throw new IllegalArgumentException("The items of a tree are set with setRootItems.");
+		rebuild();
+	}
+	
+	/** Clears the root items and so every item of the list. */
+	@Override
+	public void clearItems() {
+		rootItems.clear();
+		depths.clear();
+		super.clearItems();
+	}
+	
+	private void flatten(Array<? extends T> children, int depth) {
+		for (int i = 0, n = children.size; i < n; i++) {
+			final T item = children.get(i);
+			items.add(item);
+			depths.add(depth);
+			if (expanded.contains(item)) {
+				final Array<? extends T> grandchildren = getChildren(item);
+				if (grandchildren != null)
+					flatten(grandchildren, depth + 1);
+			}
+		}
+	}
+	
+	public void setRootItems(Array<? extends T> rootItems) {
+		if (rootItems == null)
+			throw new IllegalArgumentException("rootItems cannot be null.");
+		if (rootItems != this.rootItems) {
+			this.rootItems.clear();
+			this.rootItems.addAll(rootItems);
+		}
+		rebuild();
+	}
+	
+	/**
+	 * Returns the internal root items array. If modified, {@link #setRootItems(Array)} must be called to reflect the changes.
+	 */
+	public Array<T> getRootItems() {
+		return rootItems;
+	}
+	
+	public void setExpanded(T item, boolean expanded) {
+		if (expanded ? this.expanded.add(item) : this.expanded.remove(item))
+			rebuild();
+	}
+	
+	public boolean isExpanded(T item) {
+		return expanded.contains(item);
+	}
+	
+	public void collapseAll() {
+		if (expanded.size == 0)
+			return;
+		expanded.clear();
+		rebuild();
+	}
+	
+	/**
+	 * @return the depth of the item at the index of the list, 0 for root items.
+	 */
+	public int getDepth(int index) {
+		return depths.get(index);
+	}
+	
+	/**
+	 * @return the index of the parent of the item at the index of the list, or -1 for root items.
+	 */
+	public int getParentIndex(int index) {
+		final int depth = depths.get(index);
+		for (int i = index - 1; i >= 0; i--)
+			if (depths.get(i) < depth)
+				return i;
+		return -1;
+	}
+	
+	protected float getIndent(int index) {
+		return index < depths.size ? depths.get(index) * indentSpacing : 0;
+	}
+	
+	public void setIndentSpacing(float indentSpacing) {
+		this.indentSpacing = indentSpacing;
+		invalidateRows();
+	}
+	
+	public float getIndentSpacing() {
+		return indentSpacing;
+	}
+	
+}
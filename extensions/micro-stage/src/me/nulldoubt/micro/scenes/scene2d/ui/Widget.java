@@ -64,6 +64,7 @@ public class Widget extends Actor implements Layout {
 			return;
 		needsLayout = false;
 		layout();
+		WidgetGroup.laidOut(this);
 	}
 	
 	public boolean needsLayout() {
@@ -72,15 +73,14 @@ public class Widget extends Actor implements Layout {
 	
 	public void invalidate() {
 		needsLayout = true;
+		invalidateCache();
 	}
 	
 	public void invalidateHierarchy() {
 		if (!layoutEnabled)
 			return;
 		invalidate();
-		Group parent = getParent();
-		if (parent instanceof Layout)
-			((Layout) parent).invalidateHierarchy();
+		WidgetGroup.invalidateParent(this);
 	}
 	
 	protected void sizeChanged() {
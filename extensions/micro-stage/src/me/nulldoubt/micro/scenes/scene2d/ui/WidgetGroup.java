@@ -77,6 +77,7 @@ public class WidgetGroup extends Group implements Layout {
 			return;
 		needsLayout = false;
 		layout();
+		laidOut(this);
 		
 		if (needsLayout) {
 			if (parent instanceof WidgetGroup)
@@ -96,13 +97,41 @@ public class WidgetGroup extends Group implements Layout {
 	
 	public void invalidate() {
 		needsLayout = true;
+		invalidateCache();
 	}
 	
 	public void invalidateHierarchy() {
 		invalidate();
-		Group parent = getParent();
-		if (parent instanceof Layout)
+		invalidateParent(this);
+	}
+	
+	/**
+	 * Called when the layout of a child invalidated its hierarchy. By default invalidates the hierarchy of this group.
+	 */
+	protected void childInvalidated(Actor child) {
+		invalidateHierarchy();
+	}
+	
+	/**
+	 * Invalidates the hierarchy of the parent of a layout, or queues the layout on its stage when the parent is not a layout.
+	 */
+	static void invalidateParent(Actor layout) {
+		Group parent = layout.getParent();
+		if (parent instanceof WidgetGroup group)
+			group.childInvalidated(layout);
+		else if (parent instanceof Layout)
 			((Layout) parent).invalidateHierarchy();
+		else {
+			Stage stage = layout.getStage();
+			if (stage != null)
+				stage.queueLayout(layout);
+		}
+	}
+	
+	static void laidOut(Actor layout) {
+		Stage stage = layout.getStage();
+		if (stage != null)
+			stage.getLayoutStats().laidOut++;
 	}
 	
 	protected void childrenChanged() {
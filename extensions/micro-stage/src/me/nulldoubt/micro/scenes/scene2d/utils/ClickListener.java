@@ -85,13 +85,17 @@ public class ClickListener extends InputListener {
 	}
 	
 	public void enter(InputEvent event, float x, float y, int pointer, Actor fromActor) {
-		if (pointer == -1 && !cancelled)
+		if (pointer == -1 && !cancelled && !over) {
 			over = true;
+			event.getListenerActor().invalidateCache();
+		}
 	}
 	
 	public void exit(InputEvent event, float x, float y, int pointer, Actor toActor) {
-		if (pointer == -1 && !cancelled)
+		if (pointer == -1 && !cancelled && over) {
 			over = false;
+			event.getListenerActor().invalidateCache();
+		}
 	}
 	
 	public void cancel() {
@@ -0,0 +1,27 @@
+package me.nulldoubt.micro.scenes.scene2d.utils;
+
+import me.nulldoubt.micro.scenes.scene2d.Stage;
+
+/**
+ * Counts the layout work of a {@link Stage} since its last {@link Stage#validateLayouts() layout pass} began.
+ */
+public class LayoutStats {
+	
+	/** The number of queued layout roots validated by the pass. */
+	public int roots;
+	/** The number of widgets whose {@link Layout#layout()} ran. */
+	public int laidOut;
+	/** The number of table cells whose min, pref and max sizes were computed rather than reused. */
+	public int measured;
+	
+	public void reset() {
+		roots = 0;
+		laidOut = 0;
+		measured = 0;
+	}
+	
+	public String toString() {
+		return "roots: " + roots + ", laid out: " + laidOut + ", measured: " + measured;
+	}
+	
+}
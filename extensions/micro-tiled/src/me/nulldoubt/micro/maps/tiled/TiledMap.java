@@ -8,6 +8,7 @@ public class TiledMap extends Map {
 	
 	private final TiledMapTileSets tileSets;
 	private Array<? extends Disposable> ownedResources;
+	private TiledMapStreamer streamer;
 	
 	public TiledMapTileSets getTileSets() {
 		return tileSets;
@@ -17,12 +18,28 @@ public class TiledMap extends Map {
 		tileSets = new TiledMapTileSets();
 	}
 	
+	/**
+	 * @return the streamer of the chunks of an infinite map loaded with {@code Parameters.streamChunks}, or null.
+	 */
+	public TiledMapStreamer getStreamer() {
+		return streamer;
+	}
+	
+	/**
+	 * @param streamer Disposed with the map, may be null.
+	 */
+	public void setStreamer(TiledMapStreamer streamer) {
+		this.streamer = streamer;
+	}
+	
 	public void setOwnedResources(Array<? extends Disposable> resources) {
 		this.ownedResources = resources;
 	}
 	
 	@Override
 	public void dispose() {
+		if (streamer != null)
+			streamer.dispose();
 		if (ownedResources != null)
 			for (Disposable resource : ownedResources)
 				resource.dispose();
@@ -0,0 +1,485 @@
+package me.nulldoubt.micro.maps.tiled;
+
+import me.nulldoubt.micro.exceptions.MicroRuntimeException;
+import me.nulldoubt.micro.math.shapes.Rectangle;
+import me.nulldoubt.micro.utils.Disposable;
+import me.nulldoubt.micro.utils.async.AsyncExecutor;
+import me.nulldoubt.micro.utils.async.AsyncResult;
+import me.nulldoubt.micro.utils.base64.Base64;
+import me.nulldoubt.micro.utils.collections.Array;
+import me.nulldoubt.micro.utils.collections.IntArray;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+
+import static me.nulldoubt.micro.maps.tiled.TiledMapTileLayer.CHUNK_SHIFT;
+import static me.nulldoubt.micro.maps.tiled.TiledMapTileLayer.CHUNK_SIZE;
+
+/**
+ * Streams the tiles of the chunked layers of an infinite map. The encoded chunks of the map are kept, and the chunks of the
+ * layers near the view are decoded on a background thread. Once more than {@link #setMaxResidentChunks(int) the maximum} are
+ * resident, the chunks used least recently are freed. Installing and freeing chunks changes the
+ * {@link TiledMapTileLayer#getVersion(int, int) versions} of the layer, so renderers caching the tiles rebuild them.
+ * <p>
+ * Chunks edited with {@link TiledMapTileLayer#setGid(int, int, int) setGid}, {@link TiledMapTileLayer#setCell(int, int,
+ * TiledMapTileLayer.Cell) setCell} or {@link TiledMapTileLayer#setChunk(int, int, int[]) setChunk} are no longer streamed: they
+ * are kept resident and do not count towards the maximum. A chunk edited before it was streamed in keeps only the edits.
+ * <p>
+ * Created by the map loaders when {@code Parameters.streamChunks} is set, see {@link TiledMap#getStreamer()}. The view is
+ * expected in the units of an orthogonal renderer.
+ */
+public class TiledMapStreamer implements Disposable {
+	
+	private static final byte UNLOADED = 0, PENDING = 1, RESIDENT = 2, EDITED = 3;
+	
+	private final AsyncExecutor executor;
+	private final Array<StreamedLayer> layers = new Array<>();
+	private final Array<PendingChunk> pending = new Array<>(false, 16);
+	private int maxResidentChunks = 256;
+	private int preloadChunks = 1;
+	private int residentChunks;
+	private int frame;
+	
+	public TiledMapStreamer() {
+		executor = new AsyncExecutor(1, "TiledMapStreamer");
+	}
+	
+	/**
+	 * Streams the chunks of the layer, which must be chunked.
+	 *
+	 * @param chunks The encoded chunks, positioned from the top left of the layer like in the map file.
+	 * @param flipY  Whether the rows of the layer are flipped, like the layers of a loader with {@code flipY}.
+	 */
+	public void addLayer(TiledMapTileLayer layer, Array<Chunk> chunks, boolean flipY) {
+		if (!layer.isChunked())
+			throw new IllegalArgumentException("The layer must be chunked.");
+		layers.add(new StreamedLayer(layer, chunks, flipY));
+	}
+	
+	/**
+	 * Installs the chunks decoded since the last update, requests the chunks near the view and frees the least recently used
+	 * chunks not in view. Called once per frame, eg before rendering.
+	 *
+	 * @param viewBounds The view of the renderer, see {@code BatchTiledMapRenderer#getViewBounds()}.
+	 */
+	public void update(Rectangle viewBounds, float unitScale) {
+		frame++;
+		
+		for (int i = pending.size - 1; i >= 0; i--) {
+			final PendingChunk chunk = pending.get(i);
+			if (!chunk.result.isDone())
+				continue;
+			pending.removeIndex(i);
+			final StreamedLayer layer = chunk.layer;
+			final int index = chunk.index;
+			if (layer.states[index] != PENDING || layer.edited(index))
+				continue;
+			layer.layer.setChunk(index % layer.chunksX, index / layer.chunksX, chunk.result.get());
+			layer.states[index] = RESIDENT;
+			layer.stream(index);
+			layer.resident.add(index);
+			residentChunks++;
+		}
+		
+		for (int i = 0, n = layers.size; i < n; i++)
+			request(layers.get(i), viewBounds, unitScale);
+		
+		while (residentChunks > maxResidentChunks)
+			if (!evictLeastRecentlyUsed())
+				break;
+	}
+	
+	private void request(StreamedLayer streamed, Rectangle viewBounds, float unitScale) {
+		final TiledMapTileLayer layer = streamed.layer;
+		final float layerTileWidth = layer.tileWidth * unitScale;
+		final float layerTileHeight = layer.tileHeight * unitScale;
+		final float layerOffsetX = layer.getRenderOffsetX() * unitScale - viewBounds.x * (layer.parallaxX - 1);
+		final float layerOffsetY = -layer.getRenderOffsetY() * unitScale - viewBounds.y * (layer.parallaxY - 1);
+		
+		final int chunkX1 = Math.max(0, ((int) Math.floor((viewBounds.x - layerOffsetX) / layerTileWidth) >> CHUNK_SHIFT) - preloadChunks);
+		final int chunkX2 = Math.min(streamed.chunksX - 1,
+				((int) Math.floor((viewBounds.x + viewBounds.width - layerOffsetX) / layerTileWidth) >> CHUNK_SHIFT) + preloadChunks);
+		final int chunkY1 = Math.max(0, ((int) Math.floor((viewBounds.y - layerOffsetY) / layerTileHeight) >> CHUNK_SHIFT) - preloadChunks);
+		final int chunkY2 = Math.min(streamed.chunksY - 1,
+				((int) Math.floor((viewBounds.y + viewBounds.height - layerOffsetY) / layerTileHeight) >> CHUNK_SHIFT) + preloadChunks);
+		
+		for (int chunkY = chunkY1; chunkY <= chunkY2; chunkY++) {
+			for (int chunkX = chunkX1; chunkX <= chunkX2; chunkX++) {
+				final int index = chunkY * streamed.chunksX + chunkX;
+				final Array<Chunk> sources = streamed.sources[index];
+				if (sources == null)
+					continue;
+				streamed.lastUsed[index] = frame;
+				if (streamed.states[index] != UNLOADED || streamed.edited(index))
+					continue;
+				streamed.states[index] = PENDING;
+				final int x = chunkX, y = chunkY;
+				pending.add(new PendingChunk(streamed, index, executor.submit(() -> streamed.decode(sources, x, y))));
+			}
+		}
+	}
+	
+	/**
+	 * Stops streaming the edited chunks, then frees the least recently used chunk if there are still too many.
+	 *
+	 * @return false if every resident chunk is in view.
+	 */
+	private boolean evictLeastRecentlyUsed() {
+		for (int i = 0, n = layers.size; i < n; i++) {
+			final StreamedLayer layer = layers.get(i);
+			for (int ii = layer.resident.size - 1; ii >= 0; ii--) {
+				if (layer.edited(layer.resident.get(ii))) {
+					layer.resident.removeIndex(ii);
+					residentChunks--;
+				}
+			}
+		}
+		if (residentChunks <= maxResidentChunks)
+			return true;
+		
+		StreamedLayer oldestLayer = null;
+		int oldestIndex = -1, oldest = frame;
+		for (int i = 0, n = layers.size; i < n; i++) {
+			final StreamedLayer layer = layers.get(i);
+			final int[] resident = layer.resident.items;
+			for (int ii = 0, nn = layer.resident.size; ii < nn; ii++) {
+				final int used = layer.lastUsed[resident[ii]];
+				if (used < oldest) {
+					oldest = used;
+					oldestLayer = layer;
+					oldestIndex = ii;
+				}
+			}
+		}
+		if (oldestLayer == null)
+			return false;
+		final int index = oldestLayer.resident.removeIndex(oldestIndex);
+		oldestLayer.layer.clearChunk(index % oldestLayer.chunksX, index / oldestLayer.chunksX);
+		oldestLayer.states[index] = UNLOADED;
+		oldestLayer.stream(index);
+		residentChunks--;
+		return true;
+	}
+	
+	/** Frees every resident chunk which was not edited and forgets the chunks being decoded. */
+	public void clear() {
+		for (int i = 0, n = layers.size; i < n; i++) {
+			final StreamedLayer layer = layers.get(i);
+			for (int ii = 0, nn = layer.resident.size; ii < nn; ii++) {
+				final int index = layer.resident.get(ii);
+				if (layer.edited(index))
+					continue;
+				layer.layer.clearChunk(index % layer.chunksX, index / layer.chunksX);
+				layer.stream(index);
+			}
+			layer.resident.clear();
+			final byte[] states = layer.states;
+			for (int ii = 0; ii < states.length; ii++)
+				if (states[ii] != EDITED)
+					states[ii] = UNLOADED;
+		}
+		pending.clear();
+		residentChunks = 0;
+	}
+	
+	/**
+	 * Sets the number of chunks of all layers kept resident. Chunks in view are never freed, so more may be resident while the
+	 * view covers more chunks.
+	 */
+	public void setMaxResidentChunks(int maxResidentChunks) {
+		if (maxResidentChunks < 0)
+			throw new IllegalArgumentException("maxResidentChunks must be >= 0: " + maxResidentChunks);
+		this.maxResidentChunks = maxResidentChunks;
+	}
+	
+	public int getMaxResidentChunks() {
+		return maxResidentChunks;
+	}
+	
+	/**
+	 * Sets the number of chunks around the view which are decoded before they come into view, 1 by default.
+	 */
+	public void setPreloadChunks(int preloadChunks) {
+		if (preloadChunks < 0)
+			throw new IllegalArgumentException("preloadChunks must be >= 0: " + preloadChunks);
+		this.preloadChunks = preloadChunks;
+	}
+	
+	public int getPreloadChunks() {
+		return preloadChunks;
+	}
+	
+	/** @return the number of resident chunks of all layers. */
+	public int getResidentChunks() {
+		return residentChunks;
+	}
+	
+	/** @return the number of chunks being decoded. */
+	public int getPendingChunks() {
+		return pending.size;
+	}
+	
+	@Override
+	public void dispose() {
+		executor.dispose();
+	}
+	
+	/**
+	 * A chunk of a layer of an infinite map as stored in the map file, decoded when needed.
+	 */
+	public static class Chunk {
+		
+		/** The position of the chunk from the top left of the layer and its size, in tiles. */
+		public final int x, y, width, height;
+		private final String data, encoding, compression;
+		private final int[] ids;
+		private final IntBuffer buffer;
+		
+		/**
+		 * @param encoding    "csv" or "base64".
+		 * @param compression "gzip", "zlib" or null.
+		 */
+		public Chunk(int x, int y, int width, int height, String data, String encoding, String compression) {
+			this.x = x;
+			this.y = y;
+			this.width = width;
+			this.height = height;
+			this.data = data;
+			this.encoding = encoding;
+			this.compression = compression;
+			ids = null;
+			buffer = null;
+		}
+		
+		/**
+		 * @param ids The decoded global tile ids, row by row from the top left.
+		 */
+		public Chunk(int x, int y, int width, int height, int[] ids) {
+			this.x = x;
+			this.y = y;
+			this.width = width;
+			this.height = height;
+			data = encoding = compression = null;
+			this.ids = ids;
+			buffer = null;
+		}
+		
+		/**
+		 * @param buffer The global tile ids, row by row from the top left, read each time the chunk is decoded. Eg a view of a
+		 *               memory mapped file.
+		 */
+		public Chunk(int x, int y, int width, int height, IntBuffer buffer) {
+			this.x = x;
+			this.y = y;
+			this.width = width;
+			this.height = height;
+			data = encoding = compression = null;
+			ids = null;
+			this.buffer = buffer;
+		}
+		
+		/**
+		 * @return the global tile ids, row by row from the top left.
+		 */
+		public int[] decode() {
+			if (ids != null)
+				return ids;
+			final int[] ids = new int[width * height];
+			if (buffer != null) {
+				buffer.get(0, ids);
+				return ids;
+			}
+			decode(data.trim(), encoding, compression, ids);
+			return ids;
+		}
+		
+		/**
+		 * Decodes Tiled tile data into the array in one pass: base64 data is inflated into a single buffer and read as little endian
+		 * ints in bulk, csv data is parsed without splitting it. Ids missing from csv data are left as is.
+		 *
+		 * @param encoding    "csv", "base64", or null or empty for csv.
+		 * @param compression "gzip", "zlib", or null or empty for none.
+		 * @param ids         Receives the global tile ids, row by row from the top left.
+		 */
+		public static void decode(String data, String encoding, String compression, int[] ids) {
+			if (encoding == null || encoding.isEmpty() || encoding.equals("csv")) {
+				decodeCsv(data, ids);
+				return;
+			}
+			if (!encoding.equals("base64"))
+				throw new MicroRuntimeException("Unrecognised encoding (" + encoding + ") for tile data");
+			final byte[] bytes = Base64.decode(data);
+			final int length = ids.length << 2;
+			final byte[] inflated;
+			if (compression == null || compression.isEmpty())
+				inflated = bytes;
+			else if (compression.equals("zlib"))
+				inflated = inflate(bytes, length);
+			else if (compression.equals("gzip")) {
+				inflated = new byte[length];
+				try (GZIPInputStream is = new GZIPInputStream(new ByteArrayInputStream(bytes), Math.max(512, bytes.length))) {
+					if (is.readNBytes(inflated, 0, length) != length)
+						throw new MicroRuntimeException("Error reading tile data: Premature end of tile data");
+				} catch (IOException e) {
+					throw new MicroRuntimeException("Error reading tile data", e);
+				}
+			} else
+				throw new MicroRuntimeException("Unrecognised compression (" + compression + ") for tile data");
+			if (inflated.length < length)
+				throw new MicroRuntimeException("Error reading tile data: Premature end of tile data");
+			ByteBuffer.wrap(inflated, 0, length).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().get(ids);
+		}
+		
+		private static byte[] inflate(byte[] bytes, int length) {
+			final Inflater inflater = new Inflater();
+			try {
+				inflater.setInput(bytes);
+				final byte[] inflated = new byte[length];
+				int offset = 0;
+				while (offset < length) {
+					final int count = inflater.inflate(inflated, offset, length - offset);
+					if (count == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary()))
+						throw new MicroRuntimeException("Error reading tile data: Premature end of tile data");
+					offset += count;
+				}
+				return inflated;
+			} catch (DataFormatException e) {
+				throw new MicroRuntimeException("Error reading tile data", e);
+			} finally {
+				inflater.end();
+			}
+		}
+		
+		/** Parses comma separated unsigned ints, ignoring whitespace. */
+		private static void decodeCsv(String data, int[] ids) {
+			int index = 0;
+			long value = 0;
+			boolean digits = false;
+			for (int i = 0, n = data.length(); i < n && index < ids.length; i++) {
+				final char c = data.charAt(i);
+				if (c >= '0' && c <= '9') {
+					value = value * 10 + (c - '0');
+					digits = true;
+				} else if (c == ',') {
+					ids[index++] = (int) value;
+					value = 0;
+					digits = false;
+				} else if (!Character.isWhitespace(c))
+					throw new MicroRuntimeException("Invalid character in csv tile data: " + c);
+			}
+			if (digits && index < ids.length)
+				ids[index] = (int) value;
+		}
+		
+	}
+	
+	private static class StreamedLayer {
+		
+		final TiledMapTileLayer layer;
+		final boolean flipY;
+		final int chunksX, chunksY;
+		/** The encoded chunks overlapping each chunk of the layer, null for chunks without tiles. */
+		final Array<Chunk>[] sources;
+		final byte[] states;
+		final int[] lastUsed;
+		/** The {@link TiledMapTileLayer#getVersion(int, int) version} of each chunk after the streamer last changed it. */
+		final int[] versions;
+		final IntArray resident = new IntArray();
+		
+		@SuppressWarnings("unchecked")
+		StreamedLayer(TiledMapTileLayer layer, Array<Chunk> chunks, boolean flipY) {
+			this.layer = layer;
+			this.flipY = flipY;
+			chunksX = layer.getChunksX();
+			chunksY = layer.getChunksY();
+			final int count = chunksX * chunksY;
+			sources = (Array<Chunk>[]) new Array[count];
+			states = new byte[count];
+			lastUsed = new int[count];
+			versions = new int[count];
+			for (int chunkY = 0; chunkY < chunksY; chunkY++)
+				for (int chunkX = 0; chunkX < chunksX; chunkX++)
+					versions[chunkY * chunksX + chunkX] = layer.getVersion(chunkX, chunkY);
+			
+			for (int i = 0, n = chunks.size; i < n; i++) {
+				final Chunk chunk = chunks.get(i);
+				if (chunk.width <= 0 || chunk.height <= 0)
+					continue;
+				final int top = row(chunk.y), bottom = row(chunk.y + chunk.height - 1);
+				final int chunkY1 = Math.max(0, Math.min(top, bottom) >> CHUNK_SHIFT);
+				final int chunkY2 = Math.min(chunksY - 1, Math.max(top, bottom) >> CHUNK_SHIFT);
+				final int chunkX1 = Math.max(0, chunk.x >> CHUNK_SHIFT);
+				final int chunkX2 = Math.min(chunksX - 1, (chunk.x + chunk.width - 1) >> CHUNK_SHIFT);
+				for (int chunkY = chunkY1; chunkY <= chunkY2; chunkY++) {
+					for (int chunkX = chunkX1; chunkX <= chunkX2; chunkX++) {
+						final int index = chunkY * chunksX + chunkX;
+						if (sources[index] == null)
+							sources[index] = new Array<>(false, 4, Chunk.class);
+						sources[index].add(chunk);
+					}
+				}
+			}
+		}
+		
+		/** Records the version of the chunk after the streamer installed or freed it. */
+		void stream(int index) {
+			versions[index] = layer.getVersion(index % chunksX, index / chunksX);
+		}
+		
+		/**
+		 * @return true if the chunk was changed by anything but the streamer, which then leaves it alone.
+		 */
+		boolean edited(int index) {
+			if (states[index] == EDITED)
+				return true;
+			if (layer.getVersion(index % chunksX, index / chunksX) == versions[index])
+				return false;
+			states[index] = EDITED;
+			return true;
+		}
+		
+		private int row(int y) {
+			return flipY ? layer.height - 1 - y : y;
+		}
+		
+		/** Decodes the encoded chunks overlapping the chunk of the layer. Called on the streaming thread. */
+		int[] decode(Array<Chunk> sources, int chunkX, int chunkY) {
+			final int[] ids = new int[CHUNK_SIZE * CHUNK_SIZE];
+			final int left = chunkX << CHUNK_SHIFT, bottom = chunkY << CHUNK_SHIFT;
+			for (int i = 0, n = sources.size; i < n; i++) {
+				final Chunk chunk = sources.get(i);
+				final int[] chunkIds = chunk.decode();
+				for (int row = 0; row < chunk.height; row++) {
+					final int y = row(chunk.y + row) - bottom;
+					if (y < 0 || y >= CHUNK_SIZE)
+						continue;
+					for (int col = Math.max(0, left - chunk.x), end = Math.min(chunk.width, left + CHUNK_SIZE - chunk.x); col < end; col++)
+						ids[(y << CHUNK_SHIFT) + chunk.x + col - left] = chunkIds[row * chunk.width + col];
+				}
+			}
+			return ids;
+		}
+		
+	}
+	
+	private static class PendingChunk {
+		
+		final StreamedLayer layer;
+		final int index;
+		final AsyncResult<int[]> result;
+		
+		PendingChunk(StreamedLayer layer, int index, AsyncResult<int[]> result) {
+			this.layer = layer;
+			this.index = index;
+			this.result = result;
+		}
+		
+	}
+	
+}
@@ -2,8 +2,25 @@ package me.nulldoubt.micro.maps.tiled;
 
 import me.nulldoubt.micro.maps.MapLayer;
 
+/**
+ * A layer of tiles, stored either as {@link Cell} objects or, for large maps, chunked as ints of a tile id plus the flip bits
+ * Tiled uses for global tile ids, see {@link #TiledMapTileLayer(int, int, int, int, TiledMapTileSets)}.
+ */
 public class TiledMapTileLayer extends MapLayer {
 	
+	public static final int FLIP_HORIZONTALLY = 0x80000000;
+	public static final int FLIP_VERTICALLY = 0x40000000;
+	public static final int FLIP_DIAGONALLY = 0x20000000;
+	/** The bits of a global tile id which are not part of the tile id. */
+	public static final int FLIP_MASK = 0xE0000000;
+	
+	/** The tiles along each side of a chunk of a chunked layer. */
+	public static final int CHUNK_SIZE = 32;
+	public static final int CHUNK_SHIFT = 5;
+	
+	/** The flip bits for each combination of the flips and rotation of a cell, indexed by {@link #cellIndex(Cell)}. */
+	private static final int[] cellFlags = new int[16];
+	
 	public final int width;
 	public final int height;
 	
@@ -12,6 +29,16 @@ public class TiledMapTileLayer extends MapLayer {
 	
 	private final Cell[][] cells;
 	
+	private final TiledMapTileSets tileSets;
+	private final int chunksX, chunksY;
+	/** The global tile ids of each chunk, row by row, null for chunks without tiles. */
+	private final int[][] chunks;
+	private final Cell view;
+	/** The {@link #getVersion() version} of the last change of each chunk, for chunked and other layers alike. */
+	private final int[] versions;
+	private final int versionsX, versionsY;
+	private int version;
+	
 	public TiledMapTileLayer(int width, int height, int tileWidth, int tileHeight) {
 		super();
 		this.width = width;
@@ -19,22 +46,262 @@ public class TiledMapTileLayer extends MapLayer {
 		this.tileWidth = tileWidth;
 		this.tileHeight = tileHeight;
 		this.cells = new Cell[width][height];
+		tileSets = null;
+		chunksX = chunksY = 0;
+		chunks = null;
+		view = null;
+		versionsX = (width + CHUNK_SIZE - 1) >> CHUNK_SHIFT;
+		versionsY = (height + CHUNK_SIZE - 1) >> CHUNK_SHIFT;
+		versions = new int[versionsX * versionsY];
+	}
+	
+	/**
+	 * Creates a chunked layer, which stores each cell as a global tile id in chunks of {@link #CHUNK_SIZE} squared tiles. Chunks
+	 * are only allocated once a tile is set in them, so a large sparse layer takes a fraction of the memory of {@link Cell}
+	 * objects.
+	 * <p>
+	 * {@link #getCell(int, int)} returns a view of the cell which is only valid until the next call, renderers should read the
+	 * {@link #getChunk(int, int) chunks} directly.
+	 *
+	 * @param tileSets Resolves the tile ids of the cells.
+	 */
+	public TiledMapTileLayer(int width, int height, int tileWidth, int tileHeight, TiledMapTileSets tileSets) {
+		super();
+		if (tileSets == null)
+			throw new IllegalArgumentException("tileSets cannot be null.");
+		this.width = width;
+		this.height = height;
+		this.tileWidth = tileWidth;
+		this.tileHeight = tileHeight;
+		this.cells = null;
+		this.tileSets = tileSets;
+		chunksX = (width + CHUNK_SIZE - 1) >> CHUNK_SHIFT;
+		chunksY = (height + CHUNK_SIZE - 1) >> CHUNK_SHIFT;
+		chunks = new int[chunksX * chunksY][];
+		view = new Cell();
+		versionsX = chunksX;
+		versionsY = chunksY;
+		versions = new int[chunksX * chunksY];
+	}
+	
+	public boolean isChunked() {
+		return chunks != null;
 	}
 	
+	/**
+	 * @return the cell, or null if it has no tile. For a chunked layer the cell is a view which is only valid until the next call.
+	 */
 	public Cell getCell(int x, int y) {
 		if (x < 0 || x >= width)
 			return null;
 		if (y < 0 || y >= height)
 			return null;
-		return cells[x][y];
+		if (chunks == null)
+			return cells[x][y];
+		final int gid = getGid(x, y);
+		if (gid == 0)
+			return null;
+		final TiledMapTile tile = tileSets.getTile(gid & ~FLIP_MASK);
+		if (tile == null)
+			return null;
+		return view.set(tile, gid);
 	}
 	
+	/**
+	 * Sets the cell. A chunked layer copies the tile id, flips and rotation of the cell.
+	 *
+	 * @param cell May be null.
+	 */
 	public void setCell(int x, int y, Cell cell) {
 		if (x < 0 || x >= width)
 			return;
 		if (y < 0 || y >= height)
 			return;
-		cells[x][y] = cell;
+		if (chunks == null) {
+			cells[x][y] = cell;
+			changed((y >> CHUNK_SHIFT) * versionsX + (x >> CHUNK_SHIFT));
+		} else
+			setGid(x, y, getGid(cell));
+	}
+	
+	/**
+	 * @return the global tile id for the tile, flips and rotation of the cell, 0 if it has no tile.
+	 */
+	public static int getGid(Cell cell) {
+		return cell == null || cell.tile == null ? 0 : cell.tile.getId() | cellFlags[cellIndex(cell)];
+	}
+	
+	/**
+	 * @return the global tile id of the cell of a chunked layer, 0 if it has no tile.
+	 */
+	public int getGid(int x, int y) {
+		if (chunks == null)
+			throw new IllegalStateException("The layer is not chunked.");
+		if (x < 0 || x >= width || y < 0 || y >= height)
+			return 0;
+		final int[] chunk = chunks[(y >> CHUNK_SHIFT) * chunksX + (x >> CHUNK_SHIFT)];
+		if (chunk == null)
+			return 0;
+		return chunk[((y & (CHUNK_SIZE - 1)) << CHUNK_SHIFT) + (x & (CHUNK_SIZE - 1))];
+	}
+	
+	/**
+	 * Sets the global tile id of the cell of a chunked layer, allocating its chunk if needed.
+	 *
+	 * @param gid A tile id plus {@link #FLIP_HORIZONTALLY}, {@link #FLIP_VERTICALLY} and {@link #FLIP_DIAGONALLY}, or 0 for no tile.
+	 */
+	public void setGid(int x, int y, int gid) {
+		if (chunks == null)
+			throw new IllegalStateException("The layer is not chunked.");
+		if (x < 0 || x >= width || y < 0 || y >= height)
+			return;
+		final int index = (y >> CHUNK_SHIFT) * chunksX + (x >> CHUNK_SHIFT);
+		int[] chunk = chunks[index];
+		if (chunk == null) {
+			if (gid == 0)
+				return;
+			chunk = chunks[index] = new int[CHUNK_SIZE * CHUNK_SIZE];
+		}
+		chunk[((y & (CHUNK_SIZE - 1)) << CHUNK_SHIFT) + (x & (CHUNK_SIZE - 1))] = gid;
+		changed(index);
+	}
+	
+	/**
+	 * @return the global tile ids of the chunk, row by row from the bottom left, or null if no tile was set in it. Cells of the
+	 *         chunk outside the layer are 0.
+	 */
+	public int[] getChunk(int chunkX, int chunkY) {
+		if (chunks == null)
+			throw new IllegalStateException("The layer is not chunked.");
+		if (chunkX < 0 || chunkX >= chunksX || chunkY < 0 || chunkY >= chunksY)
+			return null;
+		return chunks[chunkY * chunksX + chunkX];
+	}
+	
+	/**
+	 * Replaces the global tile ids of the chunk, eg with a chunk decoded by a {@link TiledMapStreamer}.
+	 *
+	 * @param ids {@link #CHUNK_SIZE} squared ids, row by row from the bottom left, or null to free the chunk. Not copied.
+	 */
+	public void setChunk(int chunkX, int chunkY, int[] ids) {
+		if (chunks == null)
+			throw new IllegalStateException("The layer is not chunked.");
+		if (ids != null && ids.length != CHUNK_SIZE * CHUNK_SIZE)
+			throw new IllegalArgumentException("ids must have " + CHUNK_SIZE * CHUNK_SIZE + " elements: " + ids.length);
+		if (chunkX >= 0 && chunkX < chunksX && chunkY >= 0 && chunkY < chunksY) {
+			chunks[chunkY * chunksX + chunkX] = ids;
+			changed(chunkY * chunksX + chunkX);
+		}
+	}
+	
+	/** Frees the chunk, removing its tiles. */
+	public void clearChunk(int chunkX, int chunkY) {
+		if (chunks == null)
+			throw new IllegalStateException("The layer is not chunked.");
+		if (chunkX >= 0 && chunkX < chunksX && chunkY >= 0 && chunkY < chunksY) {
+			chunks[chunkY * chunksX + chunkX] = null;
+			changed(chunkY * chunksX + chunkX);
+		}
+	}
+	
+	private void changed(int index) {
+		versions[index] = ++version;
+	}
+	
+	/**
+	 * @return a stamp which increases whenever a cell of the layer is set or a chunk is replaced or cleared, eg for renderers
+	 *         caching the tiles. Changes to the {@link Cell} objects themselves are not tracked.
+	 */
+	public int getVersion() {
+		return version;
+	}
+	
+	/**
+	 * @return the {@link #getVersion() version} of the last change in the {@link #CHUNK_SIZE} squared tiles of the chunk, 0 if
+	 *         nothing changed. Also kept per chunk sized area for layers which are not chunked.
+	 */
+	public int getVersion(int chunkX, int chunkY) {
+		if (chunkX < 0 || chunkX >= versionsX || chunkY < 0 || chunkY >= versionsY)
+			return 0;
+		return versions[chunkY * versionsX + chunkX];
+	}
+	
+	public int getChunksX() {
+		return chunksX;
+	}
+	
+	public int getChunksY() {
+		return chunksY;
+	}
+	
+	/**
+	 * @return the tile sets resolving the tile ids of a chunked layer, null if the layer is not chunked.
+	 */
+	public TiledMapTileSets getTileSets() {
+		return tileSets;
+	}
+	
+	private static int cellIndex(Cell cell) {
+		return (cell.flipHorizontally ? 8 : 0) | (cell.flipVertically ? 4 : 0) | (cell.rotation & 3);
+	}
+	
+	static {
+		// Finds the flip bits showing the tile the same way as each combination of flips and rotation.
+		final int[] orientations = new int[8];
+		final Cell cell = new Cell();
+		for (int flags = 0; flags < 8; flags++) {
+			cell.set(null, flags << 29);
+			orientations[flags] = orientation(cell);
+		}
+		for (int index = 0; index < 16; index++) {
+			cell.flipHorizontally = (index & 8) != 0;
+			cell.flipVertically = (index & 4) != 0;
+			cell.rotation = index & 3;
+			final int orientation = orientation(cell);
+			for (int flags = 0; flags < 8; flags++) {
+				if (orientations[flags] == orientation) {
+					cellFlags[index] = flags << 29;
+					break;
+				}
+			}
+		}
+	}
+	
+	/**
+	 * @return the corners of the texture region at the corners of the cell, in the order the renderers flip and rotate them.
+	 */
+	private static int orientation(Cell cell) {
+		final int[] u = {0, 0, 1, 1}, v = {0, 1, 1, 0};
+		if (cell.flipHorizontally) {
+			swap(u, 0, 2);
+			swap(u, 1, 3);
+		}
+		if (cell.flipVertically) {
+			swap(v, 0, 2);
+			swap(v, 1, 3);
+		}
+		for (int i = 0; i < cell.rotation; i++) {
+			rotate(u);
+			rotate(v);
+		}
+		int orientation = 0;
+		for (int i = 0; i < 4; i++)
+			orientation |= (u[i] << i) | (v[i] << (i + 4));
+		return orientation;
+	}
+	
+	private static void swap(int[] values, int a, int b) {
+		final int temp = values[a];
+		values[a] = values[b];
+		values[b] = temp;
+	}
+	
+	private static void rotate(int[] values) {
+		final int first = values[0];
+		values[0] = values[1];
+		values[1] = values[2];
+		values[2] = values[3];
+		values[3] = first;
 	}
 	
 	public static class Cell {
@@ -49,6 +316,38 @@ public class TiledMapTileLayer extends MapLayer {
 		public static final int ROTATE_180 = 2;
 		public static final int ROTATE_270 = 3;
 		
+		/**
+		 * Sets the tile and the flips and rotation for the flip bits of a global tile id, the way Tiled shows the tile.
+		 *
+		 * @return this cell.
+		 */
+		public Cell set(TiledMapTile tile, int gid) {
+			this.tile = tile;
+			final boolean horizontally = (gid & FLIP_HORIZONTALLY) != 0, vertically = (gid & FLIP_VERTICALLY) != 0;
+			if ((gid & FLIP_DIAGONALLY) != 0) {
+				if (horizontally && vertically) {
+					flipHorizontally = true;
+					flipVertically = false;
+					rotation = ROTATE_270;
+				} else if (horizontally) {
+					flipHorizontally = flipVertically = false;
+					rotation = ROTATE_270;
+				} else if (vertically) {
+					flipHorizontally = flipVertically = false;
+					rotation = ROTATE_90;
+				} else {
+					flipHorizontally = false;
+					flipVertically = true;
+					rotation = ROTATE_270;
+				}
+			} else {
+				flipHorizontally = horizontally;
+				flipVertically = vertically;
+				rotation = ROTATE_0;
+			}
+			return this;
+		}
+		
 	}
 	
 }
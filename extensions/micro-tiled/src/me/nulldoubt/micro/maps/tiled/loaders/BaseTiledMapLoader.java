@@ -16,6 +16,7 @@ import me.nulldoubt.micro.maps.tiled.TiledMap;
 import me.nulldoubt.micro.maps.tiled.TiledMapTile;
 import me.nulldoubt.micro.maps.tiled.TiledMapTileLayer;
 import me.nulldoubt.micro.maps.tiled.TiledMapTileSet;
+import me.nulldoubt.micro.maps.tiled.TiledMapStreamer;
 import me.nulldoubt.micro.maps.tiled.tiles.StaticTiledMapTile;
 import me.nulldoubt.micro.utils.collections.Array;
 import me.nulldoubt.micro.utils.collections.IntMap;
@@ -31,6 +32,22 @@ public abstract class BaseTiledMapLoader<P extends BaseTiledMapLoader.Parameters
 		public Texture.TextureFilter textureMagFilter = Texture.TextureFilter.Nearest;
 		public boolean convertObjectToTileSpace = false;
 		public boolean flipY = true;
+		/**
+		 * Whether to store tile layers in chunks of global tile ids rather than cells, see
+		 * {@link TiledMapTileLayer#TiledMapTileLayer(int, int, int, int, me.nulldoubt.micro.maps.tiled.TiledMapTileSets)}.
+		 */
+		public boolean chunkedLayers = false;
+		/**
+		 * Whether to keep the chunks of the tile layers of infinite maps encoded and decode them as they come into view, see
+		 * {@link TiledMap#getStreamer()}. Otherwise every chunk is decoded while loading.
+		 */
+		public boolean streamChunks = false;
+		/**
+		 * Whether the cells of tile layers which are not chunked are shared by every cell with the same tile, flips and rotation.
+		 * Saves a cell per tile on large layers, but shared cells must not be modified, set a new cell to change a single tile
+		 * instead. False by default, so every tile has its own cell.
+		 */
+		public boolean shareCells = false;
 		
 	}
 	
@@ -40,6 +57,9 @@ public abstract class BaseTiledMapLoader<P extends BaseTiledMapLoader.Parameters
 	protected static final int MASK_CLEAR = 0xE0000000;
 	protected boolean convertObjectToTileSpace;
 	protected boolean flipY = true;
+	protected boolean chunkedLayers;
+	protected boolean streamChunks;
+	protected boolean shareCells;
 	protected int mapTileWidth;
 	protected int mapTileHeight;
 	protected int mapWidthInPixels;
@@ -47,6 +67,10 @@ public abstract class BaseTiledMapLoader<P extends BaseTiledMapLoader.Parameters
 	protected TiledMap map;
 	protected IntMap<MapObject> idToObject;
 	protected Array<Runnable> runOnEndOfLoadTiled;
+	/** The tile of each tile id, built from the tile sets of the map by the first tile layer, see {@link #getCell(int)}. */
+	private TiledMapTile[] tiles;
+	/** The shared cells by tile id and flip bits. */
+	private TiledMapTileLayer.Cell[] cells;
 	
 	public BaseTiledMapLoader(final FileHandleResolver resolver) {
 		super(resolver);
@@ -98,6 +122,114 @@ public abstract class BaseTiledMapLoader<P extends BaseTiledMapLoader.Parameters
 		return cell;
 	}
 	
+	/**
+	 * Resolves a global tile id through a lookup table of the tile sets of the map, built once per map. With {@code shareCells}
+	 * every cell with the same tile, flips and rotation is the same instance.
+	 *
+	 * @return the cell, or null if the id has no tile.
+	 */
+	protected TiledMapTileLayer.Cell getCell(final int gid) {
+		if (tiles == null)
+			buildTileLookup();
+		final int id = gid & ~MASK_CLEAR;
+		if (id >= tiles.length)
+			return null;
+		final TiledMapTile tile = tiles[id];
+		if (tile == null)
+			return null;
+		final int index = shareCells ? (id << 3) | (gid >>> 29) : -1;
+		if (index != -1 && cells[index] != null)
+			return cells[index];
+		final TiledMapTileLayer.Cell cell = createTileLayerCell((gid & FLAG_FLIP_HORIZONTALLY) != 0, (gid & FLAG_FLIP_VERTICALLY) != 0,
+				(gid & FLAG_FLIP_DIAGONALLY) != 0);
+		cell.tile = tile;
+		if (index != -1)
+			cells[index] = cell;
+		return cell;
+	}
+	
+	private void buildTileLookup() {
+		int maxId = 0;
+		for (final TiledMapTileSet tileSet : map.getTileSets())
+			for (final TiledMapTile tile : tileSet)
+				maxId = Math.max(maxId, tile.getId());
+		tiles = new TiledMapTile[maxId + 1];
+		// Later tile sets take precedence, like TiledMapTileSets#getTile.
+		for (final TiledMapTileSet tileSet : map.getTileSets())
+			for (final TiledMapTile tile : tileSet)
+				tiles[tile.getId()] = tile;
+		if (shareCells)
+			cells = new TiledMapTileLayer.Cell[tiles.length << 3];
+	}
+	
+	/** Discards the tile lookup table and shared cells of the previous map. */
+	protected void clearTileLookup() {
+		tiles = null;
+		cells = null;
+	}
+	
+	/**
+	 * Sets the cells of a layer from the global tile ids of a layer of the map file, row by row from the top left.
+	 */
+	protected void setCells(final TiledMapTileLayer layer, final int[] ids) {
+		final int width = layer.width, height = layer.height;
+		if (layer.isChunked()) {
+			for (int y = 0; y < height; y++) {
+				final int row = flipY ? height - 1 - y : y;
+				for (int x = 0, i = y * width; x < width; x++, i++)
+					if (ids[i] != 0)
+						layer.setGid(x, row, ids[i]);
+			}
+			return;
+		}
+		for (int y = 0; y < height; y++) {
+			final int row = flipY ? height - 1 - y : y;
+			for (int x = 0, i = y * width; x < width; x++, i++) {
+				final int gid = ids[i];
+				if (gid == 0)
+					continue;
+				final TiledMapTileLayer.Cell cell = getCell(gid);
+				if (cell != null)
+					layer.setCell(x, row, cell);
+			}
+		}
+	}
+	
+	/**
+	 * Positions a layer of an infinite map, which only spans its chunks, at its tile position in the map by adding it to the
+	 * layer offset, so layers with different chunks line up with each other and with objects. The position, in tiles, is also
+	 * stored in the "startx" and "starty" properties.
+	 */
+	protected void setInfiniteLayerOrigin(final TiledMapTileLayer layer, final int startX, final int startY) {
+		layer.offsetX += startX * layer.tileWidth;
+		// offsets are down, and flipped rows put the bottom of the layer at the bottom of the map.
+		layer.offsetY += flipY ? (startY + layer.height) * layer.tileHeight - mapHeightInPixels : -startY * layer.tileHeight;
+		layer.invalidateRenderOffset();
+		layer.properties.put("startx", startX);
+		layer.properties.put("starty", startY);
+	}
+	
+	/**
+	 * Adds the tiles of the chunks of an infinite map to the chunked layer, or the chunks to the streamer of the map if streaming.
+	 */
+	protected void loadChunks(final TiledMap map, final TiledMapTileLayer layer, final Array<TiledMapStreamer.Chunk> chunks) {
+		if (streamChunks) {
+			if (map.getStreamer() == null)
+				map.setStreamer(new TiledMapStreamer());
+			map.getStreamer().addLayer(layer, chunks, flipY);
+			return;
+		}
+		final int height = layer.height;
+		for (final TiledMapStreamer.Chunk chunk : chunks) {
+			final int[] ids = chunk.decode();
+			for (int y = 0; y < chunk.height; y++) {
+				final int row = chunk.y + y;
+				for (int x = 0; x < chunk.width; x++)
+					layer.setGid(chunk.x + x, flipY ? height - 1 - row : row, ids[y * chunk.width + x]);
+			}
+		}
+	}
+	
 	protected static int unsignedByteToInt(final byte b) {
 		return b & 0xFF;
 	}
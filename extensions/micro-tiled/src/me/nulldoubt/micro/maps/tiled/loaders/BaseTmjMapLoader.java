@@ -9,7 +9,6 @@ import me.nulldoubt.micro.files.FileHandle;
 import me.nulldoubt.micro.graphics.g2d.TextureRegion;
 import me.nulldoubt.micro.maps.*;
 import me.nulldoubt.micro.maps.tiled.*;
-import me.nulldoubt.micro.maps.tiled.TiledMapTileLayer.Cell;
 import me.nulldoubt.micro.maps.tiled.objects.TiledMapTileMapObject;
 import me.nulldoubt.micro.maps.tiled.tiles.AnimatedTiledMapTile;
 import me.nulldoubt.micro.maps.tiled.tiles.StaticTiledMapTile;
@@ -19,21 +18,12 @@ import me.nulldoubt.micro.objects.EllipseMapObject;
 import me.nulldoubt.micro.objects.PolygonMapObject;
 import me.nulldoubt.micro.objects.PolylineMapObject;
 import me.nulldoubt.micro.objects.RectangleMapObject;
-import me.nulldoubt.micro.utils.Streams;
-import me.nulldoubt.micro.utils.base64.Base64;
 import me.nulldoubt.micro.utils.collections.Array;
 import me.nulldoubt.micro.utils.collections.IntArray;
 import me.nulldoubt.micro.utils.collections.IntMap;
 import me.nulldoubt.micro.utils.json.JsonReader;
 import me.nulldoubt.micro.utils.json.JsonValue;
 
-import java.io.BufferedInputStream;
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
-import java.io.InputStream;
-import java.util.zip.GZIPInputStream;
-import java.util.zip.InflaterInputStream;
-
 public abstract class BaseTmjMapLoader<P extends BaseTiledMapLoader.Parameters> extends BaseTiledMapLoader<P> {
 	
 	protected JsonReader json = new JsonReader();
@@ -65,10 +55,17 @@ public abstract class BaseTmjMapLoader<P extends BaseTiledMapLoader.Parameters>
 		if (parameter != null) {
 			this.convertObjectToTileSpace = parameter.convertObjectToTileSpace;
 			this.flipY = parameter.flipY;
+			this.chunkedLayers = parameter.chunkedLayers;
+			this.streamChunks = parameter.streamChunks;
+			this.shareCells = parameter.shareCells;
 		} else {
 			this.convertObjectToTileSpace = false;
 			this.flipY = true;
+			this.chunkedLayers = false;
+			this.streamChunks = false;
+			this.shareCells = false;
 		}
+		clearTileLookup();
 		String mapOrientation = root.getString("orientation", null);
 		int mapWidth = root.getInt("width", 0);
 		int mapHeight = root.getInt("height", 0);
@@ -140,6 +137,7 @@ public abstract class BaseTmjMapLoader<P extends BaseTiledMapLoader.Parameters>
 			runnable.run();
 		}
 		runOnEndOfLoadTiled = null;
+		clearTileLookup();
 		
 		return map;
 	}
@@ -192,31 +190,21 @@ public abstract class BaseTmjMapLoader<P extends BaseTiledMapLoader.Parameters>
 	protected void loadTileLayer(TiledMap map, MapLayers parentLayers, JsonValue element) {
 		
 		if (element.getString("type", "").equals("tilelayer")) {
+			if (element.has("chunks")) {
+				loadInfiniteTileLayer(map, parentLayers, element);
+				return;
+			}
 			int width = element.getInt("width", 0);
 			int height = element.getInt("height", 0);
 			int tileWidth = map.properties.get("tilewidth", Integer.class);
 			int tileHeight = map.properties.get("tileheight", Integer.class);
-			TiledMapTileLayer layer = new TiledMapTileLayer(width, height, tileWidth, tileHeight);
+			TiledMapTileSets tileSets = map.getTileSets();
+			TiledMapTileLayer layer = chunkedLayers ? new TiledMapTileLayer(width, height, tileWidth, tileHeight, tileSets)
+					: new TiledMapTileLayer(width, height, tileWidth, tileHeight);
 			
 			loadBasicLayerInfo(layer, element);
 			
-			int[] ids = getTileIds(element, width, height);
-			TiledMapTileSets tileSets = map.getTileSets();
-			for (int y = 0; y < height; y++) {
-				for (int x = 0; x < width; x++) {
-					int id = ids[y * width + x];
-					boolean flipHorizontally = ((id & FLAG_FLIP_HORIZONTALLY) != 0);
-					boolean flipVertically = ((id & FLAG_FLIP_VERTICALLY) != 0);
-					boolean flipDiagonally = ((id & FLAG_FLIP_DIAGONALLY) != 0);
-					
-					TiledMapTile tile = tileSets.getTile(id & ~MASK_CLEAR);
-					if (tile != null) {
-						Cell cell = createTileLayerCell(flipHorizontally, flipVertically, flipDiagonally);
-						cell.tile = tile;
-						layer.setCell(x, flipY ? height - 1 - y : y, cell);
-					}
-				}
-			}
+			setCells(layer, getTileIds(element, width, height));
 			JsonValue properties = element.get("properties");
 			if (properties != null) {
 				loadProperties(layer.properties, properties);
@@ -225,6 +213,50 @@ public abstract class BaseTmjMapLoader<P extends BaseTiledMapLoader.Parameters>
 		}
 	}
 	
+	/**
+	 * Loads a tile layer of an infinite map into a chunked layer spanning its chunks, see
+	 * {@link #setInfiniteLayerOrigin(TiledMapTileLayer, int, int)}.
+	 */
+	protected void loadInfiniteTileLayer(TiledMap map, MapLayers parentLayers, JsonValue element) {
+		String encoding = element.getString("encoding", null);
+		String compression = element.getString("compression", null);
+		
+		JsonValue chunkValues = element.get("chunks");
+		int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+		for (JsonValue chunk : chunkValues) {
+			int x = chunk.getInt("x", 0), y = chunk.getInt("y", 0);
+			minX = Math.min(minX, x);
+			minY = Math.min(minY, y);
+			maxX = Math.max(maxX, x + chunk.getInt("width", 0));
+			maxY = Math.max(maxY, y + chunk.getInt("height", 0));
+		}
+		if (minX > maxX) // no chunks
+			minX = minY = maxX = maxY = 0;
+		Array<TiledMapStreamer.Chunk> chunks = new Array<>(chunkValues.size);
+		for (JsonValue chunk : chunkValues) {
+			int x = chunk.getInt("x", 0) - minX, y = chunk.getInt("y", 0) - minY;
+			int width = chunk.getInt("width", 0), height = chunk.getInt("height", 0);
+			JsonValue data = chunk.get("data");
+			if (data.isString())
+				chunks.add(new TiledMapStreamer.Chunk(x, y, width, height, data.asString(), encoding, compression));
+			else
+				chunks.add(new TiledMapStreamer.Chunk(x, y, width, height, data.asIntArray()));
+		}
+		
+		int tileWidth = map.properties.get("tilewidth", Integer.class);
+		int tileHeight = map.properties.get("tileheight", Integer.class);
+		TiledMapTileLayer layer = new TiledMapTileLayer(Math.max(0, maxX - minX), Math.max(0, maxY - minY), tileWidth, tileHeight,
+				map.getTileSets());
+		loadBasicLayerInfo(layer, element);
+		setInfiniteLayerOrigin(layer, minX, minY);
+		loadChunks(map, layer, chunks);
+		
+		JsonValue properties = element.get("properties");
+		if (properties != null)
+			loadProperties(layer.properties, properties);
+		parentLayers.add(layer);
+	}
+	
 	protected void loadObjectGroup(TiledMap map, MapLayers parentLayers, JsonValue element) {
 		if (element.getString("type", "").equals("objectgroup")) {
 			MapLayer layer = new MapLayer();
@@ -423,49 +455,10 @@ public abstract class BaseTmjMapLoader<P extends BaseTiledMapLoader.Parameters>
 		JsonValue data = element.get("data");
 		String encoding = element.getString("encoding", null);
 		
-		int[] ids;
-		if (encoding == null || encoding.isEmpty() || encoding.equals("csv")) {
-			ids = data.asIntArray();
-		} else if (encoding.equals("base64")) {
-			InputStream is = null;
-			try {
-				String compression = element.getString("compression", null);
-				byte[] bytes = Base64.decode(data.asString());
-				if (compression == null || compression.isEmpty())
-					is = new ByteArrayInputStream(bytes);
-				else if (compression.equals("gzip"))
-					is = new BufferedInputStream(new GZIPInputStream(new ByteArrayInputStream(bytes), bytes.length));
-				else if (compression.equals("zlib"))
-					is = new BufferedInputStream(new InflaterInputStream(new ByteArrayInputStream(bytes)));
-				else
-					throw new MicroRuntimeException("Unrecognised compression (" + compression + ") for TMJ Layer Data");
-				
-				byte[] temp = new byte[4];
-				ids = new int[width * height];
-				for (int y = 0; y < height; y++) {
-					for (int x = 0; x < width; x++) {
-						int read = is.read(temp);
-						while (read < temp.length) {
-							int curr = is.read(temp, read, temp.length - read);
-							if (curr == -1)
-								break;
-							read += curr;
-						}
-						if (read != temp.length)
-							throw new MicroRuntimeException("Error Reading TMJ Layer Data: Premature end of tile data");
-						ids[y * width + x] = unsignedByteToInt(temp[0]) | unsignedByteToInt(temp[1]) << 8
-								| unsignedByteToInt(temp[2]) << 16 | unsignedByteToInt(temp[3]) << 24;
-					}
-				}
-			} catch (IOException e) {
-				throw new MicroRuntimeException("Error Reading TMJ Layer Data - IOException: " + e.getMessage());
-			} finally {
-				Streams.closeQuietly(is);
-			}
-		} else {
-			throw new MicroRuntimeException("Unrecognised encoding (" + encoding + ") for TMJ Layer Data");
-		}
-		
+		if (encoding == null || encoding.isEmpty() || encoding.equals("csv"))
+			return data.asIntArray();
+		int[] ids = new int[width * height];
+		TiledMapStreamer.Chunk.decode(data.asString(), encoding, element.getString("compression", null), ids);
 		return ids;
 	}
 	
@@ -9,7 +9,6 @@ import me.nulldoubt.micro.files.FileHandle;
 import me.nulldoubt.micro.graphics.g2d.TextureRegion;
 import me.nulldoubt.micro.maps.*;
 import me.nulldoubt.micro.maps.tiled.*;
-import me.nulldoubt.micro.maps.tiled.TiledMapTileLayer.Cell;
 import me.nulldoubt.micro.maps.tiled.objects.TiledMapTileMapObject;
 import me.nulldoubt.micro.maps.tiled.tiles.AnimatedTiledMapTile;
 import me.nulldoubt.micro.maps.tiled.tiles.StaticTiledMapTile;
@@ -19,21 +18,12 @@ import me.nulldoubt.micro.objects.EllipseMapObject;
 import me.nulldoubt.micro.objects.PolygonMapObject;
 import me.nulldoubt.micro.objects.PolylineMapObject;
 import me.nulldoubt.micro.objects.RectangleMapObject;
-import me.nulldoubt.micro.utils.Streams;
-import me.nulldoubt.micro.utils.base64.Base64;
 import me.nulldoubt.micro.utils.collections.Array;
 import me.nulldoubt.micro.utils.collections.IntArray;
 import me.nulldoubt.micro.utils.collections.IntMap;
 import me.nulldoubt.micro.utils.xml.XmlReader;
 import me.nulldoubt.micro.utils.xml.XmlReader.Element;
 
-import java.io.BufferedInputStream;
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
-import java.io.InputStream;
-import java.util.zip.GZIPInputStream;
-import java.util.zip.InflaterInputStream;
-
 public abstract class BaseTmxMapLoader<P extends BaseTiledMapLoader.Parameters> extends BaseTiledMapLoader<P> {
 	
 	protected XmlReader xml = new XmlReader();
@@ -66,10 +56,17 @@ public abstract class BaseTmxMapLoader<P extends BaseTiledMapLoader.Parameters>
 		if (parameter != null) {
 			this.convertObjectToTileSpace = parameter.convertObjectToTileSpace;
 			this.flipY = parameter.flipY;
+			this.chunkedLayers = parameter.chunkedLayers;
+			this.streamChunks = parameter.streamChunks;
+			this.shareCells = parameter.shareCells;
 		} else {
 			this.convertObjectToTileSpace = false;
 			this.flipY = true;
+			this.chunkedLayers = false;
+			this.streamChunks = false;
+			this.shareCells = false;
 		}
+		clearTileLookup();
 		
 		String mapOrientation = root.getAttribute("orientation", null);
 		int mapWidth = root.getIntAttribute("width", 0);
@@ -147,6 +144,7 @@ public abstract class BaseTmxMapLoader<P extends BaseTiledMapLoader.Parameters>
 			runnable.run();
 		}
 		runOnEndOfLoadTiled = null;
+		clearTileLookup();
 		
 		return map;
 	}
@@ -186,31 +184,22 @@ public abstract class BaseTmxMapLoader<P extends BaseTiledMapLoader.Parameters>
 	
 	protected void loadTileLayer(TiledMap map, MapLayers parentLayers, Element element) {
 		if (element.getName().equals("layer")) {
+			Element data = element.getChildByName("data");
+			if (data != null && data.getChildByName("chunk") != null) {
+				loadInfiniteTileLayer(map, parentLayers, element);
+				return;
+			}
 			int width = element.getIntAttribute("width", 0);
 			int height = element.getIntAttribute("height", 0);
 			int tileWidth = map.properties.get("tilewidth", Integer.class);
 			int tileHeight = map.properties.get("tileheight", Integer.class);
-			TiledMapTileLayer layer = new TiledMapTileLayer(width, height, tileWidth, tileHeight);
+			TiledMapTileSets tilesets = map.getTileSets();
+			TiledMapTileLayer layer = chunkedLayers ? new TiledMapTileLayer(width, height, tileWidth, tileHeight, tilesets)
+					: new TiledMapTileLayer(width, height, tileWidth, tileHeight);
 			
 			loadBasicLayerInfo(layer, element);
 			
-			int[] ids = getTileIds(element, width, height);
-			TiledMapTileSets tilesets = map.getTileSets();
-			for (int y = 0; y < height; y++) {
-				for (int x = 0; x < width; x++) {
-					int id = ids[y * width + x];
-					boolean flipHorizontally = ((id & FLAG_FLIP_HORIZONTALLY) != 0);
-					boolean flipVertically = ((id & FLAG_FLIP_VERTICALLY) != 0);
-					boolean flipDiagonally = ((id & FLAG_FLIP_DIAGONALLY) != 0);
-					
-					TiledMapTile tile = tilesets.getTile(id & ~MASK_CLEAR);
-					if (tile != null) {
-						Cell cell = createTileLayerCell(flipHorizontally, flipVertically, flipDiagonally);
-						cell.tile = tile;
-						layer.setCell(x, flipY ? height - 1 - y : y, cell);
-					}
-				}
-			}
+			setCells(layer, getTileIds(element, width, height));
 			
 			Element properties = element.getChildByName("properties");
 			if (properties != null) {
@@ -220,6 +209,47 @@ public abstract class BaseTmxMapLoader<P extends BaseTiledMapLoader.Parameters>
 		}
 	}
 	
+	/**
+	 * Loads a tile layer of an infinite map into a chunked layer spanning its chunks, see
+	 * {@link #setInfiniteLayerOrigin(TiledMapTileLayer, int, int)}.
+	 */
+	protected void loadInfiniteTileLayer(TiledMap map, MapLayers parentLayers, Element element) {
+		Element data = element.getChildByName("data");
+		String encoding = data.getAttribute("encoding", null);
+		if (encoding == null)
+			throw new MicroRuntimeException("Unsupported encoding (XML) for TMX Layer Data");
+		String compression = data.getAttribute("compression", null);
+		
+		Array<Element> chunkElements = data.getChildrenByName("chunk");
+		int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+		for (Element chunk : chunkElements) {
+			int x = chunk.getIntAttribute("x", 0), y = chunk.getIntAttribute("y", 0);
+			minX = Math.min(minX, x);
+			minY = Math.min(minY, y);
+			maxX = Math.max(maxX, x + chunk.getIntAttribute("width", 0));
+			maxY = Math.max(maxY, y + chunk.getIntAttribute("height", 0));
+		}
+		if (minX > maxX) // no chunks
+			minX = minY = maxX = maxY = 0;
+		Array<TiledMapStreamer.Chunk> chunks = new Array<>(chunkElements.size);
+		for (Element chunk : chunkElements)
+			chunks.add(new TiledMapStreamer.Chunk(chunk.getIntAttribute("x", 0) - minX, chunk.getIntAttribute("y", 0) - minY,
+					chunk.getIntAttribute("width", 0), chunk.getIntAttribute("height", 0), chunk.getText(), encoding, compression));
+		
+		int tileWidth = map.properties.get("tilewidth", Integer.class);
+		int tileHeight = map.properties.get("tileheight", Integer.class);
+		TiledMapTileLayer layer = new TiledMapTileLayer(Math.max(0, maxX - minX), Math.max(0, maxY - minY), tileWidth, tileHeight,
+				map.getTileSets());
+		loadBasicLayerInfo(layer, element);
+		setInfiniteLayerOrigin(layer, minX, minY);
+		loadChunks(map, layer, chunks);
+		
+		Element properties = element.getChildByName("properties");
+		if (properties != null)
+			loadProperties(layer.properties, properties);
+		parentLayers.add(layer);
+	}
+	
 	protected void loadObjectGroup(TiledMap map, MapLayers parentLayers, Element element) {
 		if (element.getName().equals("objectgroup")) {
 			MapLayer layer = new MapLayer();
@@ -437,49 +467,7 @@ public abstract class BaseTmxMapLoader<P extends BaseTiledMapLoader.Parameters>
 			throw new MicroRuntimeException("Unsupported encoding (XML) for TMX Layer Data");
 		}
 		int[] ids = new int[width * height];
-		if (encoding.equals("csv")) {
-			String[] array = data.getText().split(",");
-			for (int i = 0; i < array.length; i++)
-				ids[i] = (int) Long.parseLong(array[i].trim());
-		} else {
-			if (encoding.equals("base64")) {
-				InputStream is = null;
-				try {
-					String compression = data.getAttribute("compression", null);
-					byte[] bytes = Base64.decode(data.getText());
-					if (compression == null)
-						is = new ByteArrayInputStream(bytes);
-					else if (compression.equals("gzip"))
-						is = new BufferedInputStream(new GZIPInputStream(new ByteArrayInputStream(bytes), bytes.length));
-					else if (compression.equals("zlib"))
-						is = new BufferedInputStream(new InflaterInputStream(new ByteArrayInputStream(bytes)));
-					else
-						throw new MicroRuntimeException("Unrecognised compression (" + compression + ") for TMX Layer Data");
-					
-					byte[] temp = new byte[4];
-					for (int y = 0; y < height; y++) {
-						for (int x = 0; x < width; x++) {
-							int read = is.read(temp);
-							while (read < temp.length) {
-								int curr = is.read(temp, read, temp.length - read);
-								if (curr == -1)
-									break;
-								read += curr;
-							}
-							if (read != temp.length)
-								throw new MicroRuntimeException("Error Reading TMX Layer Data: Premature end of tile data");
-							ids[y * width + x] = unsignedByteToInt(temp[0]) | unsignedByteToInt(temp[1]) << 8
-									| unsignedByteToInt(temp[2]) << 16 | unsignedByteToInt(temp[3]) << 24;
-						}
-					}
-				} catch (IOException e) {
-					throw new MicroRuntimeException("Error Reading TMX Layer Data - IOException: " + e.getMessage());
-				} finally {
-					Streams.closeQuietly(is);
-				}
-			} else
-				throw new MicroRuntimeException("Unrecognised encoding (" + encoding + ") for TMX Layer Data");
-		}
+		TiledMapStreamer.Chunk.decode(data.getText(), encoding, data.getAttribute("compression", null), ids);
 		return ids;
 	}
 	
@@ -0,0 +1,387 @@
+package me.nulldoubt.micro.maps.tiled.loaders;
+
+import me.nulldoubt.micro.Files.FileType;
+import me.nulldoubt.micro.assets.AssetDescriptor;
+import me.nulldoubt.micro.assets.AssetManager;
+import me.nulldoubt.micro.assets.loaders.FileHandleResolver;
+import me.nulldoubt.micro.assets.loaders.TextureLoader;
+import me.nulldoubt.micro.exceptions.MicroRuntimeException;
+import me.nulldoubt.micro.files.FileHandle;
+import me.nulldoubt.micro.graphics.Color;
+import me.nulldoubt.micro.graphics.Texture;
+import me.nulldoubt.micro.graphics.g2d.TextureRegion;
+import me.nulldoubt.micro.maps.*;
+import me.nulldoubt.micro.maps.tiled.*;
+import me.nulldoubt.micro.maps.tiled.objects.TiledMapTileMapObject;
+import me.nulldoubt.micro.maps.tiled.tiles.AnimatedTiledMapTile;
+import me.nulldoubt.micro.maps.tiled.tiles.StaticTiledMapTile;
+import me.nulldoubt.micro.math.shapes.Polygon;
+import me.nulldoubt.micro.math.shapes.Polyline;
+import me.nulldoubt.micro.objects.*;
+import me.nulldoubt.micro.utils.collections.Array;
+import me.nulldoubt.micro.utils.collections.IntArray;
+import me.nulldoubt.micro.utils.collections.IntMap;
+import me.nulldoubt.micro.utils.collections.ObjectMap;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static me.nulldoubt.micro.maps.tiled.TiledMapTileLayer.CHUNK_SHIFT;
+import static me.nulldoubt.micro.maps.tiled.TiledMapTileLayer.CHUNK_SIZE;
+
+/**
+ * Loads maps written by {@link BinaryTiledMapWriter}. The file is memory mapped when possible, the tiles of each chunk of a tile
+ * layer are copied in bulk into a chunked {@link TiledMapTileLayer} and every string is read once from a string table, so no
+ * text is parsed or decompressed. With {@code Parameters.streamChunks} the chunks are left in the mapped file and only read as
+ * they come into view, see {@link TiledMap#getStreamer()}.
+ * <p>
+ * The map is stored as it was loaded from the original file, so {@code flipY}, {@code convertObjectToTileSpace} and
+ * {@code chunkedLayers} of the parameters are ignored and tile layers are always chunked.
+ * <p>
+ * The format is little endian: the {@link #MAGIC magic} and {@link #VERSION version}, a table of UTF-8 strings referenced by
+ * index, a table of image paths relative to the map file, the map properties, the tile sets with their static tiles, the
+ * animated tiles, then the layers. A tile layer stores its non-empty chunks as the chunk position followed by
+ * {@link TiledMapTileLayer#CHUNK_SIZE} squared global tile ids.
+ */
+public class BinaryTiledMapLoader extends BaseTiledMapLoader<BinaryTiledMapLoader.Parameters> {
+	
+	public static class Parameters extends BaseTiledMapLoader.Parameters {}
+	
+	public static final int MAGIC = 0x424D544D; // "MTMB"
+	public static final int VERSION = 1;
+	
+	static final byte LAYER = 0, TILE_LAYER = 1, IMAGE_LAYER = 2, GROUP_LAYER = 3;
+	static final byte OBJECT = 0, RECTANGLE = 1, ELLIPSE = 2, CIRCLE = 3, POLYGON = 4, POLYLINE = 5, TEXTURE = 6, TILE = 7;
+	static final byte STRING = 0, INT = 1, FLOAT = 2, BOOLEAN = 3, COLOR = 4, LONG = 5, DOUBLE = 6, MAP_OBJECT = 7;
+	
+	protected ByteBuffer buffer;
+	protected String[] strings;
+	protected String[] images;
+	private TextureRegion[] regions;
+	
+	public BinaryTiledMapLoader() {
+		super(AssetManager.RESOLVER_INTERNAL);
+	}
+	
+	public BinaryTiledMapLoader(final FileHandleResolver resolver) {
+		super(resolver);
+	}
+	
+	public TiledMap load(String fileName) {
+		return load(fileName, new Parameters());
+	}
+	
+	public TiledMap load(String fileName, Parameters parameter) {
+		final FileHandle mapFile = resolve(fileName);
+		readHeader(mapFile);
+		
+		final ObjectMap<String, Texture> textures = new ObjectMap<>();
+		for (FileHandle textureFile : getDependencyFileHandles(mapFile)) {
+			if (textures.containsKey(textureFile.path()))
+				continue;
+			final Texture texture = new Texture(textureFile, parameter.generateMipMaps);
+			texture.setFilter(parameter.textureMinFilter, parameter.textureMagFilter);
+			textures.put(textureFile.path(), texture);
+		}
+		
+		final TiledMap map = loadTiledMap(mapFile, parameter, new ImageResolver.DirectImageResolver(textures));
+		map.setOwnedResources(textures.values().toArray());
+		return map;
+	}
+	
+	@Override
+	public Array<AssetDescriptor<?>> getDependencies(String fileName, FileHandle mapFile, Parameters parameter) {
+		readHeader(mapFile);
+		
+		final TextureLoader.TextureParameter textureParameter = new TextureLoader.TextureParameter();
+		if (parameter != null) {
+			textureParameter.genMipMaps = parameter.generateMipMaps;
+			textureParameter.minFilter = parameter.textureMinFilter;
+			textureParameter.magFilter = parameter.textureMagFilter;
+		}
+		
+		return getDependencyAssetDescriptors(mapFile, textureParameter);
+	}
+	
+	@Override
+	public void loadAsync(AssetManager manager, String fileName, FileHandle mapFile, Parameters parameter) {
+		this.map = loadTiledMap(mapFile, parameter, new ImageResolver.AssetManagerImageResolver(manager));
+	}
+	
+	@Override
+	public TiledMap loadSync(AssetManager manager, String fileName, FileHandle file, Parameters parameter) {
+		final TiledMap map = this.map;
+		this.map = null;
+		return map;
+	}
+	
+	@Override
+	protected Array<AssetDescriptor<?>> getDependencyAssetDescriptors(FileHandle mapFile, TextureLoader.TextureParameter textureParameter) {
+		final Array<AssetDescriptor<?>> descriptors = new Array<>();
+		for (FileHandle handle : getDependencyFileHandles(mapFile))
+			descriptors.add(new AssetDescriptor<>(handle, Texture.class, textureParameter));
+		return descriptors;
+	}
+	
+	protected Array<FileHandle> getDependencyFileHandles(FileHandle mapFile) {
+		final Array<FileHandle> fileHandles = new Array<>(images.length);
+		for (String image : images)
+			fileHandles.add(getRelativeFileHandle(mapFile, image));
+		return fileHandles;
+	}
+	
+	/** Reads the string and image tables, leaving the buffer at the map properties. */
+	protected void readHeader(FileHandle mapFile) {
+		final ByteBuffer buffer;
+		if (mapFile.type() != FileType.Classpath && mapFile.file().exists())
+			buffer = mapFile.map();
+		else
+			buffer = ByteBuffer.wrap(mapFile.readBytes());
+		buffer.order(ByteOrder.LITTLE_ENDIAN);
+		this.buffer = buffer;
+		
+		if (buffer.remaining() < 8 || buffer.getInt() != MAGIC)
+			throw new MicroRuntimeException("Not a binary tiled map: " + mapFile);
+		final int version = buffer.getInt();
+		if (version != VERSION)
+			throw new MicroRuntimeException("Unsupported binary tiled map version " + version + ": " + mapFile);
+		
+		strings = new String[buffer.getInt()];
+		for (int i = 0; i < strings.length; i++) {
+			final byte[] bytes = new byte[buffer.getInt()];
+			buffer.get(bytes);
+			strings[i] = new String(bytes, StandardCharsets.UTF_8);
+		}
+		images = new String[buffer.getInt()];
+		for (int i = 0; i < images.length; i++)
+			images[i] = readString();
+	}
+	
+	@Override
+	protected TiledMap loadTiledMap(FileHandle mapFile, Parameters parameter, ImageResolver imageResolver) {
+		if (buffer == null)
+			readHeader(mapFile);
+		this.map = new TiledMap();
+		this.idToObject = new IntMap<>();
+		this.runOnEndOfLoadTiled = new Array<>();
+		this.flipY = false;
+		this.streamChunks = parameter != null && parameter.streamChunks;
+		
+		regions = new TextureRegion[images.length];
+		for (int i = 0; i < images.length; i++)
+			regions[i] = imageResolver.getImage(getRelativeFileHandle(mapFile, images[i]).path());
+		
+		try {
+			readProperties(map.properties);
+			
+			final TiledMapTileSets tileSets = map.getTileSets();
+			for (int i = 0, n = buffer.getInt(); i < n; i++) {
+				final TiledMapTileSet tileSet = new TiledMapTileSet();
+				tileSet.name = readString();
+				readProperties(tileSet.properties);
+				for (int ii = 0, nn = buffer.getInt(); ii < nn; ii++) {
+					final StaticTiledMapTile tile = new StaticTiledMapTile(readRegion());
+					tile.setId(buffer.getInt());
+					tile.setOffsetX(buffer.getFloat());
+					tile.setOffsetY(buffer.getFloat());
+					readTile(tile);
+					tileSet.putTile(tile.getId(), tile);
+				}
+				tileSets.addTileSet(tileSet);
+			}
+			
+			for (int i = 0, n = buffer.getInt(); i < n; i++) {
+				final TiledMapTileSet tileSet = tileSets.getTileSet(buffer.getInt());
+				final int id = buffer.getInt();
+				final int frames = buffer.getInt();
+				final Array<StaticTiledMapTile> frameTiles = new Array<>(frames);
+				final IntArray intervals = new IntArray(frames);
+				for (int ii = 0; ii < frames; ii++) {
+					frameTiles.add((StaticTiledMapTile) tileSets.getTile(buffer.getInt()));
+					intervals.add(buffer.getInt());
+				}
+				final AnimatedTiledMapTile tile = new AnimatedTiledMapTile(intervals, frameTiles);
+				tile.setId(id);
+				readTile(tile);
+				tileSet.putTile(id, tile);
+			}
+			
+			readLayers(map.layers, null);
+		} catch (RuntimeException ex) {
+			throw new MicroRuntimeException("Error reading binary tiled map: " + mapFile, ex);
+		}
+		
+		for (Runnable runnable : runOnEndOfLoadTiled)
+			runnable.run();
+		runOnEndOfLoadTiled = null;
+		buffer = null;
+		strings = images = null;
+		regions = null;
+		return map;
+	}
+	
+	private void readTile(TiledMapTile tile) {
+		tile.setBlendMode(TiledMapTile.BlendMode.values()[buffer.get()]);
+		readProperties(tile.getProperties());
+		readObjects(tile.getObjects());
+	}
+	
+	protected void readLayers(MapLayers layers, MapGroupLayer parent) {
+		for (int i = 0, n = buffer.getInt(); i < n; i++) {
+			final byte type = buffer.get();
+			final MapLayer layer = switch (type) {
+				case LAYER -> new MapLayer();
+				case TILE_LAYER -> readTileLayer();
+				case IMAGE_LAYER -> {
+					final TextureRegion region = readRegion();
+					yield new TiledMapImageLayer(region, buffer.getFloat(), buffer.getFloat(), buffer.get() != 0, buffer.get() != 0);
+				}
+				case GROUP_LAYER -> new MapGroupLayer();
+				default -> throw new MicroRuntimeException("Unknown layer type: " + type);
+			};
+			layer.name = readString();
+			layer.opacity = buffer.getFloat();
+			layer.visible = buffer.get() != 0;
+			layer.offsetX = buffer.getFloat();
+			layer.offsetY = buffer.getFloat();
+			layer.parallaxX = buffer.getFloat();
+			layer.parallaxY = buffer.getFloat();
+			readProperties(layer.properties);
+			readObjects(layer.objects);
+			if (layer instanceof MapGroupLayer group)
+				readLayers(group.layers, group);
+			if (parent != null)
+				layer.setParent(parent);
+			layers.add(layer);
+		}
+	}
+	
+	protected TiledMapTileLayer readTileLayer() {
+		final TiledMapTileLayer layer = new TiledMapTileLayer(buffer.getInt(), buffer.getInt(), buffer.getInt(), buffer.getInt(), map.getTileSets());
+		final int chunks = buffer.getInt();
+		final Array<TiledMapStreamer.Chunk> streamed = streamChunks ? new Array<>(chunks) : null;
+		for (int i = 0; i < chunks; i++) {
+			final int chunkX = buffer.getInt(), chunkY = buffer.getInt();
+			final int bytes = CHUNK_SIZE * CHUNK_SIZE * 4;
+			final IntBuffer ids = buffer.slice(buffer.position(), bytes).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+			buffer.position(buffer.position() + bytes);
+			if (streamChunks)
+				streamed.add(new TiledMapStreamer.Chunk(chunkX << CHUNK_SHIFT, chunkY << CHUNK_SHIFT, CHUNK_SIZE, CHUNK_SIZE, ids));
+			else {
+				final int[] chunk = new int[CHUNK_SIZE * CHUNK_SIZE];
+				ids.get(chunk);
+				layer.setChunk(chunkX, chunkY, chunk);
+			}
+		}
+		if (streamChunks && chunks > 0)
+			loadChunks(map, layer, streamed);
+		return layer;
+	}
+	
+	protected void readObjects(MapObjects objects) {
+		for (int i = 0, n = buffer.getInt(); i < n; i++) {
+			final byte type = buffer.get();
+			final MapObject object = switch (type) {
+				case OBJECT -> new MapObject();
+				case RECTANGLE -> new RectangleMapObject(buffer.getFloat(), buffer.getFloat(), buffer.getFloat(), buffer.getFloat());
+				case ELLIPSE -> new EllipseMapObject(buffer.getFloat(), buffer.getFloat(), buffer.getFloat(), buffer.getFloat());
+				case CIRCLE -> new CircleMapObject(buffer.getFloat(), buffer.getFloat(), buffer.getFloat());
+				case POLYGON -> {
+					final Polygon polygon = new Polygon();
+					polygon.setPosition(buffer.getFloat(), buffer.getFloat());
+					polygon.setOrigin(buffer.getFloat(), buffer.getFloat());
+					polygon.setRotation(buffer.getFloat());
+					polygon.setScale(buffer.getFloat(), buffer.getFloat());
+					polygon.setVertices(readFloats());
+					yield new PolygonMapObject(polygon);
+				}
+				case POLYLINE -> {
+					final Polyline polyline = new Polyline();
+					polyline.setPosition(buffer.getFloat(), buffer.getFloat());
+					polyline.setOrigin(buffer.getFloat(), buffer.getFloat());
+					polyline.setRotation(buffer.getFloat());
+					polyline.setScale(buffer.getFloat(), buffer.getFloat());
+					polyline.setVertices(readFloats());
+					yield new PolylineMapObject(polyline);
+				}
+				case TEXTURE -> {
+					final TextureRegion region = readRegion();
+					region.flip(buffer.get() != 0, buffer.get() != 0);
+					yield readTextureObject(new TextureMapObject(region));
+				}
+				case TILE -> {
+					final TiledMapTile tile = map.getTileSets().getTile(buffer.getInt());
+					yield readTextureObject(new TiledMapTileMapObject(tile, buffer.get() != 0, buffer.get() != 0));
+				}
+				default -> throw new MicroRuntimeException("Unknown object type: " + type);
+			};
+			object.name = readString();
+			object.opacity = buffer.getFloat();
+			object.visible = buffer.get() != 0;
+			Color.rgba8888ToColor(object.color, buffer.getInt());
+			readProperties(object.properties);
+			if (object.properties.get("id") instanceof Integer id)
+				idToObject.put(id, object);
+			objects.add(object);
+		}
+	}
+	
+	private TextureMapObject readTextureObject(TextureMapObject object) {
+		object.x = buffer.getFloat();
+		object.y = buffer.getFloat();
+		object.originX = buffer.getFloat();
+		object.originY = buffer.getFloat();
+		object.rotation = buffer.getFloat();
+		object.scaleX = buffer.getFloat();
+		object.scaleY = buffer.getFloat();
+		return object;
+	}
+	
+	protected void readProperties(MapProperties properties) {
+		for (int i = 0, n = buffer.getInt(); i < n; i++) {
+			final String key = readString();
+			final byte type = buffer.get();
+			switch (type) {
+				case STRING -> properties.put(key, readString());
+				case INT -> properties.put(key, buffer.getInt());
+				case FLOAT -> properties.put(key, buffer.getFloat());
+				case BOOLEAN -> properties.put(key, buffer.get() != 0);
+				case COLOR -> {
+					final Color color = new Color();
+					Color.rgba8888ToColor(color, buffer.getInt());
+					properties.put(key, color);
+				}
+				case LONG -> properties.put(key, buffer.getLong());
+				case DOUBLE -> properties.put(key, buffer.getDouble());
+				case MAP_OBJECT -> {
+					// Wait until every object is loaded to fetch the object
+					final int id = buffer.getInt();
+					runOnEndOfLoadTiled.add(() -> properties.put(key, idToObject.get(id)));
+				}
+				default -> throw new MicroRuntimeException("Unknown type of property " + key + ": " + type);
+			}
+		}
+	}
+	
+	/** @return the region, or null if the image index is -1. */
+	private TextureRegion readRegion() {
+		final int image = buffer.getInt();
+		final int x = buffer.getInt(), y = buffer.getInt(), width = buffer.getInt(), height = buffer.getInt();
+		return image == -1 ? null : new TextureRegion(regions[image], x, y, width, height);
+	}
+	
+	private float[] readFloats() {
+		final float[] floats = new float[buffer.getInt()];
+		buffer.asFloatBuffer().get(floats);
+		buffer.position(buffer.position() + floats.length * 4);
+		return floats;
+	}
+	
+	private String readString() {
+		final int index = buffer.getInt();
+		return index == -1 ? null : strings[index];
+	}
+	
+}
@@ -0,0 +1,435 @@
+package me.nulldoubt.micro.maps.tiled.loaders;
+
+import me.nulldoubt.micro.exceptions.MicroRuntimeException;
+import me.nulldoubt.micro.files.FileHandle;
+import me.nulldoubt.micro.graphics.Color;
+import me.nulldoubt.micro.graphics.Texture;
+import me.nulldoubt.micro.graphics.g2d.TextureRegion;
+import me.nulldoubt.micro.graphics.glutils.FileTextureData;
+import me.nulldoubt.micro.maps.*;
+import me.nulldoubt.micro.maps.tiled.*;
+import me.nulldoubt.micro.maps.tiled.objects.TiledMapTileMapObject;
+import me.nulldoubt.micro.maps.tiled.tiles.AnimatedTiledMapTile;
+import me.nulldoubt.micro.maps.tiled.tiles.StaticTiledMapTile;
+import me.nulldoubt.micro.math.shapes.Polygon;
+import me.nulldoubt.micro.math.shapes.Polyline;
+import me.nulldoubt.micro.objects.*;
+import me.nulldoubt.micro.utils.Streams;
+import me.nulldoubt.micro.utils.collections.Array;
+import me.nulldoubt.micro.utils.collections.ObjectIntMap;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+
+import static me.nulldoubt.micro.maps.tiled.TiledMapTileLayer.CHUNK_SIZE;
+import static me.nulldoubt.micro.maps.tiled.loaders.BinaryTiledMapLoader.*;
+
+/**
+ * Converts a loaded {@link TiledMap} to the format read by {@link BinaryTiledMapLoader}, eg as a build step after loading the
+ * map with a {@link TmxMapLoader} or {@link TmjMapLoader}. The textures of the map must have been loaded from files, which are
+ * referenced relative to the written file.
+ */
+public class BinaryTiledMapWriter {
+	
+	private final ObjectIntMap<String> stringIndices = new ObjectIntMap<>();
+	private final Array<String> strings = new Array<>();
+	private final ObjectIntMap<Texture> imageIndices = new ObjectIntMap<>();
+	private final Array<String> images = new Array<>();
+	private ByteBuffer buffer;
+	private TiledMap map;
+	private FileHandle file;
+	
+	public void write(TiledMap map, FileHandle file) {
+		if (map.getStreamer() != null)
+			throw new IllegalArgumentException("The chunks of a streamed map are not all resident.");
+		this.map = map;
+		this.file = file;
+		buffer = ByteBuffer.allocate(64 * 1024).order(ByteOrder.LITTLE_ENDIAN);
+		try {
+			writeProperties(map.properties);
+			
+			final TiledMapTileSets tileSets = map.getTileSets();
+			final Array<AnimatedTiledMapTile> animatedTiles = new Array<>();
+			final Array<TiledMapTileSet> animatedTileSets = new Array<>();
+			int tileSetCount = 0;
+			for (TiledMapTileSet ignored : tileSets)
+				tileSetCount++;
+			writeInt(tileSetCount);
+			for (TiledMapTileSet tileSet : tileSets) {
+				writeString(tileSet.name);
+				writeProperties(tileSet.properties);
+				int count = 0;
+				for (TiledMapTile tile : tileSet)
+					if (tile instanceof StaticTiledMapTile)
+						count++;
+				writeInt(count);
+				for (TiledMapTile tile : tileSet) {
+					if (tile instanceof AnimatedTiledMapTile animated) {
+						animatedTiles.add(animated);
+						animatedTileSets.add(tileSet);
+					} else if (tile instanceof StaticTiledMapTile) {
+						writeRegion(tile.getTextureRegion());
+						writeInt(tile.getId());
+						writeFloat(tile.getOffsetX());
+						writeFloat(tile.getOffsetY());
+						writeTile(tile);
+					} else
+						throw new IllegalArgumentException("Unsupported tile: " + tile.getClass().getName());
+				}
+			}
+			
+			writeInt(animatedTiles.size);
+			for (int i = 0; i < animatedTiles.size; i++) {
+				final AnimatedTiledMapTile tile = animatedTiles.get(i);
+				int tileSet = 0;
+				for (TiledMapTileSet other : tileSets) {
+					if (other == animatedTileSets.get(i))
+						break;
+					tileSet++;
+				}
+				writeInt(tileSet);
+				writeInt(tile.getId());
+				final StaticTiledMapTile[] frames = tile.getFrameTiles();
+				final int[] intervals = tile.getAnimationIntervals();
+				writeInt(frames.length);
+				for (int ii = 0; ii < frames.length; ii++) {
+					writeInt(frames[ii].getId());
+					writeInt(intervals[ii]);
+				}
+				writeTile(tile);
+			}
+			
+			writeLayers(map.layers);
+			
+			final ByteBuffer body = buffer;
+			body.flip();
+			buffer = ByteBuffer.allocate(1024).order(ByteOrder.LITTLE_ENDIAN);
+			writeInt(MAGIC);
+			writeInt(VERSION);
+			final int imageCount = images.size;
+			for (int i = 0; i < imageCount; i++)
+				stringIndex(images.get(i));
+			writeInt(strings.size);
+			for (String string : strings) {
+				final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+				writeInt(bytes.length);
+				ensure(bytes.length);
+				buffer.put(bytes);
+			}
+			writeInt(imageCount);
+			for (int i = 0; i < imageCount; i++)
+				writeString(images.get(i));
+			buffer.flip();
+			
+			final OutputStream output = file.write(false);
+			try {
+				output.write(buffer.array(), 0, buffer.limit());
+				output.write(body.array(), 0, body.limit());
+			} catch (IOException ex) {
+				throw new MicroRuntimeException("Error writing binary tiled map: " + file, ex);
+			} finally {
+				Streams.closeQuietly(output);
+			}
+		} finally {
+			stringIndices.clear();
+			strings.clear();
+			imageIndices.clear();
+			images.clear();
+			buffer = null;
+			this.map = null;
+			this.file = null;
+		}
+	}
+	
+	private void writeTile(TiledMapTile tile) {
+		writeByte(tile.getBlendMode().ordinal());
+		writeProperties(tile.getProperties());
+		writeObjects(tile.getObjects());
+	}
+	
+	private void writeLayers(MapLayers layers) {
+		writeInt(layers.getCount());
+		for (MapLayer layer : layers) {
+			if (layer instanceof TiledMapTileLayer tileLayer) {
+				writeByte(TILE_LAYER);
+				writeTileLayer(tileLayer);
+			} else if (layer instanceof TiledMapImageLayer imageLayer) {
+				writeByte(IMAGE_LAYER);
+				writeRegion(imageLayer.getTextureRegion());
+				writeFloat(imageLayer.getX());
+				writeFloat(imageLayer.getY());
+				writeBoolean(imageLayer.isRepeatX());
+				writeBoolean(imageLayer.isRepeatY());
+			} else if (layer instanceof MapGroupLayer)
+				writeByte(GROUP_LAYER);
+			else
+				writeByte(LAYER);
+			writeString(layer.name);
+			writeFloat(layer.opacity);
+			writeBoolean(layer.visible);
+			writeFloat(layer.offsetX);
+			writeFloat(layer.offsetY);
+			writeFloat(layer.parallaxX);
+			writeFloat(layer.parallaxY);
+			writeProperties(layer.properties);
+			writeObjects(layer.objects);
+			if (layer instanceof MapGroupLayer group)
+				writeLayers(group.layers);
+		}
+	}
+	
+	private void writeTileLayer(TiledMapTileLayer layer) {
+		writeInt(layer.width);
+		writeInt(layer.height);
+		writeInt(layer.tileWidth);
+		writeInt(layer.tileHeight);
+		
+		final int chunksX = (layer.width + CHUNK_SIZE - 1) / CHUNK_SIZE, chunksY = (layer.height + CHUNK_SIZE - 1) / CHUNK_SIZE;
+		final int countPosition = buffer.position();
+		writeInt(0);
+		int count = 0;
+		final int[] ids = new int[CHUNK_SIZE * CHUNK_SIZE];
+		for (int chunkY = 0; chunkY < chunksY; chunkY++) {
+			for (int chunkX = 0; chunkX < chunksX; chunkX++) {
+				final int[] chunk;
+				if (layer.isChunked())
+					chunk = layer.getChunk(chunkX, chunkY);
+				else {
+					boolean empty = true;
+					for (int y = 0; y < CHUNK_SIZE; y++) {
+						for (int x = 0; x < CHUNK_SIZE; x++) {
+							final TiledMapTileLayer.Cell cell = layer.getCell(chunkX * CHUNK_SIZE + x, chunkY * CHUNK_SIZE + y);
+							if (cell != null && cell.tile != null && map.getTileSets().getTile(cell.tile.getId()) != cell.tile)
+								throw new IllegalArgumentException("The tile of cell " + (chunkX * CHUNK_SIZE + x) + ", " + (chunkY * CHUNK_SIZE + y)
+										+ " of layer " + layer.name + " is not in the tile sets of the map.");
+							final int gid = ids[y * CHUNK_SIZE + x] = TiledMapTileLayer.getGid(cell);
+							if (gid != 0)
+								empty = false;
+						}
+					}
+					chunk = empty ? null : ids;
+				}
+				if (chunk == null)
+					continue;
+				count++;
+				writeInt(chunkX);
+				writeInt(chunkY);
+				ensure(chunk.length * 4);
+				buffer.asIntBuffer().put(chunk);
+				buffer.position(buffer.position() + chunk.length * 4);
+			}
+		}
+		buffer.putInt(countPosition, count);
+	}
+	
+	private void writeObjects(MapObjects objects) {
+		writeInt(objects.getCount());
+		for (MapObject object : objects) {
+			if (object instanceof RectangleMapObject rectangle) {
+				writeByte(RECTANGLE);
+				writeFloat(rectangle.rectangle.x);
+				writeFloat(rectangle.rectangle.y);
+				writeFloat(rectangle.rectangle.width);
+				writeFloat(rectangle.rectangle.height);
+			} else if (object instanceof EllipseMapObject ellipse) {
+				writeByte(ELLIPSE);
+				writeFloat(ellipse.ellipse.x);
+				writeFloat(ellipse.ellipse.y);
+				writeFloat(ellipse.ellipse.width);
+				writeFloat(ellipse.ellipse.height);
+			} else if (object instanceof CircleMapObject circle) {
+				writeByte(CIRCLE);
+				writeFloat(circle.circle.x);
+				writeFloat(circle.circle.y);
+				writeFloat(circle.circle.radius);
+			} else if (object instanceof PolygonMapObject polygonObject) {
+				final Polygon polygon = polygonObject.polygon;
+				writeByte(POLYGON);
+				writeTransform(polygon.getX(), polygon.getY(), polygon.getOriginX(), polygon.getOriginY(), polygon.getRotation(),
+						polygon.getScaleX(), polygon.getScaleY());
+				writeFloats(polygon.getVertices());
+			} else if (object instanceof PolylineMapObject polylineObject) {
+				final Polyline polyline = polylineObject.polyline;
+				writeByte(POLYLINE);
+				writeTransform(polyline.getX(), polyline.getY(), polyline.getOriginX(), polyline.getOriginY(), polyline.getRotation(),
+						polyline.getScaleX(), polyline.getScaleY());
+				writeFloats(polyline.getVertices());
+			} else if (object instanceof TiledMapTileMapObject tileObject) {
+				writeByte(TILE);
+				writeInt(tileObject.tile.getId());
+				writeBoolean(tileObject.flipHorizontally);
+				writeBoolean(tileObject.flipVertically);
+				writeTransform(tileObject.x, tileObject.y, tileObject.originX, tileObject.originY, tileObject.rotation, tileObject.scaleX,
+						tileObject.scaleY);
+			} else if (object instanceof TextureMapObject textureObject) {
+				writeByte(TEXTURE);
+				writeRegion(textureObject.textureRegion);
+				writeBoolean(textureObject.textureRegion.isFlipX());
+				writeBoolean(textureObject.textureRegion.isFlipY());
+				writeTransform(textureObject.x, textureObject.y, textureObject.originX, textureObject.originY, textureObject.rotation,
+						textureObject.scaleX, textureObject.scaleY);
+			} else if (object.getClass() == MapObject.class)
+				writeByte(OBJECT);
+			else
+				throw new IllegalArgumentException("Unsupported map object: " + object.getClass().getName());
+			writeString(object.name);
+			writeFloat(object.opacity);
+			writeBoolean(object.visible);
+			writeInt(Color.rgba8888(object.color));
+			writeProperties(object.properties);
+		}
+	}
+	
+	private void writeTransform(float x, float y, float originX, float originY, float rotation, float scaleX, float scaleY) {
+		writeFloat(x);
+		writeFloat(y);
+		writeFloat(originX);
+		writeFloat(originY);
+		writeFloat(rotation);
+		writeFloat(scaleX);
+		writeFloat(scaleY);
+	}
+	
+	private void writeProperties(MapProperties properties) {
+		int count = 0;
+		for (Iterator<String> keys = properties.getKeys(); keys.hasNext(); keys.next())
+			count++;
+		writeInt(count);
+		for (Iterator<String> keys = properties.getKeys(); keys.hasNext(); ) {
+			final String key = keys.next();
+			final Object value = properties.get(key);
+			writeString(key);
+			if (value instanceof String string) {
+				writeByte(STRING);
+				writeString(string);
+			} else if (value instanceof Integer integer) {
+				writeByte(INT);
+				writeInt(integer);
+			} else if (value instanceof Float number) {
+				writeByte(FLOAT);
+				writeFloat(number);
+			} else if (value instanceof Boolean bool) {
+				writeByte(BOOLEAN);
+				writeBoolean(bool);
+			} else if (value instanceof Color color) {
+				writeByte(COLOR);
+				writeInt(Color.rgba8888(color));
+			} else if (value instanceof Long number) {
+				writeByte(LONG);
+				ensure(8);
+				buffer.putLong(number);
+			} else if (value instanceof Double number) {
+				writeByte(DOUBLE);
+				ensure(8);
+				buffer.putDouble(number);
+			} else if (value instanceof MapObject object && object.properties.get("id") instanceof Integer id) {
+				// Objects are referenced by the id Tiled gave them
+				writeByte(MAP_OBJECT);
+				writeInt(id);
+			} else
+				throw new IllegalArgumentException("Unsupported value of property " + key + ": " + value);
+		}
+	}
+	
+	/** Writes the image of the region and its bounds on the texture, or -1 and empty bounds for a null region. */
+	private void writeRegion(TextureRegion region) {
+		if (region == null) {
+			writeInt(-1);
+			writeInt(0);
+			writeInt(0);
+			writeInt(0);
+			writeInt(0);
+			return;
+		}
+		final Texture texture = region.getTexture();
+		writeInt(imageIndex(texture));
+		writeInt(Math.round(Math.min(region.getU(), region.getU2()) * texture.getWidth()));
+		writeInt(Math.round(Math.min(region.getV(), region.getV2()) * texture.getHeight()));
+		writeInt(region.getRegionWidth());
+		writeInt(region.getRegionHeight());
+	}
+	
+	private int imageIndex(Texture texture) {
+		int index = imageIndices.get(texture, -1);
+		if (index != -1)
+			return index;
+		if (!(texture.getTextureData() instanceof FileTextureData data) || data.getFileHandle() == null)
+			throw new IllegalArgumentException("The texture was not loaded from a file: " + texture);
+		index = images.size;
+		images.add(relativePath(file, data.getFileHandle()));
+		imageIndices.put(texture, index);
+		return index;
+	}
+	
+	/** @return the path of the image relative to the directory of the map file. */
+	private static String relativePath(FileHandle file, FileHandle image) {
+		final String[] from = file.parent().path().split("/"), to = image.path().split("/");
+		int common = 0;
+		while (common < from.length && common < to.length - 1 && from[common].equals(to[common]))
+			common++;
+		final StringBuilder path = new StringBuilder();
+		for (int i = common; i < from.length; i++)
+			if (!from[i].isEmpty() && !from[i].equals("."))
+				path.append("../");
+		for (int i = common; i < to.length; i++) {
+			path.append(to[i]);
+			if (i < to.length - 1)
+				path.append('/');
+		}
+		return path.toString();
+	}
+	
+	private int stringIndex(String string) {
+		int index = stringIndices.get(string, -1);
+		if (index == -1) {
+			index = strings.size;
+			strings.add(string);
+			stringIndices.put(string, index);
+		}
+		return index;
+	}
+	
+	private void writeString(String string) {
+		writeInt(string == null ? -1 : stringIndex(string));
+	}
+	
+	private void writeFloats(float[] floats) {
+		writeInt(floats.length);
+		ensure(floats.length * 4);
+		buffer.asFloatBuffer().put(floats);
+		buffer.position(buffer.position() + floats.length * 4);
+	}
+	
+	private void writeInt(int value) {
+		ensure(4);
+		buffer.putInt(value);
+	}
+	
+	private void writeFloat(float value) {
+		ensure(4);
+		buffer.putFloat(value);
+	}
+	
+	private void writeByte(int value) {
+		ensure(1);
+		buffer.put((byte) value);
+	}
+	
+	private void writeBoolean(boolean value) {
+		writeByte(value ? 1 : 0);
+	}
+	
+	private void ensure(int bytes) {
+		if (buffer.remaining() >= bytes)
+			return;
+		final ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes)).order(ByteOrder.LITTLE_ENDIAN);
+		buffer.flip();
+		larger.put(buffer);
+		buffer = larger;
+	}
+	
+}
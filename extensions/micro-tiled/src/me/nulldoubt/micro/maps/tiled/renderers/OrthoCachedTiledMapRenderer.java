@@ -12,12 +12,26 @@ import me.nulldoubt.micro.maps.MapLayers;
 import me.nulldoubt.micro.maps.MapObject;
 import me.nulldoubt.micro.maps.tiled.*;
 import me.nulldoubt.micro.maps.tiled.TiledMapTileLayer.Cell;
+import me.nulldoubt.micro.maps.tiled.tiles.AnimatedTiledMapTile;
 import me.nulldoubt.micro.math.Matrix4;
 import me.nulldoubt.micro.math.shapes.Rectangle;
 import me.nulldoubt.micro.utils.Disposable;
+import me.nulldoubt.micro.utils.collections.Array;
+import me.nulldoubt.micro.utils.collections.IntArray;
+import me.nulldoubt.micro.utils.collections.IntMap;
+import me.nulldoubt.micro.utils.collections.ObjectMap;
 
 import static me.nulldoubt.micro.graphics.g2d.Batch.*;
 
+/**
+ * Renders orthogonal maps from a {@link SpriteCache}. Tile layers are cached in blocks of {@link #setBlockSize(int) block size}
+ * squared tiles, which are cached once they come near the view and drawn while they are in it. When the cache is full the least
+ * recently used blocks are dropped, so panning only caches the blocks entering the view instead of every visible tile.
+ * <p>
+ * Blocks showing {@link AnimatedTiledMapTile animated tiles} are cached again when a frame changes, and blocks are cached again
+ * when cells or chunks in them are set, see {@link TiledMapTileLayer#getVersion(int, int)}. Changes to {@link Cell} objects
+ * themselves need {@link #invalidateCell(TiledMapTileLayer, int, int)}.
+ */
 public class OrthoCachedTiledMapRenderer implements TiledMapRenderer, Disposable {
 	
 	private static final float tolerance = 0.00001f;
@@ -36,8 +50,22 @@ public class OrthoCachedTiledMapRenderer implements TiledMapRenderer, Disposable
 	protected float overCache = 0.50f;
 	protected float maxTileWidth, maxTileHeight;
 	protected boolean cached;
+	/** The number of sprites in the cached blocks. */
 	protected int count;
-	protected boolean canCacheMoreN, canCacheMoreE, canCacheMoreW, canCacheMoreS;
+	protected int blockSize = 16;
+	
+	private final int cacheSize;
+	/** The capacity in sprites of each cache of the sprite cache, and the ids of the caches no block uses. */
+	private final IntArray capacities = new IntArray(), freeCaches = new IntArray();
+	private int usedSprites;
+	
+	private final ObjectMap<TiledMapTileLayer, IntMap<Block>> layerBlocks = new ObjectMap<>();
+	private final ObjectMap<TiledMapImageLayer, Block> imageBlocks = new ObjectMap<>();
+	private final Array<Block> blocks = new Array<>(false, 64);
+	private final Matrix4 transform = new Matrix4();
+	private Block currentBlock;
+	private boolean counting;
+	private int frame, boundsVersion;
 	
 	/**
 	 * Creates a renderer with a unit scale of 1 and cache size of 2000.
@@ -59,6 +87,7 @@ public class OrthoCachedTiledMapRenderer implements TiledMapRenderer, Disposable
 	public OrthoCachedTiledMapRenderer(TiledMap map, float unitScale, int cacheSize) {
 		this.map = map;
 		this.unitScale = unitScale;
+		this.cacheSize = cacheSize;
 		spriteCache = new SpriteCache(cacheSize, true);
 	}
 	
@@ -68,13 +97,7 @@ public class OrthoCachedTiledMapRenderer implements TiledMapRenderer, Disposable
 		float width = camera.viewportWidth * camera.zoom + maxTileWidth * 2 * unitScale;
 		float height = camera.viewportHeight * camera.zoom + maxTileHeight * 2 * unitScale;
 		viewBounds.set(camera.position.x - width / 2, camera.position.y - height / 2, width, height);
-		
-		if ((canCacheMoreW && viewBounds.x < cacheBounds.x - tolerance) || //
-				(canCacheMoreS && viewBounds.y < cacheBounds.y - tolerance) || //
-				(canCacheMoreE && viewBounds.x + viewBounds.width > cacheBounds.x + cacheBounds.width + tolerance) || //
-				(canCacheMoreN && viewBounds.y + viewBounds.height > cacheBounds.y + cacheBounds.height + tolerance) //
-		)
-			cached = false;
+		checkCacheBounds();
 	}
 	
 	@Override
@@ -85,38 +108,43 @@ public class OrthoCachedTiledMapRenderer implements TiledMapRenderer, Disposable
 		viewBoundsWidth += maxTileWidth * 2 * unitScale;
 		viewBoundsHeight += maxTileHeight * 2 * unitScale;
 		viewBounds.set(viewBoundsX, viewBoundsY, viewBoundsWidth, viewBoundsHeight);
-		
-		if ((canCacheMoreW && viewBounds.x < cacheBounds.x - tolerance) || //
-				(canCacheMoreS && viewBounds.y < cacheBounds.y - tolerance) || //
-				(canCacheMoreE && viewBounds.x + viewBounds.width > cacheBounds.x + cacheBounds.width + tolerance) || //
-				(canCacheMoreN && viewBounds.y + viewBounds.height > cacheBounds.y + cacheBounds.height + tolerance) //
-		)
+		checkCacheBounds();
+	}
+	
+	private void checkCacheBounds() {
+		if (viewBounds.x < cacheBounds.x - tolerance || viewBounds.y < cacheBounds.y - tolerance
+				|| viewBounds.x + viewBounds.width > cacheBounds.x + cacheBounds.width + tolerance
+				|| viewBounds.y + viewBounds.height > cacheBounds.y + cacheBounds.height + tolerance)
 			cached = false;
 	}
 	
 	@Override
 	public void render() {
+		render(null);
+	}
+	
+	@Override
+	public void render(int[] layers) {
+		AnimatedTiledMapTile.updateAnimationBaseTime();
+		frame++;
 		if (!cached) {
 			cached = true;
-			count = 0;
-			spriteCache.clear();
-			
+			boundsVersion++;
 			final float extraWidth = viewBounds.width * overCache;
 			final float extraHeight = viewBounds.height * overCache;
 			cacheBounds.x = viewBounds.x - extraWidth;
 			cacheBounds.y = viewBounds.y - extraHeight;
 			cacheBounds.width = viewBounds.width + extraWidth * 2;
 			cacheBounds.height = viewBounds.height + extraHeight * 2;
-			
-			for (MapLayer layer : map.layers) {
-				spriteCache.beginCache();
-				if (layer instanceof TiledMapTileLayer) {
-					renderTileLayer((TiledMapTileLayer) layer);
-				} else if (layer instanceof TiledMapImageLayer) {
-					renderImageLayer((TiledMapImageLayer) layer);
-				}
-				spriteCache.endCache();
-			}
+		}
+		
+		final MapLayers mapLayers = map.layers;
+		final int n = layers == null ? mapLayers.getCount() : layers.length;
+		if (!cacheLayers(layers, n)) {
+			// The free space is fragmented, cache the layers again from an empty cache.
+			clearBlocks();
+			if (!cacheLayers(layers, n))
+				throw new IllegalStateException("The cache size is too small for the view: " + cacheSize);
 		}
 		
 		if (blending) {
@@ -124,60 +152,267 @@ public class OrthoCachedTiledMapRenderer implements TiledMapRenderer, Disposable
 			Micro.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
 		}
 		spriteCache.begin();
-		MapLayers mapLayers = map.layers;
-		for (int i = 0, j = mapLayers.getCount(); i < j; i++) {
-			MapLayer layer = mapLayers.get(i);
-			if (layer.visible) {
-				spriteCache.draw(i);
-				renderObjects(layer);
+		for (int i = 0; i < n; i++) {
+			final MapLayer layer = mapLayers.get(layers == null ? i : layers[i]);
+			if (!layer.visible)
+				continue;
+			if (layer instanceof TiledMapTileLayer tileLayer)
+				drawBlocks(tileLayer);
+			else if (layer instanceof TiledMapImageLayer) {
+				final Block block = imageBlocks.get((TiledMapImageLayer) layer);
+				if (block != null && block.cacheId != -1)
+					spriteCache.draw(block.cacheId);
 			}
+			renderObjects(layer);
 		}
 		spriteCache.end();
 		if (blending)
 			Micro.gl.glDisable(GL20.GL_BLEND);
 	}
 	
-	@Override
-	public void render(int[] layers) {
-		if (!cached) {
-			cached = true;
-			count = 0;
-			spriteCache.clear();
-			
-			final float extraWidth = viewBounds.width * overCache;
-			final float extraHeight = viewBounds.height * overCache;
-			cacheBounds.x = viewBounds.x - extraWidth;
-			cacheBounds.y = viewBounds.y - extraHeight;
-			cacheBounds.width = viewBounds.width + extraWidth * 2;
-			cacheBounds.height = viewBounds.height + extraHeight * 2;
-			
-			for (MapLayer layer : map.layers) {
-				spriteCache.beginCache();
-				if (layer instanceof TiledMapTileLayer) {
-					renderTileLayer((TiledMapTileLayer) layer);
-				} else if (layer instanceof TiledMapImageLayer) {
-					renderImageLayer((TiledMapImageLayer) layer);
+	/**
+	 * Caches the blocks of the visible layers in the cache bounds which are not cached or changed.
+	 *
+	 * @return false if the cache has no space left for a block.
+	 */
+	private boolean cacheLayers(int[] layers, int n) {
+		final MapLayers mapLayers = map.layers;
+		for (int i = 0; i < n; i++) {
+			final MapLayer layer = mapLayers.get(layers == null ? i : layers[i]);
+			if (!layer.visible)
+				continue;
+			if (layer instanceof TiledMapTileLayer tileLayer) {
+				if (!cacheBlocks(tileLayer))
+					return false;
+			} else if (layer instanceof TiledMapImageLayer imageLayer) {
+				Block block = imageBlocks.get(imageLayer);
+				if (block == null) {
+					block = new Block(layer, 0, 0, 0);
+					imageBlocks.put(imageLayer, block);
+				}
+				if (block.version != boundsVersion) {
+					if (!cacheBlock(block))
+						return false;
+					block.version = boundsVersion;
 				}
-				spriteCache.endCache();
 			}
 		}
+		return true;
+	}
+	
+	private boolean cacheBlocks(TiledMapTileLayer layer) {
+		final float blockWidth = layer.tileWidth * unitScale * blockSize;
+		final float blockHeight = layer.tileHeight * unitScale * blockSize;
+		final float x = cacheBounds.x - getLayerOffsetX(layer) - getParallaxX(layer);
+		final float y = cacheBounds.y - getLayerOffsetY(layer) - getParallaxY(layer);
+		final int blocksX = (layer.width + blockSize - 1) / blockSize;
+		final int blocksY = (layer.height + blockSize - 1) / blockSize;
+		final int blockX1 = Math.max(0, (int) (x / blockWidth));
+		final int blockX2 = Math.min(blocksX - 1, (int) ((x + cacheBounds.width) / blockWidth));
+		final int blockY1 = Math.max(0, (int) (y / blockHeight));
+		final int blockY2 = Math.min(blocksY - 1, (int) ((y + cacheBounds.height) / blockHeight));
 		
-		if (blending) {
-			Micro.gl.glEnable(GL20.GL_BLEND);
-			Micro.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+		IntMap<Block> blocks = layerBlocks.get(layer);
+		if (blocks == null) {
+			blocks = new IntMap<>();
+			layerBlocks.put(layer, blocks);
 		}
-		spriteCache.begin();
-		MapLayers mapLayers = map.layers;
-		for (int i : layers) {
-			MapLayer layer = mapLayers.get(i);
-			if (layer.visible) {
-				spriteCache.draw(i);
-				renderObjects(layer);
+		for (int blockY = blockY1; blockY <= blockY2; blockY++) {
+			for (int blockX = blockX1; blockX <= blockX2; blockX++) {
+				final int key = blockY * blocksX + blockX;
+				Block block = blocks.get(key);
+				if (block == null) {
+					block = new Block(layer, key, blockX, blockY);
+					blocks.put(key, block);
+					this.blocks.add(block);
+				} else if (block.dirty || block.framesChanged() || changed(layer, block))
+					block.cached = false;
+				block.lastUsed = frame;
+				if (!block.cached) {
+					block.version = layer.getVersion();
+					if (!cacheBlock(block))
+						return false;
+				}
 			}
 		}
-		spriteCache.end();
-		if (blending)
-			Micro.gl.glDisable(GL20.GL_BLEND);
+		return true;
+	}
+	
+	/** @return whether a cell or chunk of the block was set since the block was cached. */
+	private boolean changed(TiledMapTileLayer layer, Block block) {
+		if (layer.getVersion() == block.version)
+			return false;
+		final int col1 = block.x * blockSize, row1 = block.y * blockSize;
+		final int col2 = Math.min(layer.width, col1 + blockSize) - 1, row2 = Math.min(layer.height, row1 + blockSize) - 1;
+		for (int chunkY = row1 >> TiledMapTileLayer.CHUNK_SHIFT; chunkY <= row2 >> TiledMapTileLayer.CHUNK_SHIFT; chunkY++)
+			for (int chunkX = col1 >> TiledMapTileLayer.CHUNK_SHIFT; chunkX <= col2 >> TiledMapTileLayer.CHUNK_SHIFT; chunkX++)
+				if (layer.getVersion(chunkX, chunkY) > block.version)
+					return true;
+		// the changes were elsewhere, so only later ones have to be checked.
+		block.version = layer.getVersion();
+		return false;
+	}
+	
+	/**
+	 * Caches the tiles of the block or the image layer, reusing its cache if it is large enough.
+	 *
+	 * @return false if the cache has no space left for the block.
+	 */
+	private boolean cacheBlock(Block block) {
+		final int sprites = addBlock(block, true);
+		count += sprites - block.sprites;
+		block.sprites = sprites;
+		block.cached = true;
+		block.dirty = false;
+		
+		int cacheId = block.cacheId;
+		if (cacheId != -1 && (sprites == 0 || capacities.get(cacheId) < sprites)) {
+			freeCaches.add(cacheId);
+			cacheId = block.cacheId = -1;
+		}
+		if (sprites == 0)
+			return true;
+		if (cacheId == -1) {
+			while ((cacheId = findFreeCache(sprites)) == -1 && usedSprites + sprites > cacheSize) {
+				if (!evict()) {
+					count -= block.sprites;
+					block.sprites = 0;
+					block.cached = false;
+					return false;
+				}
+			}
+			if (cacheId != -1)
+				freeCaches.removeValue(cacheId);
+		}
+		
+		if (cacheId == -1)
+			spriteCache.beginCache();
+		else
+			spriteCache.beginCache(cacheId);
+		addBlock(block, false);
+		final int id = block.cacheId = spriteCache.endCache();
+		if (id == capacities.size) {
+			capacities.add(sprites);
+			usedSprites += sprites;
+		} else if (id == capacities.size - 1) {
+			// The last cache is redefined with the exact size.
+			usedSprites += sprites - capacities.get(id);
+			capacities.set(id, sprites);
+		}
+		return true;
+	}
+	
+	/** @return the number of sprites of the block, only adding them to the current cache when not counting. */
+	private int addBlock(Block block, boolean counting) {
+		this.counting = counting;
+		currentBlock = block;
+		if (!counting)
+			block.clearFrames();
+		final int before = count;
+		if (block.layer instanceof TiledMapTileLayer layer) {
+			final int col1 = block.x * blockSize, row1 = block.y * blockSize;
+			renderTileLayer(layer, col1, row1, Math.min(layer.width, col1 + blockSize), Math.min(layer.height, row1 + blockSize));
+		} else
+			renderImageLayer((TiledMapImageLayer) block.layer);
+		final int sprites = count - before;
+		count = before;
+		this.counting = false;
+		currentBlock = null;
+		return sprites;
+	}
+	
+	private int findFreeCache(int sprites) {
+		int best = -1;
+		for (int i = 0, n = freeCaches.size; i < n; i++) {
+			final int cacheId = freeCaches.get(i), capacity = capacities.get(cacheId);
+			if (capacity >= sprites && (best == -1 || capacity < capacities.get(best)))
+				best = cacheId;
+		}
+		return best;
+	}
+	
+	/**
+	 * Frees the cache of the least recently used block not used in the current frame.
+	 *
+	 * @return false if there is no such block.
+	 */
+	private boolean evict() {
+		int oldest = -1;
+		for (int i = 0, n = blocks.size; i < n; i++) {
+			final Block block = blocks.get(i);
+			if (block.lastUsed != frame && (oldest == -1 || block.lastUsed < blocks.get(oldest).lastUsed))
+				oldest = i;
+		}
+		if (oldest == -1)
+			return false;
+		final Block block = blocks.removeIndex(oldest);
+		layerBlocks.get((TiledMapTileLayer) block.layer).remove(block.key);
+		count -= block.sprites;
+		if (block.cacheId != -1)
+			freeCaches.add(block.cacheId);
+		return true;
+	}
+	
+	private void drawBlocks(TiledMapTileLayer layer) {
+		final IntMap<Block> blocks = layerBlocks.get(layer);
+		if (blocks == null)
+			return;
+		final float parallaxX = getParallaxX(layer), parallaxY = getParallaxY(layer);
+		final float blockWidth = layer.tileWidth * unitScale * blockSize;
+		final float blockHeight = layer.tileHeight * unitScale * blockSize;
+		final float x = viewBounds.x - getLayerOffsetX(layer) - parallaxX;
+		final float y = viewBounds.y - getLayerOffsetY(layer) - parallaxY;
+		final int blocksX = (layer.width + blockSize - 1) / blockSize;
+		final int blocksY = (layer.height + blockSize - 1) / blockSize;
+		final int blockX1 = Math.max(0, (int) (x / blockWidth));
+		final int blockX2 = Math.min(blocksX - 1, (int) ((x + viewBounds.width) / blockWidth));
+		final int blockY1 = Math.max(0, (int) (y / blockHeight));
+		final int blockY2 = Math.min(blocksY - 1, (int) ((y + viewBounds.height) / blockHeight));
+		
+		final boolean parallax = parallaxX != 0 || parallaxY != 0;
+		final Matrix4 transformMatrix = spriteCache.getTransformMatrix();
+		if (parallax) {
+			spriteCache.end();
+			transform.set(transformMatrix);
+			transformMatrix.translate(parallaxX, parallaxY, 0);
+			spriteCache.begin();
+		}
+		for (int blockY = blockY2; blockY >= blockY1; blockY--) {
+			for (int blockX = blockX1; blockX <= blockX2; blockX++) {
+				final Block block = blocks.get(blockY * blocksX + blockX);
+				if (block != null && block.cacheId != -1)
+					spriteCache.draw(block.cacheId);
+			}
+		}
+		if (parallax) {
+			spriteCache.end();
+			transformMatrix.set(transform);
+			spriteCache.begin();
+		}
+	}
+	
+	private float getLayerOffsetX(MapLayer layer) {
+		return layer.getRenderOffsetX() * unitScale;
+	}
+	
+	private float getLayerOffsetY(MapLayer layer) {
+		// offset in tiled is y down, so we flip it
+		return -layer.getRenderOffsetY() * unitScale;
+	}
+	
+	/** @return the offset of the layer for its parallax factor, which is applied when drawing its blocks. */
+	private float getParallaxX(MapLayer layer) {
+		return -viewBounds.x * (layer.parallaxX - 1);
+	}
+	
+	private float getParallaxY(MapLayer layer) {
+		return -viewBounds.y * (layer.parallaxY - 1);
+	}
+	
+	private void add(Texture texture, float[] vertices) {
+		count++;
+		if (!counting)
+			spriteCache.add(texture, vertices, 0, NUM_VERTICES);
 	}
 	
 	@Override
@@ -189,35 +424,38 @@ public class OrthoCachedTiledMapRenderer implements TiledMapRenderer, Disposable
 	@Override
 	public void renderObject(MapObject object) {}
 	
+	/**
+	 * Adds the tiles of the layer in the cache bounds to the current cache of the sprite cache. The tiles are not offset for the
+	 * parallax factor of the layer.
+	 */
 	@Override
 	public void renderTileLayer(TiledMapTileLayer layer) {
-		final float color = Color.toFloatBits(1, 1, 1, layer.opacity);
-		
-		final int layerWidth = layer.width;
-		final int layerHeight = layer.height;
-		
 		final float layerTileWidth = layer.tileWidth * unitScale;
 		final float layerTileHeight = layer.tileHeight * unitScale;
+		final float x = cacheBounds.x - getLayerOffsetX(layer) - getParallaxX(layer);
+		final float y = cacheBounds.y - getLayerOffsetY(layer) - getParallaxY(layer);
 		
-		final float layerOffsetX = layer.getRenderOffsetX() * unitScale - viewBounds.x * (layer.parallaxX - 1);
-		// offset in tiled is y down, so we flip it
-		final float layerOffsetY = -layer.getRenderOffsetY() * unitScale - viewBounds.y * (layer.parallaxY - 1);
-		
-		final int col1 = Math.max(0, (int) ((cacheBounds.x - layerOffsetX) / layerTileWidth));
-		final int col2 = Math.min(layerWidth,
-				(int) ((cacheBounds.x + cacheBounds.width + layerTileWidth - layerOffsetX) / layerTileWidth));
+		final int col1 = Math.max(0, (int) (x / layerTileWidth));
+		final int col2 = Math.min(layer.width, (int) ((x + cacheBounds.width + layerTileWidth) / layerTileWidth));
+		final int row1 = Math.max(0, (int) (y / layerTileHeight));
+		final int row2 = Math.min(layer.height, (int) ((y + cacheBounds.height + layerTileHeight) / layerTileHeight));
+		renderTileLayer(layer, col1, row1, col2, row2);
+	}
+	
+	/**
+	 * Adds the tiles of the layer from col1, row1 up to but not including col2, row2 to the current cache of the sprite cache.
+	 */
+	protected void renderTileLayer(TiledMapTileLayer layer, int col1, int row1, int col2, int row2) {
+		final float color = Color.toFloatBits(1, 1, 1, layer.opacity);
 		
-		final int row1 = Math.max(0, (int) ((cacheBounds.y - layerOffsetY) / layerTileHeight));
-		final int row2 = Math.min(layerHeight,
-				(int) ((cacheBounds.y + cacheBounds.height + layerTileHeight - layerOffsetY) / layerTileHeight));
+		final float layerTileWidth = layer.tileWidth * unitScale;
+		final float layerTileHeight = layer.tileHeight * unitScale;
 		
-		canCacheMoreN = row2 < layerHeight;
-		canCacheMoreE = col2 < layerWidth;
-		canCacheMoreW = col1 > 0;
-		canCacheMoreS = row1 > 0;
+		final float layerOffsetX = getLayerOffsetX(layer);
+		final float layerOffsetY = getLayerOffsetY(layer);
 		
 		float[] vertices = this.vertices;
-		for (int row = row2; row >= row1; row--) {
+		for (int row = row2 - 1; row >= row1; row--) {
 			for (int col = col1; col < col2; col++) {
 				final TiledMapTileLayer.Cell cell = layer.getCell(col, row);
 				if (cell == null)
@@ -227,7 +465,8 @@ public class OrthoCachedTiledMapRenderer implements TiledMapRenderer, Disposable
 				if (tile == null)
 					continue;
 				
-				count++;
+				if (!counting && currentBlock != null && tile instanceof AnimatedTiledMapTile animated)
+					currentBlock.addFrame(animated);
 				final boolean flipX = cell.flipHorizontally;
 				final boolean flipY = cell.flipVertically;
 				final int rotations = cell.rotation;
@@ -334,7 +573,7 @@ public class OrthoCachedTiledMapRenderer implements TiledMapRenderer, Disposable
 						}
 					}
 				}
-				spriteCache.add(texture, vertices, 0, NUM_VERTICES);
+				add(texture, vertices);
 			}
 		}
 	}
@@ -391,7 +630,7 @@ public class OrthoCachedTiledMapRenderer implements TiledMapRenderer, Disposable
 			vertices[U4] = u2;
 			vertices[V4] = v1;
 			
-			spriteCache.add(region.getTexture(), vertices, 0, NUM_VERTICES);
+			add(region.getTexture(), vertices);
 			
 		} else {
 			
@@ -454,28 +693,68 @@ public class OrthoCachedTiledMapRenderer implements TiledMapRenderer, Disposable
 					vertices[U4] = ru2;
 					vertices[V4] = rv1;
 					
-					spriteCache.add(region.getTexture(), vertices, 0, NUM_VERTICES);
+					add(region.getTexture(), vertices);
 				}
 			}
 		}
 	}
 	
 	/**
-	 * Causes the cache to be rebuilt the next time it is rendered.
+	 * Drops every cached block, causing the blocks in view to be cached again the next time the map is rendered.
 	 */
 	public void invalidateCache() {
+		clearBlocks();
 		cached = false;
 	}
 	
 	/**
-	 * Returns true if tiles are currently cached.
+	 * Causes the block of the cell to be cached again the next time it is rendered, eg after the cell was changed.
+	 */
+	public void invalidateCell(TiledMapTileLayer layer, int x, int y) {
+		final IntMap<Block> blocks = layerBlocks.get(layer);
+		if (blocks == null || x < 0 || x >= layer.width || y < 0 || y >= layer.height)
+			return;
+		final Block block = blocks.get(y / blockSize * ((layer.width + blockSize - 1) / blockSize) + x / blockSize);
+		if (block != null)
+			block.dirty = true;
+	}
+	
+	private void clearBlocks() {
+		spriteCache.clear();
+		capacities.clear();
+		freeCaches.clear();
+		usedSprites = 0;
+		count = 0;
+		layerBlocks.clear();
+		imageBlocks.clear();
+		blocks.clear();
+	}
+	
+	/**
+	 * Returns true if the view is within the cache bounds, so no block has to be cached unless it changed.
 	 */
 	public boolean isCached() {
 		return cached;
 	}
 	
 	/**
-	 * Sets the percentage of the view that is cached in each direction. Default is 0.5.
+	 * Sets the number of tiles along each side of a block, which are cached and drawn together. Larger blocks take fewer draw
+	 * calls but take longer to cache while panning. Default is 16.
+	 */
+	public void setBlockSize(int blockSize) {
+		if (blockSize <= 0)
+			throw new IllegalArgumentException("blockSize must be > 0: " + blockSize);
+		this.blockSize = blockSize;
+		invalidateCache();
+	}
+	
+	public int getBlockSize() {
+		return blockSize;
+	}
+	
+	/**
+	 * Sets the percentage of the view that is cached in each direction. Default is 0.5. Blocks in this area are cached before they
+	 * come into view.
 	 * <p>
 	 * Eg, 0.75 will cache 75% of the width of the view to the left and right of the view, and 75% of the height of the view above
 	 * and below the view.
@@ -512,4 +791,53 @@ public class OrthoCachedTiledMapRenderer implements TiledMapRenderer, Disposable
 		spriteCache.dispose();
 	}
 	
+	private static class Block {
+		
+		final MapLayer layer;
+		final int key, x, y;
+		int cacheId = -1;
+		int sprites;
+		boolean cached, dirty;
+		int lastUsed;
+		/** The bounds version for an image layer, the {@link TiledMapTileLayer#getVersion() version} for a tile layer. */
+		int version;
+		/** The animated tiles of the block and their frames when it was cached. */
+		Array<AnimatedTiledMapTile> animatedTiles;
+		IntArray frames;
+		
+		Block(MapLayer layer, int key, int x, int y) {
+			this.layer = layer;
+			this.key = key;
+			this.x = x;
+			this.y = y;
+		}
+		
+		void addFrame(AnimatedTiledMapTile tile) {
+			if (animatedTiles == null) {
+				animatedTiles = new Array<>(4);
+				frames = new IntArray(4);
+			} else if (animatedTiles.contains(tile, true))
+				return;
+			animatedTiles.add(tile);
+			frames.add(tile.getCurrentFrameIndex());
+		}
+		
+		void clearFrames() {
+			if (animatedTiles != null) {
+				animatedTiles.clear();
+				frames.clear();
+			}
+		}
+		
+		boolean framesChanged() {
+			if (animatedTiles == null)
+				return false;
+			for (int i = 0, n = animatedTiles.size; i < n; i++)
+				if (animatedTiles.get(i).getCurrentFrameIndex() != frames.get(i))
+					return true;
+			return false;
+		}
+		
+	}
+	
 }
@@ -7,11 +7,15 @@ import me.nulldoubt.micro.maps.tiled.TiledMap;
 import me.nulldoubt.micro.maps.tiled.TiledMapTile;
 import me.nulldoubt.micro.maps.tiled.TiledMapTileLayer;
 import me.nulldoubt.micro.maps.tiled.TiledMapTileLayer.Cell;
+import me.nulldoubt.micro.maps.tiled.TiledMapTileSets;
 
 import static me.nulldoubt.micro.graphics.g2d.Batch.*;
+import static me.nulldoubt.micro.maps.tiled.TiledMapTileLayer.*;
 
 public class OrthogonalTiledMapRenderer extends BatchTiledMapRenderer {
 	
+	private final Cell cell = new Cell();
+	
 	public OrthogonalTiledMapRenderer(TiledMap map) {
 		super(map);
 	}
@@ -51,9 +55,13 @@ public class OrthogonalTiledMapRenderer extends BatchTiledMapRenderer {
 		final int row2 = Math.min(layerHeight,
 				(int) ((viewBounds.y + viewBounds.height + layerTileHeight - layerOffsetY) / layerTileHeight));
 		
+		if (layer.isChunked()) {
+			renderChunks(layer, color, col1, col2, row1, row2, layerTileWidth, layerTileHeight, layerOffsetX, layerOffsetY);
+			return;
+		}
+		
 		float y = row2 * layerTileHeight + layerOffsetY;
 		float xStart = col1 * layerTileWidth + layerOffsetX;
-		final float[] vertices = this.vertices;
 		
 		for (int row = row2; row >= row1; row--) {
 			float x = xStart;
@@ -70,106 +78,7 @@ public class OrthogonalTiledMapRenderer extends BatchTiledMapRenderer {
 					final boolean flipY = cell.flipVertically;
 					final int rotations = cell.rotation;
 					
-					TextureRegion region = tile.getTextureRegion();
-					
-					float x1 = x + tile.getOffsetX() * unitScale;
-					float y1 = y + tile.getOffsetY() * unitScale;
-					float x2 = x1 + region.getRegionWidth() * unitScale;
-					float y2 = y1 + region.getRegionHeight() * unitScale;
-					
-					float u1 = region.getU();
-					float v1 = region.getV2();
-					float u2 = region.getU2();
-					float v2 = region.getV();
-					
-					vertices[X1] = x1;
-					vertices[Y1] = y1;
-					vertices[C1] = color;
-					vertices[U1] = u1;
-					vertices[V1] = v1;
-					
-					vertices[X2] = x1;
-					vertices[Y2] = y2;
-					vertices[C2] = color;
-					vertices[U2] = u1;
-					vertices[V2] = v2;
-					
-					vertices[X3] = x2;
-					vertices[Y3] = y2;
-					vertices[C3] = color;
-					vertices[U3] = u2;
-					vertices[V3] = v2;
-					
-					vertices[X4] = x2;
-					vertices[Y4] = y1;
-					vertices[C4] = color;
-					vertices[U4] = u2;
-					vertices[V4] = v1;
-					
-					if (flipX) {
-						float temp = vertices[U1];
-						vertices[U1] = vertices[U3];
-						vertices[U3] = temp;
-						temp = vertices[U2];
-						vertices[U2] = vertices[U4];
-						vertices[U4] = temp;
-					}
-					if (flipY) {
-						float temp = vertices[V1];
-						vertices[V1] = vertices[V3];
-						vertices[V3] = temp;
-						temp = vertices[V2];
-						vertices[V2] = vertices[V4];
-						vertices[V4] = temp;
-					}
-					if (rotations != 0) {
-						switch (rotations) {
-							case Cell.ROTATE_90: {
-								float tempV = vertices[V1];
-								vertices[V1] = vertices[V2];
-								vertices[V2] = vertices[V3];
-								vertices[V3] = vertices[V4];
-								vertices[V4] = tempV;
-								
-								float tempU = vertices[U1];
-								vertices[U1] = vertices[U2];
-								vertices[U2] = vertices[U3];
-								vertices[U3] = vertices[U4];
-								vertices[U4] = tempU;
-								break;
-							}
-							case Cell.ROTATE_180: {
-								float tempU = vertices[U1];
-								vertices[U1] = vertices[U3];
-								vertices[U3] = tempU;
-								tempU = vertices[U2];
-								vertices[U2] = vertices[U4];
-								vertices[U4] = tempU;
-								float tempV = vertices[V1];
-								vertices[V1] = vertices[V3];
-								vertices[V3] = tempV;
-								tempV = vertices[V2];
-								vertices[V2] = vertices[V4];
-								vertices[V4] = tempV;
-								break;
-							}
-							case Cell.ROTATE_270: {
-								float tempV = vertices[V1];
-								vertices[V1] = vertices[V4];
-								vertices[V4] = vertices[V3];
-								vertices[V3] = vertices[V2];
-								vertices[V2] = tempV;
-								
-								float tempU = vertices[U1];
-								vertices[U1] = vertices[U4];
-								vertices[U4] = vertices[U3];
-								vertices[U3] = vertices[U2];
-								vertices[U2] = tempU;
-								break;
-							}
-						}
-					}
-					batch.draw(region.getTexture(), vertices, 0, NUM_VERTICES);
+					renderTile(tile, flipX, flipY, rotations, x, y, color);
 				}
 				x += layerTileWidth;
 			}
@@ -177,4 +86,137 @@ public class OrthogonalTiledMapRenderer extends BatchTiledMapRenderer {
 		}
 	}
 	
+	/**
+	 * Renders the tiles of a chunked layer by reading its chunks directly, skipping chunks without tiles.
+	 */
+	private void renderChunks(TiledMapTileLayer layer, float color, int col1, int col2, int row1, int row2, float layerTileWidth, float layerTileHeight, float layerOffsetX, float layerOffsetY) {
+		final TiledMapTileSets tileSets = layer.getTileSets();
+		final Cell cell = this.cell;
+		final int firstChunkX = col1 >> CHUNK_SHIFT, lastChunkX = (col2 - 1) >> CHUNK_SHIFT;
+		for (int row = Math.min(row2, layer.height - 1); row >= row1; row--) {
+			final int chunkY = row >> CHUNK_SHIFT, rowOffset = (row & (CHUNK_SIZE - 1)) << CHUNK_SHIFT;
+			final float y = row * layerTileHeight + layerOffsetY;
+			for (int chunkX = firstChunkX; chunkX <= lastChunkX; chunkX++) {
+				final int[] chunk = layer.getChunk(chunkX, chunkY);
+				if (chunk == null)
+					continue;
+				final int chunkCol = chunkX << CHUNK_SHIFT;
+				for (int col = Math.max(col1, chunkCol), end = Math.min(col2, chunkCol + CHUNK_SIZE); col < end; col++) {
+					final int gid = chunk[rowOffset + col - chunkCol];
+					if (gid == 0)
+						continue;
+					final TiledMapTile tile = tileSets.getTile(gid & ~FLIP_MASK);
+					if (tile == null)
+						continue;
+					cell.set(tile, gid);
+					renderTile(tile, cell.flipHorizontally, cell.flipVertically, cell.rotation, col * layerTileWidth + layerOffsetX, y, color);
+				}
+			}
+		}
+	}
+	
+	private void renderTile(TiledMapTile tile, boolean flipX, boolean flipY, int rotations, float x, float y, float color) {
+		final float[] vertices = this.vertices;
+		TextureRegion region = tile.getTextureRegion();
+		
+		float x1 = x + tile.getOffsetX() * unitScale;
+		float y1 = y + tile.getOffsetY() * unitScale;
+		float x2 = x1 + region.getRegionWidth() * unitScale;
+		float y2 = y1 + region.getRegionHeight() * unitScale;
+		
+		float u1 = region.getU();
+		float v1 = region.getV2();
+		float u2 = region.getU2();
+		float v2 = region.getV();
+		
+		vertices[X1] = x1;
+		vertices[Y1] = y1;
+		vertices[C1] = color;
+		vertices[U1] = u1;
+		vertices[V1] = v1;
+		
+		vertices[X2] = x1;
+		vertices[Y2] = y2;
+		vertices[C2] = color;
+		vertices[U2] = u1;
+		vertices[V2] = v2;
+		
+		vertices[X3] = x2;
+		vertices[Y3] = y2;
+		vertices[C3] = color;
+		vertices[U3] = u2;
+		vertices[V3] = v2;
+		
+		vertices[X4] = x2;
+		vertices[Y4] = y1;
+		vertices[C4] = color;
+		vertices[U4] = u2;
+		vertices[V4] = v1;
+		
+		if (flipX) {
+			float temp = vertices[U1];
+			vertices[U1] = vertices[U3];
+			vertices[U3] = temp;
+			temp = vertices[U2];
+			vertices[U2] = vertices[U4];
+			vertices[U4] = temp;
+		}
+		if (flipY) {
+			float temp = vertices[V1];
+			vertices[V1] = vertices[V3];
+			vertices[V3] = temp;
+			temp = vertices[V2];
+			vertices[V2] = vertices[V4];
+			vertices[V4] = temp;
+		}
+		if (rotations != 0) {
+			switch (rotations) {
+				case Cell.ROTATE_90: {
+					float tempV = vertices[V1];
+					vertices[V1] = vertices[V2];
+					vertices[V2] = vertices[V3];
+					vertices[V3] = vertices[V4];
+					vertices[V4] = tempV;
+					
+					float tempU = vertices[U1];
+					vertices[U1] = vertices[U2];
+					vertices[U2] = vertices[U3];
+					vertices[U3] = vertices[U4];
+					vertices[U4] = tempU;
+					break;
+				}
+				case Cell.ROTATE_180: {
+					float tempU = vertices[U1];
+					vertices[U1] = vertices[U3];
+					vertices[U3] = tempU;
+					tempU = vertices[U2];
+					vertices[U2] = vertices[U4];
+					vertices[U4] = tempU;
+					float tempV = vertices[V1];
+					vertices[V1] = vertices[V3];
+					vertices[V3] = tempV;
+					tempV = vertices[V2];
+					vertices[V2] = vertices[V4];
+					vertices[V4] = tempV;
+					break;
+				}
+				case Cell.ROTATE_270: {
+					float tempV = vertices[V1];
+					vertices[V1] = vertices[V4];
+					vertices[V4] = vertices[V3];
+					vertices[V3] = vertices[V2];
+					vertices[V2] = tempV;
+					
+					float tempU = vertices[U1];
+					vertices[U1] = vertices[U4];
+					vertices[U4] = vertices[U3];
+					vertices[U3] = vertices[U2];
+					vertices[U2] = tempU;
+					break;
+				}
+			}
+		}
+		batch.draw(region.getTexture(), vertices, 0, NUM_VERTICES);
+	}
+	
 }
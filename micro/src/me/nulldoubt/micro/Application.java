@@ -3,7 +3,7 @@ package me.nulldoubt.micro;
 public interface Application {
 	
 	enum ApplicationType {
-		Android, Desktop, Applet
+		Android, Desktop, HeadlessDesktop, Applet
 	}
 	
 	int LOG_NONE = 0;
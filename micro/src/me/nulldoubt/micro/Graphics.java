@@ -7,7 +7,7 @@ import me.nulldoubt.micro.graphics.glutils.GLVersion;
 public interface Graphics {
 	
 	enum GraphicsType {
-		AndroidGL, LWJGL3
+		AndroidGL, LWJGL3, Headless
 	}
 	
 	class DisplayMode {
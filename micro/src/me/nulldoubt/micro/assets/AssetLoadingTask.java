@@ -12,6 +12,10 @@ import me.nulldoubt.micro.utils.async.AsyncResult;
 import me.nulldoubt.micro.utils.async.AsyncTask;
 import me.nulldoubt.micro.utils.collections.Array;
 
+/**
+ * Loads a single asset for the {@link AssetManager}. The dependencies and the asynchronous part of an asynchronous loader run on
+ * the executor of the manager, everything else on the thread calling {@link AssetManager#update()}.
+ */
 public class AssetLoadingTask implements AsyncTask<Void> {
 	
 	AssetManager manager;
@@ -20,6 +24,15 @@ public class AssetLoadingTask implements AsyncTask<Void> {
 	final AsyncExecutor executor;
 	final long startTime;
 	
+	/** Whether the asset was queued with {@link AssetManager#load(AssetDescriptor)} rather than being a dependency. */
+	boolean root;
+	/** The tasks waiting for this asset, each of them holds a reference to it once it is loaded. */
+	final Array<AssetLoadingTask> dependents = new Array<>(false, 4);
+	int pendingDependencies;
+	boolean dependenciesInjected;
+	boolean ownsLoader;
+	boolean syncing;
+	
 	volatile boolean asyncDone;
 	volatile boolean dependenciesLoaded;
 	volatile Array<AssetDescriptor<?>> dependencies;
@@ -43,15 +56,15 @@ public class AssetLoadingTask implements AsyncTask<Void> {
 			return null;
 		AsynchronousAssetLoader asyncLoader = (AsynchronousAssetLoader) loader;
 		if (!dependenciesLoaded) {
-			dependencies = asyncLoader.getDependencies(assetDesc.fileName, resolve(loader, assetDesc), assetDesc.params);
-			if (dependencies != null) {
+			final Array<AssetDescriptor<?>> dependencies = asyncLoader.getDependencies(assetDesc.fileName, resolve(loader, assetDesc), assetDesc.params);
+			if (dependencies != null)
 				removeDuplicates(dependencies);
-				manager.injectDependencies(assetDesc.fileName, dependencies);
-			} else {
+			else {
 				// if we have no dependencies, we load the async part of the task immediately.
 				asyncLoader.loadAsync(manager, assetDesc.fileName, resolve(loader, assetDesc), assetDesc.params);
 				asyncDone = true;
 			}
+			this.dependencies = dependencies;
 		} else {
 			asyncLoader.loadAsync(manager, assetDesc.fileName, resolve(loader, assetDesc), assetDesc.params);
 			asyncDone = true;
@@ -59,31 +72,16 @@ public class AssetLoadingTask implements AsyncTask<Void> {
 		return null;
 	}
 	
+	/**
+	 * Advances the asynchronous part of the task. Called by the manager while holding its lock.
+	 *
+	 * @return whether {@link #updateSync()} has work to do.
+	 */
 	public boolean update() {
+		if (dependenciesLoaded && !dependenciesInjected)
+			manager.injectDependencies(this);
 		if (loader instanceof SynchronousAssetLoader)
-			handleSyncLoader();
-		else
-			handleAsyncLoader();
-		return asset != null;
-	}
-	
-	private void handleSyncLoader() {
-		SynchronousAssetLoader syncLoader = (SynchronousAssetLoader) loader;
-		if (!dependenciesLoaded) {
-			dependenciesLoaded = true;
-			dependencies = syncLoader.getDependencies(assetDesc.fileName, resolve(loader, assetDesc), assetDesc.params);
-			if (dependencies == null) {
-				asset = syncLoader.load(manager, assetDesc.fileName, resolve(loader, assetDesc), assetDesc.params);
-				return;
-			}
-			removeDuplicates(dependencies);
-			manager.injectDependencies(assetDesc.fileName, dependencies);
-		} else
-			asset = syncLoader.load(manager, assetDesc.fileName, resolve(loader, assetDesc), assetDesc.params);
-	}
-	
-	private void handleAsyncLoader() {
-		AsynchronousAssetLoader asyncLoader = (AsynchronousAssetLoader) loader;
+			return pendingDependencies == 0;
 		if (!dependenciesLoaded) {
 			if (depsFuture == null)
 				depsFuture = executor.submit(this);
@@ -94,26 +92,60 @@ public class AssetLoadingTask implements AsyncTask<Void> {
 					throw new MicroRuntimeException("Couldn't load dependencies of asset: " + assetDesc.fileName, e);
 				}
 				dependenciesLoaded = true;
-				if (asyncDone)
-					asset = asyncLoader.loadSync(manager, assetDesc.fileName, resolve(loader, assetDesc), assetDesc.params);
+				manager.injectDependencies(this);
 			}
-		} else if (loadFuture == null && !asyncDone)
+			if (!dependenciesLoaded)
+				return false;
+		}
+		if (pendingDependencies > 0)
+			return false;
+		if (asyncDone)
+			return true;
+		if (loadFuture == null)
 			loadFuture = executor.submit(this);
-		else if (asyncDone)
-			asset = asyncLoader.loadSync(manager, assetDesc.fileName, resolve(loader, assetDesc), assetDesc.params);
 		else if (loadFuture.isDone()) {
 			try {
 				loadFuture.get();
 			} catch (Exception e) {
 				throw new MicroRuntimeException("Couldn't load asset: " + assetDesc.fileName, e);
 			}
-			asset = asyncLoader.loadSync(manager, assetDesc.fileName, resolve(loader, assetDesc), assetDesc.params);
+			return true;
 		}
+		return false;
+	}
+	
+	/**
+	 * Runs the part of the task that has to happen on the rendering thread. Called by the manager without holding its lock.
+	 */
+	void updateSync() {
+		if (loader instanceof SynchronousAssetLoader syncLoader) {
+			if (!dependenciesLoaded) {
+				final Array<AssetDescriptor<?>> dependencies = syncLoader.getDependencies(assetDesc.fileName, resolve(loader, assetDesc), assetDesc.params);
+				if (dependencies != null) {
+					removeDuplicates(dependencies);
+					this.dependencies = dependencies;
+					dependenciesLoaded = true;
+					return;
+				}
+				dependenciesLoaded = true;
+				dependenciesInjected = true;
+			}
+			asset = syncLoader.load(manager, assetDesc.fileName, resolve(loader, assetDesc), assetDesc.params);
+		} else
+			asset = ((AsynchronousAssetLoader) loader).loadSync(manager, assetDesc.fileName, resolve(loader, assetDesc), assetDesc.params);
+	}
+	
+	/** @return whether no work of the task is running on the executor. */
+	boolean isIdle() {
+		return (depsFuture == null || depsFuture.isDone()) && (loadFuture == null || loadFuture.isDone());
 	}
 	
+	/** Lets the loader release what it keeps for the asset of a cancelled or failed task. */
 	public void unload() {
-		if (loader instanceof AsynchronousAssetLoader<?, ?> asynchronousAssetLoader)
+		if (loader instanceof AsynchronousAssetLoader asynchronousAssetLoader)
 			asynchronousAssetLoader.unloadAsync(manager, assetDesc.fileName, resolve(loader, assetDesc), assetDesc.params);
+		else if (loader instanceof SynchronousAssetLoader synchronousAssetLoader)
+			synchronousAssetLoader.unload(manager, assetDesc.fileName, resolve(loader, assetDesc), assetDesc.params);
 	}
 	
 	private FileHandle resolve(AssetLoader<?, ?> loader, AssetDescriptor<?> assetDesc) {
@@ -39,6 +39,10 @@ public class AssetManager implements Disposable {
 	final AsyncExecutor executor;
 	
 	final Array<AssetLoadingTask> tasks = new Array<>();
+	final ObjectMap<AssetLoader<?, ?>, AssetLoadingTask> loaderOwners = new ObjectMap<>();
+	private final Array<AssetLoadingTask> dependencyWalk = new Array<>();
+	private final Array<AssetLoadingTask> waitWalk = new Array<>();
+	final int parallelism;
 	AssetErrorListener listener;
 	int loaded;
 	int toLoad;
@@ -55,7 +59,18 @@ public class AssetManager implements Disposable {
 	}
 	
 	public AssetManager(FileHandleResolver resolver, boolean defaultLoaders) {
+		this(resolver, defaultLoaders, Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1)));
+	}
+	
+	/**
+	 * @param parallelism the number of threads running the asynchronous parts of loaders. Up to twice as many queued assets are
+	 *                    loaded at once, their synchronous parts are still run one per {@link #update()}.
+	 */
+	public AssetManager(FileHandleResolver resolver, boolean defaultLoaders, int parallelism) {
+		if (parallelism < 1)
+			throw new IllegalArgumentException("parallelism must be >= 1: " + parallelism);
 		this.resolver = resolver;
+		this.parallelism = parallelism;
 		if (defaultLoaders) {
 			setLoader(BitmapFont.class, new BitmapFontLoader(resolver));
 			setLoader(Music.class, new MusicLoader(resolver));
@@ -66,13 +81,17 @@ public class AssetManager implements Disposable {
 			setLoader(I18NBundle.class, new I18NBundleLoader(resolver));
 			setLoader(Shader.class, new ShaderProgramLoader(resolver));
 		}
-		executor = new AsyncExecutor(1, "AssetManager");
+		executor = new AsyncExecutor(parallelism, "AssetManager");
 	}
 	
 	public FileHandleResolver getFileHandleResolver() {
 		return resolver;
 	}
 	
+	public int getParallelism() {
+		return parallelism;
+	}
+	
 	public synchronized <T> T get(String fileName) {
 		return get(fileName, true);
 	}
@@ -122,8 +141,11 @@ public class AssetManager implements Disposable {
 	}
 	
 	public synchronized boolean contains(String fileName) {
-		if (tasks.size > 0 && tasks.first().assetDesc.fileName.equals(fileName))
-			return true;
+		for (int i = 0; i < tasks.size; i++) {
+			final AssetLoadingTask task = tasks.get(i);
+			if (task.root && !task.cancel && task.assetDesc.fileName.equals(fileName))
+				return true;
+		}
 		
 		for (int i = 0; i < loadQueue.size; i++)
 			if (loadQueue.get(i).fileName.equals(fileName))
@@ -133,9 +155,9 @@ public class AssetManager implements Disposable {
 	}
 	
 	public synchronized boolean contains(String fileName, Class<?> type) {
-		if (tasks.size > 0) {
-			final AssetDescriptor<?> assetDesc = tasks.first().assetDesc;
-			if (assetDesc.type == type && assetDesc.fileName.equals(fileName))
+		for (int i = 0; i < tasks.size; i++) {
+			final AssetLoadingTask task = tasks.get(i);
+			if (task.root && !task.cancel && task.assetDesc.type == type && task.assetDesc.fileName.equals(fileName))
 				return true;
 		}
 		
@@ -150,12 +172,15 @@ public class AssetManager implements Disposable {
 	
 	public synchronized void unload(String fileName) {
 		
-		if (tasks.size > 0) {
-			AssetLoadingTask currentTask = tasks.first();
-			if (currentTask.assetDesc.fileName.equals(fileName)) {
+		for (int i = 0; i < tasks.size; i++) {
+			final AssetLoadingTask task = tasks.get(i);
+			if (task.root && !task.cancel && task.assetDesc.fileName.equals(fileName)) {
 				Micro.app.log(TAG, "Unload (from tasks): " + fileName);
-				currentTask.cancel = true;
-				currentTask.unload();
+				task.root = false;
+				loaded++;
+				// another asset still depends on it, so it is loaded anyway.
+				if (task.dependents.size == 0)
+					task.cancel = true;
 				return;
 			}
 		}
@@ -282,7 +307,7 @@ public class AssetManager implements Disposable {
 		if (loader == null)
 			throw new MicroRuntimeException("No loader for type: " + type.getSimpleName());
 		
-		if (loadQueue.size == 0) {
+		if (loadQueue.size == 0 && tasks.size == 0) {
 			loaded = 0;
 			toLoad = 0;
 			peakTasks = 0;
@@ -314,21 +339,42 @@ public class AssetManager implements Disposable {
 		load(desc.fileName, desc.type, desc.params);
 	}
 	
-	public synchronized boolean update() {
+	/**
+	 * Starts loading queued assets, advances the ones being loaded and runs the synchronous part of at most one of them. The
+	 * manager is not locked while that part runs, so other threads can keep calling {@link #get(String)}.
+	 *
+	 * @return whether all loading is finished.
+	 */
+	public boolean update() {
+		final AssetLoadingTask task;
+		synchronized (this) {
+			while (loadQueue.size != 0 && countRootTasks() < parallelism * 2 && findTask(loadQueue.first().fileName) == null)
+				nextTask();
+			task = updateTasks();
+			if (task == null)
+				return isFinished();
+		}
+		Throwable error = null;
 		try {
-			if (tasks.size == 0) {
-				while (loadQueue.size != 0 && tasks.size == 0)
-					nextTask();
-				if (tasks.size == 0)
-					return true;
-			}
-			return updateTask() && loadQueue.size == 0 && tasks.size == 0;
+			task.updateSync();
 		} catch (Throwable t) {
-			handleTaskError(t);
-			return loadQueue.size == 0;
+			error = t;
+		}
+		synchronized (this) {
+			task.syncing = false;
+			if (error instanceof RuntimeException ex)
+				failTask(task, ex);
+			else if (error != null)
+				handleTaskError(task, error);
+			else if (task.asset != null)
+				completeTask(task);
+			return isFinished();
 		}
 	}
 	
+	/**
+	 * Loads for at most the given time, blocking the calling thread. Useful to give loading a budget per frame.
+	 */
 	public boolean update(final int millis) {
 		final long endTime = System.currentTimeMillis() + millis;
 		while (true) {
@@ -369,24 +415,28 @@ public class AssetManager implements Disposable {
 						}
 					}
 				}
-				update();
 			}
+			update();
 			Thread.yield();
 		}
 	}
 	
-	synchronized void injectDependencies(String parentAssetFilename, Array<AssetDescriptor<?>> dependendAssetDescs) {
+	synchronized void injectDependencies(AssetLoadingTask task) {
+		task.dependenciesInjected = true;
+		if (task.dependencies == null)
+			return;
 		final ObjectSet<String> injected = this.injected;
-		for (AssetDescriptor<?> desc : dependendAssetDescs) {
+		for (AssetDescriptor<?> desc : task.dependencies) {
 			if (injected.contains(desc.fileName))
 				continue; // Ignore subsequent dependencies if there are duplicates.
 			injected.add(desc.fileName);
-			injectDependency(parentAssetFilename, desc);
+			injectDependency(task, desc);
 		}
 		injected.clear(32);
 	}
 	
-	private synchronized void injectDependency(String parentAssetFilename, AssetDescriptor<?> dependendAssetDesc) {
+	private void injectDependency(AssetLoadingTask parent, AssetDescriptor<?> dependendAssetDesc) {
+		final String parentAssetFilename = parent.assetDesc.fileName;
 		Array<String> dependencies = assetDependencies.get(parentAssetFilename);
 		if (dependencies == null) {
 			dependencies = new Array<>();
@@ -400,11 +450,19 @@ public class AssetManager implements Disposable {
 			RefCountedContainer assetRef = assets.get(type).get(dependendAssetDesc.fileName);
 			assetRef.refCount++;
 			incrementRefCountedDependencies(dependendAssetDesc.fileName);
-		} else {
+			return;
+		}
+		
+		AssetLoadingTask task = findTask(dependendAssetDesc.fileName);
+		if (task != null)
+			Micro.app.debug(TAG, "Dependency already loading: " + dependendAssetDesc);
+		else {
 			// else add a new task for the asset.
 			Micro.app.log(TAG, "Loading dependency: " + dependendAssetDesc);
-			addTask(dependendAssetDesc);
+			task = addTask(dependendAssetDesc);
 		}
+		task.dependents.add(parent);
+		parent.pendingDependencies++;
 	}
 	
 	private void nextTask() {
@@ -423,16 +481,152 @@ public class AssetManager implements Disposable {
 		} else {
 			// else add a new task for the asset.
 			Micro.app.log(TAG, "Loading: " + assetDesc);
-			addTask(assetDesc);
+			addTask(assetDesc).root = true;
 		}
 	}
 	
-	private void addTask(AssetDescriptor<?> assetDesc) {
+	private AssetLoadingTask addTask(AssetDescriptor<?> assetDesc) {
 		AssetLoader<?, ?> loader = getLoader(assetDesc.type, assetDesc.fileName);
 		if (loader == null)
 			throw new MicroRuntimeException("No loader for type: " + assetDesc.type.getSimpleName());
-		tasks.add(new AssetLoadingTask(this, assetDesc, loader, executor));
+		final AssetLoadingTask task = new AssetLoadingTask(this, assetDesc, loader, executor);
+		tasks.add(task);
 		peakTasks++;
+		return task;
+	}
+	
+	private void removeTask(AssetLoadingTask task) {
+		tasks.removeValue(task, true);
+		if (task.ownsLoader) {
+			loaderOwners.remove(task.loader);
+			task.ownsLoader = false;
+		}
+		if (tasks.size == 0)
+			peakTasks = 0;
+	}
+	
+	private AssetLoadingTask findTask(String fileName) {
+		for (int i = 0; i < tasks.size; i++) {
+			final AssetLoadingTask task = tasks.get(i);
+			if (!task.cancel && task.assetDesc.fileName.equals(fileName))
+				return task;
+		}
+		return null;
+	}
+	
+	private int countRootTasks() {
+		int count = 0;
+		for (int i = 0; i < tasks.size; i++)
+			if (tasks.get(i).root)
+				count++;
+		return count;
+	}
+	
+	/**
+	 * A loader that is not {@link AssetLoader#isConcurrent() concurrent} is owned by one task from its dependencies until its
+	 * final load. Dependencies of the owner may still use it, as the owner can't finish without them. A task that would wait for
+	 * an owner which itself waits for the task, through dependencies needing each other's loaders, fails instead.
+	 */
+	private boolean acquireLoader(AssetLoadingTask task) {
+		if (task.ownsLoader || task.loader.isConcurrent())
+			return true;
+		final AssetLoadingTask owner = loaderOwners.get(task.loader);
+		if (owner == null) {
+			loaderOwners.put(task.loader, task);
+			task.ownsLoader = true;
+			return true;
+		}
+		if (isDependencyOf(task, owner))
+			return true;
+		if (waitsFor(owner, task))
+			throw new MicroRuntimeException("Couldn't load asset: " + task.assetDesc.fileName + ", its loader is held by "
+					+ owner.assetDesc.fileName + ", which waits for it through dependencies needing each other's loaders.");
+		return false;
+	}
+	
+	/** @return whether the task is a dependency, directly or transitively, of the other task. */
+	private boolean isDependencyOf(AssetLoadingTask task, AssetLoadingTask other) {
+		final Array<AssetLoadingTask> pending = dependencyWalk;
+		pending.add(task);
+		try {
+			for (int i = 0; i < pending.size; i++) {
+				final Array<AssetLoadingTask> dependents = pending.get(i).dependents;
+				for (int ii = 0; ii < dependents.size; ii++) {
+					final AssetLoadingTask dependent = dependents.get(ii);
+					if (dependent == other)
+						return true;
+					if (!pending.contains(dependent, true))
+						pending.add(dependent);
+				}
+			}
+			return false;
+		} finally {
+			pending.clear();
+		}
+	}
+	
+	/**
+	 * @return whether the waiting task needs the other task to finish first, through its dependencies and the owners of the
+	 * loaders they wait for.
+	 */
+	private boolean waitsFor(AssetLoadingTask waiting, AssetLoadingTask other) {
+		final Array<AssetLoadingTask> pending = waitWalk;
+		pending.add(waiting);
+		try {
+			for (int i = 0; i < pending.size; i++) {
+				final AssetLoadingTask current = pending.get(i);
+				for (int ii = 0; ii < tasks.size; ii++) {
+					final AssetLoadingTask task = tasks.get(ii);
+					if (task == current || task.cancel)
+						continue;
+					final boolean blocking = task.dependents.contains(current, true)
+							|| (task.ownsLoader && task.loader == current.loader && !isDependencyOf(current, task));
+					if (!blocking)
+						continue;
+					if (task == other)
+						return true;
+					if (!pending.contains(task, true))
+						pending.add(task);
+				}
+			}
+			return false;
+		} finally {
+			pending.clear();
+		}
+	}
+	
+	/**
+	 * Advances every task and removes the cancelled ones.
+	 *
+	 * @return the first task whose synchronous part can run, or null.
+	 */
+	private AssetLoadingTask updateTasks() {
+		AssetLoadingTask ready = null;
+		for (int i = 0; i < tasks.size; i++) {
+			final AssetLoadingTask task = tasks.get(i);
+			if (task.syncing)
+				continue;
+			if (task.cancel) {
+				// work still running on the executor may use the loader, so it is only released afterwards.
+				if (task.isIdle()) {
+					cancelTask(task);
+					i--;
+				}
+				continue;
+			}
+			try {
+				if (!acquireLoader(task))
+					continue;
+				if (task.update() && ready == null)
+					ready = task;
+			} catch (RuntimeException ex) {
+				failTask(task, ex);
+				return null;
+			}
+		}
+		if (ready != null)
+			ready.syncing = true;
+		return ready;
 	}
 	
 	protected <T> void addAsset(final String fileName, Class<T> type, T asset) {
@@ -448,41 +642,73 @@ public class AssetManager implements Disposable {
 		typeToAssets.put(fileName, assetRef);
 	}
 	
-	private boolean updateTask() {
-		AssetLoadingTask task = tasks.peek();
+	private void completeTask(AssetLoadingTask task) {
+		if (task.cancel) {
+			cancelTask(task);
+			return;
+		}
+		removeTask(task);
+		
+		final String fileName = task.assetDesc.fileName;
+		addAsset(fileName, task.assetDesc.type, task.asset);
 		
-		boolean complete = true;
+		// the queued load and every dependent hold a reference.
+		final int references = (task.root ? 1 : 0) + task.dependents.size;
+		if (references > 1) {
+			final RefCountedContainer assetRef = assets.get(task.assetDesc.type).get(fileName);
+			for (int i = 1; i < references; i++) {
+				assetRef.refCount++;
+				incrementRefCountedDependencies(fileName);
+			}
+		}
+		for (AssetLoadingTask dependent : task.dependents)
+			dependent.pendingDependencies--;
+		if (task.root)
+			loaded++;
+		
+		// if a listener was found in the parameter invoke it
+		if (task.assetDesc.params != null && task.assetDesc.params.loadedCallback != null)
+			task.assetDesc.params.loadedCallback.finishedLoading(this, fileName, task.assetDesc.type);
+		
+		long endTime = System.nanoTime();
+		Micro.app.debug(TAG, "Loaded: " + (endTime - task.startTime) / 1000000f + "ms " + task.assetDesc);
+	}
+	
+	/**
+	 * Removes a cancelled task once no work of it runs on the executor, letting its loader release the state kept for it,
+	 * releasing the references it holds on its dependencies and cancelling the tasks that depend on it.
+	 */
+	private void cancelTask(AssetLoadingTask task) {
+		removeTask(task);
+		task.cancel = true;
 		try {
-			complete = task.cancel || task.update();
+			task.unload();
 		} catch (RuntimeException ex) {
-			task.cancel = true;
-			taskFailed(task.assetDesc, ex);
+			Micro.app.error(TAG, "Error unloading asset: " + task.assetDesc, ex);
 		}
-		
-		// if the task has been cancelled or has finished loading
-		if (complete) {
-			// increase the number of loaded assets and pop the task from the stack
-			if (tasks.size == 1) {
-				loaded++;
-				peakTasks = 0;
+		if (task.dependenciesInjected && task.dependencies != null) {
+			for (AssetDescriptor<?> desc : task.dependencies) {
+				final AssetLoadingTask dependency = findTask(desc.fileName);
+				if (dependency != null) {
+					dependency.dependents.removeValue(task, true);
+					if (!dependency.root && dependency.dependents.size == 0)
+						dependency.cancel = true;
+				} else if (isLoaded(desc.fileName))
+					unload(desc.fileName);
 			}
-			tasks.pop();
-			
-			if (task.cancel)
-				return true;
-			
-			addAsset(task.assetDesc.fileName, task.assetDesc.type, task.asset);
-			
-			// otherwise, if a listener was found in the parameter invoke it
-			if (task.assetDesc.params != null && task.assetDesc.params.loadedCallback != null)
-				task.assetDesc.params.loadedCallback.finishedLoading(this, task.assetDesc.fileName, task.assetDesc.type);
-			
-			long endTime = System.nanoTime();
-			Micro.app.debug(TAG, "Loaded: " + (endTime - task.startTime) / 1000000f + "ms " + task.assetDesc);
-			
-			return true;
 		}
-		return false;
+		for (AssetLoadingTask dependent : task.dependents)
+			dependent.cancel = true;
+		task.dependents.clear();
+	}
+	
+	private void failTask(AssetLoadingTask task, RuntimeException ex) {
+		task.cancel = true;
+		try {
+			taskFailed(task.assetDesc, ex);
+		} catch (Throwable t) {
+			handleTaskError(task, t);
+		}
 	}
 	
 	protected void taskFailed(AssetDescriptor assetDesc, RuntimeException ex) {
@@ -502,28 +728,15 @@ public class AssetManager implements Disposable {
 		}
 	}
 	
-	private void handleTaskError(Throwable t) {
+	private void handleTaskError(AssetLoadingTask task, Throwable t) {
 		Micro.app.error(TAG, "Error loading asset.", t);
 		
-		if (tasks.isEmpty())
-			throw new MicroRuntimeException(t);
-		
-		// pop the faulty task from the stack
-		AssetLoadingTask task = tasks.pop();
-		AssetDescriptor<?> assetDesc = task.assetDesc;
-		
-		// remove all dependencies
-		if (task.dependenciesLoaded && task.dependencies != null) {
-			for (AssetDescriptor<?> desc : task.dependencies)
-				unload(desc.fileName);
-		}
-		
-		// clear the rest of the stack
-		tasks.clear();
+		// drop the faulty task, its dependencies and everything waiting for it
+		cancelTask(task);
 		
 		// inform the listener that something bad happened
 		if (listener != null)
-			listener.error(assetDesc, t);
+			listener.error(task.assetDesc, t);
 		else
 			throw new MicroRuntimeException(t);
 	}
@@ -556,9 +769,8 @@ public class AssetManager implements Disposable {
 		if (toLoad == 0)
 			return 1;
 		float fractionalLoaded = loaded;
-		if (peakTasks > 0) {
-			fractionalLoaded += ((peakTasks - tasks.size) / (float) peakTasks);
-		}
+		if (peakTasks > 0)
+			fractionalLoaded += countRootTasks() * ((peakTasks - tasks.size) / (float) peakTasks);
 		return Math.min(1, fractionalLoaded / toLoad);
 	}
 	
@@ -608,6 +820,7 @@ public class AssetManager implements Disposable {
 			this.peakTasks = 0;
 			this.loadQueue.clear();
 			this.tasks.clear();
+			this.loaderOwners.clear();
 		}
 	}
 	
@@ -19,4 +19,13 @@ public abstract class AssetLoader<T, P extends AssetLoaderParameters<T>> {
 	
 	public abstract Array<AssetDescriptor<?>> getDependencies(String fileName, FileHandle file, P parameter);
 	
+	/**
+	 * Whether the {@link me.nulldoubt.micro.assets.AssetManager} may load several assets with this loader at once. Loaders that keep
+	 * state in fields between {@link #getDependencies(String, FileHandle, AssetLoaderParameters)} and the final load are only
+	 * given one asset at a time; to return true, such state has to be kept per file name.
+	 */
+	public boolean isConcurrent() {
+		return false;
+	}
+	
 }
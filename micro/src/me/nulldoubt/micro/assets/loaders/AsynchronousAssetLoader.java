@@ -12,7 +12,11 @@ public abstract class AsynchronousAssetLoader<T, P extends AssetLoaderParameters
 	
 	public abstract void loadAsync(AssetManager manager, String fileName, FileHandle file, P parameter);
 	
-	public void unloadAsync(AssetManager manager, String fileName, FileHandle file, AssetLoaderParameters<P> parameter) {}
+	/**
+	 * Called instead of {@link #loadSync(AssetManager, String, FileHandle, AssetLoaderParameters)} when the asset is unloaded or
+	 * fails while loading, to release anything kept for it since {@link #getDependencies(String, FileHandle, AssetLoaderParameters)}.
+	 */
+	public void unloadAsync(AssetManager manager, String fileName, FileHandle file, P parameter) {}
 	
 	public abstract T loadSync(AssetManager manager, String fileName, FileHandle file, P parameter);
 	
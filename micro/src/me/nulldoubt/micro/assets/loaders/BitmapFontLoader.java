@@ -13,6 +13,7 @@ import me.nulldoubt.micro.graphics.g2d.TextureAtlas;
 import me.nulldoubt.micro.graphics.g2d.TextureAtlas.AtlasRegion;
 import me.nulldoubt.micro.graphics.g2d.TextureRegion;
 import me.nulldoubt.micro.utils.collections.Array;
+import me.nulldoubt.micro.utils.collections.ObjectMap;
 
 public class BitmapFontLoader extends AsynchronousAssetLoader<BitmapFont, BitmapFontLoader.BitmapFontParameter> {
 	
@@ -20,18 +21,23 @@ public class BitmapFontLoader extends AsynchronousAssetLoader<BitmapFont, Bitmap
 		super(resolver);
 	}
 	
-	BitmapFontData data;
+	final ObjectMap<String, BitmapFontData> datas = new ObjectMap<>();
 	
 	@Override
 	public Array<AssetDescriptor<?>> getDependencies(String fileName, FileHandle file, BitmapFontParameter parameter) {
 		
 		final Array<AssetDescriptor<?>> deps = new Array<>();
 		if (parameter != null && parameter.bitmapFontData != null) {
-			data = parameter.bitmapFontData;
+			synchronized (datas) {
+				datas.put(fileName, parameter.bitmapFontData);
+			}
 			return deps;
 		}
 		
-		data = new BitmapFontData(file, parameter != null && parameter.flip);
+		final BitmapFontData data = new BitmapFontData(file, parameter != null && parameter.flip);
+		synchronized (datas) {
+			datas.put(fileName, data);
+		}
 		if (parameter != null && parameter.atlasName != null)
 			deps.add(new AssetDescriptor<>(parameter.atlasName, TextureAtlas.class));
 		else {
@@ -59,6 +65,10 @@ public class BitmapFontLoader extends AsynchronousAssetLoader<BitmapFont, Bitmap
 	
 	@Override
 	public BitmapFont loadSync(AssetManager manager, String fileName, FileHandle file, BitmapFontParameter parameter) {
+		final BitmapFontData data;
+		synchronized (datas) {
+			data = datas.remove(fileName);
+		}
 		if (parameter != null && parameter.atlasName != null) {
 			TextureAtlas atlas = manager.get(parameter.atlasName, TextureAtlas.class);
 			String name = file.sibling(data.imagePaths[0]).nameWithoutExtension();
@@ -75,6 +85,18 @@ public class BitmapFontLoader extends AsynchronousAssetLoader<BitmapFont, Bitmap
 		}
 	}
 	
+	@Override
+	public void unloadAsync(AssetManager manager, String fileName, FileHandle file, BitmapFontParameter parameter) {
+		synchronized (datas) {
+			datas.remove(fileName);
+		}
+	}
+	
+	@Override
+	public boolean isConcurrent() {
+		return true;
+	}
+	
 	public static class BitmapFontParameter extends AssetLoaderParameters<BitmapFont> {
 		
 		public boolean flip = false;
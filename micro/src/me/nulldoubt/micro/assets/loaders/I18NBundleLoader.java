@@ -6,6 +6,7 @@ import me.nulldoubt.micro.assets.AssetManager;
 import me.nulldoubt.micro.files.FileHandle;
 import me.nulldoubt.micro.utils.I18NBundle;
 import me.nulldoubt.micro.utils.collections.Array;
+import me.nulldoubt.micro.utils.collections.ObjectMap;
 
 import java.util.Locale;
 
@@ -15,11 +16,10 @@ public class I18NBundleLoader extends AsynchronousAssetLoader<I18NBundle, I18NBu
 		super(resolver);
 	}
 	
-	I18NBundle bundle;
+	final ObjectMap<String, I18NBundle> bundles = new ObjectMap<>();
 	
 	@Override
 	public void loadAsync(AssetManager manager, String fileName, FileHandle file, I18NBundleParameter parameter) {
-		this.bundle = null;
 		Locale locale;
 		String encoding;
 		if (parameter == null) {
@@ -29,17 +29,26 @@ public class I18NBundleLoader extends AsynchronousAssetLoader<I18NBundle, I18NBu
 			locale = parameter.locale == null ? Locale.getDefault() : parameter.locale;
 			encoding = parameter.encoding;
 		}
+		final I18NBundle bundle;
 		if (encoding == null)
-			this.bundle = I18NBundle.createBundle(file, locale);
+			bundle = I18NBundle.createBundle(file, locale);
 		else
-			this.bundle = I18NBundle.createBundle(file, locale, encoding);
+			bundle = I18NBundle.createBundle(file, locale, encoding);
+		synchronized (bundles) {
+			bundles.put(fileName, bundle);
+		}
 	}
 	
 	@Override
 	public I18NBundle loadSync(AssetManager manager, String fileName, FileHandle file, I18NBundleParameter parameter) {
-		I18NBundle bundle = this.bundle;
-		this.bundle = null;
-		return bundle;
+		synchronized (bundles) {
+			return bundles.remove(fileName);
+		}
+	}
+	
+	@Override
+	public boolean isConcurrent() {
+		return true;
 	}
 	
 	@Override
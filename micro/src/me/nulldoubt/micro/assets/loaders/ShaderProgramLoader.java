@@ -64,6 +64,11 @@ public class ShaderProgramLoader extends AsynchronousAssetLoader<Shader, ShaderP
 		return shader;
 	}
 	
+	@Override
+	public boolean isConcurrent() {
+		return true;
+	}
+	
 	public static class ShaderProgramParameter extends AssetLoaderParameters<Shader> {
 		
 		/**
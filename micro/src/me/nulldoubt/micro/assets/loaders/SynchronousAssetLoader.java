@@ -12,4 +12,10 @@ public abstract class SynchronousAssetLoader<T, P extends AssetLoaderParameters<
 	
 	public abstract T load(AssetManager assetManager, String fileName, FileHandle file, P parameter);
 	
+	/**
+	 * Called instead of {@link #load(AssetManager, String, FileHandle, AssetLoaderParameters)} when the asset is unloaded or fails
+	 * while loading, to release anything kept for it since {@link #getDependencies(String, FileHandle, AssetLoaderParameters)}.
+	 */
+	public void unload(AssetManager assetManager, String fileName, FileHandle file, P parameter) {}
+	
 }
@@ -10,6 +10,7 @@ import me.nulldoubt.micro.graphics.g2d.TextureAtlas;
 import me.nulldoubt.micro.graphics.g2d.TextureAtlas.TextureAtlasData;
 import me.nulldoubt.micro.graphics.g2d.TextureAtlas.TextureAtlasData.Page;
 import me.nulldoubt.micro.utils.collections.Array;
+import me.nulldoubt.micro.utils.collections.ObjectMap;
 
 public class TextureAtlasLoader extends SynchronousAssetLoader<TextureAtlas, TextureAtlasLoader.TextureAtlasParameter> {
 	
@@ -17,26 +18,27 @@ public class TextureAtlasLoader extends SynchronousAssetLoader<TextureAtlas, Tex
 		super(resolver);
 	}
 	
-	TextureAtlasData data;
+	final ObjectMap<String, TextureAtlasData> datas = new ObjectMap<>();
 	
 	@Override
 	public TextureAtlas load(AssetManager assetManager, String fileName, FileHandle file, TextureAtlasParameter parameter) {
+		final TextureAtlasData data;
+		synchronized (datas) {
+			data = datas.remove(fileName);
+		}
 		for (Page page : data.getPages())
 			page.texture = assetManager.get(page.textureFile.path().replaceAll("\\\\", "/"), Texture.class);
 		
-		TextureAtlas atlas = new TextureAtlas(data);
-		data = null;
-		return atlas;
+		return new TextureAtlas(data);
 	}
 	
 	@Override
 	public Array<AssetDescriptor<?>> getDependencies(String fileName, FileHandle atlasFile, TextureAtlasParameter parameter) {
 		FileHandle imgDir = atlasFile.parent();
 		
-		if (parameter != null)
-			data = new TextureAtlasData(atlasFile, imgDir, parameter.flip);
-		else {
-			data = new TextureAtlasData(atlasFile, imgDir, false);
+		final TextureAtlasData data = new TextureAtlasData(atlasFile, imgDir, parameter != null && parameter.flip);
+		synchronized (datas) {
+			datas.put(fileName, data);
 		}
 		
 		final Array<AssetDescriptor<?>> dependencies = new Array<>();
@@ -51,6 +53,18 @@ public class TextureAtlasLoader extends SynchronousAssetLoader<TextureAtlas, Tex
 		return dependencies;
 	}
 	
+	@Override
+	public void unload(AssetManager assetManager, String fileName, FileHandle file, TextureAtlasParameter parameter) {
+		synchronized (datas) {
+			datas.remove(fileName);
+		}
+	}
+	
+	@Override
+	public boolean isConcurrent() {
+		return true;
+	}
+	
 	public static class TextureAtlasParameter extends AssetLoaderParameters<TextureAtlas> {
 		
 		/**
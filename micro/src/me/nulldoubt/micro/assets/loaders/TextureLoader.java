@@ -9,7 +9,9 @@ import me.nulldoubt.micro.graphics.Texture;
 import me.nulldoubt.micro.graphics.Texture.TextureFilter;
 import me.nulldoubt.micro.graphics.Texture.TextureWrap;
 import me.nulldoubt.micro.graphics.TextureData;
+import me.nulldoubt.micro.graphics.glutils.FileTextureData;
 import me.nulldoubt.micro.utils.collections.Array;
+import me.nulldoubt.micro.utils.collections.ObjectMap;
 
 public class TextureLoader extends AsynchronousAssetLoader<Texture, TextureLoader.TextureParameter> {
 	
@@ -21,7 +23,7 @@ public class TextureLoader extends AsynchronousAssetLoader<Texture, TextureLoade
 		
 	}
 	
-	TextureLoaderInfo info = new TextureLoaderInfo();
+	final ObjectMap<String, TextureLoaderInfo> infos = new ObjectMap<>();
 	
 	public TextureLoader(FileHandleResolver resolver) {
 		super(resolver);
@@ -29,6 +31,7 @@ public class TextureLoader extends AsynchronousAssetLoader<Texture, TextureLoade
 	
 	@Override
 	public void loadAsync(AssetManager manager, String fileName, FileHandle file, TextureParameter parameter) {
+		final TextureLoaderInfo info = new TextureLoaderInfo();
 		info.filename = fileName;
 		if (parameter == null || parameter.textureData == null) {
 			Format format = null;
@@ -48,10 +51,17 @@ public class TextureLoader extends AsynchronousAssetLoader<Texture, TextureLoade
 		}
 		if (!info.data.isPrepared())
 			info.data.prepare();
+		synchronized (infos) {
+			infos.put(fileName, info);
+		}
 	}
 	
 	@Override
 	public Texture loadSync(AssetManager manager, String fileName, FileHandle file, TextureParameter parameter) {
+		final TextureLoaderInfo info;
+		synchronized (infos) {
+			info = infos.remove(fileName);
+		}
 		if (info == null)
 			return null;
 		Texture texture = info.texture;
@@ -67,6 +77,22 @@ public class TextureLoader extends AsynchronousAssetLoader<Texture, TextureLoade
 		return texture;
 	}
 	
+	@Override
+	public void unloadAsync(AssetManager manager, String fileName, FileHandle file, TextureParameter parameter) {
+		final TextureLoaderInfo info;
+		synchronized (infos) {
+			info = infos.remove(fileName);
+		}
+		// only the data loaded from the file belongs to the loader.
+		if (info != null && (parameter == null || parameter.textureData == null) && info.data instanceof FileTextureData data)
+			data.discard();
+	}
+	
+	@Override
+	public boolean isConcurrent() {
+		return true;
+	}
+	
 	@Override
 	public Array<AssetDescriptor<?>> getDependencies(String fileName, FileHandle file, TextureParameter parameter) {
 		return null;
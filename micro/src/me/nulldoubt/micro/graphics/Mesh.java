@@ -7,6 +7,7 @@ import me.nulldoubt.micro.graphics.VertexAttributes.Usage;
 import me.nulldoubt.micro.graphics.glutils.*;
 import me.nulldoubt.micro.math.Matrix4;
 import me.nulldoubt.micro.math.Vector3;
+import me.nulldoubt.micro.math.VectorMath;
 import me.nulldoubt.micro.utils.Disposable;
 import me.nulldoubt.micro.utils.collections.Array;
 
@@ -19,7 +20,7 @@ import java.util.Map;
 public class Mesh implements Disposable {
 	
 	public enum VertexDataType {
-		VertexArray, VertexBufferObject, VertexBufferObjectSubData, VertexBufferObjectWithVAO
+		VertexArray, VertexBufferObject, VertexBufferObjectSubData, VertexBufferObjectWithVAO, VertexBufferObjectStreaming
 	}
 	
 	static final Map<Application, Array<Mesh>> meshes = new HashMap<>();
@@ -82,6 +83,11 @@ public class Mesh implements Disposable {
 				indices = new IndexBufferObjectSubData(isStatic, maxIndices);
 				isVertexArray = false;
 				break;
+			case VertexBufferObjectStreaming:
+				vertices = new VertexBufferObjectStreaming(maxVertices, 3, attributes);
+				indices = new IndexBufferObjectSubData(isStatic, maxIndices);
+				isVertexArray = false;
+				break;
 			case VertexArray:
 			default:
 				vertices = new VertexArray(maxVertices, attributes);
@@ -399,9 +405,16 @@ public class Mesh implements Disposable {
 			throw new IndexOutOfBoundsException(
 					"start = " + start + ", count = " + count + ", vertexSize = " + vertexSize + ", length = " + vertices.length);
 		
-		final Vector3 tmp = new Vector3();
-		
 		int idx = offset + (start * vertexSize);
+		if (dimensions > 1 && VectorMath.enabled) {
+			if (dimensions == 2)
+				VectorMath.transformV2M4(vertices, vertexSize * 4, count, matrix.val, idx * 4);
+			else
+				VectorMath.transformV3M4(vertices, vertexSize * 4, count, matrix.val, idx * 4);
+			return;
+		}
+		
+		final Vector3 tmp = new Vector3();
 		switch (dimensions) {
 			case 1:
 				for (int i = 0; i < count; i++) {
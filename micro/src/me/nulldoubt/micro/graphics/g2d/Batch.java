@@ -8,8 +8,11 @@ import me.nulldoubt.micro.graphics.glutils.Shader;
 import me.nulldoubt.micro.math.Affine2;
 import me.nulldoubt.micro.math.MathUtils;
 import me.nulldoubt.micro.math.Matrix4;
+import me.nulldoubt.micro.utils.Buffers;
 
 import java.nio.Buffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
 
 public class Batch {
 	
@@ -34,6 +37,13 @@ public class Batch {
 	public static final int U4 = 18;
 	public static final int V4 = 19;
 	
+	/**
+	 * Forces the {@link VertexDataType} of batches created afterwards, e.g. {@link VertexDataType#VertexBufferObjectStreaming} on
+	 * GL30 contexts. If null, a {@link VertexDataType#VertexBufferObjectWithVAO} is used with GL30 and a
+	 * {@link VertexDataType#VertexBufferObject} otherwise.
+	 */
+	public static VertexDataType overrideVertexType = null;
+	
 	private final VertexDataType currentDataType;
 	private final Mesh mesh;
 	
@@ -42,8 +52,24 @@ public class Batch {
 	private Texture lastTexture = null;
 	private float invTexWidth = 0, invTexHeight = 0;
 	
+	// Multi-texture mode: the textures bound for the pending sprites, and runs of (vertex index, texture unit) pairs that are
+	// expanded into the texture-index attribute when flushing.
+	private final Texture[] textures;
+	private final int[] textureUnits;
+	private int textureCount;
+	private final int[] runs;
+	private int runCount;
+	private final float[] multiVertices;
+	
 	private boolean drawing = false;
 	
+	// Recording into a VertexCache: the vertices from cacheMark up to idx have not been added to the cache yet.
+	private VertexCache cache;
+	private int cacheMark;
+	private boolean cacheValid, cacheTransformed;
+	private final Matrix4 cacheBaseTransform = new Matrix4();
+	private final Matrix4 cacheTransform = new Matrix4();
+	
 	private final Matrix4 transformMatrix = new Matrix4();
 	private final Matrix4 projectionMatrix = new Matrix4();
 	private final Matrix4 combinedMatrix = new Matrix4();
@@ -57,6 +83,9 @@ public class Batch {
 	private final Shader shader;
 	private Shader customShader = null;
 	private boolean ownsShader;
+	// The shader and value u_smoothing was last set to, so consecutive distance field text doesn't flush.
+	private Shader smoothingShader;
+	private float smoothing;
 	
 	private final Color color = new Color(1, 1, 1, 1);
 	private float colorPacked = Color.WHITE_FLOAT_BITS;
@@ -74,15 +103,48 @@ public class Batch {
 	}
 	
 	public Batch(int size, Shader defaultShader) {
+		this(size, 1, defaultShader);
+	}
+	
+	/**
+	 * Creates a batch that binds up to {@code maxTextures} textures at once, clamped to {@link #getMaxTextureUnits()}, instead of
+	 * flushing on every texture switch. With more than one texture, every vertex carries a {@link Shader#TEXINDEX_ATTRIBUTE} and
+	 * the texture units are passed in the {@code u_textures} sampler array, which a custom shader has to declare in place of
+	 * {@code u_texture}.
+	 */
+	public Batch(int size, int maxTextures, Shader defaultShader) {
 		// 32767 is max vertex index, so 32767 / 4 vertices per sprite = 8191 sprites max.
 		if (size > 8191)
 			throw new IllegalArgumentException("Can't have more than 8191 sprites per batch: " + size);
+		if (maxTextures > 1)
+			maxTextures = Math.min(maxTextures, getMaxTextureUnits());
 		
-		currentDataType = (Micro.gl30 != null) ? VertexDataType.VertexBufferObjectWithVAO : VertexDataType.VertexBufferObject;
-		mesh = new Mesh(currentDataType, false, size * 4, size * 6,
-				new VertexAttribute(Usage.Position, 2, Shader.POSITION_ATTRIBUTE),
-				new VertexAttribute(Usage.ColorPacked, 4, Shader.COLOR_ATTRIBUTE),
-				new VertexAttribute(Usage.TextureCoordinates, 2, Shader.TEXCOORD_ATTRIBUTE + "0"));
+		if (overrideVertexType != null)
+			currentDataType = overrideVertexType;
+		else
+			currentDataType = (Micro.gl30 != null) ? VertexDataType.VertexBufferObjectWithVAO : VertexDataType.VertexBufferObject;
+		if (maxTextures > 1) {
+			mesh = new Mesh(currentDataType, false, size * 4, size * 6,
+					new VertexAttribute(Usage.Position, 2, Shader.POSITION_ATTRIBUTE),
+					new VertexAttribute(Usage.ColorPacked, 4, Shader.COLOR_ATTRIBUTE),
+					new VertexAttribute(Usage.TextureCoordinates, 2, Shader.TEXCOORD_ATTRIBUTE + "0"),
+					new VertexAttribute(Usage.Generic, 1, Shader.TEXINDEX_ATTRIBUTE));
+			textures = new Texture[maxTextures];
+			textureUnits = new int[maxTextures];
+			for (int i = 0; i < maxTextures; i++)
+				textureUnits[i] = i;
+			runs = new int[size * 2];
+			multiVertices = new float[size * 24];
+		} else {
+			mesh = new Mesh(currentDataType, false, size * 4, size * 6,
+					new VertexAttribute(Usage.Position, 2, Shader.POSITION_ATTRIBUTE),
+					new VertexAttribute(Usage.ColorPacked, 4, Shader.COLOR_ATTRIBUTE),
+					new VertexAttribute(Usage.TextureCoordinates, 2, Shader.TEXCOORD_ATTRIBUTE + "0"));
+			textures = null;
+			textureUnits = null;
+			runs = null;
+			multiVertices = null;
+		}
 		
 		projectionMatrix.setToOrtho2D(0, 0, Micro.graphics.getWidth(), Micro.graphics.getHeight());
 		
@@ -102,7 +164,7 @@ public class Batch {
 		mesh.setIndices(indices);
 		
 		if (defaultShader == null) {
-			shader = createDefaultShader();
+			shader = createDefaultShader(maxTextures);
 			ownsShader = true;
 		} else
 			shader = defaultShader;
@@ -146,10 +208,131 @@ public class Batch {
 		return shader;
 	}
 	
+	/**
+	 * Creates the default shader for a batch with the given number of textures. GLSL ES 1.0 can only index sampler arrays with
+	 * constants, so the sampler is selected by a chain of comparisons on the texture index.
+	 */
+	public static Shader createDefaultShader(int maxTextures) {
+		if (maxTextures <= 1)
+			return createDefaultShader();
+		String vertexShader = "attribute vec4 " + Shader.POSITION_ATTRIBUTE + ";\n" //
+				+ "attribute vec4 " + Shader.COLOR_ATTRIBUTE + ";\n" //
+				+ "attribute vec2 " + Shader.TEXCOORD_ATTRIBUTE + "0;\n" //
+				+ "attribute float " + Shader.TEXINDEX_ATTRIBUTE + ";\n" //
+				+ "uniform mat4 u_projTrans;\n" //
+				+ "varying vec4 v_color;\n" //
+				+ "varying vec2 v_texCoords;\n" //
+				+ "varying float v_texIndex;\n" //
+				+ "\n" //
+				+ "void main()\n" //
+				+ "{\n" //
+				+ "   v_color = " + Shader.COLOR_ATTRIBUTE + ";\n" //
+				+ "   v_color.a = v_color.a * (255.0/254.0);\n" //
+				+ "   v_texCoords = " + Shader.TEXCOORD_ATTRIBUTE + "0;\n" //
+				+ "   v_texIndex = " + Shader.TEXINDEX_ATTRIBUTE + ";\n" //
+				+ "   gl_Position =  u_projTrans * " + Shader.POSITION_ATTRIBUTE + ";\n" //
+				+ "}\n";
+		StringBuilder fragmentShader = new StringBuilder("#ifdef GL_ES\n" //
+				+ "#define LOWP lowp\n" //
+				+ "precision mediump float;\n" //
+				+ "#else\n" //
+				+ "#define LOWP \n" //
+				+ "#endif\n" //
+				+ "varying LOWP vec4 v_color;\n" //
+				+ "varying vec2 v_texCoords;\n" //
+				+ "varying float v_texIndex;\n" //
+				+ "uniform sampler2D u_textures[" + maxTextures + "];\n" //
+				+ "void main()\n"//
+				+ "{\n" //
+				+ "  vec4 texel;\n");
+		for (int i = 0; i < maxTextures - 1; i++)
+			fragmentShader.append(i == 0 ? "  if" : "  else if").append(" (v_texIndex < ").append(i).append(".5) texel = texture2D(u_textures[").append(i).append("], v_texCoords);\n");
+		fragmentShader.append("  else texel = texture2D(u_textures[").append(maxTextures - 1).append("], v_texCoords);\n") //
+				.append("  gl_FragColor = v_color * texel;\n") //
+				.append("}");
+		
+		Shader shader = new Shader(vertexShader, fragmentShader.toString());
+		if (!shader.isCompiled())
+			throw new IllegalArgumentException("Error compiling shader: " + shader.getLog());
+		return shader;
+	}
+	
+	/**
+	 * @see #createDistanceFieldShader(int)
+	 */
+	public static Shader createDistanceFieldShader() {
+		return createDistanceFieldShader(1);
+	}
+	
+	/**
+	 * Creates a shader for a batch with the given number of textures that draws the alpha of textures as a signed distance field,
+	 * see {@link BitmapFont.BitmapFontData#distanceField}. The edges are smoothed by {@code u_smoothing}, set by
+	 * {@link #setDistanceFieldSmoothing(float)}.
+	 */
+	public static Shader createDistanceFieldShader(int maxTextures) {
+		final boolean multi = maxTextures > 1;
+		String vertexShader = "attribute vec4 " + Shader.POSITION_ATTRIBUTE + ";\n" //
+				+ "attribute vec4 " + Shader.COLOR_ATTRIBUTE + ";\n" //
+				+ "attribute vec2 " + Shader.TEXCOORD_ATTRIBUTE + "0;\n" //
+				+ (multi ? "attribute float " + Shader.TEXINDEX_ATTRIBUTE + ";\n" : "") //
+				+ "uniform mat4 u_projTrans;\n" //
+				+ "varying vec4 v_color;\n" //
+				+ "varying vec2 v_texCoords;\n" //
+				+ (multi ? "varying float v_texIndex;\n" : "") //
+				+ "\n" //
+				+ "void main()\n" //
+				+ "{\n" //
+				+ "   v_color = " + Shader.COLOR_ATTRIBUTE + ";\n" //
+				+ "   v_color.a = v_color.a * (255.0/254.0);\n" //
+				+ "   v_texCoords = " + Shader.TEXCOORD_ATTRIBUTE + "0;\n" //
+				+ (multi ? "   v_texIndex = " + Shader.TEXINDEX_ATTRIBUTE + ";\n" : "") //
+				+ "   gl_Position =  u_projTrans * " + Shader.POSITION_ATTRIBUTE + ";\n" //
+				+ "}\n";
+		StringBuilder fragmentShader = new StringBuilder("#ifdef GL_ES\n" //
+				+ "#define LOWP lowp\n" //
+				+ "precision mediump float;\n" //
+				+ "#else\n" //
+				+ "#define LOWP \n" //
+				+ "#endif\n" //
+				+ "varying LOWP vec4 v_color;\n" //
+				+ "varying vec2 v_texCoords;\n" //
+				+ (multi ? "varying float v_texIndex;\n" //
+				+ "uniform sampler2D u_textures[" + maxTextures + "];\n" : "uniform sampler2D u_texture;\n") //
+				+ "uniform float u_smoothing;\n" //
+				+ "void main()\n"//
+				+ "{\n" //
+				+ "  vec4 texel;\n");
+		if (multi) {
+			for (int i = 0; i < maxTextures - 1; i++)
+				fragmentShader.append(i == 0 ? "  if" : "  else if").append(" (v_texIndex < ").append(i).append(".5) texel = texture2D(u_textures[").append(i).append("], v_texCoords);\n");
+			fragmentShader.append("  else texel = texture2D(u_textures[").append(maxTextures - 1).append("], v_texCoords);\n");
+		} else
+			fragmentShader.append("  texel = texture2D(u_texture, v_texCoords);\n");
+		fragmentShader.append("  float smoothing = max(u_smoothing, 0.001);\n") //
+				.append("  float alpha = smoothstep(0.5 - smoothing, 0.5 + smoothing, texel.a);\n") //
+				.append("  gl_FragColor = vec4(v_color.rgb * texel.rgb, v_color.a * alpha);\n") //
+				.append("}");
+		
+		Shader shader = new Shader(vertexShader, fragmentShader.toString());
+		if (!shader.isCompiled())
+			throw new IllegalArgumentException("Error compiling shader: " + shader.getLog());
+		return shader;
+	}
+	
+	/**
+	 * @return the number of texture units available to a fragment shader, {@code GL_MAX_TEXTURE_IMAGE_UNITS}.
+	 */
+	public static int getMaxTextureUnits() {
+		IntBuffer buffer = Buffers.newIntBuffer(16);
+		Micro.gl.glGetIntegerv(GL20.GL_MAX_TEXTURE_IMAGE_UNITS, buffer);
+		return buffer.get(0);
+	}
+	
 	public void begin() {
 		if (drawing)
 			throw new IllegalStateException("SpriteBatch.end must be called before begin.");
 		renderCalls = 0;
+		smoothingShader = null;
 		
 		Micro.gl.glDepthMask(false);
 		if (customShader != null)
@@ -167,6 +350,8 @@ public class Batch {
 		if (idx > 0)
 			flush();
 		lastTexture = null;
+		if (textures != null)
+			resetTextures();
 		drawing = false;
 		
 		GL20 gl = Micro.gl;
@@ -529,15 +714,12 @@ public class Batch {
 			throw new IllegalStateException("SpriteBatch.begin must be called before draw.");
 		
 		int verticesLength = vertices.length;
-		int remainingVertices = verticesLength;
 		if (texture != lastTexture)
 			switchTexture(texture);
-		else {
-			remainingVertices -= idx;
-			if (remainingVertices == 0) {
-				flush();
-				remainingVertices = verticesLength;
-			}
+		int remainingVertices = verticesLength - idx;
+		if (remainingVertices == 0) {
+			flush();
+			remainingVertices = verticesLength;
 		}
 		int copyCount = Math.min(remainingVertices, count);
 		
@@ -918,6 +1100,10 @@ public class Batch {
 	public void flush() {
 		if (idx == 0)
 			return;
+		if (cache != null) {
+			addToCache();
+			cacheMark = 0;
+		}
 		
 		renderCalls++;
 		totalRenderCalls++;
@@ -926,9 +1112,15 @@ public class Batch {
 			maxSpritesInBatch = spritesInBatch;
 		int count = spritesInBatch * 6;
 		
-		lastTexture.bind();
 		Mesh mesh = this.mesh;
-		mesh.setVertices(vertices, 0, idx);
+		if (textures != null) {
+			for (int i = textureCount - 1; i >= 0; i--)
+				textures[i].bind(i);
+			mesh.setVertices(multiVertices, 0, expandTextureIndices());
+		} else {
+			lastTexture.bind();
+			mesh.setVertices(vertices, 0, idx);
+		}
 		
 		// Only upload indices for the vertex array type
 		if (currentDataType == VertexDataType.VertexArray) {
@@ -948,12 +1140,50 @@ public class Batch {
 		mesh.render(customShader != null ? customShader : shader, GL20.GL_TRIANGLES, 0, count);
 		
 		idx = 0;
+		if (textures != null)
+			resetTextures();
+	}
+	
+	/** Interleaves the texture unit of every run into {@link #multiVertices}, returning the number of floats written. */
+	private int expandTextureIndices() {
+		final float[] vertices = this.vertices, multiVertices = this.multiVertices;
+		final int[] runs = this.runs;
+		int target = 0;
+		for (int r = 0, n = runCount * 2; r < n; r += 2) {
+			final int end = r + 2 < n ? runs[r + 2] : idx;
+			final float unit = runs[r + 1];
+			for (int i = runs[r]; i < end; i += 5, target += 6) {
+				multiVertices[target] = vertices[i];
+				multiVertices[target + 1] = vertices[i + 1];
+				multiVertices[target + 2] = vertices[i + 2];
+				multiVertices[target + 3] = vertices[i + 3];
+				multiVertices[target + 4] = vertices[i + 4];
+				multiVertices[target + 5] = unit;
+			}
+		}
+		return target;
+	}
+	
+	/** Unbinds all textures but the current one, which stays on unit 0 so that drawing can continue with it. */
+	private void resetTextures() {
+		for (int i = 0; i < textureCount; i++)
+			textures[i] = null;
+		textureCount = 0;
+		runCount = 0;
+		if (lastTexture != null) {
+			textures[0] = lastTexture;
+			textureCount = 1;
+			runs[0] = 0;
+			runs[1] = 0;
+			runCount = 1;
+		}
 	}
 	
 	public void disableBlending() {
 		if (blendingDisabled)
 			return;
 		flush();
+		invalidateCache();
 		blendingDisabled = true;
 	}
 	
@@ -961,6 +1191,7 @@ public class Batch {
 		if (!blendingDisabled)
 			return;
 		flush();
+		invalidateCache();
 		blendingDisabled = false;
 	}
 	
@@ -973,6 +1204,7 @@ public class Batch {
 				&& blendDstFuncAlpha == dstFuncAlpha)
 			return;
 		flush();
+		invalidateCache();
 		blendSrcFunc = srcFuncColor;
 		blendDstFunc = dstFuncColor;
 		blendSrcFuncAlpha = srcFuncAlpha;
@@ -1012,6 +1244,7 @@ public class Batch {
 	public void setProjectionMatrix(Matrix4 projection) {
 		if (drawing)
 			flush();
+		invalidateCache();
 		projectionMatrix.set(projection);
 		if (drawing)
 			setupMatrices();
@@ -1021,33 +1254,140 @@ public class Batch {
 		if (drawing)
 			flush();
 		transformMatrix.set(transform);
+		if (cache != null) {
+			cacheTransformed = !Arrays.equals(transform.val, cacheBaseTransform.val);
+			if (cacheTransformed)
+				cacheTransform.set(cacheBaseTransform).inv().mul(transform);
+		}
 		if (drawing)
 			setupMatrices();
 	}
 	
 	protected void setupMatrices() {
 		combinedMatrix.set(projectionMatrix).mul(transformMatrix);
-		if (customShader != null) {
-			customShader.setUniformMatrix("u_projTrans", combinedMatrix);
-			customShader.setUniformi("u_texture", 0);
-		} else {
-			shader.setUniformMatrix("u_projTrans", combinedMatrix);
+		final Shader shader = customShader != null ? customShader : this.shader;
+		shader.setUniformMatrix("u_projTrans", combinedMatrix);
+		if (textures != null)
+			shader.setUniform1iv("u_textures", textureUnits, 0, textureUnits.length);
+		else
 			shader.setUniformi("u_texture", 0);
-		}
 	}
 	
 	protected void switchTexture(Texture texture) {
-		flush();
+		if (cache != null)
+			addToCache();
+		if (textures == null) {
+			flush();
+		} else {
+			if (idx == vertices.length)
+				flush();
+			int unit = -1;
+			for (int i = 0; i < textureCount; i++) {
+				if (textures[i] == texture) {
+					unit = i;
+					break;
+				}
+			}
+			if (unit == -1) {
+				if (textureCount == textures.length) {
+					flush();
+					lastTexture = null;
+					resetTextures();
+				}
+				unit = textureCount;
+				textures[textureCount++] = texture;
+			}
+			if (runCount > 0 && runs[runCount * 2 - 2] == idx)
+				runs[runCount * 2 - 1] = unit;
+			else {
+				runs[runCount * 2] = idx;
+				runs[runCount * 2 + 1] = unit;
+				runCount++;
+			}
+		}
 		lastTexture = texture;
 		invTexWidth = 1.0f / texture.getWidth();
 		invTexHeight = 1.0f / texture.getHeight();
 	}
 	
+	/**
+	 * Starts adding every sprite drawn to the cache, in addition to drawing it, until {@link #endCache()}. The cached vertices
+	 * are relative to the current transform matrix; sprites drawn with another transform matrix are transformed into it. Only
+	 * one cache can be recorded at a time.
+	 */
+	public void beginCache(VertexCache cache) {
+		if (!drawing)
+			throw new IllegalStateException("Batch.begin must be called before beginCache.");
+		if (this.cache != null)
+			throw new IllegalStateException("Batch.endCache must be called before beginCache.");
+		cache.clear();
+		this.cache = cache;
+		cacheMark = idx;
+		cacheValid = true;
+		cacheTransformed = false;
+		cacheBaseTransform.set(transformMatrix);
+	}
+	
+	/**
+	 * Stops adding sprites to the cache.
+	 *
+	 * @return false if state that is not part of the cached vertices changed while recording, such as the shader, blending,
+	 * projection or {@link #invalidateCache() scissors}, so the cache can't be replayed.
+	 */
+	public boolean endCache() {
+		if (cache == null)
+			throw new IllegalStateException("Batch.beginCache must be called before endCache.");
+		addToCache();
+		cache = null;
+		return cacheValid;
+	}
+	
+	public boolean isCaching() {
+		return cache != null;
+	}
+	
+	/**
+	 * Marks the cache being recorded, if any, as not replayable. Called when changing state the batch doesn't know about, such as
+	 * the scissors, while recording.
+	 */
+	public void invalidateCache() {
+		if (cache != null)
+			cacheValid = false;
+	}
+	
+	private void addToCache() {
+		final int start = cacheMark, count = idx - start;
+		cacheMark = idx;
+		if (count == 0 || !cacheValid)
+			return;
+		final VertexCache cache = this.cache;
+		final int offset = cache.vertices.size;
+		cache.add(lastTexture, smoothingShader == getShader() ? smoothing : Float.NaN, vertices, start, count);
+		if (cacheTransformed) {
+			final float[] m = cacheTransform.val, cached = cache.vertices.items;
+			final float m00 = m[Matrix4.M00], m01 = m[Matrix4.M01], m03 = m[Matrix4.M03];
+			final float m10 = m[Matrix4.M10], m11 = m[Matrix4.M11], m13 = m[Matrix4.M13];
+			for (int i = offset, n = offset + count; i < n; i += Sprite.VERTEX_SIZE) {
+				final float x = cached[i], y = cached[i + 1];
+				cached[i] = m00 * x + m01 * y + m03;
+				cached[i + 1] = m10 * x + m11 * y + m13;
+			}
+		}
+	}
+	
+	/**
+	 * @return the number of textures this batch binds at once, 1 unless it was created in multi-texture mode.
+	 */
+	public int getMaxTextures() {
+		return textures != null ? textures.length : 1;
+	}
+	
 	public void setShader(Shader shader) {
 		if (shader == customShader) // avoid unnecessary flushing in case we are drawing
 			return;
 		if (drawing)
 			flush();
+		invalidateCache();
 		customShader = shader;
 		if (drawing) {
 			if (customShader != null)
@@ -1058,6 +1398,25 @@ public class Batch {
 		}
 	}
 	
+	/**
+	 * Sets {@code u_smoothing} of the current shader, flushing only if the value changed. Does nothing if the batch is not drawing
+	 * or the shader has no such uniform, see {@link #createDistanceFieldShader(int)}. A {@link VertexCache} being recorded keeps
+	 * the value and sets it again when replayed.
+	 */
+	public void setDistanceFieldSmoothing(float smoothing) {
+		if (!drawing)
+			return;
+		final Shader shader = customShader != null ? customShader : this.shader;
+		if (shader == smoothingShader && smoothing == this.smoothing)
+			return;
+		if (!shader.hasUniform("u_smoothing"))
+			return;
+		flush();
+		shader.setUniformf("u_smoothing", smoothing);
+		smoothingShader = shader;
+		this.smoothing = smoothing;
+	}
+	
 	public Shader getShader() {
 		if (customShader == null)
 			return shader;
@@ -414,6 +414,15 @@ public class BitmapFont implements Disposable {
 		public float blankLineScale = 1;
 		public float scaleX = 1, scaleY = 1;
 		public boolean markupEnabled;
+		/**
+		 * Whether the alpha of the glyphs is a signed distance field, which stays sharp at any scale when drawn with a shader from
+		 * {@link Batch#createDistanceFieldShader()} and linear filtering. The edges of the glyphs are at an alpha of 0.5.
+		 */
+		public boolean distanceField;
+		/**
+		 * The distance in pixels of the font texture over which the alpha of a distance field goes from the edge to 0 or 1.
+		 */
+		public float distanceFieldSpread;
 		/**
 		 * The amount to add to the glyph X position when drawing a cursor between glyphs. This field is not set by the BMFont
 		 * file, it needs to be set manually depending on how the glyphs are rendered on the backing textures.
@@ -896,6 +905,16 @@ public class BitmapFont implements Disposable {
 			return 0;
 		}
 		
+		/**
+		 * @param scale The scale the glyphs are drawn at.
+		 * @return the half width of the transition from transparent to opaque around the edges of distance field glyphs, in alpha.
+		 */
+		public float getDistanceFieldSmoothing(float scale) {
+			if (distanceFieldSpread <= 0 || scale <= 0)
+				return 0.25f;
+			return Math.min(0.25f / (distanceFieldSpread * scale), 0.5f);
+		}
+		
 		public boolean isBreakChar(char c) {
 			if (breakChars == null)
 				return false;
@@ -23,6 +23,8 @@ public class BitmapFontCache {
 	private float x, y;
 	private final Color color = new Color(1, 1, 1, 1);
 	private float currentTint;
+	/** The scale of the font when text was last added, for the smoothing of distance field glyphs. */
+	private float distanceFieldScale = 1;
 	
 	private float[][] pageVertices;
 	private int[] idx;
@@ -208,6 +210,8 @@ public class BitmapFontCache {
 	}
 	
 	public void draw(Batch spriteBatch) {
+		if (font.data.distanceField)
+			spriteBatch.setDistanceFieldSmoothing(font.data.getDistanceFieldSmoothing(distanceFieldScale));
 		Array<TextureRegion> regions = font.getRegions();
 		for (int j = 0, n = pageVertices.length; j < n; j++) {
 			if (idx[j] > 0) { // ignore if this texture has no glyphs
@@ -218,6 +222,8 @@ public class BitmapFontCache {
 	}
 	
 	public void draw(Batch spriteBatch, int start, int end) {
+		if (font.data.distanceField)
+			spriteBatch.setDistanceFieldSmoothing(font.data.getDistanceFieldSmoothing(distanceFieldScale));
 		if (pageVertices.length == 1) { // 1 page.
 			spriteBatch.draw(font.getRegion().getTexture(), pageVertices[0], start * 20, (end - start) * 20);
 			return;
@@ -514,6 +520,7 @@ public class BitmapFontCache {
 	}
 	
 	public void addText(GlyphLayout layout, float x, float y) {
+		distanceFieldScale = font.data.scaleY;
 		addToCache(layout, x, y + font.data.ascent);
 	}
 	
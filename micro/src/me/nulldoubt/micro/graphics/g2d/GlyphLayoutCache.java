@@ -0,0 +1,162 @@
+package me.nulldoubt.micro.graphics.g2d;
+
+import me.nulldoubt.micro.graphics.Color;
+import me.nulldoubt.micro.utils.Align;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded cache of {@link GlyphLayout}s, so texts shown many times with the same font and parameters are laid out once. The
+ * least recently used layout is dropped when the cache is full.
+ * <p>
+ * The layouts are shared and must not be modified, a {@link BitmapFontCache} only reads them when
+ * {@link BitmapFontCache#addText(GlyphLayout, float, float) adding} them. The cache has to be {@link #clear() cleared} if the
+ * glyphs of a font change, changes of the font scale and markup are part of the key.
+ */
+public class GlyphLayoutCache {
+	
+	private final int maxSize;
+	private final LinkedHashMap<Key, GlyphLayout> layouts;
+	private final Key probe = new Key();
+	private int hits, misses;
+	
+	public GlyphLayoutCache(int maxSize) {
+		if (maxSize <= 0)
+			throw new IllegalArgumentException("maxSize must be > 0: " + maxSize);
+		this.maxSize = maxSize;
+		layouts = new LinkedHashMap<>(Math.min(maxSize, 256), 0.75f, true) {
+			protected boolean removeEldestEntry(Map.Entry<Key, GlyphLayout> eldest) {
+				// The layout is not reset, a font cache may still draw it.
+				return size() > GlyphLayoutCache.this.maxSize;
+			}
+		};
+	}
+	
+	/**
+	 * @see #get(BitmapFont, CharSequence, int, int, Color, float, int, boolean, String)
+	 */
+	public GlyphLayout get(BitmapFont font, CharSequence str) {
+		return get(font, str, 0, str.length(), font.getColor(), 0, Align.left, false, null);
+	}
+	
+	/**
+	 * Returns the layout of the text, laying it out with {@link GlyphLayout#setText(BitmapFont, CharSequence, int, int, Color,
+	 * float, int, boolean, String)} if it is not cached. The layout must not be modified.
+	 */
+	public GlyphLayout get(BitmapFont font, CharSequence str, int start, int end, Color color, float targetWidth, int halign, boolean wrap, String truncate) {
+		final Key probe = this.probe;
+		probe.set(font, str, start, end, color.toIntBits(), targetWidth, halign, wrap, truncate);
+		GlyphLayout layout = layouts.get(probe);
+		probe.text = null;
+		if (layout != null) {
+			hits++;
+			return layout;
+		}
+		misses++;
+		layout = new GlyphLayout();
+		layout.setText(font, str, start, end, color, targetWidth, halign, wrap, truncate);
+		final Key key = new Key();
+		key.set(font, str.subSequence(start, end).toString(), 0, end - start, probe.color, targetWidth, halign, wrap, truncate);
+		layouts.put(key, layout);
+		return layout;
+	}
+	
+	/** Removes every layout, eg after the glyphs of a font changed. */
+	public void clear() {
+		layouts.clear();
+	}
+	
+	public int size() {
+		return layouts.size();
+	}
+	
+	public int getMaxSize() {
+		return maxSize;
+	}
+	
+	/** @return the number of layouts returned from the cache. */
+	public int getHits() {
+		return hits;
+	}
+	
+	/** @return the number of layouts that had to be laid out. */
+	public int getMisses() {
+		return misses;
+	}
+	
+	public void resetCounters() {
+		hits = 0;
+		misses = 0;
+	}
+	
+	/**
+	 * The parameters of a layout. The probe used for lookups refers to a range of the caller's text, stored keys to a copy.
+	 */
+	static final class Key {
+		
+		BitmapFont font;
+		float scaleX, scaleY;
+		boolean markup;
+		CharSequence text;
+		int start, end;
+		int color;
+		float targetWidth;
+		int halign;
+		boolean wrap;
+		String truncate;
+		int hash;
+		
+		void set(BitmapFont font, CharSequence text, int start, int end, int color, float targetWidth, int halign, boolean wrap, String truncate) {
+			this.font = font;
+			scaleX = font.data.scaleX;
+			scaleY = font.data.scaleY;
+			markup = font.data.markupEnabled;
+			this.text = text;
+			this.start = start;
+			this.end = end;
+			this.color = color;
+			this.targetWidth = targetWidth;
+			this.halign = halign;
+			this.wrap = wrap;
+			this.truncate = truncate;
+			
+			int hash = System.identityHashCode(font);
+			hash = 31 * hash + Float.floatToIntBits(scaleX);
+			hash = 31 * hash + Float.floatToIntBits(scaleY);
+			hash = 31 * hash + color;
+			hash = 31 * hash + Float.floatToIntBits(targetWidth);
+			hash = 31 * hash + halign;
+			hash = 31 * hash + (wrap ? 1 : 0) + (markup ? 2 : 0);
+			hash = 31 * hash + (truncate == null ? 0 : truncate.hashCode());
+			for (int i = start; i < end; i++)
+				hash = 31 * hash + text.charAt(i);
+			this.hash = hash;
+		}
+		
+		public int hashCode() {
+			return hash;
+		}
+		
+		public boolean equals(Object object) {
+			if (!(object instanceof Key other))
+				return false;
+			if (hash != other.hash || font != other.font || color != other.color || halign != other.halign || wrap != other.wrap
+					|| markup != other.markup || end - start != other.end - other.start)
+				return false;
+			if (Float.floatToIntBits(scaleX) != Float.floatToIntBits(other.scaleX)
+					|| Float.floatToIntBits(scaleY) != Float.floatToIntBits(other.scaleY)
+					|| Float.floatToIntBits(targetWidth) != Float.floatToIntBits(other.targetWidth))
+				return false;
+			if (truncate == null ? other.truncate != null : !truncate.equals(other.truncate))
+				return false;
+			final CharSequence text = this.text, otherText = other.text;
+			for (int i = start, j = other.start; i < end; i++, j++)
+				if (text.charAt(i) != otherText.charAt(j))
+					return false;
+			return true;
+		}
+		
+	}
+	
+}
@@ -0,0 +1,69 @@
+package me.nulldoubt.micro.graphics.g2d;
+
+import me.nulldoubt.micro.graphics.Texture;
+import me.nulldoubt.micro.utils.collections.Array;
+import me.nulldoubt.micro.utils.collections.FloatArray;
+import me.nulldoubt.micro.utils.collections.IntArray;
+
+/**
+ * The sprite vertices drawn by a {@link Batch} between {@link Batch#beginCache(VertexCache)} and {@link Batch#endCache()}, so
+ * they can be drawn again without computing them. The vertices are relative to the transform matrix the batch had when
+ * recording began, so they have to be replayed with the same transform matrix. The
+ * {@link Batch#setDistanceFieldSmoothing(float) distance field smoothing} of the vertices is set again when replaying.
+ */
+public class VertexCache {
+	
+	final FloatArray vertices = new FloatArray(true, 256);
+	final Array<Texture> textures = new Array<>(true, 4, Texture.class);
+	/** The offset into {@link #vertices} at which each texture in {@link #textures} begins. */
+	final IntArray offsets = new IntArray(true, 4);
+	/** The distance field smoothing of each texture run, NaN if none was set. */
+	final FloatArray smoothings = new FloatArray(true, 4);
+	
+	/**
+	 * Adds vertices for the given texture, continuing the last run if it has the same texture and smoothing.
+	 *
+	 * @param smoothing The distance field smoothing the vertices were drawn with, NaN if none.
+	 */
+	void add(Texture texture, float smoothing, float[] vertices, int offset, int count) {
+		if (textures.size == 0 || textures.peek() != texture || Float.compare(smoothings.peek(), smoothing) != 0) {
+			textures.add(texture);
+			offsets.add(this.vertices.size);
+			smoothings.add(smoothing);
+		}
+		this.vertices.addAll(vertices, offset, count);
+	}
+	
+	/**
+	 * Draws the cached vertices with the batch, which must be drawing.
+	 */
+	public void draw(Batch batch) {
+		final float[] vertices = this.vertices.items;
+		final Texture[] textures = this.textures.items;
+		final int[] offsets = this.offsets.items;
+		final float[] smoothings = this.smoothings.items;
+		for (int i = 0, n = this.textures.size; i < n; i++) {
+			final int end = i + 1 < n ? offsets[i + 1] : this.vertices.size;
+			if (!Float.isNaN(smoothings[i]))
+				batch.setDistanceFieldSmoothing(smoothings[i]);
+			batch.draw(textures[i], vertices, offsets[i], end - offsets[i]);
+		}
+	}
+	
+	/** @return the number of sprites in the cache. */
+	public int getSpriteCount() {
+		return vertices.size / Sprite.SPRITE_SIZE;
+	}
+	
+	public boolean isEmpty() {
+		return vertices.size == 0;
+	}
+	
+	public void clear() {
+		vertices.clear();
+		textures.clear();
+		offsets.clear();
+		smoothings.clear();
+	}
+	
+}
@@ -76,6 +76,15 @@ public class FileTextureData implements TextureData {
 		pixmap.dispose();
 	}
 	
+	/** Disposes the pixmap of prepared data that will not be consumed. */
+	public void discard() {
+		prepared = false;
+		if (pixmap != null) {
+			pixmap.dispose();
+			pixmap = null;
+		}
+	}
+	
 	@Override
 	public int getWidth() {
 		return width;
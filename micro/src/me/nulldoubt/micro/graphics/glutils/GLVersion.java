@@ -23,7 +23,7 @@ public class GLVersion {
 	public GLVersion(Application.ApplicationType appType, String versionString, String vendorString, String rendererString) {
 		if (appType == Application.ApplicationType.Android)
 			this.type = Type.GLES;
-		else if (appType == Application.ApplicationType.Desktop)
+		else if (appType == Application.ApplicationType.Desktop || appType == Application.ApplicationType.HeadlessDesktop)
 			this.type = Type.OpenGL;
 		else if (appType == Application.ApplicationType.Applet)
 			this.type = Type.OpenGL;
@@ -27,6 +27,7 @@ public class Shader implements Disposable {
 	public static final String TANGENT_ATTRIBUTE = "a_tangent";
 	public static final String BINORMAL_ATTRIBUTE = "a_binormal";
 	public static final String BONEWEIGHT_ATTRIBUTE = "a_boneWeight";
+	public static final String TEXINDEX_ATTRIBUTE = "a_texIndex";
 	
 	public static boolean pedantic = true;
 	
@@ -306,6 +307,19 @@ public class Shader implements Disposable {
 		gl.glUniform4f(location, value1, value2, value3, value4);
 	}
 	
+	public void setUniform1iv(String name, int[] values, int offset, int length) {
+		GL20 gl = Micro.gl20;
+		checkManaged();
+		int location = fetchUniformLocation(name);
+		gl.glUniform1iv(location, length, values, offset);
+	}
+	
+	public void setUniform1iv(int location, int[] values, int offset, int length) {
+		GL20 gl = Micro.gl20;
+		checkManaged();
+		gl.glUniform1iv(location, length, values, offset);
+	}
+	
 	public void setUniform1fv(String name, float[] values, int offset, int length) {
 		GL20 gl = Micro.gl20;
 		checkManaged();
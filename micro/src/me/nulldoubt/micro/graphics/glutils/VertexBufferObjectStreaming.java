@@ -0,0 +1,305 @@
+package me.nulldoubt.micro.graphics.glutils;
+
+import me.nulldoubt.micro.Micro;
+import me.nulldoubt.micro.graphics.GL20;
+import me.nulldoubt.micro.graphics.GL30;
+import me.nulldoubt.micro.graphics.VertexAttribute;
+import me.nulldoubt.micro.graphics.VertexAttributes;
+import me.nulldoubt.micro.utils.Buffers;
+import me.nulldoubt.micro.utils.collections.IntArray;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * A {@link VertexData} for GL30 contexts that streams vertices instead of re-uploading a single buffer. The buffer object holds
+ * {@code segments} times the maximum number of vertices; every {@link #setVertices(float[], int, int)} appends to the next free
+ * range through an unsynchronized {@code glMapBufferRange}, and the attribute pointers of the VAO are moved to that range. Once
+ * the ring is full the storage is orphaned with {@code glBufferData(null)}, so the driver never has to wait for draws that still
+ * read the previous ranges.
+ * <p>
+ * Vertices passed to {@link #setVertices(float[], int, int)} are written straight into the mapped range and are not kept on the
+ * client, so {@link #getBuffer(boolean)} only reflects writes made through it.
+ */
+public class VertexBufferObjectStreaming implements VertexData {
+	
+	final static IntBuffer tmpHandle = Buffers.newIntBuffer(1);
+	
+	private static final int mapAccess = GL30.GL_MAP_WRITE_BIT | GL30.GL_MAP_INVALIDATE_RANGE_BIT | GL30.GL_MAP_UNSYNCHRONIZED_BIT;
+	
+	final VertexAttributes attributes;
+	final int maxVertices;
+	final int capacity;
+	int bufferHandle;
+	int vaoHandle = -1;
+	IntArray cachedLocations = new IntArray();
+	
+	ByteBuffer byteBuffer;
+	FloatBuffer buffer;
+	boolean isDirty = false;
+	boolean isBound = false;
+	
+	int numVertices;
+	int writeOffset;
+	int drawOffset;
+	int boundOffset = -1;
+	
+	/**
+	 * Constructs a new triple-buffered VertexBufferObjectStreaming.
+	 *
+	 * @param numVertices the maximum number of vertices per draw.
+	 * @param attributes  the {@link VertexAttribute}s.
+	 */
+	public VertexBufferObjectStreaming(int numVertices, VertexAttribute... attributes) {
+		this(numVertices, 3, new VertexAttributes(attributes));
+	}
+	
+	/**
+	 * Constructs a new VertexBufferObjectStreaming.
+	 *
+	 * @param numVertices the maximum number of vertices per draw.
+	 * @param segments    the number of draws the buffer holds before it is orphaned.
+	 * @param attributes  the {@link VertexAttributes}.
+	 */
+	public VertexBufferObjectStreaming(int numVertices, int segments, VertexAttributes attributes) {
+		if (segments < 1)
+			throw new IllegalArgumentException("segments must be >= 1: " + segments);
+		this.attributes = attributes;
+		this.maxVertices = numVertices;
+		this.capacity = attributes.vertexSize * numVertices * segments;
+		bufferHandle = Micro.gl20.glGenBuffer();
+		allocate();
+		createVAO();
+	}
+	
+	@Override
+	public VertexAttributes getAttributes() {
+		return attributes;
+	}
+	
+	@Override
+	public int getNumVertices() {
+		return numVertices;
+	}
+	
+	@Override
+	public int getNumMaxVertices() {
+		return maxVertices;
+	}
+	
+	@Override
+	public FloatBuffer getBuffer(boolean forWriting) {
+		if (byteBuffer == null) {
+			byteBuffer = Buffers.newUnsafeByteBuffer(attributes.vertexSize * maxVertices);
+			buffer = byteBuffer.asFloatBuffer();
+			((Buffer) buffer).limit(0);
+		}
+		isDirty |= forWriting;
+		return buffer;
+	}
+	
+	@Override
+	public void setVertices(float[] vertices, int offset, int count) {
+		final Buffer mapped = map(count << 2);
+		Buffers.copy(vertices, offset, mapped, count);
+		Micro.gl30.glUnmapBuffer(GL20.GL_ARRAY_BUFFER);
+		numVertices = (count << 2) / attributes.vertexSize;
+		isDirty = false;
+		if (isBound)
+			bindPointers();
+	}
+	
+	@Override
+	public void updateVertices(int targetOffset, float[] vertices, int sourceOffset, int count) {
+		// the range may still be read by a draw, so this one has to be synchronized
+		final GL30 gl = Micro.gl30;
+		gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, bufferHandle);
+		final Buffer mapped = gl.glMapBufferRange(GL20.GL_ARRAY_BUFFER, drawOffset + (targetOffset << 2), count << 2, GL30.GL_MAP_WRITE_BIT);
+		Buffers.copy(vertices, sourceOffset, mapped, count);
+		gl.glUnmapBuffer(GL20.GL_ARRAY_BUFFER);
+	}
+	
+	/**
+	 * Binds the buffer object and maps the next {@code bytes} of the ring, orphaning the storage first if they don't fit.
+	 */
+	private Buffer map(int bytes) {
+		if (bytes > capacity)
+			throw new IllegalArgumentException("Can't stream more than " + capacity + " bytes: " + bytes);
+		final GL30 gl = Micro.gl30;
+		gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, bufferHandle);
+		if (writeOffset + bytes > capacity) {
+			gl.glBufferData(GL20.GL_ARRAY_BUFFER, capacity, null, GL20.GL_STREAM_DRAW);
+			writeOffset = 0;
+		}
+		drawOffset = writeOffset;
+		writeOffset += bytes;
+		return gl.glMapBufferRange(GL20.GL_ARRAY_BUFFER, drawOffset, bytes, mapAccess);
+	}
+	
+	private void streamBuffer() {
+		final int count = buffer.limit();
+		final Buffer mapped = map(count << 2);
+		((Buffer) byteBuffer).position(0);
+		((Buffer) byteBuffer).limit(count << 2);
+		Buffers.copy(byteBuffer, mapped, count << 2);
+		Micro.gl30.glUnmapBuffer(GL20.GL_ARRAY_BUFFER);
+		numVertices = (count << 2) / attributes.vertexSize;
+		isDirty = false;
+	}
+	
+	@Override
+	public void bind(Shader shader) {
+		bind(shader, null);
+	}
+	
+	@Override
+	public void bind(Shader shader, int[] locations) {
+		GL30 gl = Micro.gl30;
+		
+		gl.glBindVertexArray(vaoHandle);
+		
+		if (isDirty)
+			streamBuffer();
+		
+		bindAttributes(shader, locations);
+		if (boundOffset != drawOffset)
+			bindPointers();
+		
+		isBound = true;
+	}
+	
+	private void bindAttributes(Shader shader, int[] locations) {
+		boolean stillValid = this.cachedLocations.size != 0;
+		final int numAttributes = attributes.size();
+		
+		if (stillValid) {
+			if (locations == null) {
+				for (int i = 0; stillValid && i < numAttributes; i++) {
+					VertexAttribute attribute = attributes.get(i);
+					int location = shader.getAttributeLocation(attribute.alias);
+					stillValid = location == this.cachedLocations.get(i);
+				}
+			} else {
+				stillValid = locations.length == this.cachedLocations.size;
+				for (int i = 0; stillValid && i < numAttributes; i++) {
+					stillValid = locations[i] == this.cachedLocations.get(i);
+				}
+			}
+		}
+		
+		if (!stillValid) {
+			unbindAttributes(shader);
+			this.cachedLocations.clear();
+			
+			for (int i = 0; i < numAttributes; i++) {
+				VertexAttribute attribute = attributes.get(i);
+				if (locations == null) {
+					this.cachedLocations.add(shader.getAttributeLocation(attribute.alias));
+				} else {
+					this.cachedLocations.add(locations[i]);
+				}
+				
+				int location = this.cachedLocations.get(i);
+				if (location >= 0)
+					shader.enableVertexAttribute(location);
+			}
+			boundOffset = -1;
+		}
+	}
+	
+	/** Points the attributes of the bound VAO at the range that was written last. */
+	private void bindPointers() {
+		final GL20 gl = Micro.gl20;
+		gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, bufferHandle);
+		for (int i = 0, n = cachedLocations.size; i < n; i++) {
+			int location = cachedLocations.get(i);
+			if (location < 0)
+				continue;
+			VertexAttribute attribute = attributes.get(i);
+			gl.glVertexAttribPointer(location, attribute.numComponents, attribute.type, attribute.normalized, attributes.vertexSize, drawOffset + attribute.offset);
+		}
+		boundOffset = drawOffset;
+	}
+	
+	private void unbindAttributes(Shader shader) {
+		if (cachedLocations.size == 0) {
+			return;
+		}
+		int numAttributes = attributes.size();
+		for (int i = 0; i < numAttributes; i++) {
+			int location = cachedLocations.get(i);
+			if (location < 0) {
+				continue;
+			}
+			shader.disableVertexAttribute(location);
+		}
+	}
+	
+	@Override
+	public void unbind(final Shader shader) {
+		unbind(shader, null);
+	}
+	
+	@Override
+	public void unbind(final Shader shader, final int[] locations) {
+		GL30 gl = Micro.gl30;
+		gl.glBindVertexArray(0);
+		isBound = false;
+	}
+	
+	/**
+	 * Invalidates the VertexBufferObjectStreaming so a new OpenGL buffer handle is created. Use this in case of a context loss.
+	 */
+	@Override
+	public void invalidate() {
+		bufferHandle = Micro.gl30.glGenBuffer();
+		allocate();
+		createVAO();
+		cachedLocations.clear();
+		boundOffset = -1;
+		isDirty = buffer != null && buffer.limit() > 0;
+	}
+	
+	@Override
+	public void dispose() {
+		GL30 gl = Micro.gl30;
+		
+		gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, 0);
+		gl.glDeleteBuffer(bufferHandle);
+		bufferHandle = 0;
+		if (byteBuffer != null) {
+			Buffers.disposeUnsafeByteBuffer(byteBuffer);
+			byteBuffer = null;
+			buffer = null;
+		}
+		deleteVAO();
+	}
+	
+	private void allocate() {
+		final GL20 gl = Micro.gl20;
+		gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, bufferHandle);
+		gl.glBufferData(GL20.GL_ARRAY_BUFFER, capacity, null, GL20.GL_STREAM_DRAW);
+		gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, 0);
+		writeOffset = 0;
+		drawOffset = 0;
+	}
+	
+	private void createVAO() {
+		((Buffer) tmpHandle).clear();
+		Micro.gl30.glGenVertexArrays(1, tmpHandle);
+		vaoHandle = tmpHandle.get();
+	}
+	
+	private void deleteVAO() {
+		if (vaoHandle != -1) {
+			((Buffer) tmpHandle).clear();
+			tmpHandle.put(vaoHandle);
+			((Buffer) tmpHandle).flip();
+			Micro.gl30.glDeleteVertexArrays(1, tmpHandle);
+			vaoHandle = -1;
+		}
+	}
+	
+}
@@ -834,7 +834,14 @@ public final class Matrix4 implements Serializable {
 	}
 	 */
 	
-	public static native void mulVec(float[] mat, float[] vecs, int offset, int numVecs, int stride) /*-{ }-*/; /*
+	public static void mulVec(float[] mat, float[] vecs, int offset, int numVecs, int stride) {
+		if (VectorMath.enabled)
+			VectorMath.mulVec(mat, vecs, offset, numVecs, stride);
+		else
+			mulVecJni(mat, vecs, offset, numVecs, stride);
+	}
+	
+	private static native void mulVecJni(float[] mat, float[] vecs, int offset, int numVecs, int stride) /*-{ }-*/; /*
 		float* vecPtr = vecs + offset;
 		for(int i = 0; i < numVecs; i++) {
 			matrix4_mulVec(mat, vecPtr);
@@ -842,7 +849,14 @@ public final class Matrix4 implements Serializable {
 		}
 	*/
 	
-	public static native void prj(float[] mat, float[] vecs, int offset, int numVecs, int stride) /*-{ }-*/; /*
+	public static void prj(float[] mat, float[] vecs, int offset, int numVecs, int stride) {
+		if (VectorMath.enabled)
+			VectorMath.prj(mat, vecs, offset, numVecs, stride);
+		else
+			prjJni(mat, vecs, offset, numVecs, stride);
+	}
+	
+	private static native void prjJni(float[] mat, float[] vecs, int offset, int numVecs, int stride) /*-{ }-*/; /*
 		float* vecPtr = vecs + offset;
 		for(int i = 0; i < numVecs; i++) {
 			matrix4_proj(mat, vecPtr);
@@ -850,7 +864,14 @@ public final class Matrix4 implements Serializable {
 		}
 	*/
 	
-	public static native void rot(float[] mat, float[] vecs, int offset, int numVecs, int stride) /*-{ }-*/; /*
+	public static void rot(float[] mat, float[] vecs, int offset, int numVecs, int stride) {
+		if (VectorMath.enabled)
+			VectorMath.rot(mat, vecs, offset, numVecs, stride);
+		else
+			rotJni(mat, vecs, offset, numVecs, stride);
+	}
+	
+	private static native void rotJni(float[] mat, float[] vecs, int offset, int numVecs, int stride) /*-{ }-*/; /*
 		float* vecPtr = vecs + offset;
 		for(int i = 0; i < numVecs; i++) {
 			matrix4_rot(mat, vecPtr);
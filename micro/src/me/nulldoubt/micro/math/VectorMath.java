@@ -0,0 +1,220 @@
+package me.nulldoubt.micro.math;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.Buffer;
+import java.nio.ByteOrder;
+
+/**
+ * Pure Java versions of the bulk vertex transforms of {@link me.nulldoubt.micro.utils.Buffers} and {@link Matrix4}, built on
+ * the {@code jdk.incubator.vector} module. Every vertex is transformed as one 128-bit vector whose lanes are the rows of the
+ * result, so the natives are only used if the module is not resolved (run with {@code --add-modules jdk.incubator.vector}) or
+ * the {@code micro.simd} system property is set to false.
+ * <p>
+ * Offsets and strides use the same units as the native methods they replace. The vector classes are only loaded through
+ * {@link Kernels}, so referencing this class without the module is safe as long as {@link #enabled} is checked first.
+ */
+public final class VectorMath {
+	
+	public static final boolean enabled = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent() && !"false".equals(System.getProperty("micro.simd"));
+	
+	private VectorMath() {}
+	
+	public static void transformV4M4(float[] data, int strideInBytes, int count, float[] matrix, int offsetInBytes) {
+		Kernels.transformV4M4(data, strideInBytes >> 2, count, matrix, offsetInBytes >> 2);
+	}
+	
+	public static void transformV3M4(float[] data, int strideInBytes, int count, float[] matrix, int offsetInBytes) {
+		Kernels.transformV3M4(data, strideInBytes >> 2, count, matrix, offsetInBytes >> 2, false);
+	}
+	
+	public static void transformV2M4(float[] data, int strideInBytes, int count, float[] matrix, int offsetInBytes) {
+		Kernels.transformV2M4(data, strideInBytes >> 2, count, matrix, offsetInBytes >> 2);
+	}
+	
+	public static void transformV3M3(float[] data, int strideInBytes, int count, float[] matrix, int offsetInBytes) {
+		Kernels.transformV3M3(data, strideInBytes >> 2, count, matrix, offsetInBytes >> 2);
+	}
+	
+	public static void transformV2M3(float[] data, int strideInBytes, int count, float[] matrix, int offsetInBytes) {
+		Kernels.transformV2M3(data, strideInBytes >> 2, count, matrix, offsetInBytes >> 2);
+	}
+	
+	/**
+	 * @param offsetInBytes the offset from the start of the buffer, ignoring its position and limit like the natives do.
+	 */
+	public static void transformV4M4(Buffer data, int strideInBytes, int count, float[] matrix, int offsetInBytes) {
+		Kernels.transformV4M4(segment(data), strideInBytes, count, matrix, offsetInBytes);
+	}
+	
+	public static void transformV3M4(Buffer data, int strideInBytes, int count, float[] matrix, int offsetInBytes) {
+		Kernels.transformV3M4(segment(data), strideInBytes, count, matrix, offsetInBytes);
+	}
+	
+	public static void transformV2M4(Buffer data, int strideInBytes, int count, float[] matrix, int offsetInBytes) {
+		Kernels.transformV2M4(segment(data), strideInBytes, count, matrix, offsetInBytes);
+	}
+	
+	public static void transformV3M3(Buffer data, int strideInBytes, int count, float[] matrix, int offsetInBytes) {
+		Kernels.transformV3M3(segment(data), strideInBytes, count, matrix, offsetInBytes);
+	}
+	
+	public static void transformV2M3(Buffer data, int strideInBytes, int count, float[] matrix, int offsetInBytes) {
+		Kernels.transformV2M3(segment(data), strideInBytes, count, matrix, offsetInBytes);
+	}
+	
+	/** Same as {@link Matrix4#mulVec(float[], float[], int, int, int)}. */
+	public static void mulVec(float[] mat, float[] vecs, int offset, int numVecs, int stride) {
+		Kernels.transformV3M4(vecs, stride, numVecs, mat, offset, false);
+	}
+	
+	/** Same as {@link Matrix4#prj(float[], float[], int, int, int)}. */
+	public static void prj(float[] mat, float[] vecs, int offset, int numVecs, int stride) {
+		Kernels.transformV3M4(vecs, stride, numVecs, mat, offset, true);
+	}
+	
+	/** Same as {@link Matrix4#rot(float[], float[], int, int, int)}. */
+	public static void rot(float[] mat, float[] vecs, int offset, int numVecs, int stride) {
+		Kernels.rot(vecs, stride, numVecs, mat, offset);
+	}
+	
+	private static MemorySegment segment(Buffer data) {
+		return MemorySegment.ofBuffer(data.duplicate().clear());
+	}
+	
+	private static final class Kernels {
+		
+		static final VectorSpecies<Float> S = FloatVector.SPECIES_128;
+		static final VectorMask<Float> XYZ = VectorMask.fromLong(S, 0b0111);
+		static final VectorMask<Float> XY = VectorMask.fromLong(S, 0b0011);
+		static final ValueLayout.OfFloat FLOAT = ValueLayout.JAVA_FLOAT_UNALIGNED;
+		static final ByteOrder ORDER = ByteOrder.nativeOrder();
+		
+		static void transformV4M4(float[] data, int stride, int count, float[] m, int offset) {
+			final FloatVector c0 = FloatVector.fromArray(S, m, 0), c1 = FloatVector.fromArray(S, m, 4);
+			final FloatVector c2 = FloatVector.fromArray(S, m, 8), c3 = FloatVector.fromArray(S, m, 12);
+			for (int i = 0; i < count; i++, offset += stride) {
+				final float x = data[offset], y = data[offset + 1], z = data[offset + 2], w = data[offset + 3];
+				c0.mul(x).add(c1.mul(y)).add(c2.mul(z)).add(c3.mul(w)).intoArray(data, offset);
+			}
+		}
+		
+		static void transformV3M4(float[] data, int stride, int count, float[] m, int offset, boolean project) {
+			final FloatVector c0 = FloatVector.fromArray(S, m, 0), c1 = FloatVector.fromArray(S, m, 4);
+			final FloatVector c2 = FloatVector.fromArray(S, m, 8), c3 = FloatVector.fromArray(S, m, 12);
+			for (int i = 0; i < count; i++, offset += stride) {
+				final float x = data[offset], y = data[offset + 1], z = data[offset + 2];
+				FloatVector result = c0.mul(x).add(c1.mul(y)).add(c2.mul(z)).add(c3);
+				if (project)
+					result = result.mul(1f / result.lane(3));
+				store(result, data, offset, XYZ);
+			}
+		}
+		
+		static void rot(float[] data, int stride, int count, float[] m, int offset) {
+			final FloatVector c0 = FloatVector.fromArray(S, m, 0), c1 = FloatVector.fromArray(S, m, 4);
+			final FloatVector c2 = FloatVector.fromArray(S, m, 8);
+			for (int i = 0; i < count; i++, offset += stride) {
+				final float x = data[offset], y = data[offset + 1], z = data[offset + 2];
+				store(c0.mul(x).add(c1.mul(y)).add(c2.mul(z)), data, offset, XYZ);
+			}
+		}
+		
+		static void transformV2M4(float[] data, int stride, int count, float[] m, int offset) {
+			final FloatVector c0 = FloatVector.fromArray(S, m, 0), c1 = FloatVector.fromArray(S, m, 4);
+			final FloatVector c3 = FloatVector.fromArray(S, m, 12);
+			for (int i = 0; i < count; i++, offset += stride) {
+				final float x = data[offset], y = data[offset + 1];
+				store(c0.mul(x).add(c1.mul(y)).add(c3), data, offset, XY);
+			}
+		}
+		
+		static void transformV3M3(float[] data, int stride, int count, float[] m, int offset) {
+			final FloatVector c0 = FloatVector.fromArray(S, m, 0, XYZ), c1 = FloatVector.fromArray(S, m, 3, XYZ);
+			final FloatVector c2 = FloatVector.fromArray(S, m, 6, XYZ);
+			for (int i = 0; i < count; i++, offset += stride) {
+				final float x = data[offset], y = data[offset + 1], z = data[offset + 2];
+				store(c0.mul(x).add(c1.mul(y)).add(c2.mul(z)), data, offset, XYZ);
+			}
+		}
+		
+		static void transformV2M3(float[] data, int stride, int count, float[] m, int offset) {
+			final FloatVector c0 = FloatVector.fromArray(S, m, 0, XYZ), c1 = FloatVector.fromArray(S, m, 3, XYZ);
+			final FloatVector c2 = FloatVector.fromArray(S, m, 6, XYZ);
+			for (int i = 0; i < count; i++, offset += stride) {
+				final float x = data[offset], y = data[offset + 1];
+				store(c0.mul(x).add(c1.mul(y)).add(c2), data, offset, XY);
+			}
+		}
+		
+		static void transformV4M4(MemorySegment data, int stride, int count, float[] m, int offset) {
+			final FloatVector c0 = FloatVector.fromArray(S, m, 0), c1 = FloatVector.fromArray(S, m, 4);
+			final FloatVector c2 = FloatVector.fromArray(S, m, 8), c3 = FloatVector.fromArray(S, m, 12);
+			for (int i = 0; i < count; i++, offset += stride) {
+				final float x = data.get(FLOAT, offset), y = data.get(FLOAT, offset + 4);
+				final float z = data.get(FLOAT, offset + 8), w = data.get(FLOAT, offset + 12);
+				c0.mul(x).add(c1.mul(y)).add(c2.mul(z)).add(c3.mul(w)).intoMemorySegment(data, offset, ORDER);
+			}
+		}
+		
+		static void transformV3M4(MemorySegment data, int stride, int count, float[] m, int offset) {
+			final FloatVector c0 = FloatVector.fromArray(S, m, 0), c1 = FloatVector.fromArray(S, m, 4);
+			final FloatVector c2 = FloatVector.fromArray(S, m, 8), c3 = FloatVector.fromArray(S, m, 12);
+			for (int i = 0; i < count; i++, offset += stride) {
+				final float x = data.get(FLOAT, offset), y = data.get(FLOAT, offset + 4), z = data.get(FLOAT, offset + 8);
+				store(c0.mul(x).add(c1.mul(y)).add(c2.mul(z)).add(c3), data, offset, XYZ);
+			}
+		}
+		
+		static void transformV2M4(MemorySegment data, int stride, int count, float[] m, int offset) {
+			final FloatVector c0 = FloatVector.fromArray(S, m, 0), c1 = FloatVector.fromArray(S, m, 4);
+			final FloatVector c3 = FloatVector.fromArray(S, m, 12);
+			for (int i = 0; i < count; i++, offset += stride) {
+				final float x = data.get(FLOAT, offset), y = data.get(FLOAT, offset + 4);
+				store(c0.mul(x).add(c1.mul(y)).add(c3), data, offset, XY);
+			}
+		}
+		
+		static void transformV3M3(MemorySegment data, int stride, int count, float[] m, int offset) {
+			final FloatVector c0 = FloatVector.fromArray(S, m, 0, XYZ), c1 = FloatVector.fromArray(S, m, 3, XYZ);
+			final FloatVector c2 = FloatVector.fromArray(S, m, 6, XYZ);
+			for (int i = 0; i < count; i++, offset += stride) {
+				final float x = data.get(FLOAT, offset), y = data.get(FLOAT, offset + 4), z = data.get(FLOAT, offset + 8);
+				store(c0.mul(x).add(c1.mul(y)).add(c2.mul(z)), data, offset, XYZ);
+			}
+		}
+		
+		static void transformV2M3(MemorySegment data, int stride, int count, float[] m, int offset) {
+			final FloatVector c0 = FloatVector.fromArray(S, m, 0, XYZ), c1 = FloatVector.fromArray(S, m, 3, XYZ);
+			final FloatVector c2 = FloatVector.fromArray(S, m, 6, XYZ);
+			for (int i = 0; i < count; i++, offset += stride) {
+				final float x = data.get(FLOAT, offset), y = data.get(FLOAT, offset + 4);
+				store(c0.mul(x).add(c1.mul(y)).add(c2), data, offset, XY);
+			}
+		}
+		
+		/**
+		 * Masked stores are not intrinsified on every platform, so the untouched lanes are blended back in and stored as a whole
+		 * vector wherever four floats fit.
+		 */
+		private static void store(FloatVector result, float[] data, int offset, VectorMask<Float> mask) {
+			if (offset + 4 <= data.length)
+				FloatVector.fromArray(S, data, offset).blend(result, mask).intoArray(data, offset);
+			else
+				result.intoArray(data, offset, mask);
+		}
+		
+		private static void store(FloatVector result, MemorySegment data, int offset, VectorMask<Float> mask) {
+			if (offset + 16 <= data.byteSize())
+				FloatVector.fromMemorySegment(S, data, offset, ORDER).blend(result, mask).intoMemorySegment(data, offset, ORDER);
+			else
+				result.intoMemorySegment(data, offset, ORDER, mask);
+		}
+		
+	}
+	
+}
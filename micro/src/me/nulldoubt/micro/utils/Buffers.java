@@ -1,5 +1,11 @@
 package me.nulldoubt.micro.utils;
 
+import java.lang.foreign.Arena;
+import java.lang.foreign.FunctionDescriptor;
+import java.lang.foreign.Linker;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.lang.invoke.MethodHandle;
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
@@ -9,17 +15,20 @@ import java.nio.FloatBuffer;
 import java.nio.IntBuffer;
 import java.nio.LongBuffer;
 import java.nio.ShortBuffer;
+import java.util.IdentityHashMap;
 
 import me.nulldoubt.micro.exceptions.MicroRuntimeException;
 import me.nulldoubt.micro.math.Matrix3;
 import me.nulldoubt.micro.math.Matrix4;
-import me.nulldoubt.micro.utils.collections.Array;
+import me.nulldoubt.micro.math.VectorMath;
+
+import static java.lang.foreign.ValueLayout.*;
 
 public final class Buffers {
 	
 	private Buffers() {}
 	
-	private static final Array<ByteBuffer> unsafeBuffers = new Array<>();
+	private static final IdentityHashMap<ByteBuffer, Arena> unsafeBuffers = new IdentityHashMap<>();
 	private static int allocatedUnsafe = 0;
 	
 	public static void copy (float[] src, Buffer dst, int numFloats, int offset) {
@@ -27,69 +36,69 @@ public final class Buffers {
 			dst.limit(numFloats << 2);
 		else if (dst instanceof FloatBuffer) dst.limit(numFloats);
 		
-		copyJni(src, dst, numFloats, offset);
+		copyArray(src, offset, JAVA_FLOAT_UNALIGNED, dst, 0, numFloats);
 		dst.position(0);
 	}
 	
 	public static void copy (byte[] src, int srcOffset, Buffer dst, int numElements) {
 		dst.limit(dst.position() + bytesToElements(dst, numElements));
-		copyJni(src, srcOffset, dst, positionInBytes(dst), numElements);
+		copyArray(src, srcOffset, JAVA_BYTE, dst, positionInBytes(dst), numElements);
 	}
 	
 	public static void copy (short[] src, int srcOffset, Buffer dst, int numElements) {
 		dst.limit(dst.position() + bytesToElements(dst, numElements << 1));
-		copyJni(src, srcOffset, dst, positionInBytes(dst), numElements << 1);
+		copyArray(src, srcOffset, JAVA_SHORT_UNALIGNED, dst, positionInBytes(dst), numElements);
 	}
 	
 	public static void copy (char[] src, int srcOffset, int numElements, Buffer dst) {
-		copyJni(src, srcOffset, dst, positionInBytes(dst), numElements << 1);
+		copyArray(src, srcOffset, JAVA_CHAR_UNALIGNED, dst, positionInBytes(dst), numElements);
 	}
 	
 	public static void copy (int[] src, int srcOffset, int numElements, Buffer dst) {
-		copyJni(src, srcOffset, dst, positionInBytes(dst), numElements << 2);
+		copyArray(src, srcOffset, JAVA_INT_UNALIGNED, dst, positionInBytes(dst), numElements);
 	}
 	
 	public static void copy (long[] src, int srcOffset, int numElements, Buffer dst) {
-		copyJni(src, srcOffset, dst, positionInBytes(dst), numElements << 3);
+		copyArray(src, srcOffset, JAVA_LONG_UNALIGNED, dst, positionInBytes(dst), numElements);
 	}
 	
 	public static void copy (float[] src, int srcOffset, int numElements, Buffer dst) {
-		copyJni(src, srcOffset, dst, positionInBytes(dst), numElements << 2);
+		copyArray(src, srcOffset, JAVA_FLOAT_UNALIGNED, dst, positionInBytes(dst), numElements);
 	}
 	
 	public static void copy (double[] src, int srcOffset, int numElements, Buffer dst) {
-		copyJni(src, srcOffset, dst, positionInBytes(dst), numElements << 3);
+		copyArray(src, srcOffset, JAVA_DOUBLE_UNALIGNED, dst, positionInBytes(dst), numElements);
 	}
 	
 	public static void copy (char[] src, int srcOffset, Buffer dst, int numElements) {
 		dst.limit(dst.position() + bytesToElements(dst, numElements << 1));
-		copyJni(src, srcOffset, dst, positionInBytes(dst), numElements << 1);
+		copyArray(src, srcOffset, JAVA_CHAR_UNALIGNED, dst, positionInBytes(dst), numElements);
 	}
 	
 	public static void copy (int[] src, int srcOffset, Buffer dst, int numElements) {
 		dst.limit(dst.position() + bytesToElements(dst, numElements << 2));
-		copyJni(src, srcOffset, dst, positionInBytes(dst), numElements << 2);
+		copyArray(src, srcOffset, JAVA_INT_UNALIGNED, dst, positionInBytes(dst), numElements);
 	}
 	
 	public static void copy (long[] src, int srcOffset, Buffer dst, int numElements) {
 		dst.limit(dst.position() + bytesToElements(dst, numElements << 3));
-		copyJni(src, srcOffset, dst, positionInBytes(dst), numElements << 3);
+		copyArray(src, srcOffset, JAVA_LONG_UNALIGNED, dst, positionInBytes(dst), numElements);
 	}
 	
 	public static void copy (float[] src, int srcOffset, Buffer dst, int numElements) {
 		dst.limit(dst.position() + bytesToElements(dst, numElements << 2));
-		copyJni(src, srcOffset, dst, positionInBytes(dst), numElements << 2);
+		copyArray(src, srcOffset, JAVA_FLOAT_UNALIGNED, dst, positionInBytes(dst), numElements);
 	}
 	
 	public static void copy (double[] src, int srcOffset, Buffer dst, int numElements) {
 		dst.limit(dst.position() + bytesToElements(dst, numElements << 3));
-		copyJni(src, srcOffset, dst, positionInBytes(dst), numElements << 3);
+		copyArray(src, srcOffset, JAVA_DOUBLE_UNALIGNED, dst, positionInBytes(dst), numElements);
 	}
 	
 	public static void copy (Buffer src, Buffer dst, int numElements) {
 		int numBytes = elementsToBytes(src, numElements);
 		dst.limit(dst.position() + bytesToElements(dst, numBytes));
-		copyJni(src, positionInBytes(src), dst, positionInBytes(dst), numBytes);
+		MemorySegment.copy(segment(src), positionInBytes(src), segment(dst), positionInBytes(dst), numBytes);
 	}
 	
 	public static void transform (Buffer data, int dimensions, int strideInBytes, int count, Matrix4 matrix) {
@@ -103,13 +112,22 @@ public final class Buffers {
 	public static void transform (Buffer data, int dimensions, int strideInBytes, int count, Matrix4 matrix, int offset) {
 		switch (dimensions) {
 			case 4:
-				transformV4M4Jni(data, strideInBytes, count, matrix.val, positionInBytes(data) + offset);
+				if (VectorMath.enabled)
+					VectorMath.transformV4M4(data, strideInBytes, count, matrix.val, positionInBytes(data) + offset);
+				else
+					transformV4M4Jni(data, strideInBytes, count, matrix.val, positionInBytes(data) + offset);
 				break;
 			case 3:
-				transformV3M4Jni(data, strideInBytes, count, matrix.val, positionInBytes(data) + offset);
+				if (VectorMath.enabled)
+					VectorMath.transformV3M4(data, strideInBytes, count, matrix.val, positionInBytes(data) + offset);
+				else
+					transformV3M4Jni(data, strideInBytes, count, matrix.val, positionInBytes(data) + offset);
 				break;
 			case 2:
-				transformV2M4Jni(data, strideInBytes, count, matrix.val, positionInBytes(data) + offset);
+				if (VectorMath.enabled)
+					VectorMath.transformV2M4(data, strideInBytes, count, matrix.val, positionInBytes(data) + offset);
+				else
+					transformV2M4Jni(data, strideInBytes, count, matrix.val, positionInBytes(data) + offset);
 				break;
 			default:
 				throw new IllegalArgumentException();
@@ -119,13 +137,22 @@ public final class Buffers {
 	public static void transform (float[] data, int dimensions, int strideInBytes, int count, Matrix4 matrix, int offset) {
 		switch (dimensions) {
 			case 4:
-				transformV4M4Jni(data, strideInBytes, count, matrix.val, offset);
+				if (VectorMath.enabled)
+					VectorMath.transformV4M4(data, strideInBytes, count, matrix.val, offset);
+				else
+					transformV4M4Jni(data, strideInBytes, count, matrix.val, offset);
 				break;
 			case 3:
-				transformV3M4Jni(data, strideInBytes, count, matrix.val, offset);
+				if (VectorMath.enabled)
+					VectorMath.transformV3M4(data, strideInBytes, count, matrix.val, offset);
+				else
+					transformV3M4Jni(data, strideInBytes, count, matrix.val, offset);
 				break;
 			case 2:
-				transformV2M4Jni(data, strideInBytes, count, matrix.val, offset);
+				if (VectorMath.enabled)
+					VectorMath.transformV2M4(data, strideInBytes, count, matrix.val, offset);
+				else
+					transformV2M4Jni(data, strideInBytes, count, matrix.val, offset);
 				break;
 			default:
 				throw new IllegalArgumentException();
@@ -143,10 +170,16 @@ public final class Buffers {
 	public static void transform (Buffer data, int dimensions, int strideInBytes, int count, Matrix3 matrix, int offset) {
 		switch (dimensions) {
 			case 3:
-				transformV3M3Jni(data, strideInBytes, count, matrix.val, positionInBytes(data) + offset);
+				if (VectorMath.enabled)
+					VectorMath.transformV3M3(data, strideInBytes, count, matrix.val, positionInBytes(data) + offset);
+				else
+					transformV3M3Jni(data, strideInBytes, count, matrix.val, positionInBytes(data) + offset);
 				break;
 			case 2:
-				transformV2M3Jni(data, strideInBytes, count, matrix.val, positionInBytes(data) + offset);
+				if (VectorMath.enabled)
+					VectorMath.transformV2M3(data, strideInBytes, count, matrix.val, positionInBytes(data) + offset);
+				else
+					transformV2M3Jni(data, strideInBytes, count, matrix.val, positionInBytes(data) + offset);
 				break;
 			default:
 				throw new IllegalArgumentException();
@@ -156,10 +189,16 @@ public final class Buffers {
 	public static void transform (float[] data, int dimensions, int strideInBytes, int count, Matrix3 matrix, int offset) {
 		switch (dimensions) {
 			case 3:
-				transformV3M3Jni(data, strideInBytes, count, matrix.val, offset);
+				if (VectorMath.enabled)
+					VectorMath.transformV3M3(data, strideInBytes, count, matrix.val, offset);
+				else
+					transformV3M3Jni(data, strideInBytes, count, matrix.val, offset);
 				break;
 			case 2:
-				transformV2M3Jni(data, strideInBytes, count, matrix.val, offset);
+				if (VectorMath.enabled)
+					VectorMath.transformV2M3(data, strideInBytes, count, matrix.val, offset);
+				else
+					transformV2M3Jni(data, strideInBytes, count, matrix.val, offset);
 				break;
 			default:
 				throw new IllegalArgumentException();
@@ -298,27 +337,37 @@ public final class Buffers {
 	}
 	
 	public static void disposeUnsafeByteBuffer (ByteBuffer buffer) {
-		int size = buffer.capacity();
+		final Arena arena;
 		synchronized (unsafeBuffers) {
-			if (!unsafeBuffers.removeValue(buffer, true))
+			if (!unsafeBuffers.containsKey(buffer))
 				throw new IllegalArgumentException("buffer not allocated with newUnsafeByteBuffer or already disposed");
+			arena = unsafeBuffers.remove(buffer);
+			allocatedUnsafe -= buffer.capacity();
 		}
-		allocatedUnsafe -= size;
-		freeMemory(buffer);
+		if (arena != null)
+			arena.close();
+		else
+			freeMemory(buffer);
 	}
 	
 	public static boolean isUnsafeByteBuffer (ByteBuffer buffer) {
 		synchronized (unsafeBuffers) {
-			return unsafeBuffers.contains(buffer, true);
+			return unsafeBuffers.containsKey(buffer);
 		}
 	}
 	
+	/**
+	 * Allocates a direct buffer in its own shared {@link Arena}, so it can be released from any thread with
+	 * {@link #disposeUnsafeByteBuffer(ByteBuffer)}. Accessing the buffer after it was disposed throws an
+	 * {@link IllegalStateException} instead of touching freed memory.
+	 */
 	public static ByteBuffer newUnsafeByteBuffer (int numBytes) {
-		ByteBuffer buffer = newDisposableByteBuffer(numBytes);
+		final Arena arena = Arena.ofShared();
+		final ByteBuffer buffer = arena.allocate(numBytes, 16).asByteBuffer();
 		buffer.order(ByteOrder.nativeOrder());
-		allocatedUnsafe += numBytes;
 		synchronized (unsafeBuffers) {
-			unsafeBuffers.add(buffer);
+			unsafeBuffers.put(buffer, arena);
+			allocatedUnsafe += numBytes;
 		}
 		return buffer;
 	}
@@ -327,76 +376,69 @@ public final class Buffers {
 		return getBufferAddress(buffer) + buffer.position();
 	}
 	
+	/**
+	 * Registers a direct buffer that was allocated with {@code malloc} by native code, so it is accounted for and released with
+	 * {@code free} by {@link #disposeUnsafeByteBuffer(ByteBuffer)}.
+	 */
 	public static ByteBuffer newUnsafeByteBuffer (ByteBuffer buffer) {
-		allocatedUnsafe += buffer.capacity();
 		synchronized (unsafeBuffers) {
-			unsafeBuffers.add(buffer);
+			unsafeBuffers.put(buffer, null);
+			allocatedUnsafe += buffer.capacity();
 		}
 		return buffer;
 	}
 	
+	/** @return the number of bytes allocated with {@link #newUnsafeByteBuffer(int)} that were not disposed yet. */
 	public static int getAllocatedBytesUnsafe () {
-		return allocatedUnsafe;
+		synchronized (unsafeBuffers) {
+			return allocatedUnsafe;
+		}
 	}
 	
-	// @off
-	/*JNI
-	#include <stdio.h>
-	#include <stdlib.h>
-	#include <string.h>
-	*/
-	
-	private static native void freeMemory (ByteBuffer buffer); /*
-		free(buffer);
-	 */
-	
-	private static native ByteBuffer newDisposableByteBuffer (int numBytes); /*
-		return env->NewDirectByteBuffer((char*)malloc(numBytes), numBytes);
-	*/
-	
-	private static native long getBufferAddress (Buffer buffer); /*
-	    return (jlong) buffer;
-	*/
+	/** @return the number of unsafe buffers that were not disposed yet. */
+	public static int getUnsafeBufferCount () {
+		synchronized (unsafeBuffers) {
+			return unsafeBuffers.size();
+		}
+	}
 	
 	/** Writes the specified number of zeros to the buffer. This is generally faster than reallocating a new buffer. */
-	public static native void clear (ByteBuffer buffer, int numBytes); /*
-		memset(buffer, 0, numBytes);
-	*/
-	
-	private native static void copyJni (float[] src, Buffer dst, int numFloats, int offset); /*
-		memcpy(dst, src + offset, numFloats << 2 );
-	*/
-	
-	private native static void copyJni (byte[] src, int srcOffset, Buffer dst, int dstOffset, int numBytes); /*
-		memcpy(dst + dstOffset, src + srcOffset, numBytes);
-	*/
-	
-	private native static void copyJni (char[] src, int srcOffset, Buffer dst, int dstOffset, int numBytes); /*
-		memcpy(dst + dstOffset, src + srcOffset, numBytes);
-	*/
+	public static void clear (ByteBuffer buffer, int numBytes) {
+		segment(buffer).asSlice(0, numBytes).fill((byte) 0);
+	}
 	
-	private native static void copyJni (short[] src, int srcOffset, Buffer dst, int dstOffset, int numBytes); /*
-		memcpy(dst + dstOffset, src + srcOffset, numBytes);
-	 */
+	private static long getBufferAddress (Buffer buffer) {
+		return segment(buffer).address();
+	}
 	
-	private native static void copyJni (int[] src, int srcOffset, Buffer dst, int dstOffset, int numBytes); /*
-		memcpy(dst + dstOffset, src + srcOffset, numBytes);
-	*/
+	private static void copyArray (Object src, int srcOffset, ValueLayout layout, Buffer dst, int dstOffset, int numElements) {
+		MemorySegment.copy(src, srcOffset, segment(dst), layout, dstOffset, numElements);
+	}
 	
-	private native static void copyJni (long[] src, int srcOffset, Buffer dst, int dstOffset, int numBytes); /*
-		memcpy(dst + dstOffset, src + srcOffset, numBytes);
-	*/
+	/** @return a segment over the whole capacity of the buffer, ignoring its position and limit. */
+	private static MemorySegment segment (Buffer buffer) {
+		return MemorySegment.ofBuffer(buffer.duplicate().clear());
+	}
 	
-	private native static void copyJni (float[] src, int srcOffset, Buffer dst, int dstOffset, int numBytes); /*
-		memcpy(dst + dstOffset, src + srcOffset, numBytes);
-	*/
+	private static void freeMemory (ByteBuffer buffer) {
+		try {
+			Libc.free.invokeExact(segment(buffer));
+		} catch (Throwable t) {
+			throw new MicroRuntimeException("Couldn't free buffer", t);
+		}
+	}
 	
-	private native static void copyJni (double[] src, int srcOffset, Buffer dst, int dstOffset, int numBytes); /*
-		memcpy(dst + dstOffset, src + srcOffset, numBytes);
-	*/
+	private static final class Libc {
+		
+		static final MethodHandle free = Linker.nativeLinker().downcallHandle(Linker.nativeLinker().defaultLookup().find("free").orElseThrow(), FunctionDescriptor.ofVoid(ValueLayout.ADDRESS));
+		
+	}
 	
-	private native static void copyJni (Buffer src, int srcOffset, Buffer dst, int dstOffset, int numBytes); /*
-		memcpy(dst + dstOffset, src + srcOffset, numBytes);
+	// @off
+	/*JNI
+	#include <stdio.h>
+	#include <stdlib.h>
+	#include <string.h>
 	*/
 	
 	/*JNI
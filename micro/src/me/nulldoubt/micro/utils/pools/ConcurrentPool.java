@@ -0,0 +1,227 @@
+package me.nulldoubt.micro.utils.pools;
+
+import me.nulldoubt.micro.utils.collections.Array;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A thread-safe {@link Pool}. Every thread obtains from and frees into its own magazine of {@code magazineSize} objects without
+ * synchronization; full and empty magazines are exchanged with a lock-free shared depot, so objects freed on one thread can be
+ * obtained on another.
+ * <p>
+ * {@link #max} bounds the number of free objects in the depot. Each thread may additionally hold up to one magazine, which is
+ * released with the thread. {@link #getFree()}, {@link #clear()} and {@link #peak} only see the depot and the calling thread.
+ */
+public abstract class ConcurrentPool<T> extends Pool<T> {
+	
+	public final int magazineSize;
+	
+	private final ThreadLocal<Magazine> magazines = ThreadLocal.withInitial(this::newMagazine);
+	private final AtomicReference<Node> full = new AtomicReference<>();
+	private final AtomicReference<Node> empty = new AtomicReference<>();
+	private final AtomicInteger depotFree = new AtomicInteger();
+	
+	private volatile PoolDiagnostics counters = new PoolDiagnostics(false);
+	
+	public ConcurrentPool() {
+		this(16, Integer.MAX_VALUE);
+	}
+	
+	public ConcurrentPool(final int magazineSize) {
+		this(magazineSize, Integer.MAX_VALUE);
+	}
+	
+	public ConcurrentPool(final int magazineSize, final int max) {
+		super(0, max);
+		if (magazineSize < 1)
+			throw new IllegalArgumentException("magazineSize must be >= 1: " + magazineSize);
+		this.magazineSize = magazineSize;
+	}
+	
+	@Override
+	public T obtain() {
+		final Magazine magazine = magazines.get();
+		if (magazine.size == 0) {
+			final Object[] items = pop(full);
+			if (items == null) {
+				final T object = newObject();
+				counters.obtained(object, true);
+				return object;
+			}
+			depotFree.addAndGet(-items.length);
+			push(empty, magazine.items);
+			magazine.items = items;
+			magazine.size = items.length;
+		}
+		final Object[] items = magazine.items;
+		final T object = (T) items[--magazine.size];
+		items[magazine.size] = null;
+		counters.obtained(object, false);
+		return object;
+	}
+	
+	@Override
+	public void free(final T object) {
+		if (object == null)
+			throw new IllegalArgumentException("object cannot be null.");
+		counters.freed(object);
+		final Magazine magazine = magazines.get();
+		if (magazine.size == magazine.items.length && !flush(magazine)) {
+			counters.discarded.increment();
+			discard(object);
+			return;
+		}
+		reset(object);
+		magazine.items[magazine.size++] = object;
+	}
+	
+	@Override
+	public void freeAll(final Array<T> objects) {
+		if (objects == null)
+			throw new IllegalArgumentException("objects cannot be null.");
+		for (int i = 0, n = objects.size; i < n; i++) {
+			final T object = objects.get(i);
+			if (object != null)
+				free(object);
+		}
+	}
+	
+	@Override
+	public void fill(final int size) {
+		final Magazine magazine = magazines.get();
+		for (int i = 0; i < size; i++) {
+			if (magazine.size == magazine.items.length && !flush(magazine))
+				break;
+			counters.missed.increment();
+			magazine.items[magazine.size++] = newObject();
+		}
+	}
+	
+	/**
+	 * Moves the full magazine of the calling thread to the depot and replaces it with an empty one.
+	 *
+	 * @return false if the depot would exceed {@link #max}.
+	 */
+	private boolean flush(final Magazine magazine) {
+		final int length = magazine.items.length;
+		int free;
+		do {
+			free = depotFree.get();
+			if (free > max - length)
+				return false;
+		} while (!depotFree.compareAndSet(free, free + length));
+		peak = Math.max(peak, free + length);
+		push(full, magazine.items);
+		final Object[] items = pop(empty);
+		magazine.items = items != null ? items : new Object[magazineSize];
+		magazine.size = 0;
+		return true;
+	}
+	
+	/**
+	 * Discards the free objects of the depot and of the calling thread. Magazines held by other threads are not affected.
+	 */
+	@Override
+	public void clear() {
+		Object[] items;
+		while ((items = pop(full)) != null) {
+			depotFree.addAndGet(-items.length);
+			for (int i = 0; i < items.length; i++) {
+				discard((T) items[i]);
+				items[i] = null;
+			}
+			push(empty, items);
+		}
+		final Magazine magazine = magazines.get();
+		for (int i = 0; i < magazine.size; i++) {
+			discard((T) magazine.items[i]);
+			magazine.items[i] = null;
+		}
+		magazine.size = 0;
+	}
+	
+	/**
+	 * @return the number of free objects in the depot and in the magazine of the calling thread.
+	 */
+	@Override
+	public int getFree() {
+		return depotFree.get() + magazines.get().size;
+	}
+	
+	/**
+	 * The counters of a concurrent pool are always kept, so disabling diagnostics only stops tracking leaks.
+	 */
+	@Override
+	public void setDiagnostics(final boolean enabled, final boolean trackLeaks) {
+		counters = new PoolDiagnostics(enabled && trackLeaks);
+	}
+	
+	@Override
+	public PoolDiagnostics getDiagnostics() {
+		return counters;
+	}
+	
+	/** @return the number of calls to {@link #obtain()}. */
+	public long getObtained() {
+		return counters.getObtained();
+	}
+	
+	/** @return the number of calls to {@link #free(Object)}, including discarded objects. */
+	public long getFreed() {
+		return counters.getFreed();
+	}
+	
+	/** @return the number of freed objects that were discarded because the depot was full. */
+	public long getDiscarded() {
+		return counters.getDiscarded();
+	}
+	
+	/** @return the number of objects created by {@link #newObject()}. */
+	public long getMissed() {
+		return counters.getMissed();
+	}
+	
+	private Magazine newMagazine() {
+		final Magazine magazine = new Magazine();
+		final Object[] items = pop(empty);
+		magazine.items = items != null ? items : new Object[magazineSize];
+		return magazine;
+	}
+	
+	private static void push(final AtomicReference<Node> stack, final Object[] items) {
+		final Node node = new Node(items);
+		do
+			node.next = stack.get();
+		while (!stack.compareAndSet(node.next, node));
+	}
+	
+	private static Object[] pop(final AtomicReference<Node> stack) {
+		Node node;
+		do {
+			node = stack.get();
+			if (node == null)
+				return null;
+		} while (!stack.compareAndSet(node, node.next));
+		return node.items;
+	}
+	
+	private static final class Magazine {
+		
+		Object[] items;
+		int size;
+		
+	}
+	
+	private static final class Node {
+		
+		final Object[] items;
+		Node next;
+		
+		Node(final Object[] items) {
+			this.items = items;
+		}
+		
+	}
+	
+}
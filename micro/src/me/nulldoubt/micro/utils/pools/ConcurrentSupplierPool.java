@@ -0,0 +1,19 @@
+package me.nulldoubt.micro.utils.pools;
+
+import java.util.function.Supplier;
+
+public class ConcurrentSupplierPool<T> extends ConcurrentPool<T> {
+	
+	private final Supplier<T> supplier;
+	
+	public ConcurrentSupplierPool(final Supplier<T> supplier, final int magazineSize, final int max) {
+		super(magazineSize, max);
+		this.supplier = supplier;
+	}
+	
+	@Override
+	protected T newObject() {
+		return supplier.get();
+	}
+	
+}
@@ -9,6 +9,8 @@ public abstract class Pool<T> {
 	
 	private final Array<T> freeObjects;
 	
+	private PoolDiagnostics diagnostics;
+	
 	public Pool() {
 		this(16, Integer.MAX_VALUE);
 	}
@@ -25,24 +27,40 @@ public abstract class Pool<T> {
 	protected abstract T newObject();
 	
 	public T obtain() {
-		return freeObjects.size == 0 ? newObject() : freeObjects.pop();
+		final PoolDiagnostics diagnostics = this.diagnostics;
+		if (diagnostics == null)
+			return freeObjects.size == 0 ? newObject() : freeObjects.pop();
+		final boolean miss = freeObjects.size == 0;
+		final T object = miss ? newObject() : freeObjects.pop();
+		diagnostics.obtained(object, miss);
+		return object;
 	}
 	
 	public void free(final T object) {
 		if (object == null)
 			throw new IllegalArgumentException("object cannot be null.");
+		final PoolDiagnostics diagnostics = this.diagnostics;
+		if (diagnostics != null)
+			diagnostics.freed(object);
 		if (freeObjects.size < max) {
 			freeObjects.add(object);
 			peak = Math.max(peak, freeObjects.size);
 			reset(object);
-		} else
+		} else {
+			if (diagnostics != null)
+				diagnostics.discarded.increment();
 			discard(object);
+		}
 	}
 	
 	public void fill(final int size) {
+		final PoolDiagnostics diagnostics = this.diagnostics;
 		for (int i = 0; i < size; i++)
-			if (freeObjects.size < max)
+			if (freeObjects.size < max) {
 				freeObjects.add(newObject());
+				if (diagnostics != null)
+					diagnostics.missed.increment();
+			}
 		peak = Math.max(peak, freeObjects.size);
 	}
 	
@@ -59,16 +77,22 @@ public abstract class Pool<T> {
 		if (objects == null)
 			throw new IllegalArgumentException("objects cannot be null.");
 		final Array<T> freeObjects = this.freeObjects;
+		final PoolDiagnostics diagnostics = this.diagnostics;
 		int max = this.max;
 		for (int i = 0, n = objects.size; i < n; i++) {
 			T object = objects.get(i);
 			if (object == null)
 				continue;
+			if (diagnostics != null)
+				diagnostics.freed(object);
 			if (freeObjects.size < max) {
 				freeObjects.add(object);
 				reset(object);
-			} else
+			} else {
+				if (diagnostics != null)
+					diagnostics.discarded.increment();
 				discard(object);
+			}
 		}
 		peak = Math.max(peak, freeObjects.size);
 	}
@@ -84,6 +108,23 @@ public abstract class Pool<T> {
 		return freeObjects.size;
 	}
 	
+	/**
+	 * Enables counting of obtained, freed, created and discarded objects. If {@code trackLeaks} is true, the stack of every
+	 * obtained object is also kept until it is freed, which is expensive and meant for debugging only.
+	 * <p>
+	 * Like the rest of this pool, this is not thread-safe and should be called on the thread that uses the pool.
+	 */
+	public void setDiagnostics(final boolean enabled, final boolean trackLeaks) {
+		diagnostics = enabled ? new PoolDiagnostics(trackLeaks) : null;
+	}
+	
+	/**
+	 * @return the diagnostics of this pool, or null if they are disabled.
+	 */
+	public PoolDiagnostics getDiagnostics() {
+		return diagnostics;
+	}
+	
 	public interface Poolable {
 		
 		void reset();
@@ -0,0 +1,126 @@
+package me.nulldoubt.micro.utils.pools;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of a {@link Pool} with diagnostics enabled, see {@link Pool#setDiagnostics(boolean, boolean)}. If leaks are tracked,
+ * the stack of every obtained object is recorded until the object is freed, so objects that are never returned can be traced
+ * back to where they were obtained.
+ */
+public class PoolDiagnostics {
+	
+	public final boolean trackLeaks;
+	
+	final LongAdder obtained = new LongAdder();
+	final LongAdder freed = new LongAdder();
+	final LongAdder missed = new LongAdder();
+	final LongAdder discarded = new LongAdder();
+	
+	private final Map<Object, Throwable> outstanding;
+	
+	public PoolDiagnostics(final boolean trackLeaks) {
+		this.trackLeaks = trackLeaks;
+		outstanding = trackLeaks ? new IdentityHashMap<>() : null;
+	}
+	
+	void obtained(final Object object, final boolean miss) {
+		obtained.increment();
+		if (miss)
+			missed.increment();
+		if (trackLeaks) {
+			final Throwable stack = new Throwable();
+			synchronized (outstanding) {
+				outstanding.put(object, stack);
+			}
+		}
+	}
+	
+	void freed(final Object object) {
+		freed.increment();
+		if (trackLeaks) {
+			synchronized (outstanding) {
+				outstanding.remove(object);
+			}
+		}
+	}
+	
+	public long getObtained() {
+		return obtained.sum();
+	}
+	
+	public long getFreed() {
+		return freed.sum();
+	}
+	
+	/** @return the number of objects created by {@link Pool#newObject()}. */
+	public long getMissed() {
+		return missed.sum();
+	}
+	
+	/** @return the number of freed objects that were discarded because the pool was full. */
+	public long getDiscarded() {
+		return discarded.sum();
+	}
+	
+	/** @return the number of objects that were obtained and not freed yet, or -1 if leaks are not tracked. */
+	public int getOutstanding() {
+		if (!trackLeaks)
+			return -1;
+		synchronized (outstanding) {
+			return outstanding.size();
+		}
+	}
+	
+	public void reset() {
+		obtained.reset();
+		freed.reset();
+		missed.reset();
+		discarded.reset();
+		if (trackLeaks) {
+			synchronized (outstanding) {
+				outstanding.clear();
+			}
+		}
+	}
+	
+	/**
+	 * Appends the outstanding objects grouped by the stack they were obtained from, most frequent first.
+	 *
+	 * @param maxStacks the maximum number of distinct stacks to append.
+	 */
+	public void appendLeaks(final StringBuilder builder, final int maxStacks) {
+		if (!trackLeaks)
+			return;
+		final Map<String, int[]> stacks = new HashMap<>();
+		synchronized (outstanding) {
+			for (final Throwable stack : outstanding.values())
+				stacks.computeIfAbsent(stackToString(stack), _ -> new int[1])[0]++;
+		}
+		final List<Map.Entry<String, int[]>> sorted = new ArrayList<>(stacks.entrySet());
+		sorted.sort((a, b) -> Integer.compare(b.getValue()[0], a.getValue()[0]));
+		for (int i = 0, n = Math.min(maxStacks, sorted.size()); i < n; i++) {
+			final Map.Entry<String, int[]> entry = sorted.get(i);
+			builder.append("    ").append(entry.getValue()[0]).append(" not freed, obtained at:\n").append(entry.getKey());
+		}
+		if (sorted.size() > maxStacks)
+			builder.append("    ... ").append(sorted.size() - maxStacks).append(" more stacks\n");
+	}
+	
+	private static String stackToString(final Throwable stack) {
+		final StringBuilder builder = new StringBuilder(256);
+		final StackTraceElement[] elements = stack.getStackTrace();
+		// Skips the frames of the pool itself.
+		int start = 0;
+		while (start < elements.length && elements[start].getClassName().startsWith("me.nulldoubt.micro.utils.pools."))
+			start++;
+		for (int i = start; i < elements.length; i++)
+			builder.append("      at ").append(elements[i]).append('\n');
+		return builder.toString();
+	}
+	
+}
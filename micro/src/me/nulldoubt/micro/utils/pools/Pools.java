@@ -7,13 +7,39 @@ import java.util.function.Supplier;
 
 public class Pools {
 	
-	private static final ObjectMap<Class<?>, Pool<?>> typePools = new ObjectMap<>();
+	private static volatile ObjectMap<Class<?>, Pool<?>> typePools = new ObjectMap<>();
+	private static volatile boolean threadSafe;
+	private static boolean diagnostics, trackLeaks;
+	
+	/**
+	 * In thread-safe mode the registry is copied on write, so lookups need no lock, and {@link #get(Class, int, Supplier)} creates
+	 * {@link ConcurrentSupplierPool}s. Pools that were registered before are kept as they are, so this should be enabled before
+	 * the first pool is created.
+	 */
+	public static void setThreadSafe(final boolean threadSafe) {
+		synchronized (Pools.class) {
+			Pools.threadSafe = threadSafe;
+		}
+	}
+	
+	public static boolean isThreadSafe() {
+		return threadSafe;
+	}
 	
 	public static <T> Pool<T> get(final Class<T> type, final int max, final Supplier<T> supplier) {
 		Pool<T> pool = (Pool<T>) typePools.get(type);
-		if (pool == null)
+		if (pool != null)
+			return pool;
+		if (!threadSafe) {
 			set(type, (pool = new SupplierPool<>(supplier, 4, max)));
-		return pool;
+			return pool;
+		}
+		synchronized (Pools.class) {
+			pool = (Pool<T>) typePools.get(type);
+			if (pool == null)
+				set(type, (pool = new ConcurrentSupplierPool<>(supplier, Math.max(1, Math.min(16, max)), max)));
+			return pool;
+		}
 	}
 	
 	public static <T> Pool<T> get(final Class<T> type, final Supplier<T> supplier) {
@@ -21,7 +47,17 @@ public class Pools {
 	}
 	
 	public static <T> void set(final Class<T> type, final Pool<T> pool) {
-		typePools.put(type, pool);
+		if (diagnostics)
+			pool.setDiagnostics(true, trackLeaks);
+		if (!threadSafe) {
+			typePools.put(type, pool);
+			return;
+		}
+		synchronized (Pools.class) {
+			final ObjectMap<Class<?>, Pool<?>> copy = new ObjectMap<>(typePools);
+			copy.put(type, pool);
+			typePools = copy;
+		}
 	}
 	
 	public static <T> T obtain(final Class<T> type, final Supplier<T> supplier) {
@@ -60,6 +96,45 @@ public class Pools {
 		}
 	}
 	
+	/**
+	 * Enables or disables {@link Pool#setDiagnostics(boolean, boolean) diagnostics} for every registered pool and for pools
+	 * registered afterwards.
+	 */
+	public static void setDiagnostics(final boolean enabled, final boolean trackLeaks) {
+		synchronized (Pools.class) {
+			Pools.diagnostics = enabled;
+			Pools.trackLeaks = trackLeaks;
+			for (final Pool<?> pool : new ObjectMap.Values<>(typePools))
+				pool.setDiagnostics(enabled, trackLeaks);
+		}
+	}
+	
+	/**
+	 * @return a summary of every registered pool and, for pools that track leaks, the stacks of objects that were not freed.
+	 */
+	public static String report() {
+		final ObjectMap<Class<?>, Pool<?>> typePools = Pools.typePools;
+		final StringBuilder builder = new StringBuilder(256);
+		for (final ObjectMap.Entry<Class<?>, Pool<?>> entry : new ObjectMap.Entries<>(typePools)) {
+			final Pool<?> pool = entry.value;
+			builder.append(entry.key.getName()).append(": free ").append(pool.getFree()).append(", peak ").append(pool.peak);
+			builder.append(", max ").append(pool.max);
+			final PoolDiagnostics diagnostics = pool.getDiagnostics();
+			if (diagnostics != null) {
+				builder.append(", obtained ").append(diagnostics.getObtained());
+				builder.append(", freed ").append(diagnostics.getFreed());
+				builder.append(", missed ").append(diagnostics.getMissed());
+				builder.append(", discarded ").append(diagnostics.getDiscarded());
+				if (diagnostics.trackLeaks)
+					builder.append(", outstanding ").append(diagnostics.getOutstanding());
+			}
+			builder.append('\n');
+			if (diagnostics != null)
+				diagnostics.appendLeaks(builder, 5);
+		}
+		return builder.toString();
+	}
+	
 	private Pools() {}
 	
 }